@@ -0,0 +1,105 @@
+package project.hotel_booking_system.dto.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import project.hotel_booking_system.enums.BookingStatus;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@link ApiResponseDTO} bodies as the controllers return them: a
+ * single booking, a page of {@code pageSize} bookings and a month of room availability. The
+ * mapper is configured like the one Spring Boot builds for the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 1);
+
+    @Param({"20"})
+    int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponseDTO<BookingResponseDTO> booking;
+    private ApiResponseDTO<PaginationResponse<BookingResponseDTO>> bookingPage;
+    private ApiResponseDTO<RoomAvailabilityResponse> availability;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<BookingResponseDTO> bookings = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            bookings.add(booking(i));
+        }
+        booking = response(bookings.get(0));
+        bookingPage = response(PaginationResponse.<BookingResponseDTO>builder()
+                .content(bookings)
+                .page(0)
+                .pageSize(pageSize)
+                .totalElements(250L)
+                .totalPages((250 + pageSize - 1) / pageSize)
+                .last(false)
+                .build());
+
+        List<LocalDate> window = DAY.datesUntil(DAY.plusDays(31)).toList();
+        availability = response(RoomAvailabilityResponse.builder()
+                .roomId(7L)
+                .roomNumber("204")
+                .availableDates(window.subList(8, 31))
+                .bookedDates(window.subList(0, 8))
+                .blockedDates(List.of())
+                .build());
+    }
+
+    @Benchmark
+    public byte[] singleBooking() throws Exception {
+        return objectMapper.writeValueAsBytes(booking);
+    }
+
+    @Benchmark
+    public byte[] bookingPage() throws Exception {
+        return objectMapper.writeValueAsBytes(bookingPage);
+    }
+
+    @Benchmark
+    public byte[] roomAvailability() throws Exception {
+        return objectMapper.writeValueAsBytes(availability);
+    }
+
+    private static <T> ApiResponseDTO<T> response(T result) {
+        return ApiResponseDTO.<T>builder()
+                .time(LocalDateTime.of(2025, 6, 1, 10, 15, 30))
+                .success(true)
+                .message("OK")
+                .result(result)
+                .build();
+    }
+
+    private static BookingResponseDTO booking(int i) {
+        return BookingResponseDTO.builder()
+                .id((long) i + 1)
+                .userId(3L)
+                .userName("Guest User")
+                .roomId(7L)
+                .roomNumber("204")
+                .checkInDate(Date.valueOf(DAY.plusDays(i)))
+                .checkOutDate(Date.valueOf(DAY.plusDays(i + 2)))
+                .status(BookingStatus.CONFIRMED)
+                .totalPrice(new BigDecimal("1700000.00"))
+                .createdAt(LocalDateTime.of(2025, 5, 20, 9, i))
+                .build();
+    }
+}
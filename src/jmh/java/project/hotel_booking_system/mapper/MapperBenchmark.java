@@ -0,0 +1,103 @@
+package project.hotel_booking_system.mapper;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import project.hotel_booking_system.dto.response.BookingResponseDTO;
+import project.hotel_booking_system.dto.response.RoomAvailabilityPageResponse;
+import project.hotel_booking_system.dto.response.RoomAvailabilityResponse;
+import project.hotel_booking_system.enums.BookingStatus;
+import project.hotel_booking_system.enums.Role;
+import project.hotel_booking_system.enums.RoomStatus;
+import project.hotel_booking_system.enums.RoomType;
+import project.hotel_booking_system.model.Booking;
+import project.hotel_booking_system.model.Room;
+import project.hotel_booking_system.model.User;
+import project.hotel_booking_system.service.room.RoomSnapshot;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The generated {@link BookingMapper} and {@link RoomAvailabilityMapper} on the objects the
+ * booking and availability listings map for every row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 1);
+
+    private BookingMapper bookingMapper;
+    private RoomAvailabilityMapper roomAvailabilityMapper;
+    private Booking booking;
+    private Room room;
+    private RoomSnapshot roomSnapshot;
+    private List<LocalDate> availableDates;
+    private List<LocalDate> bookedDates;
+    private List<LocalDate> blockedDates;
+
+    @Setup
+    public void setUp() {
+        bookingMapper = Mappers.getMapper(BookingMapper.class);
+        roomAvailabilityMapper = Mappers.getMapper(RoomAvailabilityMapper.class);
+
+        room = Room.builder()
+                .id(7L)
+                .roomNumber("204")
+                .roomType(RoomType.DOUBLE)
+                .price(new BigDecimal("850000"))
+                .roomStatus(RoomStatus.AVAILABLE)
+                .description("Double room with city view")
+                .createAt(DAY.atStartOfDay())
+                .build();
+        roomSnapshot = RoomSnapshot.of(room);
+        User user = User.builder()
+                .id(3L)
+                .username("guest")
+                .fullname("Guest User")
+                .role(Role.CUSTOMER)
+                .build();
+        booking = Booking.builder()
+                .id(11L)
+                .user(user)
+                .room(room)
+                .checkInDate(Date.valueOf(DAY))
+                .checkOutDate(Date.valueOf(DAY.plusDays(3)))
+                .status(BookingStatus.CONFIRMED)
+                .totalPrice(new BigDecimal("2550000.00"))
+                .createdAt(LocalDateTime.of(2025, 5, 20, 9, 30))
+                .build();
+
+        // A 31-day window with one stay and one blocked night
+        List<LocalDate> window = DAY.datesUntil(DAY.plusDays(31)).toList();
+        bookedDates = window.subList(5, 8);
+        blockedDates = window.subList(20, 21);
+        availableDates = window.stream()
+                .filter(date -> !bookedDates.contains(date) && !blockedDates.contains(date))
+                .toList();
+    }
+
+    @Benchmark
+    public BookingResponseDTO bookingToDTO() {
+        return bookingMapper.toDTO(booking);
+    }
+
+    @Benchmark
+    public RoomAvailabilityPageResponse availabilityToPageResponse() {
+        return roomAvailabilityMapper.toPageResponse(room, DAY, DAY.plusDays(30),
+                availableDates, bookedDates, blockedDates);
+    }
+
+    @Benchmark
+    public RoomAvailabilityResponse availabilityToResponse() {
+        return roomAvailabilityMapper.toResponse(roomSnapshot, availableDates, bookedDates, blockedDates);
+    }
+}
@@ -0,0 +1,47 @@
+package project.hotel_booking_system.service.booking;
+
+import org.openjdk.jmh.annotations.*;
+import project.hotel_booking_system.model.Room;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BookingCoreServiceImpl#calculateTotalPrice} for a booking of {@code nights} nights.
+ * The calculation touches no collaborator, so the service is built without any.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingPriceBenchmark {
+
+    @Param({"1", "14"})
+    int nights;
+
+    private BookingCoreServiceImpl bookingCoreService;
+    private Room room;
+    private Date checkIn;
+    private Date checkOut;
+
+    @Setup
+    public void setUp() {
+        bookingCoreService = new BookingCoreServiceImpl(null, null, null, null, null, null);
+        room = Room.builder()
+                .id(1L)
+                .price(new BigDecimal("850000"))
+                .build();
+        LocalDate day = LocalDate.of(2025, 6, 1);
+        checkIn = Date.valueOf(day);
+        checkOut = Date.valueOf(day.plusDays(nights));
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalPrice() {
+        return bookingCoreService.calculateTotalPrice(room, checkIn, checkOut);
+    }
+}
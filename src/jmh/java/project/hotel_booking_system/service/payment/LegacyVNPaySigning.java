@@ -0,0 +1,67 @@
+package project.hotel_booking_system.service.payment;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * The query building and signing VNPayGatewayServiceImpl did before {@link VNPaySigner},
+ * kept as the reference for output and speed.
+ */
+final class LegacyVNPaySigning {
+
+    private LegacyVNPaySigning() {
+    }
+
+    static String signedQuery(String key, Map<String, String> params) {
+        String queryString = buildQueryString(params);
+        return queryString + "&vnp_SecureHash=" + hmacSHA512(key, queryString);
+    }
+
+    static String buildQueryString(Map<String, String> params) {
+        Map<String, String> filteredParams = new HashMap<>();
+        params.entrySet().stream()
+                .filter(entry -> !"vnp_SecureHash".equals(entry.getKey()))
+                .forEach(entry -> filteredParams.put(entry.getKey(), entry.getValue()));
+
+        List<String> fieldNames = new ArrayList<>(filteredParams.keySet());
+        Collections.sort(fieldNames);
+
+        StringBuilder query = new StringBuilder();
+        Iterator<String> itr = fieldNames.iterator();
+
+        while (itr.hasNext()) {
+            String fieldName = itr.next();
+            String fieldValue = params.get(fieldName);
+            if (fieldValue != null && !fieldValue.isEmpty()) {
+                query.append(URLEncoder.encode(fieldName, StandardCharsets.UTF_8))
+                        .append('=')
+                        .append(URLEncoder.encode(fieldValue, StandardCharsets.UTF_8));
+
+                if (itr.hasNext()) {
+                    query.append('&');
+                }
+            }
+        }
+
+        return query.toString();
+    }
+
+    static String hmacSHA512(String key, String data) {
+        try {
+            Mac hmac512 = Mac.getInstance("HmacSHA512");
+            hmac512.init(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA512"));
+            byte[] result = hmac512.doFinal(data.getBytes(StandardCharsets.UTF_8));
+
+            StringBuilder sb = new StringBuilder(2 * result.length);
+            for (byte b : result) {
+                sb.append(String.format("%02x", b & 0xff));
+            }
+            return sb.toString();
+        } catch (Exception ex) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package project.hotel_booking_system.service.payment;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import project.hotel_booking_system.configuration.VnPayConfig;
+import project.hotel_booking_system.enums.PaymentMethod;
+import project.hotel_booking_system.enums.PaymentStatus;
+import project.hotel_booking_system.model.Payment;
+import project.hotel_booking_system.repository.PaymentRepository;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * The CPU side of {@link VNPayGatewayServiceImpl}: building and signing a payment URL, and
+ * parsing and verifying the callback VNPay sends back. Repositories and the txnRef registry
+ * are stubs that return at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VNPayGatewayBenchmark {
+
+    private static final String SECRET = "TESTSECRETKEY0123456789";
+    private static final BigDecimal AMOUNT = new BigDecimal("1250000");
+
+    private VNPayGatewayServiceImpl gateway;
+    private String callback;
+
+    @Setup
+    public void setUp() {
+        VnPayConfig config = new VnPayConfig();
+        ReflectionTestUtils.setField(config, "version", "2.1.0");
+        ReflectionTestUtils.setField(config, "command", "pay");
+        ReflectionTestUtils.setField(config, "tmnCode", "TESTTMN1");
+        ReflectionTestUtils.setField(config, "hashSecret", SECRET);
+        ReflectionTestUtils.setField(config, "currCode", "VND");
+        ReflectionTestUtils.setField(config, "locale", "vn");
+        ReflectionTestUtils.setField(config, "orderType", "other");
+        ReflectionTestUtils.setField(config, "paymentUrl", "https://sandbox.vnpayment.vn/paymentv2/vpcpay.html");
+        ReflectionTestUtils.setField(config, "returnUrl", "https://example.com/hotelbooking/payments/vnpay-callback");
+
+        Payment payment = Payment.builder()
+                .id(42L)
+                .amount(AMOUNT)
+                .paymentMethod(PaymentMethod.VNPAY)
+                .status(PaymentStatus.PENDING)
+                .build();
+        PaymentRepository paymentRepository = mock(PaymentRepository.class, withSettings().stubOnly());
+        when(paymentRepository.findById(anyLong())).thenReturn(Optional.of(payment));
+        when(paymentRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        VNPaySigner signer = new VNPaySigner(SECRET);
+        gateway = new VNPayGatewayServiceImpl(config, null, paymentRepository, null, null,
+                mock(VNPayTxnRefRegistry.class, withSettings().stubOnly()), signer, null);
+
+        Map<String, String> callbackParams = VNPaySignerTest.paymentParams();
+        callbackParams.put("vnp_ResponseCode", "00");
+        callbackParams.put("vnp_TransactionNo", "14512345");
+        callbackParams.put("vnp_BankCode", "NCB");
+        callback = signer.signedQuery(callbackParams);
+    }
+
+    @Benchmark
+    public String generatePaymentUrl() {
+        return gateway.generatePaymentUrl(42L, AMOUNT, "203.113.10.25");
+    }
+
+    @Benchmark
+    public boolean parseAndVerifyCallback() {
+        return gateway.verifyCallback(gateway.parseCallback(callback));
+    }
+}
@@ -0,0 +1,40 @@
+package project.hotel_booking_system.service.payment;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of signing a payment URL query with {@link VNPaySigner} against the code it
+ * replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VNPaySignerBenchmark {
+
+    private static final String SECRET = "TESTSECRETKEY0123456789";
+
+    private VNPaySigner signer;
+    private Map<String, String> params;
+
+    @Setup
+    public void setUp() {
+        signer = new VNPaySigner(SECRET);
+        params = VNPaySignerTest.paymentParams();
+    }
+
+    @Benchmark
+    public String legacy() {
+        return LegacyVNPaySigning.signedQuery(SECRET, params);
+    }
+
+    @Benchmark
+    public String signer() {
+        return signer.signedQuery(params);
+    }
+}
@@ -0,0 +1,120 @@
+package project.hotel_booking_system.service.room;
+
+import org.openjdk.jmh.annotations.*;
+import project.hotel_booking_system.repository.BookingRepository;
+import project.hotel_booking_system.repository.RoomBlockedDateRepository;
+import project.hotel_booking_system.repository.projection.BlockedNight;
+import project.hotel_booking_system.repository.projection.BookedStay;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Splitting a date window into available, booked and blocked nights, from the in-memory
+ * {@link RoomAvailabilityIndex} and from rows read by {@link RoomAvailabilityLoader} when the
+ * window is not indexed. Every third room has a two-night stay every five nights and one
+ * blocked night every ten.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomAvailabilityBenchmark {
+
+    private static final int ROOM_COUNT = 20;
+
+    @Param({"7", "31", "90"})
+    int windowDays;
+
+    private RoomAvailabilityIndex index;
+    private RoomAvailabilityLoader loader;
+    private List<Long> roomIds;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        startDate = LocalDate.now();
+        endDate = startDate.plusDays(windowDays - 1);
+        roomIds = new ArrayList<>();
+        List<BookedStay> stays = new ArrayList<>();
+        List<BlockedNight> blockedNights = new ArrayList<>();
+        long bookingId = 1;
+        for (long roomId = 1; roomId <= ROOM_COUNT; roomId++) {
+            roomIds.add(roomId);
+            if (roomId % 3 != 0) {
+                continue;
+            }
+            for (int day = 0; day < windowDays; day += 5) {
+                stays.add(stay(bookingId++, roomId, startDate.plusDays(day), startDate.plusDays(day + 2)));
+            }
+            for (int day = 3; day < windowDays; day += 10) {
+                blockedNights.add(blockedNight(roomId, startDate.plusDays(day)));
+            }
+        }
+
+        BookingRepository bookingRepository = mock(BookingRepository.class, withSettings().stubOnly());
+        RoomBlockedDateRepository blockedDateRepository = mock(RoomBlockedDateRepository.class, withSettings().stubOnly());
+        when(bookingRepository.findActiveStaysEndingAfter(any())).thenReturn(stays);
+        when(bookingRepository.findActiveStaysByRoomIdsAndDateRange(any(), any(), any())).thenReturn(stays);
+        when(blockedDateRepository.findBlockedNightsFrom(any())).thenReturn(blockedNights);
+        when(blockedDateRepository.findBlockedNightsByRoomIdsAndDateRange(any(), any(), any())).thenReturn(blockedNights);
+
+        index = new RoomAvailabilityIndex(bookingRepository, blockedDateRepository);
+        index.rebuild();
+        loader = new RoomAvailabilityLoader(bookingRepository, blockedDateRepository);
+    }
+
+    @Benchmark
+    public RoomAvailabilityIndex.Snapshot indexSnapshot() {
+        return index.snapshot(3L, startDate, endDate);
+    }
+
+    @Benchmark
+    public Map<Long, RoomAvailabilityIndex.Snapshot> loaderLoadAll() {
+        return loader.loadAll(roomIds, startDate, endDate);
+    }
+
+    private static BookedStay stay(long bookingId, long roomId, LocalDate checkIn, LocalDate checkOut) {
+        Date checkInDate = Date.valueOf(checkIn);
+        Date checkOutDate = Date.valueOf(checkOut);
+        return new BookedStay() {
+            public Long getBookingId() {
+                return bookingId;
+            }
+
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            public java.util.Date getCheckInDate() {
+                return checkInDate;
+            }
+
+            public java.util.Date getCheckOutDate() {
+                return checkOutDate;
+            }
+        };
+    }
+
+    private static BlockedNight blockedNight(long roomId, LocalDate date) {
+        return new BlockedNight() {
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            public LocalDate getBlockedDate() {
+                return date;
+            }
+        };
+    }
+}
@@ -0,0 +1,202 @@
+package project.hotel_booking_system.service.room;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Query;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import project.hotel_booking_system.enums.RoomStatus;
+import project.hotel_booking_system.enums.RoomType;
+import project.hotel_booking_system.repository.RoomRepository;
+import project.hotel_booking_system.repository.specification.RoomSpecifications;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The room search through {@link RoomSpecifications} against the NOT IN query it replaced, on
+ * {@code bookings} generated stays over 2,000 rooms in an on-disk H2 database. Each call runs
+ * the page and the count query, as the old repository method did, and searches another week
+ * so that no call is answered from a result cache. Loading the data takes a while:
+ * {@code mvn -Pbenchmark -DskipTests verify -Djmh.include=RoomSearchBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomSearchBenchmark {
+
+    private static final String LEGACY_SEARCH = "SELECT r FROM Room r WHERE r.roomStatus = :status " +
+            "AND (:roomType IS NULL OR r.roomType = :roomType) " +
+            "AND (:minPrice IS NULL OR r.price >= :minPrice) " +
+            "AND (:maxPrice IS NULL OR r.price <= :maxPrice) " +
+            "AND r.id NOT IN " +
+            "(SELECT b.room.id FROM Booking b WHERE " +
+            "((b.checkInDate <= :checkOutDate AND b.checkOutDate >= :checkInDate) OR " +
+            "(b.checkInDate >= :checkInDate AND b.checkInDate <= :checkOutDate) OR " +
+            "(b.checkOutDate >= :checkInDate AND b.checkOutDate <= :checkOutDate)) AND " +
+            "b.status != 'CANCELLED')";
+
+    private static final int ROOMS = 2_000;
+    private static final int WEEKS = 20;
+    private static final int STAY_NIGHTS = 2;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 1);
+
+    @Param({"1000000"})
+    int bookings;
+
+    @Param({"datesOnly", "allCriteria"})
+    String criteria;
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private RoomRepository roomRepository;
+    private RoomType type;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private LocalDate middle;
+    private int week;
+
+    @Setup
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:file:./target/room-search-benchmark;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("project.hotel_booking_system.model");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName()));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+        roomRepository = new JpaRepositoryFactory(entityManager).getRepository(RoomRepository.class);
+
+        load(new JdbcTemplate(dataSource));
+
+        if ("allCriteria".equals(criteria)) {
+            type = RoomType.DOUBLE;
+            minPrice = new BigDecimal("300000");
+            maxPrice = new BigDecimal("700000");
+        }
+
+        // The old predicate also counts the check-out day as taken, so it never finds more rooms
+        if (search(middle) < legacySearch(middle)) {
+            throw new IllegalStateException("Room search found fewer rooms than the NOT IN query");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public long legacy() {
+        return legacySearch(nextWeek());
+    }
+
+    @Benchmark
+    public long current() {
+        return search(nextWeek());
+    }
+
+    private long legacySearch(LocalDate checkIn) {
+        legacyQuery(LEGACY_SEARCH, checkIn).setMaxResults(20).getResultList();
+        long rooms = (Long) legacyQuery(LEGACY_SEARCH.replaceFirst("SELECT r ", "SELECT COUNT(r) "), checkIn)
+                .getSingleResult();
+        entityManager.clear();
+        return rooms;
+    }
+
+    private long search(LocalDate checkIn) {
+        long rooms = roomRepository.findAll(
+                        RoomSpecifications.search(RoomStatus.AVAILABLE, type, minPrice, maxPrice,
+                                checkIn, checkIn.plusDays(STAY_NIGHTS - 1)),
+                        PageRequest.of(0, 20))
+                .getTotalElements();
+        entityManager.clear();
+        return rooms;
+    }
+
+    private Query legacyQuery(String jpql, LocalDate checkIn) {
+        return entityManager.createQuery(jpql)
+                .setParameter("status", RoomStatus.AVAILABLE)
+                .setParameter("roomType", type)
+                .setParameter("minPrice", minPrice)
+                .setParameter("maxPrice", maxPrice)
+                .setParameter("checkInDate", Date.valueOf(checkIn))
+                .setParameter("checkOutDate", Date.valueOf(checkIn.plusDays(STAY_NIGHTS)));
+    }
+
+    private LocalDate nextWeek() {
+        week = (week + 1) % WEEKS;
+        return middle.plusWeeks(week - WEEKS / 2);
+    }
+
+    private void load(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO users (username, password, email, fullname, phone, role, created_at, is_active) " +
+                "VALUES ('bench', 'secret', 'bench@example.com', 'Bench', '0900000000', 'CUSTOMER', NOW(), TRUE)");
+        Long userId = jdbc.queryForObject("SELECT id FROM users", Long.class);
+
+        List<Object[]> rooms = new ArrayList<>(ROOMS);
+        RoomType[] types = RoomType.values();
+        for (int i = 0; i < ROOMS; i++) {
+            rooms.add(new Object[]{"B" + i, types[i % types.length].name(),
+                    BigDecimal.valueOf(200_000L + (i % 20) * 50_000L), RoomStatus.AVAILABLE.name()});
+        }
+        jdbc.batchUpdate("INSERT INTO rooms (room_number, type, price, status, description, created_at) " +
+                "VALUES (?, ?, ?, ?, 'bench', NOW())", rooms);
+        Long firstRoomId = jdbc.queryForObject("SELECT MIN(id) FROM rooms", Long.class);
+
+        // Stays of one to three nights with gaps of up to three nights, one in ten cancelled
+        Random random = new Random(42);
+        LocalDate[] nextFree = new LocalDate[ROOMS];
+        Arrays.fill(nextFree, FIRST_DAY);
+        List<Object[]> bookingRows = new ArrayList<>();
+        List<Object[]> nightRows = new ArrayList<>();
+        for (long id = 1; id <= bookings; id++) {
+            int room = (int) (id % ROOMS);
+            LocalDate start = nextFree[room].plusDays(random.nextInt(4));
+            LocalDate end = start.plusDays(1 + random.nextInt(3));
+            boolean cancelled = random.nextInt(10) == 0;
+            nextFree[room] = cancelled ? start : end;
+            bookingRows.add(new Object[]{id, userId, firstRoomId + room, Date.valueOf(start), Date.valueOf(end),
+                    cancelled ? "CANCELLED" : "CONFIRMED"});
+            if (!cancelled) {
+                for (LocalDate night = start; night.isBefore(end); night = night.plusDays(1)) {
+                    nightRows.add(new Object[]{firstRoomId + room, Date.valueOf(night), id});
+                }
+            }
+            if (bookingRows.size() == 10_000 || id == bookings) {
+                jdbc.batchUpdate("INSERT INTO bookings (id, user_id, room_id, check_in_date, check_out_date, status, " +
+                        "total_price, created_at) VALUES (?, ?, ?, ?, ?, ?, 500000, NOW())", bookingRows);
+                jdbc.batchUpdate("INSERT INTO room_nights (room_id, night, booking_id) VALUES (?, ?, ?)", nightRows);
+                bookingRows.clear();
+                nightRows.clear();
+            }
+        }
+
+        LocalDate lastFullDay = Arrays.stream(nextFree).min(LocalDate::compareTo).orElseThrow();
+        middle = FIRST_DAY.plusDays((lastFullDay.toEpochDay() - FIRST_DAY.toEpochDay()) / 2);
+    }
+}
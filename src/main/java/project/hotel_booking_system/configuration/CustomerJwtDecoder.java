@@ -1,51 +1,106 @@
 package project.hotel_booking_system.configuration;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
 import javax.crypto.spec.SecretKeySpec;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.stereotype.Component;
 
-import project.hotel_booking_system.dto.request.authentication_request.IntrospectRequest;
-import project.hotel_booking_system.service.authentication.AuthenticationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import project.hotel_booking_system.service.authentication.TokenRevocationStore;
 
+/**
+ * Parses and verifies a token once, then serves it from a cache keyed by the SHA-256 of the
+ * token until it expires. Revocation is checked on every call, so a token that is logged out
+ * stops working even while it is cached.
+ */
 @Component
 public class CustomerJwtDecoder implements JwtDecoder {
-    @Value( "${jwt.signer-key}" )
-    private String signerKey;
 
-    @Autowired
-    private AuthenticationService authenticationService;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final NimbusJwtDecoder nimbusJwtDecoder;
+    private final Cache<String, Jwt> decodedTokens;
+
+    public CustomerJwtDecoder(TokenRevocationStore tokenRevocationStore,
+                              @Value("${jwt.signer-key}") String signerKey,
+                              @Value("${jwt.decoded-cache-size:10000}") long cacheSize) {
+        this.tokenRevocationStore = tokenRevocationStore;
 
-    private NimbusJwtDecoder nimbusJwtDecoder = null;
+        SecretKeySpec secretKeySpec = new SecretKeySpec(signerKey.getBytes(), "HS512");
+        this.nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(secretKeySpec)
+                .macAlgorithm(MacAlgorithm.HS512)
+                .build();
+        // Tokens are valid until their expiry, with no clock skew allowance
+        this.nimbusJwtDecoder.setJwtValidator(new JwtTimestampValidator(Duration.ZERO));
+
+        this.decodedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new UntilExpiry())
+                .build();
+    }
 
     @Override
     public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        Jwt jwt = decodedTokens.getIfPresent(key);
+        if (jwt == null) {
+            try {
+                jwt = nimbusJwtDecoder.decode(token);
+            } catch (Exception e) {
+                throw new JwtException("Authentication failed: " + e.getMessage());
+            }
+            decodedTokens.put(key, jwt);
+        }
+
+        if (tokenRevocationStore.isRevoked(jwt.getId())) {
+            throw new JwtException("Authentication failed: Invalid or expired token");
+        }
+        return jwt;
+    }
+
+    private static String hash(String token) {
         try {
-            var response = authenticationService.introspect(
-                    IntrospectRequest.builder()
-                            .token(token)
-                            .build());
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 
-            if (!response.isValid()) {
-                throw new JwtException("Invalid or expired token");
-            }
+    private static class UntilExpiry implements Expiry<String, Jwt> {
 
-            if(nimbusJwtDecoder == null) {
-                SecretKeySpec secretKeySpec = new SecretKeySpec(signerKey.getBytes(), "HS512");
-                nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(secretKeySpec)
-                        .macAlgorithm(MacAlgorithm.HS512)
-                        .build();
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAt();
+            if (expiresAt == null) {
+                return 0;
             }
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
 
-            return nimbusJwtDecoder.decode(token);
-        } catch (Exception e) {
-            throw new JwtException("Authentication failed: " + e.getMessage());
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
 }
@@ -1,20 +1,76 @@
 package project.hotel_booking_system.configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
-
+/**
+ * HTTP client used for the VNPay gateway.
+ * <p>
+ * Connections are pooled and kept alive between calls, so a refund does not pay for a new
+ * TCP and TLS handshake each time. Pool usage is published as {@code httpcomponents.httpclient.pool.*}
+ * and call timings as {@code http.client.requests} through the Boot-configured builder.
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager gatewayConnectionManager(
+            MeterRegistry meterRegistry,
+            @Value("${vnpay.http.max-connections:20}") int maxConnections,
+            @Value("${vnpay.http.max-connections-per-route:10}") int maxConnectionsPerRoute,
+            @Value("${vnpay.http.connect-timeout-seconds:10}") long connectTimeoutSeconds,
+            @Value("${vnpay.http.read-timeout-seconds:30}") long readTimeoutSeconds) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofSeconds(connectTimeoutSeconds))
+                        .setSocketTimeout(Timeout.ofSeconds(readTimeoutSeconds))
+                        // A pooled connection idle this long is checked before reuse
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "vnpay").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient gatewayHttpClient(
+            PoolingHttpClientConnectionManager gatewayConnectionManager,
+            @Value("${vnpay.http.connection-request-timeout-seconds:5}") long connectionRequestTimeoutSeconds,
+            @Value("${vnpay.http.read-timeout-seconds:30}") long readTimeoutSeconds,
+            @Value("${vnpay.http.keep-alive-seconds:30}") long keepAliveSeconds) {
+        return HttpClients.custom()
+                .setConnectionManager(gatewayConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofSeconds(connectionRequestTimeoutSeconds))
+                        .setResponseTimeout(Timeout.ofSeconds(readTimeoutSeconds))
+                        // Used when the server sends no Keep-Alive header
+                        .setConnectionKeepAlive(TimeValue.ofSeconds(keepAliveSeconds))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(keepAliveSeconds))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient gatewayHttpClient) {
         return builder
-                .setConnectTimeout(Duration.ofSeconds(10))
-                .setReadTimeout(Duration.ofSeconds(30))
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(gatewayHttpClient))
                 .build();
     }
 }
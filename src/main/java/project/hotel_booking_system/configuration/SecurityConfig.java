@@ -27,7 +27,7 @@ public class SecurityConfig {
 
     private final String[] PUBLIC_ENDPOINTS = {
             "/users", "/auth/token", "/auth/introspect", "/auth/logout", "/auth/refresh",
-            "/rooms/search"
+            "/rooms/search", "/rooms/availability/quick"
     };
 
     private final String[] SWAGGER_ENDPOINTS = {
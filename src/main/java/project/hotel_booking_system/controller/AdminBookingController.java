@@ -1,18 +1,25 @@
 package project.hotel_booking_system.controller;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -25,9 +32,11 @@ import project.hotel_booking_system.dto.request.booking_request.BookingStatusUpd
 import project.hotel_booking_system.dto.response.ApiResponseDTO;
 import project.hotel_booking_system.dto.response.BookingResponseDTO;
 import project.hotel_booking_system.enums.BookingStatus;
+import project.hotel_booking_system.enums.ExportFormat;
 import project.hotel_booking_system.exception.AppException;
 import project.hotel_booking_system.exception.ErrorCode;
 import project.hotel_booking_system.service.booking.AdminBookingService;
+import project.hotel_booking_system.service.common.ExportService;
 import project.hotel_booking_system.service.payment.CashPaymentService;
 
 @RestController
@@ -42,6 +51,9 @@ public class AdminBookingController {
     @Autowired
     private CashPaymentService cashPaymentService;
 
+    @Autowired
+    private ExportService exportService;
+
     @GetMapping
     @Operation(
             summary = "Get all bookings",
@@ -71,6 +83,30 @@ public class AdminBookingController {
                 .build();
     }
 
+    @GetMapping("/export")
+    @Operation(
+            summary = "Export bookings",
+            description = "Stream the bookings created within the date range as CSV or NDJSON, optionally filtered by status",
+            security = @SecurityRequirement(name = "bearer-jwt")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range",
+                    content = @Content(schema = @Schema(implementation = ApiResponseDTO.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        StreamingResponseBody body = exportService.exportBookings(startDate, endDate, status, format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings-" + startDate + "-" + endDate
+                        + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Get booking by ID",
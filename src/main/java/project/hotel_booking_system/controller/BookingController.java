@@ -5,7 +5,6 @@ import java.time.LocalDateTime;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -206,16 +205,24 @@ public class BookingController {
             @RequestParam(defaultValue = "0") int page,
 
             @Parameter(description = "Number of items per page", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
 
-        Pageable pageable = PageRequest.of(page, size);
+            @Parameter(description = "nextCursor of the previous page, empty for the first one; switches to cursor paging")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Whether a cursor page also counts the total", example = "false")
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        PaginationResponse<BookingResponseDTO> bookings = cursor != null
+                ? bookingService.getMyBookings(cursor, size, includeTotal)
+                : bookingService.getMyBookings(PageRequest.of(page, size));
 
         return ApiResponseDTO.<PaginationResponse<BookingResponseDTO>>builder()
                 .status(HttpStatus.OK.value())
                 .time(LocalDateTime.now())
                 .success(true)
                 .message("User bookings retrieved successfully")
-                .result(bookingService.getMyBookings(pageable))
+                .result(bookings)
                 .build();
     }
 
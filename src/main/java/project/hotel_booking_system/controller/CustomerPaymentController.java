@@ -4,7 +4,6 @@ import java.time.LocalDateTime;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -181,20 +180,13 @@ public class CustomerPaymentController {
             @RequestParam String vnp_OrderInfo,
             @RequestParam String vnp_BankCode,
             @RequestParam String vnp_PayDate,
-            @RequestParam String vnp_TransactionNo) {
+            @RequestParam String vnp_TransactionNo,
+            HttpServletRequest request) {
 
         log.info("Received VNPAY callback for transaction: {}", vnp_TransactionNo);
 
-        StringBuilder responseBuilder = new StringBuilder();
-        responseBuilder.append("vnp_ResponseCode=").append(vnp_ResponseCode).append("&");
-        responseBuilder.append("vnp_TxnRef=").append(vnp_TxnRef).append("&");
-        responseBuilder.append("vnp_Amount=").append(vnp_Amount).append("&");
-        responseBuilder.append("vnp_OrderInfo=").append(vnp_OrderInfo).append("&");
-        responseBuilder.append("vnp_BankCode=").append(vnp_BankCode).append("&");
-        responseBuilder.append("vnp_TransactionNo=").append(vnp_TransactionNo).append("&");
-        responseBuilder.append("vnp_PayDate=").append(vnp_PayDate).append("&");
-
-        PaymentResponseDTO paymentResponse = paymentService.handleVnPayCallback(responseBuilder.toString());
+        // The whole query is passed on, since every vnp_ parameter is covered by vnp_SecureHash
+        PaymentResponseDTO paymentResponse = paymentService.handleVnPayCallback(request.getQueryString());
 
         String message = "00".equals(vnp_ResponseCode)
                 ? "Payment completed successfully"
@@ -278,16 +270,24 @@ public class CustomerPaymentController {
             @RequestParam(defaultValue = "0") int page,
 
             @Parameter(description = "Number of items per page", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+
+            @Parameter(description = "nextCursor of the previous page, empty for the first one; switches to cursor paging")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Whether a cursor page also counts the total", example = "false")
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
 
-        Pageable pageable = PageRequest.of(page, size);
+        PaginationResponse<PaymentResponseDTO> payments = cursor != null
+                ? paymentService.getBookingPayments(bookingId, cursor, size, includeTotal)
+                : paymentService.getBookingPayments(bookingId, PageRequest.of(page, size));
 
         return ApiResponseDTO.<PaginationResponse<PaymentResponseDTO>>builder()
                 .status(HttpStatus.OK.value())
                 .time(LocalDateTime.now())
                 .success(true)
                 .message("Booking payments retrieved successfully")
-                .result(paymentService.getBookingPayments(bookingId, pageable))
+                .result(payments)
                 .build();
     }
 
@@ -1,17 +1,24 @@
 package project.hotel_booking_system.controller;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -24,7 +31,9 @@ import lombok.extern.slf4j.Slf4j;
 import project.hotel_booking_system.dto.request.payment_request.PaymentStatusUpdateDTO;
 import project.hotel_booking_system.dto.response.ApiResponseDTO;
 import project.hotel_booking_system.dto.response.PaymentResponseDTO;
+import project.hotel_booking_system.enums.ExportFormat;
 import project.hotel_booking_system.enums.PaymentStatus;
+import project.hotel_booking_system.service.common.ExportService;
 import project.hotel_booking_system.service.payment.PaymentService;
 
 @RestController
@@ -37,6 +46,9 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private ExportService exportService;
+
     @GetMapping
     @Operation(
             summary = "Get all payments",
@@ -56,6 +68,30 @@ public class PaymentController {
                 .build();
     }
 
+    @GetMapping("/export")
+    @Operation(
+            summary = "Export payments",
+            description = "Stream the payments made within the date range as CSV or NDJSON, optionally filtered by status",
+            security = @SecurityRequirement(name = "bearer-jwt")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range",
+                    content = @Content(schema = @Schema(implementation = ApiResponseDTO.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) PaymentStatus status,
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        StreamingResponseBody body = exportService.exportPayments(startDate, endDate, status, format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"payments-" + startDate + "-" + endDate
+                        + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Get payment by ID",
@@ -152,10 +152,17 @@ public class ReviewController {
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
 
-        Pageable pageable = PageRequest.of(page, size);
-        PaginationResponse<ReviewResponse> reviews = reviewService.getReviewsByRoom(roomId, pageable);
+            @Parameter(description = "nextCursor of the previous page, empty for the first one; switches to cursor paging")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Whether a cursor page also counts the total", example = "false")
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        PaginationResponse<ReviewResponse> reviews = cursor != null
+                ? reviewService.getReviewsByRoom(roomId, cursor, size, includeTotal)
+                : reviewService.getReviewsByRoom(roomId, PageRequest.of(page, size));
 
         return ApiResponseDTO.<PaginationResponse<ReviewResponse>>builder()
                 .status(HttpStatus.OK.value())
@@ -20,6 +20,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import project.hotel_booking_system.dto.request.room_request.BlockDatesRequest;
+import project.hotel_booking_system.dto.request.room_request.QuickAvailabilityRequest;
 import project.hotel_booking_system.dto.response.*;
 import project.hotel_booking_system.model.RoomBlockedDate;
 import project.hotel_booking_system.service.room.RoomAvailabilityService;
@@ -325,12 +326,7 @@ public class RoomAvailabilityController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut) {
 
-        RoomAvailabilityResponse availability = roomAvailabilityService
-                .getRoomAvailability(roomId, checkIn, checkOut.minusDays(1));
-
-        // Check if all dates between checkIn and checkOut-1 are available
-        boolean isAvailable = checkIn.datesUntil(checkOut)
-                .allMatch(date -> availability.getAvailableDates().contains(date));
+        boolean isAvailable = roomAvailabilityService.isAvailable(roomId, checkIn, checkOut);
 
         return ApiResponseDTO.<Boolean>builder()
                 .status(HttpStatus.OK.value())
@@ -338,4 +334,20 @@ public class RoomAvailabilityController {
                 .result(isAvailable)
                 .build();
     }
+
+    /**
+     * POST /rooms/availability/quick - Quick check availability for several rooms and date ranges at once
+     */
+    @PostMapping("/availability/quick")
+    public ApiResponseDTO<List<AvailabilityCheckResponse>> quickAvailabilityCheckBatch(
+            @Valid @RequestBody QuickAvailabilityRequest request) {
+
+        List<AvailabilityCheckResponse> results = roomAvailabilityService.checkAvailability(request.getChecks());
+
+        return ApiResponseDTO.<List<AvailabilityCheckResponse>>builder()
+                .status(HttpStatus.OK.value())
+                .message("Quick availability check completed")
+                .result(results)
+                .build();
+    }
 }
@@ -157,10 +157,17 @@ public class RoomController {
                     example = "10",
                     schema = @Schema(minimum = "1", maximum = "100", defaultValue = "10")
             )
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
 
-        Pageable pageable = PageRequest.of(page, size);
-        PaginationResponse<RoomResponse> paginationResponse = roomService.getAllRoom(pageable);
+            @Parameter(description = "nextCursor of the previous page, empty for the first one; switches to cursor paging")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Whether a cursor page also counts the total", example = "false")
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        PaginationResponse<RoomResponse> paginationResponse = cursor != null
+                ? roomService.getAllRoom(cursor, size, includeTotal)
+                : roomService.getAllRoom(PageRequest.of(page, size));
         return ApiResponseDTO.<PaginationResponse<RoomResponse>>builder()
                 .status(HttpStatus.OK.value())
                 .time(LocalDateTime.now())
@@ -4,6 +4,7 @@ import java.util.Date;
 
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 
@@ -27,4 +28,8 @@ public class BookingCreationRequest {
     @NotNull(message = "Check-out date is required")
     @Future(message = "Check-out date must be in the future")
     Date checkOutDate;
+
+    // Minutes the room is held while unpaid; the configured default applies when absent
+    @Positive(message = "Hold minutes must be positive")
+    Integer holdMinutes;
 } 
\ No newline at end of file
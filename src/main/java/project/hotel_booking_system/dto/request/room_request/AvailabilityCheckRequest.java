@@ -0,0 +1,24 @@
+package project.hotel_booking_system.dto.request.room_request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AvailabilityCheckRequest {
+
+    @NotNull(message = "Room ID is required")
+    Long roomId;
+
+    @NotNull(message = "Check-in date is required")
+    LocalDate checkIn;
+
+    @NotNull(message = "Check-out date is required")
+    LocalDate checkOut;
+}
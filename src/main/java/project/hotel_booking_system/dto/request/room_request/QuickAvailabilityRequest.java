@@ -0,0 +1,21 @@
+package project.hotel_booking_system.dto.request.room_request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class QuickAvailabilityRequest {
+
+    @NotEmpty(message = "Checks cannot be empty")
+    @Size(max = 100, message = "At most 100 checks per request")
+    List<@Valid AvailabilityCheckRequest> checks;
+}
@@ -0,0 +1,18 @@
+package project.hotel_booking_system.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AvailabilityCheckResponse {
+    Long roomId;
+    LocalDate checkIn;
+    LocalDate checkOut;
+    boolean available;
+}
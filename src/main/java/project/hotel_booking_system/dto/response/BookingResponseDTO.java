@@ -25,4 +25,5 @@ public class BookingResponseDTO {
     private BookingStatus status;
     private BigDecimal totalPrice;
     private LocalDateTime createdAt;
+    private LocalDateTime holdExpiresAt;
 } 
\ No newline at end of file
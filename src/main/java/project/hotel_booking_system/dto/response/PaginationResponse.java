@@ -2,6 +2,7 @@ package project.hotel_booking_system.dto.response;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,8 +18,13 @@ public class PaginationResponse<T> {
      List<T> content;
      int page;
      int pageSize;
-     long totalElements;
-     int totalPages;
+     // Left out of cursor pages unless the total was asked for
+     @JsonInclude(JsonInclude.Include.NON_NULL)
+     Long totalElements;
+     @JsonInclude(JsonInclude.Include.NON_NULL)
+     Integer totalPages;
      boolean last;
+     // Opaque position after the last row of a cursor page; null on the last page
+     @JsonInclude(JsonInclude.Include.NON_NULL)
+     String nextCursor;
 }
-
@@ -15,4 +15,8 @@ public class VNPayRefundResponse {
      String transNo;
      String message;
      String requestId;
+     // The call failed before VNPay decided, so sending it again may succeed
+     boolean retryable;
+     // VNPay may have received the request without answering, so it must not be sent again blindly
+     boolean outcomeUnknown;
 }
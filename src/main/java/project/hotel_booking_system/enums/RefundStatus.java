@@ -5,5 +5,6 @@ public enum RefundStatus {
     PROCESSING,   // Đang xử lý
     COMPLETED,    // Hoàn thành
     FAILED,       // Thất bại
-    REJECTED      // Từ chối
+    REJECTED,     // Từ chối
+    DEAD_LETTER   // Hết số lần thử lại, cần xử lý thủ công
 }
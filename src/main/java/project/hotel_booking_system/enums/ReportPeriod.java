@@ -1,7 +1,37 @@
 package project.hotel_booking_system.enums;
 
+import java.time.LocalDate;
+
 public enum ReportPeriod {
     DAILY,
     MONTHLY,
-    YEARLY
-} 
\ No newline at end of file
+    YEARLY;
+
+    /**
+     * @return the first day of the period that contains the date
+     */
+    public LocalDate bucketOf(LocalDate date) {
+        switch (this) {
+            case MONTHLY:
+                return date.withDayOfMonth(1);
+            case YEARLY:
+                return date.withDayOfYear(1);
+            default:
+                return date;
+        }
+    }
+
+    /**
+     * @return the first day of the period following the one starting at {@code bucket}
+     */
+    public LocalDate nextBucket(LocalDate bucket) {
+        switch (this) {
+            case MONTHLY:
+                return bucket.plusMonths(1);
+            case YEARLY:
+                return bucket.plusYears(1);
+            default:
+                return bucket.plusDays(1);
+        }
+    }
+}
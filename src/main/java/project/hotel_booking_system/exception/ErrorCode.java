@@ -69,6 +69,7 @@ public enum ErrorCode {
     PAYMENT_REQUIRED("Payment is required to complete this operation", HttpStatus.BAD_REQUEST),
     INCOMPLETE_PAYMENT("Full payment is required to complete checkout", HttpStatus.BAD_REQUEST),
     CASH_PAYMENT_REQUIRED("Cash payment confirmation is required", HttpStatus.BAD_REQUEST),
+    INVALID_PAYMENT_SIGNATURE("Invalid payment gateway signature", HttpStatus.BAD_REQUEST),
     REFUND_ALREADY_COMPLETED("Refund has already been completed", HttpStatus.BAD_REQUEST),
 
     REFUND_NOT_ELIGIBLE("Booking is not eligible for refund", HttpStatus.BAD_REQUEST),
@@ -82,6 +83,9 @@ public enum ErrorCode {
     REVIEW_ALREADY_EXISTS("User already reviewed this room", HttpStatus.CONFLICT),
     REVIEW_NOT_ALLOWED("User must complete a booking before reviewing", HttpStatus.BAD_REQUEST),
 
+    //Pagination related
+    INVALID_CURSOR("Invalid pagination cursor", HttpStatus.BAD_REQUEST),
+
     //Room related
     ROOM_ALREADY_BOOKED("Room is already booked for the selected dates", HttpStatus.CONFLICT);
 
@@ -5,6 +5,7 @@ import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 import project.hotel_booking_system.dto.response.BookingResponseDTO;
 import project.hotel_booking_system.model.Booking;
+import project.hotel_booking_system.repository.projection.BookingView;
 
 import java.util.List;
 
@@ -17,4 +18,6 @@ public interface BookingMapper {
     @Mapping(source = "room.roomNumber", target = "roomNumber")
     BookingResponseDTO toDTO(Booking booking);
 
+    BookingResponseDTO toDTO(BookingView booking);
+
 } 
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.mapstruct.Mapping;
 import project.hotel_booking_system.dto.response.PaymentResponseDTO;
 import project.hotel_booking_system.model.Booking;
 import project.hotel_booking_system.model.Payment;
+import project.hotel_booking_system.repository.projection.PaymentView;
 
 @Mapper(componentModel = "spring")
 public interface PaymentMapper {
@@ -15,6 +16,9 @@ public interface PaymentMapper {
     @Mapping(source = "booking.user.fullname", target = "userName")
     PaymentResponseDTO toDTO(Payment payment);
 
+    @Mapping(target = "paymentUrl", ignore = true)
+    PaymentResponseDTO toDTO(PaymentView payment);
+
 
 //    default PaymentResponseDTO toResponseDTO(Payment payment) {
 //        Booking booking = payment.getBooking();
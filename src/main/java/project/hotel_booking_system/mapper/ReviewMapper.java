@@ -5,6 +5,7 @@ import org.mapstruct.Mapping;
 import org.springframework.stereotype.Component;
 import project.hotel_booking_system.dto.response.ReviewResponse;
 import project.hotel_booking_system.model.Review;
+import project.hotel_booking_system.repository.projection.ReviewView;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -16,4 +17,6 @@ public interface ReviewMapper {
     @Mapping(source = "room.id", target = "roomId")
     @Mapping(source = "room.roomNumber", target = "roomNumber")
     ReviewResponse toResponse(Review review);
+
+    ReviewResponse toResponse(ReviewView review);
 }
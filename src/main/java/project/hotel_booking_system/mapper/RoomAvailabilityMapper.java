@@ -7,6 +7,7 @@ import project.hotel_booking_system.dto.response.RoomAvailabilityPageResponse;
 import project.hotel_booking_system.dto.response.RoomAvailabilityResponse;
 import project.hotel_booking_system.dto.response.RoomCalendarInfo;
 import project.hotel_booking_system.model.Room;
+import project.hotel_booking_system.service.room.RoomSnapshot;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -36,6 +37,15 @@ public interface RoomAvailabilityMapper {
             List<LocalDate> blockedDates
     );
 
+    @Mapping(target = "roomId", source = "room.id")
+    @Mapping(target = "roomNumber", source = "room.roomNumber")
+    RoomAvailabilityResponse toResponse(
+            RoomSnapshot room,
+            List<LocalDate> availableDates,
+            List<LocalDate> bookedDates,
+            List<LocalDate> blockedDates
+    );
+
     @Mapping(target = "roomId", source = "room.id")
     @Mapping(target = "roomNumber", source = "room.roomNumber")
     @Mapping(target = "roomType", source = "room.roomType")
@@ -6,6 +6,7 @@ import org.mapstruct.Mapping;
 import org.springframework.beans.factory.annotation.Value;
 import project.hotel_booking_system.dto.response.RoomImageResponse;
 import project.hotel_booking_system.model.RoomImage;
+import project.hotel_booking_system.repository.projection.RoomThumbnail;
 
 import java.util.List;
 
@@ -17,6 +18,10 @@ public interface RoomImageMapper {
 
     @Mapping(target = "fullImageUrl", expression = "java(getFullImageUrl(roomImage.getImageUrl()))")
     RoomImageResponse toImageResponse(RoomImage roomImage);
+
+    @Mapping(target = "fullImageUrl", expression = "java(getFullImageUrl(thumbnail.getImageUrl()))")
+    @Mapping(target = "createAt", ignore = true)
+    RoomImageResponse toImageResponse(RoomThumbnail thumbnail);
     
     List<RoomImageResponse> toRoomImageResponseList(List<RoomImage> roomImages);
 
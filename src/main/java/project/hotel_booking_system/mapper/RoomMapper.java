@@ -8,6 +8,7 @@ import project.hotel_booking_system.dto.request.room_request.RoomUpdateRequest;
 import project.hotel_booking_system.dto.response.RoomImageResponse;
 import project.hotel_booking_system.dto.response.RoomResponse;
 import project.hotel_booking_system.model.Room;
+import project.hotel_booking_system.service.room.RoomSnapshot;
 
 import java.util.List;
 
@@ -20,6 +21,10 @@ public interface RoomMapper  {
     @Mapping(target = "images", ignore = true)
     RoomResponse toRoomResponse(Room room);
 
+    @Mapping(target = "createdAt", source = "createAt")
+    @Mapping(target = "images", ignore = true)
+    RoomResponse toRoomResponse(RoomSnapshot room);
+
     void updateRoom(@MappingTarget Room room, RoomUpdateRequest roomUpdateRequest);
 
     default RoomResponse toRoomResponse(Room room, List<RoomImageResponse> images){
@@ -28,4 +33,10 @@ public interface RoomMapper  {
         return response;
     }
 
+    default RoomResponse toRoomResponse(RoomSnapshot room, List<RoomImageResponse> images){
+        RoomResponse response = toRoomResponse(room);
+        response.setImages(images);
+        return response;
+    }
+
 }
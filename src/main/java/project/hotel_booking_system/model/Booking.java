@@ -4,6 +4,7 @@ package project.hotel_booking_system.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.ColumnDefault;
 import project.hotel_booking_system.enums.BookingStatus;
 
 import java.math.BigDecimal;
@@ -17,18 +18,25 @@ import java.util.Date;
 @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
-@Table(name = "bookings")
+@NamedEntityGraph(name = "booking.withRoomAndUser", attributeNodes = {
+        @NamedAttributeNode("room"),
+        @NamedAttributeNode("user")
+})
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_room_stay", columnList = "room_id, check_in_date, check_out_date, status"),
+        @Index(name = "idx_bookings_user_created", columnList = "user_id, created_at, id")
+})
 public class Booking {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id", nullable = false)
     Room room;
 
@@ -48,4 +56,18 @@ public class Booking {
     @Column(name = "created_at",updatable = false, nullable = false)
     LocalDateTime createdAt;
 
+    // Deadline of a PENDING booking; unpaid bookings are cancelled once it passes
+    @Column(name = "hold_expires_at")
+    LocalDateTime holdExpiresAt;
+
+    // Sum of the payment ledger; only ever changed in the database by PaymentLedger
+    @Column(name = "paid_total", nullable = false, precision = 10, scale = 2, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    BigDecimal paidTotal = BigDecimal.ZERO;
+
+    public BigDecimal getBalance() {
+        return totalPrice.subtract(paidTotal);
+    }
+
 }
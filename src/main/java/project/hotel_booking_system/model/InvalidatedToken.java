@@ -29,8 +29,9 @@ public class InvalidatedToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     Long id;
 
-    @Column(nullable = false, unique = true)
-    String token;
+    // First 16 bytes of the SHA-256 of the token id
+    @Column(name = "token_hash", nullable = false, unique = true, columnDefinition = "BINARY(16)")
+    byte[] tokenHash;
 
     @Column(name = "invalidatedat", nullable = false)
     Date invalidatedAt;
@@ -0,0 +1,61 @@
+package project.hotel_booking_system.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * A VNPay callback that has been applied to its payment. The unique key stops a repeated
+ * callback from being applied twice. Rows go with their payment, so deleting the payments of
+ * an expired hold is not blocked by a declined callback.
+ */
+@Entity
+@Table(name = "payment_callbacks", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payment_callbacks_txn", columnNames = {"txn_ref", "transaction_no"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PaymentCallback {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payment_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    Payment payment;
+
+    @Column(name = "txn_ref", nullable = false, length = 100)
+    String txnRef;
+
+    @Column(name = "transaction_no", nullable = false, length = 100)
+    String transactionNo;
+
+    @Column(name = "response_code", length = 10)
+    String responseCode;
+
+    @Column(name = "received_at", nullable = false)
+    LocalDateTime receivedAt;
+}
@@ -0,0 +1,55 @@
+package project.hotel_booking_system.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * A change in what a payment contributes to its booking: the amount when it completes, the
+ * negated amount when it stops counting. Entries are never updated.
+ */
+@Entity
+@Table(name = "payment_ledger", indexes = {
+        @Index(name = "idx_payment_ledger_booking", columnList = "booking_id"),
+        @Index(name = "idx_payment_ledger_payment", columnList = "payment_id")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PaymentLedgerEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id", nullable = false, updatable = false)
+    Booking booking;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payment_id", nullable = false, updatable = false)
+    Payment payment;
+
+    @Column(name = "amount", nullable = false, updatable = false, precision = 10, scale = 2)
+    BigDecimal amount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    LocalDateTime createdAt;
+}
@@ -0,0 +1,55 @@
+package project.hotel_booking_system.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * A VNPay transaction reference issued with a payment URL. Every reference is kept, not only
+ * the latest one in {@code payments.vnp_txn_ref}, so a customer who pays through an earlier
+ * URL of the same payment is still matched. Rows go with their payment.
+ */
+@Entity
+@Table(name = "payment_txn_refs", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payment_txn_refs_txn_ref", columnNames = "txn_ref")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PaymentTxnRef {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payment_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    Payment payment;
+
+    @Column(name = "txn_ref", nullable = false, length = 100)
+    String txnRef;
+
+    @Column(name = "issued_at", nullable = false)
+    LocalDateTime issuedAt;
+}
@@ -9,7 +9,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "refunds")
+@Table(name = "refunds", indexes = {
+        @Index(name = "idx_refunds_status_next_attempt", columnList = "status, next_attempt_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -42,6 +44,10 @@ public class Refund {
     @Column(name = "vnpay_refund_id")
     String vnpayRefundId;
 
+    // Sent as vnp_RequestId; fixed before the first attempt so VNPay sees every retry as the same request
+    @Column(name = "vnp_request_id", length = 50)
+    String vnpRequestId;
+
     @Column(name = "created_at", nullable = false)
     LocalDateTime createdAt;
 
@@ -51,6 +57,16 @@ public class Refund {
     @Column(name = "updated_at")
     LocalDateTime updatedAt;
 
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    Integer attempts = 0;
+
+    @Column(name = "next_attempt_at")
+    LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    String lastError;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
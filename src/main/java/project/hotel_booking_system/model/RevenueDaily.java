@@ -0,0 +1,58 @@
+package project.hotel_booking_system.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import project.hotel_booking_system.enums.PaymentMethod;
+import project.hotel_booking_system.enums.RoomType;
+
+/**
+ * Revenue of one day, payment method and room type: the completed payments of COMPLETED
+ * bookings, keyed by the day they were paid.
+ */
+@Entity
+@Table(name = "revenue_daily", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_revenue_daily_key", columnNames = {"revenue_date", "payment_method", "room_type"})
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RevenueDaily {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "revenue_date", nullable = false)
+    LocalDate revenueDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", nullable = false, length = 20)
+    PaymentMethod paymentMethod;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "room_type", nullable = false, length = 20)
+    RoomType roomType;
+
+    @Column(name = "revenue", nullable = false, precision = 15, scale = 2)
+    BigDecimal revenue;
+
+    @Column(name = "payment_count", nullable = false)
+    Integer paymentCount;
+}
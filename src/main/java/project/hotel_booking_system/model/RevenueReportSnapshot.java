@@ -0,0 +1,56 @@
+package project.hotel_booking_system.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import project.hotel_booking_system.enums.ReportPeriod;
+
+/**
+ * Revenue report row of a closed month or year, kept until a payment dated into it changes.
+ */
+@Entity
+@Table(name = "revenue_report_cache", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_revenue_report_cache_bucket", columnNames = {"period", "bucket_start"})
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RevenueReportSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period", nullable = false, length = 20)
+    ReportPeriod period;
+
+    @Column(name = "bucket_start", nullable = false)
+    LocalDate bucketStart;
+
+    @Column(name = "total_revenue", nullable = false, precision = 15, scale = 2)
+    BigDecimal totalRevenue;
+
+    @Column(name = "bookings_count", nullable = false)
+    Integer bookingsCount;
+
+    @Column(name = "computed_at", nullable = false)
+    LocalDateTime computedAt;
+}
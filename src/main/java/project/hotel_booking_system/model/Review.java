@@ -13,18 +13,24 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
-@Table(name = "reviews")
+@NamedEntityGraph(name = "review.withRoomAndUser", attributeNodes = {
+        @NamedAttributeNode("room"),
+        @NamedAttributeNode("user")
+})
+@Table(name = "reviews", indexes = {
+        @Index(name = "idx_reviews_room_created", columnList = "room_id, created_at, id")
+})
 public class Review {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id", nullable = false)
     Room room;
 
@@ -18,7 +18,9 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
-@Table(name = "rooms")
+@Table(name = "rooms", indexes = {
+        @Index(name = "idx_rooms_status_type_price", columnList = "status, type, price")
+})
 public class Room {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
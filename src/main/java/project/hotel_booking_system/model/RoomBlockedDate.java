@@ -14,13 +14,14 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
+@NamedEntityGraph(name = "roomBlockedDate.withRoom", attributeNodes = @NamedAttributeNode("room"))
 @Table(name = "room_blocked_dates")
 public class RoomBlockedDate {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id", nullable = false)
     Room room;
 
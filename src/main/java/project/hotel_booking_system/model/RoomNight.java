@@ -0,0 +1,46 @@
+package project.hotel_booking_system.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * One sold night of a room. The primary key on (room_id, night) lets the database
+ * reject a second booking of the same night, so creating a booking needs no overlap scan.
+ */
+@Entity
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "room_nights", indexes = {
+        @Index(name = "idx_room_nights_booking", columnList = "booking_id"),
+        @Index(name = "idx_room_nights_room_night", columnList = "room_id, night")
+})
+public class RoomNight implements Persistable<RoomNightId> {
+
+    @EmbeddedId
+    RoomNightId id;
+
+    @Column(name = "booking_id", nullable = false)
+    Long bookingId;
+
+    // Ids are assigned, so track newness here to let save() persist without a select first
+    @Transient
+    @Builder.Default
+    boolean isNew = true;
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
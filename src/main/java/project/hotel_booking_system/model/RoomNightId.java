@@ -0,0 +1,25 @@
+package project.hotel_booking_system.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RoomNightId implements Serializable {
+
+    @Column(name = "room_id", nullable = false)
+    Long roomId;
+
+    @Column(name = "night", nullable = false)
+    LocalDate night;
+}
@@ -1,13 +1,20 @@
 package project.hotel_booking_system.repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
+import jakarta.persistence.LockModeType;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,12 +22,52 @@ import org.springframework.stereotype.Repository;
 import project.hotel_booking_system.enums.BookingStatus;
 import project.hotel_booking_system.model.Booking;
 import project.hotel_booking_system.model.Room;
+import project.hotel_booking_system.repository.projection.BookedStay;
+import project.hotel_booking_system.repository.projection.BookingView;
+import project.hotel_booking_system.repository.projection.CalendarStay;
+import project.hotel_booking_system.repository.projection.PendingHold;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    // Associations are lazy; methods whose bookings are mapped to BookingResponseDTO fetch both
+    @Override
+    @EntityGraph("booking.withRoomAndUser")
+    Optional<Booking> findById(Long id);
+
+    @Override
+    @EntityGraph("booking.withRoomAndUser")
+    List<Booking> findAll();
+
+    @EntityGraph("booking.withRoomAndUser")
     List<Booking> findByStatus(BookingStatus status);
     
+    @EntityGraph("booking.withRoomAndUser")
     Page<Booking> findByUser_Id(Long userId, Pageable pageable);
+
+    long countByUser_Id(Long userId);
+
+    // Listing columns only, without loading the guest or the room
+    String VIEW = "SELECT b.id AS id, u.id AS userId, u.fullname AS userName, r.id AS roomId, " +
+           "r.roomNumber AS roomNumber, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, " +
+           "b.status AS status, b.totalPrice AS totalPrice, b.createdAt AS createdAt, " +
+           "b.holdExpiresAt AS holdExpiresAt " +
+           "FROM Booking b JOIN b.user u JOIN b.room r ";
+
+    @Query(value = VIEW + "WHERE u.id = :userId ORDER BY b.createdAt DESC, b.id DESC",
+           countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.user.id = :userId")
+    Page<BookingView> findViewsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Cursor pages, newest first, read along idx_bookings_user_created
+    @Query(VIEW + "WHERE u.id = :userId ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingView> findFirstViewsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(VIEW + "WHERE u.id = :userId " +
+           "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingView> findViewsByUserIdAfter(@Param("userId") Long userId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
     
     @Query("SELECT b FROM Booking b WHERE b.room.id = :roomId " +
            "AND ((b.checkInDate <= :checkOutDate AND b.checkOutDate >= :checkInDate) OR " +
@@ -47,5 +94,68 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findBookingsByDateRange(@Param("startDate") Date startDate,
                                           @Param("endDate") Date endDate);
 
-    List<Booking> findByStatusAndCreatedAtBefore(BookingStatus bookingStatus, LocalDateTime createdAtBefore);
+    @Query("SELECT b.id AS bookingId, b.room.id AS roomId, " +
+            "b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate " +
+            "FROM Booking b WHERE b.status NOT IN ('CANCELLED', 'NO_SHOW') " +
+            "AND b.checkOutDate > :fromDate")
+    List<BookedStay> findActiveStaysEndingAfter(@Param("fromDate") Date fromDate);
+
+    @Query("SELECT b.id AS bookingId, b.room.id AS roomId, " +
+            "b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate " +
+            "FROM Booking b WHERE b.room.id IN :roomIds " +
+            "AND b.status NOT IN ('CANCELLED', 'NO_SHOW') " +
+            "AND b.checkInDate <= :endDate AND b.checkOutDate > :startDate")
+    List<BookedStay> findActiveStaysByRoomIdsAndDateRange(@Param("roomIds") Collection<Long> roomIds,
+                                                          @Param("startDate") Date startDate,
+                                                          @Param("endDate") Date endDate);
+
+    @Query("SELECT b.id AS bookingId, b.room.id AS roomId, " +
+            "b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, u.fullname AS guestName " +
+            "FROM Booking b JOIN b.user u WHERE b.status NOT IN ('CANCELLED', 'NO_SHOW') " +
+            "AND b.checkInDate <= :endDate AND b.checkOutDate > :startDate " +
+            "ORDER BY b.checkInDate, b.id")
+    List<CalendarStay> findCalendarStaysByDateRange(@Param("startDate") Date startDate,
+                                                    @Param("endDate") Date endDate);
+
+    @Query("SELECT b.id AS bookingId, b.holdExpiresAt AS holdExpiresAt, b.createdAt AS createdAt " +
+            "FROM Booking b WHERE b.status = 'PENDING'")
+    List<PendingHold> findPendingHolds();
+
+    // Bookings created before hold_expires_at existed expire relative to created_at
+    @Query("SELECT b.id FROM Booking b WHERE b.status = 'PENDING' " +
+            "AND (b.holdExpiresAt <= :now OR (b.holdExpiresAt IS NULL AND b.createdAt <= :legacyCutoff)) " +
+            "ORDER BY b.id")
+    List<Long> findExpiredHoldIds(@Param("now") LocalDateTime now,
+                                  @Param("legacyCutoff") LocalDateTime legacyCutoff,
+                                  Pageable pageable);
+
+    @Query("SELECT b.paidTotal FROM Booking b WHERE b.id = :id")
+    Optional<BigDecimal> findPaidTotalById(@Param("id") Long id);
+
+    // Native, as paid_total is not updatable through the entity
+    @Modifying
+    @Query(value = "UPDATE bookings SET paid_total = paid_total + :delta WHERE id = :id", nativeQuery = true)
+    int addToPaidTotal(@Param("id") Long id, @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query(value = "UPDATE bookings SET paid_total = :paidTotal WHERE id = :id", nativeQuery = true)
+    int setPaidTotal(@Param("id") Long id, @Param("paidTotal") BigDecimal paidTotal);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id AS bookingId, b.room.id AS roomId, " +
+            "b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate " +
+            "FROM Booking b WHERE b.id IN :ids AND b.status = 'PENDING' " +
+            "AND (b.holdExpiresAt <= :now OR (b.holdExpiresAt IS NULL AND b.createdAt <= :legacyCutoff))")
+    List<BookedStay> lockExpiredHolds(@Param("ids") Collection<Long> ids,
+                                      @Param("now") LocalDateTime now,
+                                      @Param("legacyCutoff") LocalDateTime legacyCutoff);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'CANCELLED' WHERE b.id IN :ids")
+    int cancelAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Conditional, so a hold the expirer cancelled since the booking was read is not confirmed again
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'CONFIRMED' WHERE b.id = :id AND b.status = 'PENDING'")
+    int confirmIfPending(@Param("id") Long id);
 }
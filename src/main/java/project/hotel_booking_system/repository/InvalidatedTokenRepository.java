@@ -1,14 +1,20 @@
 package project.hotel_booking_system.repository;
 
 import java.util.Date;
+import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import project.hotel_booking_system.model.InvalidatedToken;
 
 @Repository
 public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedToken, Long> {
-    boolean existsByToken(String token);
+    boolean existsByTokenHash(byte[] tokenHash);
+
+    @Query("SELECT t.tokenHash FROM InvalidatedToken t")
+    List<byte[]> findAllTokenHashes();
+
     long deleteByInvalidatedAtBefore(Date date);
 } 
\ No newline at end of file
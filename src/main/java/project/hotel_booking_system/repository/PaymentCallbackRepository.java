@@ -0,0 +1,19 @@
+package project.hotel_booking_system.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import project.hotel_booking_system.model.Payment;
+import project.hotel_booking_system.model.PaymentCallback;
+
+@Repository
+public interface PaymentCallbackRepository extends JpaRepository<PaymentCallback, Long> {
+
+    @Query("SELECT c.payment FROM PaymentCallback c WHERE c.txnRef = :txnRef AND c.transactionNo = :transactionNo")
+    Optional<Payment> findPaymentByTxnRefAndTransactionNo(@Param("txnRef") String txnRef,
+                                                          @Param("transactionNo") String transactionNo);
+}
@@ -0,0 +1,24 @@
+package project.hotel_booking_system.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import project.hotel_booking_system.model.PaymentLedgerEntry;
+import project.hotel_booking_system.repository.projection.BookingPaidTotal;
+
+@Repository
+public interface PaymentLedgerRepository extends JpaRepository<PaymentLedgerEntry, Long> {
+
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM PaymentLedgerEntry e WHERE e.payment.id = :paymentId")
+    BigDecimal sumByPaymentId(@Param("paymentId") Long paymentId);
+
+    @Query("SELECT e.booking.id AS bookingId, SUM(e.amount) AS paidTotal FROM PaymentLedgerEntry e " +
+            "WHERE e.booking.id IN :bookingIds GROUP BY e.booking.id")
+    List<BookingPaidTotal> sumByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+}
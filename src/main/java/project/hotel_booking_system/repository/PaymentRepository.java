@@ -1,24 +1,78 @@
 package project.hotel_booking_system.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import project.hotel_booking_system.enums.PaymentStatus;
 import project.hotel_booking_system.model.Payment;
+import project.hotel_booking_system.repository.projection.PaymentView;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
+    // Associations are lazy; methods whose payments are mapped to PaymentResponseDTO fetch the booking
+    @Override
+    @EntityGraph("payment.withBooking")
+    Optional<Payment> findById(Long id);
+
+    @Override
+    @EntityGraph("payment.withBooking")
+    List<Payment> findAll();
+
+    @EntityGraph("payment.withBooking")
     List<Payment> findByStatus(PaymentStatus status);
     
     Page<Payment> findByBookingId(Long bookingId, Pageable pageable);
+
+    long countByBookingId(Long bookingId);
+
+    // Listing columns only, without loading the booking, its guest or its room
+    String VIEW = "SELECT p.id AS id, b.id AS bookingId, r.roomNumber AS roomNumber, u.fullname AS userName, " +
+            "p.amount AS amount, p.paymentDate AS paymentDate, p.paymentMethod AS paymentMethod, p.status AS status " +
+            "FROM Payment p JOIN p.booking b JOIN b.user u JOIN b.room r ";
+
+    @Query(value = VIEW + "WHERE b.id = :bookingId ORDER BY p.id",
+            countQuery = "SELECT COUNT(p) FROM Payment p WHERE p.booking.id = :bookingId")
+    Page<PaymentView> findViewsByBookingId(@Param("bookingId") Long bookingId, Pageable pageable);
+
+    // Cursor pages in id order, read along the booking_id foreign key index
+    @Query(VIEW + "WHERE b.id = :bookingId AND p.id > :id ORDER BY p.id")
+    List<PaymentView> findViewsByBookingIdAfter(@Param("bookingId") Long bookingId,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
     
     // Phương thức tìm danh sách payment theo booking_id không phân trang
     List<Payment> findByBookingId(Long bookingId);
 
     void deleteByBookingId(Long id);
+
+    boolean existsByBookingId(Long bookingId);
+
+    // Synced through the rollup, which reads the booking's status and room type
+    @EntityGraph("payment.withBooking")
+    @Query("SELECT p FROM Payment p WHERE p.status = :status " +
+            "AND NOT EXISTS (SELECT e.id FROM PaymentLedgerEntry e WHERE e.payment = p)")
+    List<Payment> findByStatusWithoutLedgerEntry(@Param("status") PaymentStatus status);
+
+    @Query("SELECT MIN(p.paymentDate) FROM Payment p WHERE p.status = :status")
+    Optional<LocalDateTime> findFirstPaymentDate(@Param("status") PaymentStatus status);
+
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = 'CANCELLED' WHERE p.booking.id IN :bookingIds AND p.status = 'PENDING'")
+    int cancelPendingByBookingIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+
+    // Synced through the ledger and the rollup, which read the booking
+    @EntityGraph("payment.withBooking")
+    List<Payment> findByBookingIdInAndStatus(Collection<Long> bookingIds, PaymentStatus status);
 }
@@ -0,0 +1,17 @@
+package project.hotel_booking_system.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import project.hotel_booking_system.model.PaymentTxnRef;
+
+@Repository
+public interface PaymentTxnRefRepository extends JpaRepository<PaymentTxnRef, Long> {
+
+    @Query("SELECT r.payment.id FROM PaymentTxnRef r WHERE r.txnRef = :txnRef")
+    Optional<Long> findPaymentIdByTxnRef(@Param("txnRef") String txnRef);
+}
@@ -1,12 +1,16 @@
 package project.hotel_booking_system.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import project.hotel_booking_system.enums.RefundStatus;
 import project.hotel_booking_system.model.Refund;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,4 +25,43 @@ public interface RefundRepository extends JpaRepository<Refund, Long> {
     @Query("SELECT r FROM Refund r WHERE r.booking.id = :bookingId AND r.status = :status")
     Optional<Refund> findByBookingIdAndStatus(@Param("bookingId") Long bookingId,
                                               @Param("status") RefundStatus status);
+
+    // Everything the VNPay refund request is built from
+    @Query("SELECT r FROM Refund r JOIN FETCH r.payment JOIN FETCH r.booking b JOIN FETCH b.user " +
+            "WHERE r.id = :id")
+    Optional<Refund> findForSubmission(@Param("id") Long id);
+
+    @Query("SELECT r.id FROM Refund r WHERE r.status = :status " +
+            "AND (r.nextAttemptAt IS NULL OR r.nextAttemptAt <= :now) ORDER BY r.id")
+    List<Long> findDueIds(@Param("status") RefundStatus status,
+                          @Param("now") LocalDateTime now,
+                          Pageable pageable);
+
+    // Only one caller can move a due refund out of PENDING
+    @Transactional
+    @Modifying
+    @Query("UPDATE Refund r SET r.status = :processing, r.attempts = r.attempts + 1, r.updatedAt = :now " +
+            "WHERE r.id = :id AND r.status = :pending " +
+            "AND (r.nextAttemptAt IS NULL OR r.nextAttemptAt <= :now)")
+    int claim(@Param("id") Long id,
+              @Param("pending") RefundStatus pending,
+              @Param("processing") RefundStatus processing,
+              @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Refund r SET r.vnpRequestId = :requestId WHERE r.id = :id AND r.vnpRequestId IS NULL")
+    int assignRequestId(@Param("id") Long id, @Param("requestId") String requestId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Refund r SET r.status = :to WHERE r.status = :from")
+    int updateStatus(@Param("from") RefundStatus from, @Param("to") RefundStatus to);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Refund r SET r.status = :to WHERE r.status = :from AND r.updatedAt < :before")
+    int updateStatusUpdatedBefore(@Param("from") RefundStatus from,
+                                  @Param("to") RefundStatus to,
+                                  @Param("before") LocalDateTime before);
 }
@@ -0,0 +1,56 @@
+package project.hotel_booking_system.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import project.hotel_booking_system.model.RevenueDaily;
+import project.hotel_booking_system.repository.projection.RevenueDayTotal;
+
+@Repository
+public interface RevenueDailyRepository extends JpaRepository<RevenueDaily, Long> {
+
+    @Query("SELECT r.revenueDate AS revenueDate, SUM(r.revenue) AS revenue, SUM(r.paymentCount) AS paymentCount " +
+            "FROM RevenueDaily r WHERE r.revenueDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY r.revenueDate ORDER BY r.revenueDate")
+    List<RevenueDayTotal> sumByDay(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT CAST(p.paymentDate AS LocalDate) AS revenueDate, SUM(p.amount) AS revenue, COUNT(p) AS paymentCount " +
+            "FROM Payment p WHERE p.status = 'COMPLETED' AND p.booking.status = 'COMPLETED' " +
+            "AND p.paymentDate >= :from AND p.paymentDate < :to " +
+            "GROUP BY CAST(p.paymentDate AS LocalDate) ORDER BY CAST(p.paymentDate AS LocalDate)")
+    List<RevenueDayTotal> sumPaymentsByDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO revenue_daily (revenue_date, payment_method, room_type, revenue, payment_count) " +
+            "VALUES (:revenueDate, :paymentMethod, :roomType, :revenue, :paymentCount) " +
+            "ON DUPLICATE KEY UPDATE revenue = revenue + VALUES(revenue), " +
+            "payment_count = payment_count + VALUES(payment_count)", nativeQuery = true)
+    int add(@Param("revenueDate") LocalDate revenueDate,
+            @Param("paymentMethod") String paymentMethod,
+            @Param("roomType") String roomType,
+            @Param("revenue") BigDecimal revenue,
+            @Param("paymentCount") int paymentCount);
+
+    @Modifying
+    @Query(value = "INSERT INTO revenue_daily (revenue_date, payment_method, room_type, revenue, payment_count) " +
+            "SELECT CAST(p.payment_date AS DATE), p.payment_method, r.type, SUM(p.amount), COUNT(p.id) " +
+            "FROM payments p JOIN bookings b ON b.id = p.booking_id JOIN rooms r ON r.id = b.room_id " +
+            "WHERE p.status = 'COMPLETED' AND b.status = 'COMPLETED' " +
+            "AND p.payment_date >= :from AND p.payment_date < :to " +
+            "GROUP BY CAST(p.payment_date AS DATE), p.payment_method, r.type", nativeQuery = true)
+    int insertFromPayments(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM RevenueDaily r WHERE r.revenueDate BETWEEN :startDate AND :endDate")
+    int deleteByRevenueDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,29 @@
+package project.hotel_booking_system.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import project.hotel_booking_system.enums.ReportPeriod;
+import project.hotel_booking_system.model.RevenueReportSnapshot;
+
+@Repository
+public interface RevenueReportSnapshotRepository extends JpaRepository<RevenueReportSnapshot, Long> {
+
+    List<RevenueReportSnapshot> findByPeriodAndBucketStartIn(ReportPeriod period, Collection<LocalDate> bucketStarts);
+
+    // Called after the transaction that changed the rollup has committed
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("DELETE FROM RevenueReportSnapshot s WHERE s.period = :period AND s.bucketStart IN :bucketStarts")
+    int deleteByPeriodAndBucketStartIn(@Param("period") ReportPeriod period,
+                                       @Param("bucketStarts") Collection<LocalDate> bucketStarts);
+}
@@ -2,22 +2,57 @@ package project.hotel_booking_system.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import project.hotel_booking_system.model.Review;
+import project.hotel_booking_system.repository.projection.ReviewView;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
+    // Associations are lazy; methods whose reviews are mapped to ReviewResponse fetch both
+    @Override
+    @EntityGraph("review.withRoomAndUser")
+    Optional<Review> findById(Long id);
+
+    @Override
+    @EntityGraph("review.withRoomAndUser")
+    Page<Review> findAll(Pageable pageable);
+
+    @EntityGraph("review.withRoomAndUser")
     Page<Review> findByRoomIdOrderByCreatedAtDesc(Long roomId, Pageable pageable);
 
+    @EntityGraph("review.withRoomAndUser")
     Page<Review> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
 
+    // Listing columns only, without loading the reviewer or the room
+    String VIEW = "SELECT r.id AS id, u.id AS userId, u.fullname AS userFullname, rm.id AS roomId, " +
+            "rm.roomNumber AS roomNumber, r.rating AS rating, r.comment AS comment, r.createdAt AS createdAt " +
+            "FROM Review r JOIN r.user u JOIN r.room rm ";
+
+    @Query(value = VIEW + "WHERE rm.id = :roomId ORDER BY r.createdAt DESC, r.id DESC",
+            countQuery = "SELECT COUNT(r) FROM Review r WHERE r.room.id = :roomId")
+    Page<ReviewView> findViewsByRoomId(@Param("roomId") Long roomId, Pageable pageable);
+
+    // Cursor pages, newest first, read along idx_reviews_room_created
+    @Query(VIEW + "WHERE rm.id = :roomId ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findFirstViewsByRoomId(@Param("roomId") Long roomId, Pageable pageable);
+
+    @Query(VIEW + "WHERE rm.id = :roomId " +
+            "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findViewsByRoomIdAfter(@Param("roomId") Long roomId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
     boolean existsByUserIdAndRoomId(Long userId, Long roomId);
 
     Optional<Review> findByUserIdAndRoomId(Long userId, Long roomId);
@@ -2,12 +2,15 @@ package project.hotel_booking_system.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import project.hotel_booking_system.model.RoomBlockedDate;
+import project.hotel_booking_system.repository.projection.BlockedNight;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface RoomBlockedDateRepository extends JpaRepository<RoomBlockedDate, Long> {
@@ -25,7 +28,24 @@ public interface RoomBlockedDateRepository extends JpaRepository<RoomBlockedDate
     List<RoomBlockedDate> findFutureBlockedDatesByRoom(@Param("roomId") Long roomId,
                                                        @Param("startDate") LocalDate startDate);
 
+    @Query("SELECT rbd.room.id AS roomId, rbd.blockedDate AS blockedDate " +
+            "FROM RoomBlockedDate rbd WHERE rbd.blockedDate >= :fromDate")
+    List<BlockedNight> findBlockedNightsFrom(@Param("fromDate") LocalDate fromDate);
 
+    @Query("SELECT rbd.room.id AS roomId, rbd.blockedDate AS blockedDate " +
+            "FROM RoomBlockedDate rbd WHERE rbd.room.id IN :roomIds " +
+            "AND rbd.blockedDate BETWEEN :startDate AND :endDate ORDER BY rbd.blockedDate")
+    List<BlockedNight> findBlockedNightsByRoomIdsAndDateRange(@Param("roomIds") Collection<Long> roomIds,
+                                                              @Param("startDate") LocalDate startDate,
+                                                              @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT rbd.room.id AS roomId, rbd.blockedDate AS blockedDate " +
+            "FROM RoomBlockedDate rbd WHERE rbd.blockedDate BETWEEN :startDate AND :endDate")
+    List<BlockedNight> findBlockedNightsBetween(@Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate);
+
+    // Returned as is by the blocked dates endpoint, room included
+    @EntityGraph("roomBlockedDate.withRoom")
     Page<RoomBlockedDate> findByRoomIdAndBlockedDateBetweenOrderByBlockedDate(
             Long roomId, LocalDate startDate, LocalDate endDate, Pageable pageable);
 }
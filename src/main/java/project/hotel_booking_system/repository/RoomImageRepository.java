@@ -1,14 +1,18 @@
 package project.hotel_booking_system.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import project.hotel_booking_system.enums.ImageType;
 import project.hotel_booking_system.model.Room;
 import project.hotel_booking_system.model.RoomImage;
+import project.hotel_booking_system.repository.projection.RoomThumbnail;
 
 @Repository
 public interface RoomImageRepository extends JpaRepository<RoomImage, Long> {
@@ -19,4 +23,9 @@ public interface RoomImageRepository extends JpaRepository<RoomImage, Long> {
     List<RoomImage> findByRoom_IdAndImageType(Long roomId, ImageType imageType);
 
     Optional<RoomImage> findByIdAndRoom(Long id, Room room);
+
+    @Query("SELECT ri.room.id AS roomId, ri.id AS id, ri.imageUrl AS imageUrl, ri.imageType AS imageType " +
+            "FROM RoomImage ri WHERE ri.room.id IN :roomIds AND ri.imageType = :imageType ORDER BY ri.id")
+    List<RoomThumbnail> findByRoomIdsAndImageType(@Param("roomIds") Collection<Long> roomIds,
+                                                  @Param("imageType") ImageType imageType);
 }
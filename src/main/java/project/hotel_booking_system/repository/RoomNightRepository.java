@@ -0,0 +1,25 @@
+package project.hotel_booking_system.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import project.hotel_booking_system.model.RoomNight;
+import project.hotel_booking_system.model.RoomNightId;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RoomNightRepository extends JpaRepository<RoomNight, RoomNightId> {
+
+    boolean existsById_RoomIdAndId_NightBetween(Long roomId, LocalDate firstNight, LocalDate lastNight);
+
+    List<RoomNight> findById_NightGreaterThanEqual(LocalDate fromNight);
+
+    @Modifying
+    @Query("DELETE FROM RoomNight n WHERE n.bookingId IN :bookingIds")
+    int deleteByBookingIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+}
@@ -1,71 +1,60 @@
 package project.hotel_booking_system.repository;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import project.hotel_booking_system.enums.RoomStatus;
-import project.hotel_booking_system.enums.RoomType;
 import project.hotel_booking_system.model.Room;
 
 @Repository
-public interface RoomRepository extends JpaRepository<Room, Long> {
+public interface RoomRepository extends JpaRepository<Room, Long>, JpaSpecificationExecutor<Room> {
     Optional<Room> findByRoomNumber(String num);
     Page<Room> findAll(Pageable pageable);
+    // Cursor pages in id order
+    List<Room> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
     void deleteByRoomNumber(String num);
     
-    // Find available rooms by room type
-    Page<Room> findByRoomTypeAndRoomStatus(RoomType roomType, RoomStatus roomStatus, Pageable pageable);
-    
-    // Find available rooms by price range
-    Page<Room> findByPriceBetweenAndRoomStatus(BigDecimal minPrice, BigDecimal maxPrice, RoomStatus roomStatus, Pageable pageable);
-    
-    // Find available rooms by room type and price range
-    Page<Room> findByRoomTypeAndPriceBetweenAndRoomStatus(RoomType roomType, BigDecimal minPrice, BigDecimal maxPrice, RoomStatus roomStatus, Pageable pageable);
-    
-    // Query to find available rooms (not booked) for a specific date range
-    @Query("SELECT r FROM Room r WHERE r.roomStatus = :status AND r.id NOT IN " +
-           "(SELECT b.room.id FROM Booking b WHERE " +
-           "((b.checkInDate <= :checkOutDate AND b.checkOutDate >= :checkInDate) OR " +
-           "(b.checkInDate >= :checkInDate AND b.checkInDate <= :checkOutDate) OR " +
-           "(b.checkOutDate >= :checkInDate AND b.checkOutDate <= :checkOutDate)) AND " +
-           "b.status != 'CANCELLED')")
-    Page<Room> findAvailableRoomsForDateRange(@Param("checkInDate") Date checkInDate,
-                                             @Param("checkOutDate") Date checkOutDate,
+    // Query to find available rooms (no sold night) for a specific range of nights
+    @Query("SELECT r FROM Room r WHERE r.roomStatus = :status AND NOT EXISTS " +
+           "(SELECT 1 FROM RoomNight rn WHERE rn.id.roomId = r.id " +
+           "AND rn.id.night BETWEEN :firstNight AND :lastNight)")
+    Page<Room> findAvailableRoomsForDateRange(@Param("firstNight") LocalDate firstNight,
+                                             @Param("lastNight") LocalDate lastNight,
                                              @Param("status") RoomStatus status,
                                              Pageable pageable);
     
-    // Query to find available rooms by date range, room type and price range
-    @Query("SELECT r FROM Room r WHERE r.roomStatus = :status " +
-           "AND (:roomType IS NULL OR r.roomType = :roomType) " +
-           "AND (:minPrice IS NULL OR r.price >= :minPrice) " +
-           "AND (:maxPrice IS NULL OR r.price <= :maxPrice) " +
-           "AND r.id NOT IN " +
-           "(SELECT b.room.id FROM Booking b WHERE " +
-           "((b.checkInDate <= :checkOutDate AND b.checkOutDate >= :checkInDate) OR " +
-           "(b.checkInDate >= :checkInDate AND b.checkInDate <= :checkOutDate) OR " +
-           "(b.checkOutDate >= :checkInDate AND b.checkOutDate <= :checkOutDate)) AND " +
-           "b.status != 'CANCELLED')")
-    Page<Room> searchAvailableRooms(@Param("checkInDate") Date checkInDate,
-                                   @Param("checkOutDate") Date checkOutDate,
-                                   @Param("roomType") RoomType roomType,
-                                   @Param("minPrice") BigDecimal minPrice,
-                                   @Param("maxPrice") BigDecimal maxPrice,
-                                   @Param("status") RoomStatus status,
-                                   Pageable pageable);
-
-
     @Query("SELECT r FROM Room r WHERE r.roomStatus = 'AVAILABLE' ORDER BY r.roomNumber")
     List<Room> findAllAvailableRooms();
 
     @Query("SELECT r FROM Room r WHERE r.roomStatus = 'AVAILABLE' ORDER BY r.roomNumber")
     Page<Room> findAllAvailableRooms(Pageable pageable);
+
+    // Single round trip: empty when the room does not exist, otherwise whether no booking
+    // or blocked date falls on a night of [checkIn, checkOut)
+    @Query("SELECT CASE WHEN EXISTS (SELECT 1 FROM Booking b WHERE b.room.id = r.id " +
+           "AND b.status NOT IN ('CANCELLED', 'NO_SHOW') " +
+           "AND b.checkInDate < :checkOut AND b.checkOutDate > :checkIn) " +
+           "OR EXISTS (SELECT 1 FROM RoomBlockedDate rbd WHERE rbd.room.id = r.id " +
+           "AND rbd.blockedDate BETWEEN :firstNight AND :lastNight) " +
+           "THEN false ELSE true END FROM Room r WHERE r.id = :roomId")
+    Optional<Boolean> isFreeBetween(@Param("roomId") Long roomId,
+                                    @Param("checkIn") Date checkIn,
+                                    @Param("checkOut") Date checkOut,
+                                    @Param("firstNight") LocalDate firstNight,
+                                    @Param("lastNight") LocalDate lastNight);
+
+    @Query("SELECT r.id FROM Room r WHERE r.id IN :roomIds")
+    Set<Long> findExistingIds(@Param("roomIds") Collection<Long> roomIds);
 }
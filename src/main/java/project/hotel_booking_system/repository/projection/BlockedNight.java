@@ -0,0 +1,11 @@
+package project.hotel_booking_system.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Minimal view of a blocked date of a room.
+ */
+public interface BlockedNight {
+    Long getRoomId();
+    LocalDate getBlockedDate();
+}
@@ -0,0 +1,13 @@
+package project.hotel_booking_system.repository.projection;
+
+import java.util.Date;
+
+/**
+ * Minimal view of a booking used to compute which nights of a room are occupied.
+ */
+public interface BookedStay {
+    Long getBookingId();
+    Long getRoomId();
+    Date getCheckInDate();
+    Date getCheckOutDate();
+}
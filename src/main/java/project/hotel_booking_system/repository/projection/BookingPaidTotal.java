@@ -0,0 +1,11 @@
+package project.hotel_booking_system.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Amount paid for a booking, summed over its payment ledger.
+ */
+public interface BookingPaidTotal {
+    Long getBookingId();
+    BigDecimal getPaidTotal();
+}
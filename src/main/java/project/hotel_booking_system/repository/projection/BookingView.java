@@ -0,0 +1,24 @@
+package project.hotel_booking_system.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+import project.hotel_booking_system.enums.BookingStatus;
+
+/**
+ * Columns of a booking listing, with the guest's name and the room number joined in.
+ */
+public interface BookingView {
+    Long getId();
+    Long getUserId();
+    String getUserName();
+    Long getRoomId();
+    String getRoomNumber();
+    Date getCheckInDate();
+    Date getCheckOutDate();
+    BookingStatus getStatus();
+    BigDecimal getTotalPrice();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getHoldExpiresAt();
+}
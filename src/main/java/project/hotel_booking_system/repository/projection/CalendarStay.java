@@ -0,0 +1,8 @@
+package project.hotel_booking_system.repository.projection;
+
+/**
+ * Booked stay together with the guest name shown on calendar cells.
+ */
+public interface CalendarStay extends BookedStay {
+    String getGuestName();
+}
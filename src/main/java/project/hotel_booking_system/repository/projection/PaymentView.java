@@ -0,0 +1,21 @@
+package project.hotel_booking_system.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import project.hotel_booking_system.enums.PaymentMethod;
+import project.hotel_booking_system.enums.PaymentStatus;
+
+/**
+ * Columns of a payment listing, with the booking's room number and guest name joined in.
+ */
+public interface PaymentView {
+    Long getId();
+    Long getBookingId();
+    String getRoomNumber();
+    String getUserName();
+    BigDecimal getAmount();
+    LocalDateTime getPaymentDate();
+    PaymentMethod getPaymentMethod();
+    PaymentStatus getStatus();
+}
@@ -0,0 +1,12 @@
+package project.hotel_booking_system.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deadline data of a PENDING booking, used to rebuild the hold expiry schedule.
+ */
+public interface PendingHold {
+    Long getBookingId();
+    LocalDateTime getHoldExpiresAt();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,13 @@
+package project.hotel_booking_system.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Revenue and number of payments of one day.
+ */
+public interface RevenueDayTotal {
+    LocalDate getRevenueDate();
+    BigDecimal getRevenue();
+    Long getPaymentCount();
+}
@@ -0,0 +1,17 @@
+package project.hotel_booking_system.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of a review listing, with the reviewer's name and the room number joined in.
+ */
+public interface ReviewView {
+    Long getId();
+    Long getUserId();
+    String getUserFullname();
+    Long getRoomId();
+    String getRoomNumber();
+    Byte getRating();
+    String getComment();
+    LocalDateTime getCreatedAt();
+}
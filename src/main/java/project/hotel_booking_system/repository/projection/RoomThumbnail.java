@@ -0,0 +1,13 @@
+package project.hotel_booking_system.repository.projection;
+
+import project.hotel_booking_system.enums.ImageType;
+
+/**
+ * Image columns needed to list a room, without loading the image's room.
+ */
+public interface RoomThumbnail {
+    Long getRoomId();
+    Long getId();
+    String getImageUrl();
+    ImageType getImageType();
+}
@@ -0,0 +1,77 @@
+package project.hotel_booking_system.repository.specification;
+
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import project.hotel_booking_system.enums.RoomStatus;
+import project.hotel_booking_system.enums.RoomType;
+import project.hotel_booking_system.model.Room;
+import project.hotel_booking_system.model.RoomNight;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Predicates of the room search. {@link #search} only adds the criteria that are given, so
+ * the generated SQL has no {@code :param IS NULL OR ...} branches and can use the
+ * rooms(status, type, price) index.
+ */
+public final class RoomSpecifications {
+
+    private RoomSpecifications() {
+    }
+
+    /**
+     * @param firstNight first night of the stay, or null to ignore dates
+     * @param lastNight  last night of the stay (the night before check-out)
+     */
+    public static Specification<Room> search(RoomStatus status, RoomType roomType,
+                                             BigDecimal minPrice, BigDecimal maxPrice,
+                                             LocalDate firstNight, LocalDate lastNight) {
+        List<Specification<Room>> criteria = new ArrayList<>();
+        criteria.add(hasStatus(status));
+        if (roomType != null) {
+            criteria.add(hasType(roomType));
+        }
+        if (minPrice != null) {
+            criteria.add(priceAtLeast(minPrice));
+        }
+        if (maxPrice != null) {
+            criteria.add(priceAtMost(maxPrice));
+        }
+        if (firstNight != null && lastNight != null) {
+            criteria.add(freeBetween(firstNight, lastNight));
+        }
+        return Specification.allOf(criteria);
+    }
+
+    public static Specification<Room> hasStatus(RoomStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("roomStatus"), status);
+    }
+
+    public static Specification<Room> hasType(RoomType roomType) {
+        return (root, query, cb) -> cb.equal(root.get("roomType"), roomType);
+    }
+
+    public static Specification<Room> priceAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Room> priceAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    // Anti-join on idx_room_nights_room_night (room_id, night): no night of the stay may be sold
+    public static Specification<Room> freeBetween(LocalDate firstNight, LocalDate lastNight) {
+        return (root, query, cb) -> {
+            Subquery<Integer> sold = query.subquery(Integer.class);
+            Root<RoomNight> night = sold.from(RoomNight.class);
+            sold.select(cb.literal(1)).where(
+                    cb.equal(night.get("id").get("roomId"), root.get("id")),
+                    cb.between(night.get("id").get("night"), firstNight, lastNight));
+            return cb.not(cb.exists(sold));
+        };
+    }
+}
@@ -34,9 +34,7 @@ import project.hotel_booking_system.dto.response.AuthenticationResponse;
 import project.hotel_booking_system.dto.response.IntrospectResponse;
 import project.hotel_booking_system.exception.AppException;
 import project.hotel_booking_system.exception.ErrorCode;
-import project.hotel_booking_system.model.InvalidatedToken;
 import project.hotel_booking_system.model.User;
-import project.hotel_booking_system.repository.InvalidatedTokenRepository;
 import project.hotel_booking_system.repository.UserRepository;
 
 @Service
@@ -46,7 +44,7 @@ import project.hotel_booking_system.repository.UserRepository;
 public class AuthenticationServiceImpl implements AuthenticationService {
 
     UserRepository userRepository;
-    InvalidatedTokenRepository invalidatedTokenRepository;
+    TokenRevocationStore tokenRevocationStore;
     PasswordEncoder passwordEncoder;
 
     @NonFinal
@@ -85,12 +83,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             var jwt = signedJWT.getJWTClaimsSet().getJWTID();
             var expiryTime = signedJWT.getJWTClaimsSet().getExpirationTime();
 
-            InvalidatedToken invalidatedToken = InvalidatedToken.builder()
-                    .token(jwt)
-                    .invalidatedAt(expiryTime)
-                    .build();
-
-            invalidatedTokenRepository.save(invalidatedToken);
+            tokenRevocationStore.revoke(jwt, expiryTime);
 
             var userName = signedJWT.getJWTClaimsSet().getSubject();
             var user = userRepository.findByUsername(userName)
@@ -118,11 +111,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             String jit = signedJWT.getJWTClaimsSet().getJWTID();
             Date expiryTime = signedJWT.getJWTClaimsSet().getExpirationTime();
 
-            InvalidatedToken invalidatedToken = InvalidatedToken.builder()
-                    .token(jit)
-                    .invalidatedAt(expiryTime)
-                    .build();
-            invalidatedTokenRepository.save(invalidatedToken);
+            tokenRevocationStore.revoke(jit, expiryTime);
         }catch(AppException | ParseException | JOSEException e){
             log.error("Error while logging out: {}", e.getMessage());
             throw new AppException(ErrorCode.UNAUTHENTICATED);
@@ -186,10 +175,6 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     private SignedJWT verifyToken(String token, boolean isRefresh) throws JOSEException, ParseException {
 
-        if (invalidatedTokenRepository.existsByToken(token)) {
-            throw new AppException(ErrorCode.UNAUTHENTICATED);
-        }
-
         JWSVerifier verifier = new MACVerifier(SIGNER_KEY.getBytes());
         SignedJWT signedJWT = SignedJWT.parse(token);
 
@@ -207,7 +192,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             throw new AppException(ErrorCode.UNAUTHENTICATED);
         }
 
-        if(invalidatedTokenRepository.existsByToken(signedJWT.getJWTClaimsSet().getJWTID())) {
+        if(tokenRevocationStore.isRevoked(signedJWT.getJWTClaimsSet().getJWTID())) {
             throw new AppException(ErrorCode.UNAUTHENTICATED);
         }
         return signedJWT;
@@ -219,11 +204,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             String jti = signedJWT.getJWTClaimsSet().getJWTID();
             Date expiryTime = signedJWT.getJWTClaimsSet().getExpirationTime();
 
-            InvalidatedToken invalidatedToken = InvalidatedToken.builder()
-                    .token(jti)
-                    .invalidatedAt(expiryTime)
-                    .build();
-            invalidatedTokenRepository.save(invalidatedToken);
+            tokenRevocationStore.revoke(jti, expiryTime);
         } catch (ParseException e) {
             log.error("Error parsing token for invalidation: {}", e.getMessage());
             throw new AppException(ErrorCode.UNAUTHENTICATED);
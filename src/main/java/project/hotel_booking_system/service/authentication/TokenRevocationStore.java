@@ -0,0 +1,116 @@
+package project.hotel_booking_system.service.authentication;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import project.hotel_booking_system.model.InvalidatedToken;
+import project.hotel_booking_system.repository.InvalidatedTokenRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Revoked token ids, fronted by an in-memory Bloom filter so that checking a valid token on
+ * each request needs no query. Only a filter hit is confirmed against the table.
+ * <p>
+ * Tokens are stored as the first 16 bytes of the SHA-256 of their id. The filter is built from
+ * the table when the application starts and a new generation replaces it whenever expired
+ * revocations are purged, so it never fills up with tokens that no longer matter. Adding to the
+ * filter and building a generation hold the same lock, and a revocation is added again once its
+ * row commits, so a generation whose scan ran before the commit cannot leave it out.
+ */
+@Slf4j
+@Component
+public class TokenRevocationStore {
+
+    static final int HASH_LENGTH = 16;
+
+    private final InvalidatedTokenRepository invalidatedTokenRepository;
+    private final long expectedTokens;
+    private final double falsePositiveRate;
+
+    private volatile RevocationBloomFilter filter;
+
+    public TokenRevocationStore(InvalidatedTokenRepository invalidatedTokenRepository,
+                                @Value("${jwt.revocation.expected-tokens:100000}") long expectedTokens,
+                                @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.invalidatedTokenRepository = invalidatedTokenRepository;
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new RevocationBloomFilter(expectedTokens, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int loaded = rotate();
+        log.info("Loaded {} revoked tokens", loaded);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        byte[] hash = hash(jti);
+        return filter.mightContain(hash) && invalidatedTokenRepository.existsByTokenHash(hash);
+    }
+
+    public void revoke(String jti, Date expiresAt) {
+        byte[] hash = hash(jti);
+        invalidatedTokenRepository.save(InvalidatedToken.builder()
+                .tokenHash(hash)
+                .invalidatedAt(expiresAt)
+                .build());
+        remember(hash);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(hash);
+                }
+            });
+        }
+    }
+
+    /**
+     * Forgets revocations of tokens that expired before the threshold and can no longer be
+     * refreshed, then starts a new filter generation from the rows that are left.
+     *
+     * @return the number of rows deleted
+     */
+    public synchronized long purgeBefore(Date threshold) {
+        long deleted = invalidatedTokenRepository.deleteByInvalidatedAtBefore(threshold);
+        rotate();
+        return deleted;
+    }
+
+    private synchronized int rotate() {
+        RevocationBloomFilter next = new RevocationBloomFilter(expectedTokens, falsePositiveRate);
+        List<byte[]> hashes = invalidatedTokenRepository.findAllTokenHashes();
+        hashes.forEach(next::put);
+        filter = next;
+        return hashes.size();
+    }
+
+    // Waits for a generation being built, so the hash lands in the filter that is swapped in
+    private synchronized void remember(byte[] hash) {
+        filter.put(hash);
+    }
+
+    static byte[] hash(String jti) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(jti.getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(digest, HASH_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -19,6 +19,9 @@ import project.hotel_booking_system.model.Booking;
 import project.hotel_booking_system.model.Room;
 import project.hotel_booking_system.repository.BookingRepository;
 import project.hotel_booking_system.repository.RoomRepository;
+import project.hotel_booking_system.service.common.RevenueRollup;
+import project.hotel_booking_system.service.room.RoomAvailabilityIndex;
+import project.hotel_booking_system.service.room.RoomCatalogCache;
 
 import java.util.List;
 
@@ -33,6 +36,10 @@ public class AdminBookingServiceImpl implements AdminBookingService {
     BookingRepository bookingRepository;
     RoomRepository roomRepository;
     BookingMapper bookingMapper;
+    RoomAvailabilityIndex availabilityIndex;
+    RoomNightInventory roomNightInventory;
+    RoomCatalogCache roomCatalogCache;
+    RevenueRollup revenueRollup;
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
@@ -76,6 +83,13 @@ public class AdminBookingServiceImpl implements AdminBookingService {
 
         booking.setStatus(statusUpdate.getStatus());
         Booking updated = bookingRepository.save(booking);
+        if (updated.getStatus() == BookingStatus.CANCELLED || updated.getStatus() == BookingStatus.NO_SHOW) {
+            roomNightInventory.release(updated);
+        }
+        if (updated.getStatus() == BookingStatus.COMPLETED) {
+            revenueRollup.onBookingCompleted(updated);
+        }
+        availabilityIndex.onBookingChanged(updated);
 
         return bookingMapper.toDTO(updated);
     }
@@ -110,6 +124,7 @@ public class AdminBookingServiceImpl implements AdminBookingService {
         Room room = booking.getRoom();
         room.setRoomStatus(RoomStatus.AVAILABLE);
         roomRepository.save(room);
+        roomCatalogCache.evict(room.getId());
 
         BookingStatusUpdateDTO statusUpdate = new BookingStatusUpdateDTO();
         statusUpdate.setStatus(BookingStatus.COMPLETED);
@@ -128,6 +143,7 @@ public class AdminBookingServiceImpl implements AdminBookingService {
         Room room = booking.getRoom();
         room.setRoomStatus(RoomStatus.AVAILABLE);
         roomRepository.save(room);
+        roomCatalogCache.evict(room.getId());
 
         BookingStatusUpdateDTO statusUpdate = new BookingStatusUpdateDTO();
         statusUpdate.setStatus(BookingStatus.CANCELLED);
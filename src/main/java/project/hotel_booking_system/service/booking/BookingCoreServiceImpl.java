@@ -8,13 +8,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import project.hotel_booking_system.dto.response.BookingResponseDTO;
 import project.hotel_booking_system.enums.BookingStatus;
-import project.hotel_booking_system.enums.PaymentStatus;
 import project.hotel_booking_system.enums.RoomStatus;
 import project.hotel_booking_system.exception.AppException;
 import project.hotel_booking_system.exception.ErrorCode;
 import project.hotel_booking_system.mapper.BookingMapper;
 import project.hotel_booking_system.model.Booking;
-import project.hotel_booking_system.model.Payment;
 import project.hotel_booking_system.model.Room;
 import project.hotel_booking_system.repository.BookingRepository;
 import project.hotel_booking_system.repository.PaymentRepository;
@@ -26,7 +24,6 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.util.Date;
-import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 
@@ -42,6 +39,7 @@ public class BookingCoreServiceImpl implements BookingCoreService {
     UserRepository userRepository;
     PaymentRepository paymentRepository;
     BookingMapper bookingMapper;
+    RoomNightInventory roomNightInventory;
 
 
     LocalTime STANDARD_CHECK_IN_TIME = LocalTime.of(14, 0);
@@ -77,10 +75,7 @@ public class BookingCoreServiceImpl implements BookingCoreService {
             throw new AppException(ErrorCode.ROOM_NOT_AVAILABLE);
         }
 
-        List<Booking> overlappingBookings = bookingRepository.findOverlappingBookings(
-                roomId, checkIn, checkOut);
-
-        if (!overlappingBookings.isEmpty()) {
+        if (roomNightInventory.isBooked(roomId, convertToLocalDate(checkIn), convertToLocalDate(checkOut))) {
             throw new AppException(ErrorCode.ROOM_NOT_AVAILABLE);
         }
     }
@@ -95,19 +90,11 @@ public class BookingCoreServiceImpl implements BookingCoreService {
     }
 
     public void validateFullPayment(Booking booking) {
-        List<Payment> payments = paymentRepository.findByBookingId(booking.getId());
-
-        if (payments.isEmpty()) {
-            throw new AppException(ErrorCode.PAYMENT_REQUIRED);
-        }
-
-        BigDecimal totalPaidAmount = payments.stream()
-                .filter(payment -> PaymentStatus.COMPLETED.equals(payment.getStatus()))
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
         // Check if total paid amount equals booking total price
-        if (totalPaidAmount.compareTo(booking.getTotalPrice()) < 0) {
+        if (booking.getBalance().signum() > 0) {
+            if (booking.getPaidTotal().signum() == 0 && !paymentRepository.existsByBookingId(booking.getId())) {
+                throw new AppException(ErrorCode.PAYMENT_REQUIRED);
+            }
             throw new AppException(ErrorCode.INCOMPLETE_PAYMENT);
         }
     }
@@ -0,0 +1,66 @@
+package project.hotel_booking_system.service.booking;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import project.hotel_booking_system.repository.BookingRepository;
+import project.hotel_booking_system.repository.RoomNightRepository;
+import project.hotel_booking_system.repository.projection.BookedStay;
+import project.hotel_booking_system.service.room.RoomAvailabilityIndex;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Cancels expired PENDING bookings a chunk at a time. The candidates are locked and re-checked
+ * against their deadline, so a booking paid or cancelled after its timer was set is left alone;
+ * its payments are then cancelled, its room nights released and the bookings marked CANCELLED
+ * with one statement each.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingHoldExpirer {
+
+    BookingRepository bookingRepository;
+    RoomNightRepository roomNightRepository;
+    RoomAvailabilityIndex availabilityIndex;
+    BookingHoldPolicy holdPolicy;
+    List<BookingHoldExpiryListener> expiryListeners;
+
+    /**
+     * @return the number of bookings cancelled
+     */
+    @Transactional
+    public int expire(Collection<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<BookedStay> expired = bookingRepository.lockExpiredHolds(bookingIds, now, holdPolicy.legacyCutoff(now));
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = expired.stream().map(BookedStay::getBookingId).toList();
+        expiryListeners.forEach(listener -> listener.onHoldsExpired(ids));
+        roomNightRepository.deleteByBookingIdIn(ids);
+        bookingRepository.cancelAllByIdIn(ids);
+        expired.forEach(stay -> availabilityIndex.onBookingDeleted(stay.getRoomId(), stay.getBookingId()));
+
+        log.info("Cancelled {} expired pending bookings", ids.size());
+        return ids.size();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findExpired(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return bookingRepository.findExpiredHoldIds(now, holdPolicy.legacyCutoff(now), PageRequest.of(0, limit));
+    }
+}
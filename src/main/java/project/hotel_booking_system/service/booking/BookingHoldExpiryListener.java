@@ -0,0 +1,12 @@
+package project.hotel_booking_system.service.booking;
+
+import java.util.Collection;
+
+/**
+ * Called inside the expiry transaction, before expired PENDING bookings are cancelled, so that
+ * rows referencing them can be cancelled in the same unit of work.
+ */
+public interface BookingHoldExpiryListener {
+
+    void onHoldsExpired(Collection<Long> bookingIds);
+}
@@ -0,0 +1,46 @@
+package project.hotel_booking_system.service.booking;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * How long a PENDING booking holds its room before it expires. A booking may ask for its own
+ * hold time, capped at the configured maximum.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingHoldPolicy {
+
+    @NonFinal
+    @Value("${booking.hold.ttl-minutes:60}")
+    long ttlMinutes;
+
+    @NonFinal
+    @Value("${booking.hold.max-ttl-minutes:1440}")
+    long maxTtlMinutes;
+
+    public LocalDateTime expiresAt(LocalDateTime createdAt, Integer requestedMinutes) {
+        long minutes = requestedMinutes == null ? ttlMinutes : Math.min(requestedMinutes, maxTtlMinutes);
+        return createdAt.plusMinutes(minutes);
+    }
+
+    /**
+     * Deadline of a hold, falling back to the default time for bookings made before
+     * hold_expires_at was recorded.
+     */
+    public LocalDateTime deadlineOf(LocalDateTime holdExpiresAt, LocalDateTime createdAt) {
+        return holdExpiresAt != null ? holdExpiresAt : createdAt.plusMinutes(ttlMinutes);
+    }
+
+    /**
+     * Creation time before which a booking without hold_expires_at has expired.
+     */
+    public LocalDateTime legacyCutoff(LocalDateTime now) {
+        return now.minusMinutes(ttlMinutes);
+    }
+}
@@ -0,0 +1,114 @@
+package project.hotel_booking_system.service.booking;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.hotel_booking_system.model.Booking;
+import project.hotel_booking_system.repository.BookingRepository;
+import project.hotel_booking_system.repository.projection.PendingHold;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Expires PENDING bookings close to their hold deadline.
+ * <p>
+ * Deadlines sit in a {@link HoldTimingWheel} with one-second ticks, rebuilt from the database
+ * when the application starts. Timers are not cancelled when a booking is paid or cancelled;
+ * {@link BookingHoldExpirer} only cancels bookings that are still PENDING past their deadline.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingHoldScheduler {
+
+    static final long TICK_MILLIS = 1000;
+    static final int WHEEL_SIZE = 60;
+    static final int CHUNK_SIZE = 500;
+
+    BookingHoldExpirer holdExpirer;
+    BookingHoldPolicy holdPolicy;
+    BookingRepository bookingRepository;
+
+    HoldTimingWheel wheel = new HoldTimingWheel(TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+    Queue<Long> due = new ConcurrentLinkedQueue<>();
+
+    public void schedule(Booking booking) {
+        schedule(booking.getId(), holdPolicy.deadlineOf(booking.getHoldExpiresAt(), booking.getCreatedAt()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<PendingHold> holds = bookingRepository.findPendingHolds();
+        for (PendingHold hold : holds) {
+            schedule(hold.getBookingId(), holdPolicy.deadlineOf(hold.getHoldExpiresAt(), hold.getCreatedAt()));
+        }
+        log.info("Scheduled expiry of {} pending bookings, {} already due", holds.size(), due.size());
+    }
+
+    @Scheduled(fixedDelay = TICK_MILLIS)
+    public void tick() {
+        tick(System.currentTimeMillis());
+    }
+
+    /**
+     * Safety net for holds the wheel missed, e.g. bookings written by another instance.
+     *
+     * @return the number of bookings cancelled
+     */
+    public int expireOverdue() {
+        int total = 0;
+        List<Long> ids;
+        do {
+            ids = holdExpirer.findExpired(CHUNK_SIZE);
+            int cancelled = holdExpirer.expire(ids);
+            total += cancelled;
+            if (cancelled == 0) {
+                break;
+            }
+        } while (ids.size() == CHUNK_SIZE);
+        return total;
+    }
+
+    void tick(long nowMillis) {
+        List<Long> expired;
+        synchronized (wheel) {
+            expired = wheel.advanceTo(nowMillis);
+        }
+        Long id;
+        while ((id = due.poll()) != null) {
+            expired.add(id);
+        }
+
+        for (int from = 0; from < expired.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = expired.subList(from, Math.min(from + CHUNK_SIZE, expired.size()));
+            try {
+                holdExpirer.expire(new ArrayList<>(chunk));
+            } catch (Exception e) {
+                // Left to the reconcile sweep
+                log.error("Error expiring pending bookings {}: {}", chunk, e.getMessage());
+            }
+        }
+    }
+
+    private void schedule(Long bookingId, LocalDateTime deadline) {
+        long deadlineMillis = deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        boolean added;
+        synchronized (wheel) {
+            added = wheel.add(bookingId, deadlineMillis);
+        }
+        if (!added) {
+            due.add(bookingId);
+        }
+    }
+}
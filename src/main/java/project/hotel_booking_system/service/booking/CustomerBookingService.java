@@ -9,5 +9,6 @@ public interface CustomerBookingService {
     BookingResponseDTO createBooking(BookingCreationRequest request);
     BookingResponseDTO getMyBooking(Long bookingId); // Removed userId parameter
     PaginationResponse<BookingResponseDTO> getMyBookings(Pageable pageable); // Removed userId parameter
+    PaginationResponse<BookingResponseDTO> getMyBookings(String cursor, int size, boolean includeTotal);
     BookingResponseDTO cancelMyBooking(Long bookingId);
 }
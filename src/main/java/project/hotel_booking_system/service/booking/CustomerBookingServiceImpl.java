@@ -26,6 +26,10 @@ import project.hotel_booking_system.model.User;
 import project.hotel_booking_system.repository.BookingRepository;
 import project.hotel_booking_system.repository.RoomRepository;
 import project.hotel_booking_system.repository.UserRepository;
+import project.hotel_booking_system.repository.projection.BookingView;
+import project.hotel_booking_system.service.room.RoomAvailabilityIndex;
+import project.hotel_booking_system.service.common.PageCursor;
+import project.hotel_booking_system.service.room.RoomCatalogCache;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -43,6 +47,11 @@ public class CustomerBookingServiceImpl implements CustomerBookingService {
     RoomRepository roomRepository;
     UserRepository userRepository;
     BookingMapper bookingMapper;
+    RoomAvailabilityIndex availabilityIndex;
+    RoomNightInventory roomNightInventory;
+    BookingHoldPolicy holdPolicy;
+    BookingHoldScheduler holdScheduler;
+    RoomCatalogCache roomCatalogCache;
 
     @Override
     @PreAuthorize("hasRole('CUSTOMER')")
@@ -61,6 +70,7 @@ public class CustomerBookingServiceImpl implements CustomerBookingService {
         User user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
 
+        LocalDateTime now = LocalDateTime.now();
         Booking booking = Booking.builder()
                 .room(room)
                 .user(user)
@@ -68,10 +78,14 @@ public class CustomerBookingServiceImpl implements CustomerBookingService {
                 .checkOutDate(request.getCheckOutDate())
                 .status(BookingStatus.PENDING)
                 .totalPrice(totalPrice)
-                .createdAt(LocalDateTime.now())
+                .createdAt(now)
+                .holdExpiresAt(holdPolicy.expiresAt(now, request.getHoldMinutes()))
                 .build();
 
         Booking saved = bookingRepository.save(booking);
+        roomNightInventory.reserve(saved);
+        holdScheduler.schedule(saved);
+        availabilityIndex.onBookingChanged(saved);
         return bookingMapper.toDTO(saved);
     }
 
@@ -95,7 +109,7 @@ public class CustomerBookingServiceImpl implements CustomerBookingService {
     public PaginationResponse<BookingResponseDTO> getMyBookings(Pageable pageable) {
         User currentUser = getCurrentUser();
 
-        Page<Booking> bookingsPage = bookingRepository.findByUser_Id(currentUser.getId(), pageable);
+        Page<BookingView> bookingsPage = bookingRepository.findViewsByUserId(currentUser.getId(), pageable);
         List<BookingResponseDTO> responses = bookingsPage.getContent()
                 .stream()
                 .map(bookingMapper::toDTO)
@@ -110,6 +124,23 @@ public class CustomerBookingServiceImpl implements CustomerBookingService {
                 .build();
     }
 
+    @Override
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public PaginationResponse<BookingResponseDTO> getMyBookings(String cursor, int size, boolean includeTotal) {
+        User currentUser = getCurrentUser();
+
+        PageCursor after = PageCursor.decode(cursor, true);
+        List<BookingView> bookings = after == null
+                ? bookingRepository.findFirstViewsByUserId(currentUser.getId(), PageCursor.limit(size))
+                : bookingRepository.findViewsByUserIdAfter(currentUser.getId(), after.createdAt(), after.id(),
+                        PageCursor.limit(size));
+
+        return PageCursor.toPage(bookings, size,
+                booking -> new PageCursor(booking.getCreatedAt(), booking.getId()),
+                page -> page.stream().map(bookingMapper::toDTO).toList(),
+                includeTotal ? bookingRepository.countByUser_Id(currentUser.getId()) : null);
+    }
+
     @Override
     @PreAuthorize("hasRole('CUSTOMER')")
     public BookingResponseDTO cancelMyBooking(Long bookingId) {
@@ -132,8 +163,11 @@ public class CustomerBookingServiceImpl implements CustomerBookingService {
         Room room = booking.getRoom();
         room.setRoomStatus(RoomStatus.AVAILABLE);
         roomRepository.save(room);
+        roomCatalogCache.evict(room.getId());
 
         Booking updated = bookingRepository.save(booking);
+        roomNightInventory.release(updated);
+        availabilityIndex.onBookingChanged(updated);
         return bookingMapper.toDTO(updated);
     }
 
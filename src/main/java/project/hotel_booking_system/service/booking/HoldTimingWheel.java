@@ -0,0 +1,96 @@
+package project.hotel_booking_system.service.booking;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel of booking hold deadlines.
+ * <p>
+ * Each level has {@code wheelSize} buckets of {@code tickMillis}; deadlines beyond the span of a
+ * level go to a coarser overflow level whose tick is the whole span of the level below. When a
+ * coarse bucket comes due its holds are pushed down to the finer levels, so adding a hold and
+ * advancing the clock by one tick are both O(1) whatever the number of pending holds.
+ * Not thread safe; callers synchronise.
+ */
+class HoldTimingWheel {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long intervalMillis;
+    private final List<ArrayDeque<Hold>> buckets;
+    private long currentTime;
+    private HoldTimingWheel overflow;
+
+    HoldTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.intervalMillis = tickMillis * wheelSize;
+        this.currentTime = startMillis - startMillis % tickMillis;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * @return false when the deadline falls within the current tick and the hold is already due
+     */
+    boolean add(long bookingId, long deadlineMillis) {
+        return add(new Hold(bookingId, deadlineMillis));
+    }
+
+    /**
+     * Moves the clock forward and returns the holds that came due, in no particular order.
+     */
+    List<Long> advanceTo(long nowMillis) {
+        List<Long> expired = new ArrayList<>();
+        advanceTo(nowMillis, this, expired);
+        return expired;
+    }
+
+    private boolean add(Hold hold) {
+        if (hold.deadlineMillis() < currentTime + tickMillis) {
+            return false;
+        }
+        if (hold.deadlineMillis() < currentTime + intervalMillis) {
+            buckets.get(slotOf(hold.deadlineMillis())).add(hold);
+            return true;
+        }
+        if (overflow == null) {
+            overflow = new HoldTimingWheel(intervalMillis, wheelSize, currentTime);
+        }
+        return overflow.add(hold);
+    }
+
+    private void advanceTo(long nowMillis, HoldTimingWheel root, List<Long> expired) {
+        if (nowMillis < currentTime + tickMillis) {
+            return;
+        }
+        long target = nowMillis - nowMillis % tickMillis;
+        long steps = Math.min((target - currentTime) / tickMillis, wheelSize);
+        long firstSlotTime = currentTime + tickMillis;
+        currentTime = target;
+
+        // Finer levels are already at the new time, so re-added holds land in future buckets
+        for (long step = 0; step < steps; step++) {
+            ArrayDeque<Hold> bucket = buckets.get(slotOf(firstSlotTime + step * tickMillis));
+            Hold hold;
+            while ((hold = bucket.poll()) != null) {
+                if (!root.add(hold)) {
+                    expired.add(hold.bookingId());
+                }
+            }
+        }
+        if (overflow != null) {
+            overflow.advanceTo(target, root, expired);
+        }
+    }
+
+    private int slotOf(long timeMillis) {
+        return (int) ((timeMillis / tickMillis) % wheelSize);
+    }
+
+    private record Hold(long bookingId, long deadlineMillis) {
+    }
+}
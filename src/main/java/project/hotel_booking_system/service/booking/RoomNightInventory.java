@@ -0,0 +1,114 @@
+package project.hotel_booking_system.service.booking;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import project.hotel_booking_system.exception.AppException;
+import project.hotel_booking_system.exception.ErrorCode;
+import project.hotel_booking_system.model.Booking;
+import project.hotel_booking_system.model.RoomNight;
+import project.hotel_booking_system.model.RoomNightId;
+import project.hotel_booking_system.repository.BookingRepository;
+import project.hotel_booking_system.repository.RoomNightRepository;
+import project.hotel_booking_system.repository.projection.BookedStay;
+import project.hotel_booking_system.service.room.RoomAvailabilityIndex;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Keeps the room_nights table in step with active bookings. Every night a booking holds is
+ * one row keyed by (room_id, night), so a second booking of the same night fails on insert.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RoomNightInventory {
+
+    RoomNightRepository roomNightRepository;
+    BookingRepository bookingRepository;
+
+    /**
+     * Inserts the nights of a saved booking in one batch.
+     *
+     * @throws AppException ROOM_NOT_AVAILABLE when any night is already held by another booking
+     */
+    public void reserve(Booking booking) {
+        LocalDate checkIn = RoomAvailabilityIndex.toLocalDate(booking.getCheckInDate());
+        LocalDate checkOut = RoomAvailabilityIndex.toLocalDate(booking.getCheckOutDate());
+        try {
+            roomNightRepository.saveAllAndFlush(
+                    nights(booking.getId(), booking.getRoom().getId(), checkIn, checkOut));
+        } catch (DataIntegrityViolationException e) {
+            log.info("Room {} already booked between {} and {}", booking.getRoom().getId(), checkIn, checkOut);
+            throw new AppException(ErrorCode.ROOM_NOT_AVAILABLE);
+        }
+    }
+
+    /**
+     * Deletes the nights of a booking with one statement, however long the stay.
+     */
+    public void release(Booking booking) {
+        roomNightRepository.deleteByBookingIdIn(List.of(booking.getId()));
+    }
+
+    public boolean isBooked(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        LocalDate lastNight = checkOut.isAfter(checkIn) ? checkOut.minusDays(1) : checkIn;
+        return roomNightRepository.existsById_RoomIdAndId_NightBetween(roomId, checkIn, lastNight);
+    }
+
+    /**
+     * Adds the remaining nights of active bookings made before the table existed. Nights
+     * already held by another booking are skipped and logged, as they are double-booked.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        LocalDate today = LocalDate.now();
+        Map<RoomNightId, Long> held = new HashMap<>();
+        roomNightRepository.findById_NightGreaterThanEqual(today)
+                .forEach(night -> held.put(night.getId(), night.getBookingId()));
+
+        List<RoomNight> missing = new ArrayList<>();
+        int conflicts = 0;
+        for (BookedStay stay : bookingRepository.findActiveStaysEndingAfter(java.sql.Date.valueOf(today))) {
+            LocalDate checkIn = RoomAvailabilityIndex.toLocalDate(stay.getCheckInDate());
+            LocalDate checkOut = RoomAvailabilityIndex.toLocalDate(stay.getCheckOutDate());
+            for (RoomNight night : nights(stay.getBookingId(), stay.getRoomId(),
+                    checkIn.isBefore(today) ? today : checkIn, checkOut)) {
+                Long holder = held.putIfAbsent(night.getId(), night.getBookingId());
+                if (holder == null) {
+                    missing.add(night);
+                } else if (!holder.equals(stay.getBookingId())) {
+                    conflicts++;
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            roomNightRepository.saveAll(missing);
+        }
+        log.info("Room night inventory backfilled with {} nights", missing.size());
+        if (conflicts > 0) {
+            log.warn("Found {} room nights claimed by more than one active booking", conflicts);
+        }
+    }
+
+    // A stay always holds at least its check-in night, matching the one-night minimum charge
+    private static List<RoomNight> nights(Long bookingId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        LocalDate end = checkOut.isAfter(checkIn) ? checkOut : checkIn.plusDays(1);
+        return checkIn.datesUntil(end)
+                .map(night -> RoomNight.builder()
+                        .id(new RoomNightId(roomId, night))
+                        .bookingId(bookingId)
+                        .build())
+                .toList();
+    }
+}
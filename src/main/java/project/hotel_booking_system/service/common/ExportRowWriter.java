@@ -0,0 +1,122 @@
+package project.hotel_booking_system.service.common;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import project.hotel_booking_system.enums.ExportFormat;
+
+/**
+ * Writes export rows one at a time, as CSV with a header line or as one JSON object per line.
+ * Nothing is kept once a row is written. CSV text cells that a spreadsheet would read as a
+ * formula are prefixed with a quote, as they may hold customer input.
+ */
+class ExportRowWriter implements AutoCloseable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final ExportFormat format;
+    private final String[] columns;
+    private final Writer writer;
+    private final JsonGenerator json;
+
+    ExportRowWriter(ExportFormat format, String[] columns, OutputStream out) throws IOException {
+        this.format = format;
+        this.columns = columns;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.NDJSON) {
+            this.json = JSON_FACTORY.createGenerator(writer);
+            this.json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        } else {
+            this.json = null;
+            writeCsvLine(columns);
+        }
+    }
+
+    void write(Object[] values) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            json.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                json.writeFieldName(columns[i]);
+                Object value = values[i];
+                if (value == null) {
+                    json.writeNull();
+                } else if (value instanceof BigDecimal decimal) {
+                    json.writeNumber(decimal);
+                } else if (value instanceof Number number) {
+                    json.writeNumber(number.longValue());
+                } else {
+                    json.writeString(text(value));
+                }
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        } else {
+            String[] fields = new String[values.length];
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value == null) {
+                    fields[i] = "";
+                } else if (value instanceof Number) {
+                    fields[i] = text(value);
+                } else {
+                    fields[i] = neutralise(text(value));
+                }
+            }
+            writeCsvLine(fields);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            json.close();
+        }
+        writer.flush();
+    }
+
+    private void writeCsvLine(String[] fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csv(fields[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String text(Object value) {
+        // ISO dates, as in the JSON API
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate().toString();
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return value.toString();
+    }
+
+    private static String neutralise(String field) {
+        if (!field.isEmpty() && "=+-@\t\r".indexOf(field.charAt(0)) >= 0) {
+            return "'" + field;
+        }
+        return field;
+    }
+
+    private static String csv(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+}
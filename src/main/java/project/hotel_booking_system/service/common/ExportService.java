@@ -0,0 +1,16 @@
+package project.hotel_booking_system.service.common;
+
+import java.time.LocalDate;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import project.hotel_booking_system.enums.BookingStatus;
+import project.hotel_booking_system.enums.ExportFormat;
+import project.hotel_booking_system.enums.PaymentStatus;
+
+public interface ExportService {
+
+    StreamingResponseBody exportPayments(LocalDate startDate, LocalDate endDate, PaymentStatus status, ExportFormat format);
+
+    StreamingResponseBody exportBookings(LocalDate startDate, LocalDate endDate, BookingStatus status, ExportFormat format);
+}
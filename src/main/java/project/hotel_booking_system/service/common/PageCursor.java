@@ -0,0 +1,87 @@
+package project.hotel_booking_system.service.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import project.hotel_booking_system.dto.response.PaginationResponse;
+import project.hotel_booking_system.exception.AppException;
+import project.hotel_booking_system.exception.ErrorCode;
+
+/**
+ * Position of a cursor (keyset) page: the sort key and id of the last row a client has seen.
+ * <p>
+ * The next page is read with {@code WHERE (key, id) < (:key, :id)} on an index over both, so it
+ * costs the same however deep the client has scrolled, and no count query is run unless the
+ * total is asked for. Lists ordered by id alone have no {@code createdAt}.
+ */
+public record PageCursor(LocalDateTime createdAt, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * @param byCreatedAt whether the list is ordered by {@code createdAt}, so the cursor must carry it
+     * @return the position after which to read, or null for the first page
+     */
+    public static PageCursor decode(String cursor, boolean byCreatedAt) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        PageCursor position;
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            position = separator < 0
+                    ? new PageCursor(null, Long.parseLong(value))
+                    : new PageCursor(LocalDateTime.parse(value.substring(0, separator)),
+                            Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new AppException(ErrorCode.INVALID_CURSOR);
+        }
+        // A cursor of another list
+        if (byCreatedAt != (position.createdAt() != null)) {
+            throw new AppException(ErrorCode.INVALID_CURSOR);
+        }
+        return position;
+    }
+
+    public String encode() {
+        String value = createdAt == null ? String.valueOf(id) : createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads one row more than {@code size}, to tell whether another page follows.
+     */
+    public static Pageable limit(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * Builds a cursor page from rows read with {@link #limit(int)}.
+     *
+     * @param total the total count, or null when it was not asked for
+     */
+    public static <E, T> PaginationResponse<T> toPage(List<E> rows, int size, Function<E, PageCursor> positionOf,
+                                                      Function<List<E>, List<T>> mapper, Long total) {
+        boolean last = rows.size() <= size;
+        List<E> page = last ? rows : rows.subList(0, size);
+
+        return PaginationResponse.<T>builder()
+                .content(mapper.apply(page))
+                .pageSize(size)
+                .totalElements(total)
+                .totalPages(total == null ? null : (int) Math.ceil((double) total / size))
+                .last(last)
+                .nextCursor(last ? null : positionOf.apply(page.get(page.size() - 1)).encode())
+                .build();
+    }
+}
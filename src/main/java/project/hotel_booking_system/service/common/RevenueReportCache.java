@@ -0,0 +1,169 @@
+package project.hotel_booking_system.service.common;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import project.hotel_booking_system.dto.response.RevenueReportDTO;
+import project.hotel_booking_system.enums.ReportPeriod;
+import project.hotel_booking_system.model.RevenueReportSnapshot;
+import project.hotel_booking_system.repository.RevenueReportSnapshotRepository;
+
+/**
+ * Monthly and yearly report rows of closed periods, pinned in memory and persisted in
+ * {@code revenue_report_cache} so they survive restarts.
+ * <p>
+ * A period is closed once the next one has started. Its row is dropped when the rollup changes
+ * a day inside it, e.g. a late payment or a rebuilt day, after that change commits. A row
+ * computed while such a change was in flight is not stored: callers pass the {@link #epoch()}
+ * they read before computing, and every invalidation moves it on.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RevenueReportCache {
+
+    static final List<ReportPeriod> CACHED_PERIODS = List.of(ReportPeriod.MONTHLY, ReportPeriod.YEARLY);
+
+    RevenueReportSnapshotRepository snapshotRepository;
+    Map<Key, RevenueReportDTO> pinned = new ConcurrentHashMap<>();
+    AtomicLong epoch = new AtomicLong();
+
+    public long epoch() {
+        return epoch.get();
+    }
+
+    public boolean isClosed(ReportPeriod period, LocalDate bucket) {
+        return CACHED_PERIODS.contains(period) && !period.nextBucket(bucket).isAfter(LocalDate.now());
+    }
+
+    /**
+     * @return the cached rows of the given buckets, by bucket; buckets never computed are absent
+     */
+    public Map<LocalDate, RevenueReportDTO> find(ReportPeriod period, Collection<LocalDate> buckets) {
+        Map<LocalDate, RevenueReportDTO> found = new HashMap<>();
+        List<LocalDate> missing = new ArrayList<>();
+        for (LocalDate bucket : buckets) {
+            RevenueReportDTO report = pinned.get(new Key(period, bucket));
+            if (report != null) {
+                found.put(bucket, report);
+            } else {
+                missing.add(bucket);
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        long seen = epoch.get();
+        for (RevenueReportSnapshot snapshot : snapshotRepository.findByPeriodAndBucketStartIn(period, missing)) {
+            RevenueReportDTO report = toReport(snapshot.getBucketStart(), snapshot.getTotalRevenue(),
+                    snapshot.getBookingsCount());
+            found.put(snapshot.getBucketStart(), report);
+            pin(period, snapshot.getBucketStart(), report, seen);
+        }
+        return found;
+    }
+
+    /**
+     * Keeps the row of a closed bucket unless it was invalidated since {@code seenEpoch}.
+     */
+    public synchronized void store(ReportPeriod period, LocalDate bucket, RevenueReportDTO report, long seenEpoch) {
+        if (epoch.get() != seenEpoch || !isClosed(period, bucket)) {
+            return;
+        }
+        try {
+            snapshotRepository.save(RevenueReportSnapshot.builder()
+                    .period(period)
+                    .bucketStart(bucket)
+                    .totalRevenue(report.getTotalRevenue())
+                    .bookingsCount(report.getBookingsCount())
+                    .computedAt(LocalDateTime.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Stored by another instance in the meantime
+            log.debug("{} report for {} is already cached", period, bucket);
+        }
+        pinned.put(new Key(period, bucket), report);
+    }
+
+    /**
+     * Drops the closed buckets that overlap the given days, both inclusive, once the current
+     * transaction commits.
+     */
+    public void invalidate(LocalDate startDate, LocalDate endDate) {
+        Map<ReportPeriod, List<LocalDate>> closed = new HashMap<>();
+        for (ReportPeriod period : CACHED_PERIODS) {
+            List<LocalDate> buckets = new ArrayList<>();
+            for (LocalDate bucket = period.bucketOf(startDate); !bucket.isAfter(endDate) && isClosed(period, bucket);
+                 bucket = period.nextBucket(bucket)) {
+                buckets.add(bucket);
+            }
+            if (!buckets.isEmpty()) {
+                closed.put(period, buckets);
+            }
+        }
+        if (closed.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(closed);
+                }
+            });
+        } else {
+            evict(closed);
+        }
+    }
+
+    static RevenueReportDTO toReport(LocalDate bucket, BigDecimal totalRevenue, int bookingsCount) {
+        BigDecimal averageRevenue = BigDecimal.ZERO;
+        if (bookingsCount > 0) {
+            averageRevenue = totalRevenue.divide(BigDecimal.valueOf(bookingsCount), 2, RoundingMode.HALF_UP);
+        }
+        return RevenueReportDTO.builder()
+                .date(bucket)
+                .totalRevenue(totalRevenue)
+                .bookingsCount(bookingsCount)
+                .averageRevenue(averageRevenue)
+                .build();
+    }
+
+    private synchronized void pin(ReportPeriod period, LocalDate bucket, RevenueReportDTO report, long seenEpoch) {
+        if (epoch.get() == seenEpoch) {
+            pinned.put(new Key(period, bucket), report);
+        }
+    }
+
+    private synchronized void evict(Map<ReportPeriod, List<LocalDate>> buckets) {
+        epoch.incrementAndGet();
+        buckets.forEach((period, starts) -> {
+            starts.forEach(bucket -> pinned.remove(new Key(period, bucket)));
+            snapshotRepository.deleteByPeriodAndBucketStartIn(period, starts);
+        });
+        log.info("Invalidated cached revenue reports: {}", buckets);
+    }
+
+    private record Key(ReportPeriod period, LocalDate bucket) {
+    }
+}
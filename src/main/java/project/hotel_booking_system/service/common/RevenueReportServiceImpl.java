@@ -1,24 +1,23 @@
 package project.hotel_booking_system.service.common;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.Query;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import project.hotel_booking_system.dto.response.RevenueReportDTO;
-import project.hotel_booking_system.enums.BookingStatus;
-import project.hotel_booking_system.enums.PaymentStatus;
 import project.hotel_booking_system.enums.ReportPeriod;
+import project.hotel_booking_system.repository.RevenueDailyRepository;
+import project.hotel_booking_system.repository.projection.RevenueDayTotal;
 
 @Service
 @Slf4j
@@ -26,7 +25,8 @@ import project.hotel_booking_system.enums.ReportPeriod;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class RevenueReportServiceImpl implements RevenueReportService {
 
-    private final EntityManager entityManager;
+    private final RevenueDailyRepository revenueDailyRepository;
+    private final RevenueReportCache revenueReportCache;
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
@@ -49,125 +49,64 @@ public class RevenueReportServiceImpl implements RevenueReportService {
     @Override
     @PreAuthorize("hasRole('ADMIN')")
     public List<RevenueReportDTO> getRevenueReport(LocalDate startDate, LocalDate endDate, ReportPeriod period) {
-        try {
+        long epoch = revenueReportCache.epoch();
 
-            String sqlQuery;
-            
-            switch (period) {
-                case DAILY:
-                    sqlQuery = "SELECT DATE(p.payment_date) as report_date, " +
-                            "SUM(p.amount) as total_revenue, " +
-                            "COUNT(p.id) as bookings_count " +
-                            "FROM payments p " +
-                            "JOIN bookings b ON p.booking_id = b.id " +
-                            "WHERE p.status = :paymentStatus " +
-                            "AND b.status = :bookingStatus " +
-                            "AND DATE(p.payment_date) >= :startDate " +
-                            "AND DATE(p.payment_date) <= :endDate " +
-                            "GROUP BY DATE(p.payment_date) " +
-                            "ORDER BY report_date";
-                    break;
-                case MONTHLY:
-                    sqlQuery = "SELECT DATE_FORMAT(p.payment_date, '%Y-%m-01') as report_date, " +
-                            "SUM(p.amount) as total_revenue, " +
-                            "COUNT(p.id) as bookings_count " +
-                            "FROM payments p " +
-                            "JOIN bookings b ON p.booking_id = b.id " +
-                            "WHERE p.status = :paymentStatus " +
-                            "AND b.status = :bookingStatus " +
-                            "AND DATE(p.payment_date) >= :startDate " +
-                            "AND DATE(p.payment_date) <= :endDate " +
-                            "GROUP BY DATE_FORMAT(p.payment_date, '%Y-%m-01') " +
-                            "ORDER BY report_date";
-                    break;
-                case YEARLY:
-                    sqlQuery = "SELECT DATE_FORMAT(p.payment_date, '%Y-01-01') as report_date, " +
-                            "SUM(p.amount) as total_revenue, " +
-                            "COUNT(p.id) as bookings_count " +
-                            "FROM payments p " +
-                            "JOIN bookings b ON p.booking_id = b.id " +
-                            "WHERE p.status = :paymentStatus " +
-                            "AND b.status = :bookingStatus " +
-                            "AND DATE(p.payment_date) >= :startDate " +
-                            "AND DATE(p.payment_date) <= :endDate " +
-                            "GROUP BY DATE_FORMAT(p.payment_date, '%Y-01-01') " +
-                            "ORDER BY report_date";
-                    break;
-                default:
-                    throw new IllegalArgumentException("Invalid report period: " + period);
+        // Buckets wholly inside the range that have closed can come from the cache
+        List<LocalDate> closed = new ArrayList<>();
+        for (LocalDate bucket = period.bucketOf(startDate); !bucket.isAfter(endDate); bucket = period.nextBucket(bucket)) {
+            if (!bucket.isBefore(startDate) && !period.nextBucket(bucket).isAfter(endDate.plusDays(1))
+                    && revenueReportCache.isClosed(period, bucket)) {
+                closed.add(bucket);
             }
-            
-
-            Query query = entityManager.createNativeQuery(sqlQuery);
-            query.setParameter("paymentStatus", PaymentStatus.COMPLETED.toString());
-            query.setParameter("bookingStatus", BookingStatus.COMPLETED.toString());
-            query.setParameter("startDate", startDate);
-            query.setParameter("endDate", endDate);
-            
-            log.info("Executing revenue report query for period {}: {}", period, sqlQuery);
-            log.info("Parameters: startDate={}, endDate={}, paymentStatus={}, bookingStatus={}", 
-                    startDate, endDate, PaymentStatus.COMPLETED, BookingStatus.COMPLETED);
-            
+        }
+        Map<LocalDate, RevenueReportDTO> reports = new TreeMap<>(revenueReportCache.find(period, closed));
 
-            query.setHint("javax.persistence.query.timeout", 30000);
-            
-            List<Object[]> results = query.getResultList();
-            List<RevenueReportDTO> reportList = new ArrayList<>();
-            
-            log.info("Query returned {} results", results.size());
-            
-            for (Object[] result : results) {
-                try {
-                    LocalDate date = null;
-                    if (result[0] instanceof java.sql.Date) {
-                        date = ((java.sql.Date) result[0]).toLocalDate();
-                    } else if (result[0] instanceof String) {
-                        date = LocalDate.parse((String) result[0]);
-                    } else {
-                        log.warn("Unexpected date type: {}", result[0] != null ? result[0].getClass().getName() : "null");
-                        continue;
-                    }
-                    
-                    BigDecimal totalRevenue;
-                    if (result[1] instanceof BigDecimal) {
-                        totalRevenue = (BigDecimal) result[1];
-                    } else if (result[1] instanceof Number) {
-                        totalRevenue = BigDecimal.valueOf(((Number) result[1]).doubleValue());
-                    } else {
-                        log.warn("Unexpected revenue type: {}", result[1] != null ? result[1].getClass().getName() : "null");
-                        totalRevenue = BigDecimal.ZERO;
-                    }
-                    
-                    Integer bookingsCount;
-                    if (result[2] instanceof Number) {
-                        bookingsCount = ((Number) result[2]).intValue();
-                    } else {
-                        log.warn("Unexpected count type: {}", result[2] != null ? result[2].getClass().getName() : "null");
-                        bookingsCount = 0;
-                    }
-                    
-                    BigDecimal averageRevenue = BigDecimal.ZERO;
-                    if (bookingsCount > 0) {
-                        averageRevenue = totalRevenue.divide(BigDecimal.valueOf(bookingsCount), 2, RoundingMode.HALF_UP);
-                    }
-                    
-                    RevenueReportDTO report = RevenueReportDTO.builder()
-                            .date(date)
-                            .totalRevenue(totalRevenue)
-                            .bookingsCount(bookingsCount)
-                            .averageRevenue(averageRevenue)
-                            .build();
-                    
-                    reportList.add(report);
-                } catch (Exception e) {
-                    log.error("Error processing result row: {}", e.getMessage(), e);
+        // Sum the rest from the rollup, skipping the cached buckets at either end
+        LocalDate from = startDate;
+        while (!from.isAfter(endDate) && reports.containsKey(period.bucketOf(from))) {
+            from = period.nextBucket(period.bucketOf(from));
+        }
+        LocalDate to = endDate;
+        while (!to.isBefore(from) && reports.containsKey(period.bucketOf(to))) {
+            to = period.bucketOf(to).minusDays(1);
+        }
+        if (!from.isAfter(to)) {
+            Map<LocalDate, RevenueReportDTO> computed = sum(from, to, period);
+            for (LocalDate bucket : closed) {
+                if (!reports.containsKey(bucket)) {
+                    RevenueReportDTO report = computed.getOrDefault(bucket,
+                            RevenueReportCache.toReport(bucket, BigDecimal.ZERO, 0));
+                    revenueReportCache.store(period, bucket, report, epoch);
                 }
             }
-            
-            return reportList;
-        } catch (Exception e) {
-            log.error("Error generating revenue report: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to generate revenue report", e);
+            computed.forEach(reports::putIfAbsent);
+        }
+
+        List<RevenueReportDTO> reportList = new ArrayList<>(reports.size());
+        for (RevenueReportDTO report : reports.values()) {
+            // Closed buckets without revenue are cached too, but not reported
+            if (report.getBookingsCount() > 0 || report.getTotalRevenue().signum() != 0) {
+                reportList.add(report);
+            }
+        }
+
+        log.info("{} revenue report from {} to {} has {} rows, {} from cache", period, startDate, endDate,
+                reportList.size(), closed.size());
+        return reportList;
+    }
+
+    private Map<LocalDate, RevenueReportDTO> sum(LocalDate startDate, LocalDate endDate, ReportPeriod period) {
+        Map<LocalDate, BigDecimal> revenue = new TreeMap<>();
+        Map<LocalDate, Integer> counts = new TreeMap<>();
+        for (RevenueDayTotal day : revenueDailyRepository.sumByDay(startDate, endDate)) {
+            LocalDate bucket = period.bucketOf(day.getRevenueDate());
+            revenue.merge(bucket, day.getRevenue(), BigDecimal::add);
+            counts.merge(bucket, day.getPaymentCount().intValue(), Integer::sum);
         }
+
+        Map<LocalDate, RevenueReportDTO> reports = new TreeMap<>();
+        revenue.forEach((bucket, total) ->
+                reports.put(bucket, RevenueReportCache.toReport(bucket, total, counts.get(bucket))));
+        return reports;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,178 @@
+package project.hotel_booking_system.service.common;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import project.hotel_booking_system.enums.BookingStatus;
+import project.hotel_booking_system.enums.PaymentStatus;
+import project.hotel_booking_system.model.Booking;
+import project.hotel_booking_system.model.Payment;
+import project.hotel_booking_system.repository.PaymentRepository;
+import project.hotel_booking_system.repository.RevenueDailyRepository;
+import project.hotel_booking_system.repository.projection.RevenueDayTotal;
+
+/**
+ * Maintains {@code revenue_daily}, the per day, payment method and room type totals the revenue
+ * reports read.
+ * <p>
+ * A payment counts once it is COMPLETED and its booking is COMPLETED, on the day it was paid.
+ * Rows are moved by the difference when either side changes, so no report has to scan payments.
+ * Refunds are not subtracted: they are kept in {@code refunds} and leave the payment COMPLETED,
+ * so the reports show the revenue received, as the payments table does.
+ * History is loaded at startup while the table is empty, and a nightly check compares recent
+ * days with the payments table and rebuilds any day that drifted. Cached reports of the days
+ * changed are invalidated.
+ */
+@Slf4j
+@Component
+public class RevenueRollup {
+
+    static final String MISMATCH_METER = "revenue.rollup.mismatches";
+
+    private final RevenueDailyRepository revenueDailyRepository;
+    private final PaymentRepository paymentRepository;
+    private final RevenueReportCache revenueReportCache;
+    private final Counter mismatches;
+    private final int checkDays;
+
+    public RevenueRollup(RevenueDailyRepository revenueDailyRepository,
+                         PaymentRepository paymentRepository,
+                         RevenueReportCache revenueReportCache,
+                         MeterRegistry meterRegistry,
+                         @Value("${revenue.rollup.check-days:35}") int checkDays) {
+        this.revenueDailyRepository = revenueDailyRepository;
+        this.paymentRepository = paymentRepository;
+        this.revenueReportCache = revenueReportCache;
+        this.mismatches = Counter.builder(MISMATCH_METER)
+                .description("Days of revenue_daily that disagreed with the payments table")
+                .register(meterRegistry);
+        this.checkDays = checkDays;
+    }
+
+    /**
+     * Applies a change in what a payment counts for, {@code before} and {@code after} being its
+     * counted amount. Nothing is added until the booking is COMPLETED.
+     */
+    public void onPaymentChanged(Payment payment, BigDecimal before, BigDecimal after) {
+        if (!BookingStatus.COMPLETED.equals(payment.getBooking().getStatus())) {
+            return;
+        }
+        int count = (after.signum() != 0 ? 1 : 0) - (before.signum() != 0 ? 1 : 0);
+        add(payment, after.subtract(before), count);
+    }
+
+    /**
+     * Adds the completed payments of a booking that has just reached COMPLETED.
+     */
+    @Transactional
+    public void onBookingCompleted(Booking booking) {
+        for (Payment payment : paymentRepository.findByBookingId(booking.getId())) {
+            if (PaymentStatus.COMPLETED.equals(payment.getStatus())) {
+                add(payment, payment.getAmount(), 1);
+            }
+        }
+    }
+
+    /**
+     * Replaces the rows of the given days, both inclusive, with totals computed from payments.
+     */
+    @Transactional
+    public void rebuild(LocalDate startDate, LocalDate endDate) {
+        revenueDailyRepository.deleteByRevenueDateBetween(startDate, endDate);
+        revenueDailyRepository.insertFromPayments(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+        revenueReportCache.invalidate(startDate, endDate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (revenueDailyRepository.count() > 0) {
+            return;
+        }
+        paymentRepository.findFirstPaymentDate(PaymentStatus.COMPLETED).ifPresent(first -> {
+            rebuild(first.toLocalDate(), LocalDate.now());
+            log.info("Loaded revenue_daily from payments since {}", first.toLocalDate());
+        });
+    }
+
+    /**
+     * Compares the last {@code revenue.rollup.check-days} days with the payments table and
+     * rebuilds the days that differ.
+     *
+     * @return the days that were rebuilt
+     */
+    @Scheduled(cron = "${revenue.rollup.check-cron:0 30 3 * * *}")
+    @Transactional
+    public List<LocalDate> check() {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(checkDays);
+        LocalDateTime to = endDate.plusDays(1).atStartOfDay();
+
+        Map<LocalDate, RevenueDayTotal> rolledUp = byDate(revenueDailyRepository.sumByDay(startDate, endDate));
+        Map<LocalDate, RevenueDayTotal> actual = byDate(revenueDailyRepository.sumPaymentsByDay(startDate.atStartOfDay(), to));
+
+        TreeSet<LocalDate> days = new TreeSet<>(rolledUp.keySet());
+        days.addAll(actual.keySet());
+        List<LocalDate> drifted = new ArrayList<>();
+        for (LocalDate day : days) {
+            if (!matches(rolledUp.get(day), actual.get(day))) {
+                drifted.add(day);
+            }
+        }
+
+        for (LocalDate day : drifted) {
+            rebuild(day, day);
+        }
+        if (!drifted.isEmpty()) {
+            mismatches.increment(drifted.size());
+            log.warn("Rebuilt {} days of revenue_daily that disagreed with payments: {}", drifted.size(), drifted);
+        }
+        return drifted;
+    }
+
+    private void add(Payment payment, BigDecimal revenue, int count) {
+        // Payments without a date are left out of the reports as well
+        if (payment.getPaymentDate() == null || (revenue.signum() == 0 && count == 0)) {
+            return;
+        }
+        LocalDate day = payment.getPaymentDate().toLocalDate();
+        revenueDailyRepository.add(
+                day,
+                payment.getPaymentMethod().name(),
+                payment.getBooking().getRoom().getRoomType().name(),
+                revenue,
+                count);
+        revenueReportCache.invalidate(day, day);
+    }
+
+    private Map<LocalDate, RevenueDayTotal> byDate(List<RevenueDayTotal> totals) {
+        Map<LocalDate, RevenueDayTotal> byDate = new TreeMap<>();
+        for (RevenueDayTotal total : totals) {
+            byDate.put(total.getRevenueDate(), total);
+        }
+        return byDate;
+    }
+
+    private boolean matches(RevenueDayTotal rolledUp, RevenueDayTotal actual) {
+        BigDecimal rolledUpRevenue = rolledUp == null ? BigDecimal.ZERO : rolledUp.getRevenue();
+        long rolledUpCount = rolledUp == null ? 0 : rolledUp.getPaymentCount();
+        BigDecimal actualRevenue = actual == null ? BigDecimal.ZERO : actual.getRevenue();
+        long actualCount = actual == null ? 0 : actual.getPaymentCount();
+        return rolledUpRevenue.compareTo(actualRevenue) == 0 && rolledUpCount == actualCount;
+    }
+}
@@ -3,6 +3,7 @@ package project.hotel_booking_system.service.payment;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import project.hotel_booking_system.enums.BookingStatus;
@@ -10,16 +11,18 @@ import project.hotel_booking_system.enums.PaymentStatus;
 import project.hotel_booking_system.model.Booking;
 import project.hotel_booking_system.model.Payment;
 import project.hotel_booking_system.repository.BookingRepository;
+import project.hotel_booking_system.service.common.RevenueRollup;
 
-import java.math.BigDecimal;
-
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class BookingStatusManagerImpl implements BookingStatusManager {
 
     BookingRepository bookingRepository;
-    PaymentCalculatorService paymentCalculatorService;
+    RevenueRollup revenueRollup;
+    PaymentLedger paymentLedger;
+    RefundQueue refundQueue;
 
     @Override
     @Transactional
@@ -28,24 +31,46 @@ public class BookingStatusManagerImpl implements BookingStatusManager {
 
         if (PaymentStatus.COMPLETED.equals(payment.getStatus())) {
             if (BookingStatus.PENDING.equals(booking.getStatus())) {
-                booking.setStatus(BookingStatus.CONFIRMED);
-            } else if (BookingStatus.CHECKED_IN.equals(booking.getStatus())) {
+                confirm(payment);
+                return;
+            }
+            if (BookingStatus.CHECKED_IN.equals(booking.getStatus())) {
                 booking.setStatus(BookingStatus.COMPLETED);
+                revenueRollup.onBookingCompleted(booking);
             }
             bookingRepository.save(booking);
         }
     }
 
+    /**
+     * Confirms a booking read as PENDING, unless its hold expired in the meantime. The room
+     * nights of an expired hold are already released, so the payment is cancelled and refunded
+     * instead of confirming a booking that holds no room.
+     */
+    private void confirm(Payment payment) {
+        Booking booking = payment.getBooking();
+        if (bookingRepository.confirmIfPending(booking.getId()) > 0) {
+            booking.setStatus(BookingStatus.CONFIRMED);
+            return;
+        }
+
+        payment.setStatus(PaymentStatus.CANCELLED);
+        paymentLedger.sync(payment);
+        refundQueue.refundInFull(payment, "Booking hold expired before the payment was confirmed");
+        log.warn("Payment ID: {} completed after booking ID: {} was cancelled, refunding it",
+                payment.getId(), booking.getId());
+    }
+
     @Override
     @Transactional
     public void updateBookingStatusAfterCashPayment(Payment payment) {
         Booking booking = payment.getBooking();
-        BigDecimal totalPaidAmount = paymentCalculatorService.getTotalPaidAmount(booking.getId());
 
-        if (totalPaidAmount.compareTo(booking.getTotalPrice()) >= 0 &&
+        if (booking.getBalance().signum() <= 0 &&
                 BookingStatus.CHECKED_IN.equals(booking.getStatus())) {
             booking.setStatus(BookingStatus.COMPLETED);
             bookingRepository.save(booking);
+            revenueRollup.onBookingCompleted(booking);
         }
     }
 }
@@ -35,9 +35,11 @@ public class CashPaymentServiceImpl implements CashPaymentService {
     PaymentValidatorService paymentValidatorService;
     PaymentCalculatorService paymentCalculatorService;
     BookingStatusManager bookingStatusManager;
+    PaymentLedger paymentLedger;
     PaymentMapper paymentMapper;
 
     @Override
+    @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public PaymentResponseDTO processCashPayment(CashPaymentRequestDTO cashPaymentRequestDTO) {
 
@@ -56,6 +58,7 @@ public class CashPaymentServiceImpl implements CashPaymentService {
                 .build();
 
         Payment savedPayment = paymentRepository.save(cashPayment);
+        paymentLedger.sync(savedPayment);
         bookingStatusManager.updateBookingStatusAfterCashPayment(savedPayment);
 
         return paymentMapper.toDTO(savedPayment);
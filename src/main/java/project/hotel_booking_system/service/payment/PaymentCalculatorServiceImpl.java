@@ -7,17 +7,16 @@ import org.springframework.stereotype.Service;
 import project.hotel_booking_system.enums.PaymentStatus;
 import project.hotel_booking_system.model.Booking;
 import project.hotel_booking_system.model.Payment;
-import project.hotel_booking_system.repository.PaymentRepository;
+import project.hotel_booking_system.repository.BookingRepository;
 
 import java.math.BigDecimal;
-import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class PaymentCalculatorServiceImpl implements PaymentCalculatorService {
 
-    PaymentRepository paymentRepository;
+    BookingRepository bookingRepository;
 
     @Override
     public BigDecimal calculateAdvancePayment(BigDecimal totalPrice) {
@@ -31,19 +30,12 @@ public class PaymentCalculatorServiceImpl implements PaymentCalculatorService {
 
     @Override
     public BigDecimal calculateRemainingAmount(Booking booking) {
-        BigDecimal totalPrice = booking.getTotalPrice();
-        BigDecimal totalPaid = getTotalPaidAmount(booking.getId());
-        return totalPrice.subtract(totalPaid);
+        return booking.getBalance();
     }
 
     @Override
     public BigDecimal getTotalPaidAmount(Long bookingId) {
-        List<Payment> payments = paymentRepository.findByBookingId(bookingId);
-
-        return payments.stream()
-                .filter(payment -> PaymentStatus.COMPLETED.equals(payment.getStatus()))
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return bookingRepository.findPaidTotalById(bookingId).orElse(BigDecimal.ZERO);
     }
 
     @Override
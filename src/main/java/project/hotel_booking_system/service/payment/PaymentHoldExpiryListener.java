@@ -0,0 +1,49 @@
+package project.hotel_booking_system.service.payment;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import project.hotel_booking_system.enums.PaymentStatus;
+import project.hotel_booking_system.model.Payment;
+import project.hotel_booking_system.repository.PaymentRepository;
+import project.hotel_booking_system.service.booking.BookingHoldExpiryListener;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Cancels the payments of expired holds. Unfinished payments are cancelled with a single
+ * statement per chunk; a completed one is cancelled through the ledger, which appends the
+ * reversing entry, and the money is handed back through a full refund, so the rows stay as
+ * a record of what happened.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PaymentHoldExpiryListener implements BookingHoldExpiryListener {
+
+    PaymentRepository paymentRepository;
+    PaymentLedger paymentLedger;
+    RefundQueue refundQueue;
+
+    @Override
+    public void onHoldsExpired(Collection<Long> bookingIds) {
+        int cancelled = paymentRepository.cancelPendingByBookingIdIn(bookingIds);
+
+        List<Payment> completed = paymentRepository.findByBookingIdInAndStatus(bookingIds, PaymentStatus.COMPLETED);
+        for (Payment payment : completed) {
+            payment.setStatus(PaymentStatus.CANCELLED);
+            paymentLedger.sync(payment);
+            refundQueue.refundInFull(payment, "Booking hold expired before the payment was confirmed");
+            log.warn("Cancelled and refunded completed payment ID: {} of expired booking ID: {}",
+                    payment.getId(), payment.getBooking().getId());
+        }
+
+        if (cancelled + completed.size() > 0) {
+            log.info("Cancelled {} payments of {} expired bookings", cancelled + completed.size(), bookingIds.size());
+        }
+    }
+}
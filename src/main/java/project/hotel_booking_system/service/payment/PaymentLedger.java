@@ -0,0 +1,114 @@
+package project.hotel_booking_system.service.payment;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import project.hotel_booking_system.enums.PaymentStatus;
+import project.hotel_booking_system.model.Booking;
+import project.hotel_booking_system.model.Payment;
+import project.hotel_booking_system.model.PaymentLedgerEntry;
+import project.hotel_booking_system.repository.BookingRepository;
+import project.hotel_booking_system.repository.PaymentLedgerRepository;
+import project.hotel_booking_system.repository.PaymentRepository;
+import project.hotel_booking_system.repository.projection.BookingPaidTotal;
+import project.hotel_booking_system.service.common.RevenueRollup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Append-only ledger of the money received for each booking.
+ * <p>
+ * Only COMPLETED payments count. Whenever what a payment counts for changes, the difference
+ * is appended as an entry and added to {@code bookings.paid_total} with a single UPDATE, so
+ * the amount paid and the balance of a booking are read from the booking row instead of
+ * summing its payments.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PaymentLedger {
+
+    PaymentLedgerRepository paymentLedgerRepository;
+    PaymentRepository paymentRepository;
+    BookingRepository bookingRepository;
+    RevenueRollup revenueRollup;
+
+    /**
+     * Brings the ledger in line with the status and amount of a saved payment. Calling it
+     * again without a change to the payment adds nothing.
+     */
+    @Transactional
+    public void sync(Payment payment) {
+        BigDecimal counted = PaymentStatus.COMPLETED.equals(payment.getStatus())
+                ? payment.getAmount()
+                : BigDecimal.ZERO;
+        BigDecimal recorded = paymentLedgerRepository.sumByPaymentId(payment.getId());
+        BigDecimal delta = counted.subtract(recorded);
+        if (delta.signum() == 0) {
+            return;
+        }
+
+        Booking booking = payment.getBooking();
+        paymentLedgerRepository.save(entry(payment, delta));
+        bookingRepository.addToPaidTotal(booking.getId(), delta);
+        // The column is not written through the entity, so concurrent payments cannot overwrite each other
+        booking.setPaidTotal(booking.getPaidTotal().add(delta));
+        revenueRollup.onPaymentChanged(payment, recorded, counted);
+
+        log.info("Ledger entry of {} for booking ID: {}, payment ID: {}", delta, booking.getId(), payment.getId());
+    }
+
+    /**
+     * Resets {@code paid_total} of the bookings from the sum of their entries.
+     */
+    @Transactional
+    public void recompute(Collection<Long> bookingIds) {
+        Map<Long, BigDecimal> totals = new HashMap<>();
+        for (BookingPaidTotal total : paymentLedgerRepository.sumByBookingIds(bookingIds)) {
+            totals.put(total.getBookingId(), total.getPaidTotal());
+        }
+        for (Long bookingId : bookingIds) {
+            bookingRepository.setPaidTotal(bookingId, totals.getOrDefault(bookingId, BigDecimal.ZERO));
+        }
+    }
+
+    /**
+     * Adds entries for completed payments made before the ledger existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        List<Payment> missing = paymentRepository.findByStatusWithoutLedgerEntry(PaymentStatus.COMPLETED);
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Set<Long> bookingIds = new HashSet<>();
+        List<PaymentLedgerEntry> entries = new ArrayList<>(missing.size());
+        for (Payment payment : missing) {
+            entries.add(entry(payment, payment.getAmount()));
+            bookingIds.add(payment.getBooking().getId());
+        }
+        paymentLedgerRepository.saveAll(entries);
+        recompute(bookingIds);
+
+        log.info("Added {} ledger entries for {} bookings", entries.size(), bookingIds.size());
+    }
+
+    private PaymentLedgerEntry entry(Payment payment, BigDecimal amount) {
+        return PaymentLedgerEntry.builder()
+                .booking(payment.getBooking())
+                .payment(payment)
+                .amount(amount)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -28,4 +28,6 @@ public interface PaymentService {
     PaymentResponseDTO handleVnPayCallback(String vnPayResponse);
     
     PaginationResponse<PaymentResponseDTO> getBookingPayments(Long bookingId, Pageable pageable);
+
+    PaginationResponse<PaymentResponseDTO> getBookingPayments(Long bookingId, String cursor, int size, boolean includeTotal);
 } 
\ No newline at end of file
@@ -22,12 +22,16 @@ import project.hotel_booking_system.dto.request.payment_request.PaymentStatusUpd
 import project.hotel_booking_system.dto.response.PaginationResponse;
 import project.hotel_booking_system.dto.response.PaymentResponseDTO;
 import project.hotel_booking_system.enums.PaymentStatus;
+import project.hotel_booking_system.exception.AppException;
+import project.hotel_booking_system.exception.ErrorCode;
 import project.hotel_booking_system.exception.ResourceNotFoundException;
 import project.hotel_booking_system.mapper.PaymentMapper;
 import project.hotel_booking_system.model.Booking;
 import project.hotel_booking_system.model.Payment;
 import project.hotel_booking_system.repository.BookingRepository;
 import project.hotel_booking_system.repository.PaymentRepository;
+import project.hotel_booking_system.repository.projection.PaymentView;
+import project.hotel_booking_system.service.common.PageCursor;
 
 @Service
 @RequiredArgsConstructor
@@ -42,6 +46,8 @@ public class PaymentServiceImpl implements PaymentService {
     PaymentValidatorService paymentValidatorService;
     BookingStatusManager bookingStatusManager;
     PaymentMapper paymentMapper;
+    VNPayCallbackLog vnPayCallbackLog;
+    PaymentLedger paymentLedger;
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
@@ -74,6 +80,7 @@ public class PaymentServiceImpl implements PaymentService {
 
         payment.setStatus(statusUpdateDTO.getStatus());
         Payment savedPayment = paymentRepository.save(payment);
+        paymentLedger.sync(savedPayment);
 
         bookingStatusManager.updateBookingStatusAfterPayment(savedPayment);
 
@@ -125,7 +132,10 @@ public class PaymentServiceImpl implements PaymentService {
             log.info("Creating new payment record for booking ID: {}", paymentRequestDTO.getBookingId());
         }
 
-        return paymentMapper.toDTO(paymentRepository.save(payment));
+        Payment savedPayment = paymentRepository.save(payment);
+        // An existing payment goes back to PENDING, so what it counted for is reversed
+        paymentLedger.sync(savedPayment);
+        return paymentMapper.toDTO(savedPayment);
     }
 
     @Override
@@ -150,9 +160,21 @@ public class PaymentServiceImpl implements PaymentService {
         log.info("Handling VNPay callback with response: {}", vnPayResponse);
         Map<String, String> vnpParams = vnPayGatewayService.parseCallback(vnPayResponse);
 
+        if (!vnPayGatewayService.verifyCallback(vnpParams)) {
+            log.warn("Rejected VNPay callback with invalid signature for txnRef: {}", vnpParams.get("vnp_TxnRef"));
+            throw new AppException(ErrorCode.INVALID_PAYMENT_SIGNATURE);
+        }
+
         String vnpTxnRef = vnpParams.get("vnp_TxnRef");
         String vnpResponseCode = vnpParams.get("vnp_ResponseCode");
         String transactionId = vnpParams.get("vnp_TransactionNo");
+
+        PaymentResponseDTO previousResponse = vnPayCallbackLog.find(vnpTxnRef, transactionId);
+        if (previousResponse != null) {
+            log.info("Ignoring repeated VNPay callback for txnRef: {}, transaction: {}", vnpTxnRef, transactionId);
+            return previousResponse;
+        }
+
         String transactionDate = vnpParams.get("vnp_PayDate");
         LocalDateTime transactionDateTime = LocalDateTime.parse(transactionDate, DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
         Long paymentId = vnPayGatewayService.extractPaymentId(vnpTxnRef);
@@ -175,19 +197,22 @@ public class PaymentServiceImpl implements PaymentService {
         }
         payment.setPaymentDate(transactionDateTime);
         Payment savedPayment = paymentRepository.save(payment);
+        paymentLedger.sync(savedPayment);
         bookingStatusManager.updateBookingStatusAfterPayment(savedPayment);
 
         if (vnpTxnRef.contains("_")) {
             vnPayGatewayService.removeTransactionMapping(vnpTxnRef);
         }
 
-        return paymentMapper.toDTO(savedPayment);
+        PaymentResponseDTO response = paymentMapper.toDTO(savedPayment);
+        vnPayCallbackLog.record(savedPayment, vnpTxnRef, transactionId, vnpResponseCode, response);
+        return response;
     }
 
     @Override
     @PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
     public PaginationResponse<PaymentResponseDTO> getBookingPayments(Long bookingId, Pageable pageable) {
-        Page<Payment> paymentsPage = paymentRepository.findByBookingId(bookingId, pageable);
+        Page<PaymentView> paymentsPage = paymentRepository.findViewsByBookingId(bookingId, pageable);
 
         List<PaymentResponseDTO> paymentDTOs = paymentsPage.getContent().stream()
                 .map(paymentMapper::toDTO)
@@ -202,6 +227,20 @@ public class PaymentServiceImpl implements PaymentService {
                 .last(paymentsPage.isLast())
                 .build();
     }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
+    public PaginationResponse<PaymentResponseDTO> getBookingPayments(Long bookingId, String cursor, int size,
+                                                                     boolean includeTotal) {
+        PageCursor after = PageCursor.decode(cursor, false);
+        List<PaymentView> payments = paymentRepository.findViewsByBookingIdAfter(
+                bookingId, after == null ? 0L : after.id(), PageCursor.limit(size));
+
+        return PageCursor.toPage(payments, size,
+                payment -> new PageCursor(null, payment.getId()),
+                page -> page.stream().map(paymentMapper::toDTO).toList(),
+                includeTotal ? paymentRepository.countByBookingId(bookingId) : null);
+    }
 }
     
 
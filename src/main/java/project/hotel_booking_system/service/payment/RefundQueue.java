@@ -0,0 +1,246 @@
+package project.hotel_booking_system.service.payment;
+
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import project.hotel_booking_system.dto.response.VNPayRefundResponse;
+import project.hotel_booking_system.enums.RefundStatus;
+import project.hotel_booking_system.exception.AppException;
+import project.hotel_booking_system.model.Payment;
+import project.hotel_booking_system.model.Refund;
+import project.hotel_booking_system.repository.RefundRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Submits refunds to VNPay off the request thread.
+ * <p>
+ * A refund is saved as PENDING and handed over once its transaction commits. Workers run on
+ * virtual threads, at most {@code refund.queue.concurrency} at a time, and claim a refund by
+ * moving it to PROCESSING in the database, so the same refund is never sent twice at once.
+ * A call that failed before VNPay answered goes back to PENDING with a next attempt time that
+ * doubles with each attempt, with jitter; after {@code max-attempts} it is moved to DEAD_LETTER.
+ * Every attempt carries the same request id. A call VNPay may have received without answering
+ * is moved to DEAD_LETTER at once, to be checked at VNPay rather than refunded twice.
+ * A poller picks up due retries and refunds left behind by a restart. It also requeues a refund
+ * left PROCESSING longer than a VNPay call can take, read timeout plus
+ * {@code refund.queue.stuck-margin-seconds}, as its worker failed without recording a result.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RefundQueue {
+
+    static final int BATCH_SIZE = 100;
+    static final int MAX_ERROR_LENGTH = 500;
+
+    RefundRepository refundRepository;
+    VNPayGatewayService vnPayGatewayService;
+    ExecutorService workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("refund-", 0).factory());
+    Semaphore permits;
+    Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    int maxAttempts;
+    long baseDelayMillis;
+    long maxDelayMillis;
+    Duration stuckAfter;
+
+    public RefundQueue(RefundRepository refundRepository,
+                       VNPayGatewayService vnPayGatewayService,
+                       @Value("${refund.queue.concurrency:4}") int concurrency,
+                       @Value("${refund.queue.max-attempts:6}") int maxAttempts,
+                       @Value("${refund.queue.backoff-base-seconds:30}") long backoffBaseSeconds,
+                       @Value("${refund.queue.backoff-max-seconds:3600}") long backoffMaxSeconds,
+                       @Value("${vnpay.http.read-timeout-seconds:30}") long readTimeoutSeconds,
+                       @Value("${refund.queue.stuck-margin-seconds:120}") long stuckMarginSeconds) {
+        this.refundRepository = refundRepository;
+        this.vnPayGatewayService = vnPayGatewayService;
+        this.permits = new Semaphore(concurrency);
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = Duration.ofSeconds(backoffBaseSeconds).toMillis();
+        this.maxDelayMillis = Duration.ofSeconds(backoffMaxSeconds).toMillis();
+        this.stuckAfter = Duration.ofSeconds(readTimeoutSeconds + stuckMarginSeconds);
+    }
+
+    /**
+     * Saves a PENDING refund of the whole payment and queues it, for money received on a
+     * booking that can no longer be honoured.
+     */
+    public Refund refundInFull(Payment payment, String reason) {
+        Refund refund = refundRepository.save(Refund.builder()
+                .payment(payment)
+                .booking(payment.getBooking())
+                .refundAmount(payment.getAmount())
+                .status(RefundStatus.PENDING)
+                .refundReason(reason)
+                .createdAt(LocalDateTime.now())
+                .build());
+        enqueue(refund.getId());
+        log.info("Queued full refund ID: {} of payment ID: {}", refund.getId(), payment.getId());
+        return refund;
+    }
+
+    public void enqueue(Long refundId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(refundId);
+                }
+            });
+        } else {
+            submit(refundId);
+        }
+    }
+
+    /**
+     * Refunds still PROCESSING were cut off mid-call and are sent again. Assumes a single
+     * instance; with several, one starting up would also requeue refunds another is sending.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        int requeued = refundRepository.updateStatus(RefundStatus.PROCESSING, RefundStatus.PENDING);
+        log.info("Requeued {} refunds interrupted by shutdown", requeued);
+        pollDue();
+    }
+
+    @Scheduled(fixedDelayString = "${refund.queue.poll-millis:15000}")
+    public void pollDue() {
+        int stuck = refundRepository.updateStatusUpdatedBefore(RefundStatus.PROCESSING, RefundStatus.PENDING,
+                LocalDateTime.now().minus(stuckAfter));
+        if (stuck > 0) {
+            log.warn("Requeued {} refunds stuck in PROCESSING for over {}s", stuck, stuckAfter.toSeconds());
+        }
+        List<Long> ids = refundRepository.findDueIds(RefundStatus.PENDING, LocalDateTime.now(),
+                PageRequest.of(0, BATCH_SIZE));
+        ids.forEach(this::submit);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    void submit(Long refundId) {
+        if (!inFlight.add(refundId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    permits.acquire();
+                    try {
+                        process(refundId);
+                    } finally {
+                        permits.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    // Left PROCESSING, requeued by the poller once it is stuck for long enough
+                    log.error("Error processing refund ID: {}", refundId, e);
+                } finally {
+                    inFlight.remove(refundId);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(refundId);
+            throw e;
+        }
+    }
+
+    void process(Long refundId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (refundRepository.claim(refundId, RefundStatus.PENDING, RefundStatus.PROCESSING, now) == 0) {
+            return;
+        }
+        Refund refund = refundRepository.findForSubmission(refundId).orElse(null);
+        if (refund == null) {
+            return;
+        }
+        if (refund.getVnpRequestId() == null) {
+            // Kept for every later attempt, so VNPay can tell a retry from a new refund
+            String requestId = "REF_" + refund.getId() + "_" + System.currentTimeMillis();
+            refundRepository.assignRequestId(refund.getId(), requestId);
+            refund.setVnpRequestId(requestId);
+        }
+
+        VNPayRefundResponse result;
+        try {
+            result = vnPayGatewayService.submitRefund(refund);
+        } catch (AppException e) {
+            result = VNPayRefundResponse.builder()
+                    .success(false)
+                    .message(e.getMessage())
+                    .build();
+        }
+        record(refund, result);
+    }
+
+    Duration backoff(int attempts) {
+        long delay = baseDelayMillis << Math.min(Math.max(attempts - 1, 0), 20);
+        long capped = Math.min(delay, maxDelayMillis);
+        long half = capped / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    private void record(Refund refund, VNPayRefundResponse result) {
+        LocalDateTime now = LocalDateTime.now();
+        refund.setUpdatedAt(now);
+        refund.setNextAttemptAt(null);
+
+        if (result.isSuccess()) {
+            refund.setStatus(RefundStatus.COMPLETED);
+            refund.setVnpayRefundId("RF_" + System.currentTimeMillis());
+            refund.setProcessedAt(now);
+            refund.setLastError(null);
+            log.info("VNPay refund successful for refund ID: {}", refund.getId());
+        } else if (result.isOutcomeUnknown()) {
+            refund.setStatus(RefundStatus.DEAD_LETTER);
+            refund.setLastError(truncate(result.getMessage()));
+            log.error("VNPay refund outcome unknown for refund ID: {}, check it at VNPay before sending again: {}",
+                    refund.getId(), result.getMessage());
+        } else if (!result.isRetryable()) {
+            refund.setStatus(RefundStatus.FAILED);
+            refund.setLastError(truncate(result.getMessage()));
+            log.error("VNPay refund failed for refund ID: {}, message: {}", refund.getId(), result.getMessage());
+        } else if (refund.getAttempts() >= maxAttempts) {
+            refund.setStatus(RefundStatus.DEAD_LETTER);
+            refund.setLastError(truncate(result.getMessage()));
+            log.error("VNPay refund gave up after {} attempts for refund ID: {}, message: {}",
+                    refund.getAttempts(), refund.getId(), result.getMessage());
+        } else {
+            Duration delay = backoff(refund.getAttempts());
+            refund.setStatus(RefundStatus.PENDING);
+            refund.setNextAttemptAt(now.plus(delay));
+            refund.setLastError(truncate(result.getMessage()));
+            log.warn("VNPay refund attempt {} failed for refund ID: {}, retrying in {}s",
+                    refund.getAttempts(), refund.getId(), delay.toSeconds());
+        }
+
+        refundRepository.save(refund);
+    }
+
+    private String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
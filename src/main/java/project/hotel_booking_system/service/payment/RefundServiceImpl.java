@@ -44,7 +44,7 @@ public class RefundServiceImpl implements RefundService {
     PaymentRepository paymentRepository;
     RefundRepository refundRepository;
     UserRepository userRepository;
-    VNPayGatewayService vnPayGatewayService;
+    RefundQueue refundQueue;
     RefundMapper refundMapper;
     UserSecurity userSecurity;
 
@@ -77,12 +77,13 @@ public class RefundServiceImpl implements RefundService {
         // Check for existing refund and create/update accordingly
         Refund refund = handleExistingRefund(bookingId, vnpayPayment, booking, refundAmount);
 
-        RefundResponseDTO processedRefund = vnPayGatewayService.processVNPayRefund(refund);
+        // Submitted to VNPay in the background; progress is read back with the refund status
+        refundQueue.enqueue(refund.getId());
 
-        log.info("Refund processed successfully for booking ID: {}, user ID: {}, refund amount: {}",
+        log.info("Refund queued for booking ID: {}, user ID: {}, refund amount: {}",
                 bookingId, currentUser.getId(), refundAmount);
 
-        return processedRefund;
+        return refundMapper.toDTO(refund);
     }
 
     @Override
@@ -148,6 +149,11 @@ public class RefundServiceImpl implements RefundService {
                 throw new AppException(ErrorCode.REFUND_ALREADY_COMPLETED);
             }
 
+            // Still with the queue, a second request must not reset its attempts
+            if (refund.getStatus() == RefundStatus.PENDING || refund.getStatus() == RefundStatus.PROCESSING) {
+                return refund;
+            }
+
             return updateExistingRefund(refund, refundAmount);
         } else {
             return createNewRefund(payment, booking, refundAmount);
@@ -164,8 +170,16 @@ public class RefundServiceImpl implements RefundService {
         log.info("Updating existing refund ID: {} with new amount: {}",
                 existingRefund.getId(), newRefundAmount);
 
+        // VNPay declined the last request, so this is a new one; a dead-lettered refund keeps its id
+        // in case VNPay did receive it
+        if (existingRefund.getStatus() == RefundStatus.FAILED || existingRefund.getStatus() == RefundStatus.REJECTED) {
+            existingRefund.setVnpRequestId(null);
+        }
         existingRefund.setRefundAmount(newRefundAmount);
         existingRefund.setStatus(RefundStatus.PENDING);
+        existingRefund.setAttempts(0);
+        existingRefund.setNextAttemptAt(null);
+        existingRefund.setLastError(null);
         existingRefund.setRefundReason("Customer re-initiated refund - more than 48 hours before check-in");
         existingRefund.setUpdatedAt(LocalDateTime.now());
 
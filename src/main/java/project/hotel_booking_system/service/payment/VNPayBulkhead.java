@@ -0,0 +1,64 @@
+package project.hotel_booking_system.service.payment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of calls waiting on VNPay at once.
+ * <p>
+ * A caller that cannot get a slot within {@code vnpay.bulkhead.max-wait-millis} gets the
+ * fallback instead of queueing, so a slow gateway ties up at most {@code max-concurrent-calls}
+ * threads. Free slots and rejections are published as {@code vnpay.bulkhead.*}.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class VNPayBulkhead {
+
+    Semaphore permits;
+    long maxWaitMillis;
+    Counter rejected;
+
+    public VNPayBulkhead(MeterRegistry meterRegistry,
+                         @Value("${vnpay.bulkhead.max-concurrent-calls:10}") int maxConcurrentCalls,
+                         @Value("${vnpay.bulkhead.max-wait-millis:500}") long maxWaitMillis) {
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        this.maxWaitMillis = maxWaitMillis;
+        this.rejected = Counter.builder("vnpay.bulkhead.rejected")
+                .description("VNPay calls turned away because the bulkhead was full")
+                .register(meterRegistry);
+        Gauge.builder("vnpay.bulkhead.available", permits, Semaphore::availablePermits)
+                .description("Free VNPay call slots")
+                .register(meterRegistry);
+    }
+
+    public <T> T call(Supplier<T> call, Supplier<T> whenFull) {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            log.warn("VNPay bulkhead full, call rejected");
+            return whenFull.get();
+        }
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package project.hotel_booking_system.service.payment;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import project.hotel_booking_system.dto.response.PaymentResponseDTO;
+import project.hotel_booking_system.mapper.PaymentMapper;
+import project.hotel_booking_system.model.Payment;
+import project.hotel_booking_system.model.PaymentCallback;
+import project.hotel_booking_system.repository.PaymentCallbackRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Remembers the VNPay callbacks already applied, keyed by {@code vnp_TxnRef} and
+ * {@code vnp_TransactionNo}.
+ * <p>
+ * VNPay retries IPNs and customers refresh the return page, so the same callback arrives
+ * several times. Responses to recent callbacks are kept in memory and answered without a
+ * query; older ones, or ones handled by another instance, are found through the unique key
+ * of {@code payment_callbacks}, which also rejects a concurrent duplicate at commit. Size,
+ * hits and misses are published as the {@code cache.*} meters tagged {@code cache=vnpay.callback}.
+ */
+@Component
+public class VNPayCallbackLog {
+
+    static final String CACHE_NAME = "vnpay.callback";
+
+    private final PaymentCallbackRepository paymentCallbackRepository;
+    private final PaymentMapper paymentMapper;
+    private final Cache<Key, PaymentResponseDTO> responses;
+
+    public VNPayCallbackLog(PaymentCallbackRepository paymentCallbackRepository,
+                            PaymentMapper paymentMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${vnpay.callback.cache-size:10000}") long cacheSize,
+                            @Value("${vnpay.callback.ttl-minutes:60}") long ttlMinutes) {
+        this.paymentCallbackRepository = paymentCallbackRepository;
+        this.paymentMapper = paymentMapper;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, CACHE_NAME);
+    }
+
+    /**
+     * @return the response given when this callback was first applied, or null if it is new
+     */
+    public PaymentResponseDTO find(String txnRef, String transactionNo) {
+        Key key = new Key(txnRef, transactionNo);
+        PaymentResponseDTO cached = responses.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        return paymentCallbackRepository.findPaymentByTxnRefAndTransactionNo(key.txnRef(), key.transactionNo())
+                .map(payment -> {
+                    PaymentResponseDTO response = paymentMapper.toDTO(payment);
+                    responses.put(key, response);
+                    return response;
+                })
+                .orElse(null);
+    }
+
+    /**
+     * Saves the callback with the current transaction; the response is cached once it commits.
+     */
+    public void record(Payment payment, String txnRef, String transactionNo, String responseCode,
+                       PaymentResponseDTO response) {
+        Key key = new Key(txnRef, transactionNo);
+        paymentCallbackRepository.save(PaymentCallback.builder()
+                .payment(payment)
+                .txnRef(key.txnRef())
+                .transactionNo(key.transactionNo())
+                .responseCode(responseCode)
+                .receivedAt(LocalDateTime.now())
+                .build());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    responses.put(key, response);
+                }
+            });
+        } else {
+            responses.put(key, response);
+        }
+    }
+
+    private record Key(String txnRef, String transactionNo) {
+        Key {
+            // Not every callback carries a transaction number
+            transactionNo = transactionNo == null ? "" : transactionNo;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package project.hotel_booking_system.service.payment;
 
 import project.hotel_booking_system.dto.request.payment_request.RefundRequestDTO;
 import project.hotel_booking_system.dto.response.RefundResponseDTO;
+import project.hotel_booking_system.dto.response.VNPayRefundResponse;
 import project.hotel_booking_system.model.Refund;
 
 import java.math.BigDecimal;
@@ -13,13 +14,21 @@ public interface VNPayGatewayService {
 
     Map<String, String> parseCallback(String vnPayResponse);
 
+    /**
+     * Checks the {@code vnp_SecureHash} of parsed callback parameters.
+     */
+    boolean verifyCallback(Map<String, String> vnpParams);
+
     Long extractPaymentId(String txnRef);
 
     void removeTransactionMapping(String txnRef);
 
     // Refund  methods
 
-    RefundResponseDTO processVNPayRefund(Refund refund);
+    /**
+     * Sends the refund to VNPay; the refund itself is not updated.
+     */
+    VNPayRefundResponse submitRefund(Refund refund);
 
     RefundResponseDTO checkRefundStatus(Long refundId);
 
@@ -5,14 +5,19 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import project.hotel_booking_system.configuration.VnPayConfig;
 import project.hotel_booking_system.dto.response.RefundResponseDTO;
 import project.hotel_booking_system.dto.response.VNPayRefundResponse;
 import project.hotel_booking_system.enums.PaymentMethod;
-import project.hotel_booking_system.enums.RefundStatus;
 import project.hotel_booking_system.exception.AppException;
 import project.hotel_booking_system.exception.ErrorCode;
 import project.hotel_booking_system.exception.ResourceNotFoundException;
@@ -22,10 +27,10 @@ import project.hotel_booking_system.model.Refund;
 import project.hotel_booking_system.repository.PaymentRepository;
 import project.hotel_booking_system.repository.RefundRepository;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.math.BigDecimal;
-import java.net.URLEncoder;
+import java.net.ConnectException;
+import java.net.URLDecoder;
+import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -53,8 +58,9 @@ public class VNPayGatewayServiceImpl implements VNPayGatewayService {
     PaymentRepository paymentRepository;
     RefundMapper refundMapper;
     RestTemplate restTemplate;
-
-     Map<String, Long> transactionMap = new HashMap<>();
+    VNPayTxnRefRegistry txnRefRegistry;
+    VNPaySigner vnPaySigner;
+    VNPayBulkhead vnPayBulkhead;
 
     @Override
     public String generatePaymentUrl(Long paymentId, BigDecimal amount, String clientIp) {
@@ -70,7 +76,7 @@ public class VNPayGatewayServiceImpl implements VNPayGatewayService {
         );
 
         String paymentUrl = buildPaymentUrl(vnpParams);
-        updateTransactionMapping(uniqueTxnRef, paymentId);
+        txnRefRegistry.register(uniqueTxnRef, paymentId);
 
         log.info("Generated payment URL for payment ID: {}, txnRef: {}", paymentId, uniqueTxnRef);
         return paymentUrl;
@@ -87,22 +93,30 @@ public class VNPayGatewayServiceImpl implements VNPayGatewayService {
 
         String[] params = vnPayResponse.split("&");
         for (String param : params) {
-            String[] keyValue = param.split("=");
-            if (keyValue.length == 2) {
-                vnpParams.put(keyValue[0], keyValue[1]);
+            int separator = param.indexOf('=');
+            if (separator > 0 && separator < param.length() - 1) {
+                vnpParams.put(decode(param.substring(0, separator)), decode(param.substring(separator + 1)));
             }
         }
 
         return vnpParams;
     }
 
+    @Override
+    public boolean verifyCallback(Map<String, String> vnpParams) {
+        Map<String, String> signedParams = new HashMap<>(vnpParams);
+        String secureHash = signedParams.remove("vnp_SecureHash");
+        signedParams.remove("vnp_SecureHashType");
+        return vnPaySigner.verify(signedParams, secureHash);
+    }
+
     @Override
     public Long extractPaymentId(String txnRef) {
 
         validateTxnRef(txnRef);
 
         if (txnRef.contains("_")) {
-            return extractPaymentIdFromCompositeTxnRef(txnRef);
+            return txnRefRegistry.resolve(txnRef);
         } else {
             return parsePaymentIdFromString(txnRef);
         }
@@ -110,34 +124,26 @@ public class VNPayGatewayServiceImpl implements VNPayGatewayService {
 
     @Override
     public void removeTransactionMapping(String txnRef) {
-        if (transactionMap.containsKey(txnRef)) {
-            transactionMap.remove(txnRef);
-            log.info("Removed transaction mapping for: {}", txnRef);
-        }
+        txnRefRegistry.remove(txnRef);
     }
 
     // Process refund for VNPay payments
 
     @Override
-    public RefundResponseDTO processVNPayRefund(Refund refund) {
+    public VNPayRefundResponse submitRefund(Refund refund) {
         validateRefundPaymentMethod(refund);
 
-        try {
-            updateRefundStatus(refund, RefundStatus.PROCESSING);
-
-            Map<String, String> refundParams = buildRefundParameters(refund);
-            VNPayRefundResponse refundResult = callVNPayRefundAPI(refundParams);
-
-            Refund processedRefund = handleRefundResult(refund, refundResult);
-
-            log.info("VNPay refund processed for refund ID: {}, status: {}",
-                    refund.getId(), processedRefund.getStatus());
+        Map<String, String> refundParams = buildRefundParameters(refund);
+        VNPayRefundResponse refundResult = vnPayBulkhead.call(
+                () -> callVNPayRefundAPI(refundParams),
+                () -> VNPayRefundResponse.builder()
+                        .success(false)
+                        .retryable(true)
+                        .message("VNPay gateway busy")
+                        .build());
 
-            return refundMapper.toDTO(processedRefund);
-
-        } catch (Exception e) {
-            return handleRefundProcessingError(refund, e);
-        }
+        log.info("VNPay refund submitted for refund ID: {}, success: {}", refund.getId(), refundResult.isSuccess());
+        return refundResult;
     }
 
     @Override
@@ -201,10 +207,7 @@ public class VNPayGatewayServiceImpl implements VNPayGatewayService {
     }
 
     private String buildPaymentUrl(Map<String, String> params) {
-        String queryString = buildQueryString(params);
-        String secureHash = hmacSHA512(vnPayConfig.getHashSecret(), queryString);
-
-        return vnPayConfig.getPaymentUrl() + "?" + queryString + "&vnp_SecureHash=" + secureHash;
+        return vnPayConfig.getPaymentUrl() + "?" + vnPaySigner.signedQuery(params);
     }
 
     private void validateTxnRef(String txnRef) {
@@ -213,20 +216,6 @@ public class VNPayGatewayServiceImpl implements VNPayGatewayService {
         }
     }
 
-    private Long extractPaymentIdFromCompositeTxnRef(String txnRef) {
-        Long paymentId = getPaymentIdFromTransactionMap(txnRef);
-        if (paymentId == null) {
-            try {
-                paymentId = Long.parseLong(txnRef.split("_")[0]);
-                log.warn("Transaction mapping not found, extracted payment ID from txnRef: {}", paymentId);
-            } catch (Exception e) {
-                log.error("Failed to parse payment ID from transaction reference: {}", txnRef, e);
-                throw new ResourceNotFoundException("Invalid transaction reference format: " + txnRef);
-            }
-        }
-        return paymentId;
-    }
-
     private Long parsePaymentIdFromString(String txnRef) {
         try {
             return Long.parseLong(txnRef);
@@ -236,43 +225,20 @@ public class VNPayGatewayServiceImpl implements VNPayGatewayService {
         }
     }
 
+    private String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
     private void validateRefundPaymentMethod(Refund refund) {
         if (refund.getPayment().getPaymentMethod() != PaymentMethod.VNPAY) {
             throw new AppException(ErrorCode.INVALID_PAYMENT_METHOD_FOR_REFUND);
         }
     }
 
-    private void updateRefundStatus(Refund refund, RefundStatus status) {
-        refund.setStatus(status);
-        refundRepository.save(refund);
-    }
-
-    private Refund handleRefundResult(Refund refund, VNPayRefundResponse refundResult) {
-        if (refundResult.isSuccess()) {
-            refund.setVnpayRefundId(generateRefundTransactionId());
-            refund.setStatus(RefundStatus.COMPLETED);
-            refund.setProcessedAt(LocalDateTime.now());
-            log.info("VNPay refund successful for refund ID: {}", refund.getId());
-        } else {
-            refund.setStatus(RefundStatus.FAILED);
-            log.error("VNPay refund failed for refund ID: {}, message: {}",
-                    refund.getId(), refundResult.getMessage());
-        }
-
-        return refundRepository.save(refund);
-    }
-
-    private RefundResponseDTO handleRefundProcessingError(Refund refund, Exception e) {
-        log.error("Failed to process VNPay refund for refund ID: {}", refund.getId(), e);
-        refund.setStatus(RefundStatus.FAILED);
-        Refund failedRefund = refundRepository.save(refund);
-        throw new AppException(ErrorCode.REFUND_PROCESSING_FAILED);
-    }
-
     private Map<String, String> buildRefundParameters(Refund refund) {
         Map<String, String> params = new HashMap<>();
 
-        String vnpRequestId = generateRefundRequestId(refund);
+        String vnpRequestId = refundRequestId(refund);
         String currentTime = getCurrentTimeVN();
 
         params.put("vnp_RequestId", vnpRequestId);
@@ -292,8 +258,9 @@ public class VNPayGatewayServiceImpl implements VNPayGatewayService {
         return params;
     }
 
-    private String generateRefundRequestId(Refund refund) {
-        return "REF_" + refund.getId() + "_" + System.currentTimeMillis();
+    // Assigned once by RefundQueue, so every attempt of a refund is the same request to VNPay
+    private String refundRequestId(Refund refund) {
+        return refund.getVnpRequestId() != null ? refund.getVnpRequestId() : "REF_" + refund.getId();
     }
 
     private String formatRefundAmount(BigDecimal refundAmount) {
@@ -305,10 +272,15 @@ public class VNPayGatewayServiceImpl implements VNPayGatewayService {
     }
 
     private VNPayRefundResponse callVNPayRefundAPI(Map<String, String> refundParams) {
+        HttpEntity<String> request;
         try {
-            Map<String, String> requestBody = prepareRefundRequestBody(refundParams);
-            HttpEntity<String> request = createRefundHttpRequest(requestBody);
+            request = createRefundHttpRequest(prepareRefundRequestBody(refundParams));
+        } catch (Exception e) {
+            log.error("Error building VNPay refund request: {}", e.getMessage(), e);
+            return createFailedRefundResponse("Invalid refund request: " + e.getMessage());
+        }
 
+        try {
             ResponseEntity<Map> response = restTemplate.exchange(
                     vnPayConfig.getRefundUrl(),
                     HttpMethod.POST,
@@ -321,15 +293,51 @@ public class VNPayGatewayServiceImpl implements VNPayGatewayService {
 
             return parseRefundResponse(response.getBody());
 
-        } catch (Exception e) {
-            log.error("Error calling VNPay refund API: {}", e.getMessage(), e);
+        } catch (HttpClientErrorException e) {
+            // VNPay refused the request itself, sending it again gets the same answer
+            log.error("VNPay refund API rejected the request: {}", e.getStatusCode());
+            return createFailedRefundResponse("VNPay rejected refund request: " + e.getStatusCode());
+        } catch (HttpServerErrorException e) {
+            log.error("VNPay refund API error: {}", e.getStatusCode());
             return VNPayRefundResponse.builder()
                     .success(false)
-                    .message("API call exception: " + e.getMessage())
+                    .retryable(true)
+                    .message("VNPay refund API error: " + e.getStatusCode())
                     .build();
+        } catch (ResourceAccessException e) {
+            if (neverSent(e)) {
+                log.error("Could not reach VNPay refund API: {}", e.getMessage());
+                return VNPayRefundResponse.builder()
+                        .success(false)
+                        .retryable(true)
+                        .message("API call exception: " + e.getMessage())
+                        .build();
+            }
+            log.error("No answer from VNPay refund API: {}", e.getMessage(), e);
+            return unknownRefundOutcome("No answer from VNPay: " + e.getMessage());
+        } catch (RestClientException e) {
+            log.error("Unreadable answer from VNPay refund API: {}", e.getMessage(), e);
+            return unknownRefundOutcome("Unreadable answer from VNPay: " + e.getMessage());
         }
     }
 
+    // No connection was made, so VNPay cannot have seen the request
+    private boolean neverSent(ResourceAccessException e) {
+        Throwable cause = e.getCause();
+        return cause instanceof ConnectException
+                || cause instanceof ConnectTimeoutException
+                || cause instanceof ConnectionRequestTimeoutException
+                || cause instanceof UnknownHostException;
+    }
+
+    private VNPayRefundResponse unknownRefundOutcome(String message) {
+        return VNPayRefundResponse.builder()
+                .success(false)
+                .outcomeUnknown(true)
+                .message(message)
+                .build();
+    }
+
     private Map<String, String> prepareRefundRequestBody(Map<String, String> refundParams) {
         Map<String, String> requestBody = new HashMap<>(refundParams);
         String secureHash = buildRefundSignature(refundParams);
@@ -386,19 +394,6 @@ public class VNPayGatewayServiceImpl implements VNPayGatewayService {
         return (vnpTxnRef != null && !vnpTxnRef.isEmpty()) ? vnpTxnRef : refund.getPayment().getId().toString();
     }
 
-    private void updateTransactionMapping(String txnRef, Long paymentId) {
-        transactionMap.put(txnRef, paymentId);
-        log.info("Added transaction mapping: {} -> {}", txnRef, paymentId);
-    }
-
-    private Long getPaymentIdFromTransactionMap(String txnRef) {
-        Long paymentId = transactionMap.get(txnRef);
-        if (paymentId != null) {
-            log.debug("Found payment ID {} for transaction reference {}", paymentId, txnRef);
-        }
-        return paymentId;
-    }
-
     private String buildRefundSignature(Map<String, String> params) {
         StringBuilder data = new StringBuilder();
         data.append(params.get("vnp_RequestId")).append("|")
@@ -418,70 +413,7 @@ public class VNPayGatewayServiceImpl implements VNPayGatewayService {
         String dataString = data.toString();
         log.debug("Data for signature: {}", dataString);
 
-        return hmacSHA512(vnPayConfig.getHashSecret(), dataString);
-    }
-
-    private String buildQueryString(Map<String, String> params) {
-        Map<String, String> filteredParams = new HashMap<>();
-        params.entrySet().stream()
-                .filter(entry -> !"vnp_SecureHash".equals(entry.getKey()))
-                .forEach(entry -> filteredParams.put(entry.getKey(), entry.getValue()));
-
-        List<String> fieldNames = new ArrayList<>(filteredParams.keySet());
-        Collections.sort(fieldNames);
-
-        StringBuilder query = new StringBuilder();
-        Iterator<String> itr = fieldNames.iterator();
-
-        while (itr.hasNext()) {
-            String fieldName = itr.next();
-            String fieldValue = params.get(fieldName);
-            if (fieldValue != null && !fieldValue.isEmpty()) {
-                try {
-                    query.append(URLEncoder.encode(fieldName, StandardCharsets.UTF_8))
-                            .append('=')
-                            .append(URLEncoder.encode(fieldValue, StandardCharsets.UTF_8));
-                } catch (Exception e) {
-                    log.error("Error encoding VNPay parameters", e);
-                }
-
-                if (itr.hasNext()) {
-                    query.append('&');
-                }
-            }
-        }
-
-        return query.toString();
-    }
-
-    private String hmacSHA512(final String key, final String data) {
-        try {
-            if (key == null || data == null) {
-                throw new IllegalArgumentException("Key and data cannot be null");
-            }
-
-            final Mac hmac512 = Mac.getInstance("HmacSHA512");
-            byte[] hmacKeyBytes = key.getBytes(StandardCharsets.UTF_8);
-            final SecretKeySpec secretKey = new SecretKeySpec(hmacKeyBytes, "HmacSHA512");
-            hmac512.init(secretKey);
-
-            byte[] dataBytes = data.getBytes(StandardCharsets.UTF_8);
-            byte[] result = hmac512.doFinal(dataBytes);
-
-            StringBuilder sb = new StringBuilder(2 * result.length);
-            for (byte b : result) {
-                sb.append(String.format("%02x", b & 0xff));
-            }
-            return sb.toString();
-
-        } catch (Exception ex) {
-            log.error("Error generating HMAC SHA512", ex);
-            return "";
-        }
-    }
-
-    private String generateRefundTransactionId() {
-        return "RF_" + System.currentTimeMillis();
+        return vnPaySigner.sign(dataString);
     }
 
 }
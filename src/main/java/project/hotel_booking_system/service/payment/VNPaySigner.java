@@ -0,0 +1,158 @@
+package project.hotel_booking_system.service.payment;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import project.hotel_booking_system.configuration.VnPayConfig;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * HMAC-SHA512 signing of VNPay requests.
+ * <p>
+ * Each thread keeps a {@link Mac} already initialised with the hash secret and a buffer for
+ * building queries, so signing allocates little more than the result. The canonical query
+ * is the parameters sorted by name, without {@code vnp_SecureHash} and empty values, names
+ * and values form-encoded exactly as {@link URLEncoder} does.
+ */
+@Component
+public class VNPaySigner {
+
+    static final String SECURE_HASH = "vnp_SecureHash";
+
+    private static final String ALGORITHM = "HmacSHA512";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final char[] HEX_UPPER = "0123456789ABCDEF".toCharArray();
+    // Larger buffers are not kept, so one huge request does not pin memory on a pooled thread
+    private static final int MAX_KEPT_BUFFER = 4096;
+
+    private final ThreadLocal<Mac> macs;
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    @Autowired
+    public VNPaySigner(VnPayConfig vnPayConfig) {
+        this(vnPayConfig.getHashSecret());
+    }
+
+    VNPaySigner(String hashSecret) {
+        if (hashSecret == null) {
+            throw new IllegalArgumentException("VNPay hash secret is not configured");
+        }
+        SecretKeySpec key = new SecretKeySpec(hashSecret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+            }
+        });
+    }
+
+    /**
+     * @return the canonical query followed by its {@code vnp_SecureHash}
+     */
+    public String signedQuery(Map<String, String> params) {
+        StringBuilder buffer = borrowBuffer();
+        appendCanonicalQuery(buffer, params);
+        String query = buffer.toString();
+        buffer.append('&').append(SECURE_HASH).append('=');
+        appendHex(buffer, mac(query));
+        return release(buffer);
+    }
+
+    public String canonicalQuery(Map<String, String> params) {
+        StringBuilder buffer = borrowBuffer();
+        appendCanonicalQuery(buffer, params);
+        return release(buffer);
+    }
+
+    /**
+     * @return the lowercase hex HMAC-SHA512 of the data
+     */
+    public String sign(String data) {
+        StringBuilder buffer = borrowBuffer();
+        appendHex(buffer, mac(data));
+        return release(buffer);
+    }
+
+    /**
+     * Checks the {@code vnp_SecureHash} VNPay sent along with the other parameters.
+     */
+    public boolean verify(Map<String, String> params, String secureHash) {
+        if (secureHash == null) {
+            return false;
+        }
+        String expected = sign(canonicalQuery(params));
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII),
+                secureHash.toLowerCase().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private byte[] mac(String data) {
+        // doFinal resets the Mac for the next call on this thread
+        return macs.get().doFinal(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void appendCanonicalQuery(StringBuilder buffer, Map<String, String> params) {
+        String[] names = params.keySet().toArray(new String[0]);
+        Arrays.sort(names);
+        for (String name : names) {
+            String value = params.get(name);
+            if (value == null || value.isEmpty() || SECURE_HASH.equals(name)) {
+                continue;
+            }
+            if (!buffer.isEmpty()) {
+                buffer.append('&');
+            }
+            appendEncoded(buffer, name);
+            buffer.append('=');
+            appendEncoded(buffer, value);
+        }
+    }
+
+    private static void appendEncoded(StringBuilder buffer, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                // Multi-byte characters are rare here; leave them to the JDK
+                buffer.append(URLEncoder.encode(text.substring(i), StandardCharsets.UTF_8));
+                return;
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '.' || c == '-' || c == '*' || c == '_') {
+                buffer.append(c);
+            } else if (c == ' ') {
+                buffer.append('+');
+            } else {
+                buffer.append('%').append(HEX_UPPER[c >>> 4]).append(HEX_UPPER[c & 0xf]);
+            }
+        }
+    }
+
+    private static void appendHex(StringBuilder buffer, byte[] bytes) {
+        for (byte b : bytes) {
+            buffer.append(HEX[(b >>> 4) & 0xf]).append(HEX[b & 0xf]);
+        }
+    }
+
+    private StringBuilder borrowBuffer() {
+        StringBuilder buffer = buffers.get();
+        buffer.setLength(0);
+        return buffer;
+    }
+
+    private String release(StringBuilder buffer) {
+        String result = buffer.toString();
+        if (buffer.capacity() > MAX_KEPT_BUFFER) {
+            buffers.remove();
+        }
+        return result;
+    }
+}
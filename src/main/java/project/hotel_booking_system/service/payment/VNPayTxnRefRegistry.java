@@ -0,0 +1,74 @@
+package project.hotel_booking_system.service.payment;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import project.hotel_booking_system.exception.ResourceNotFoundException;
+import project.hotel_booking_system.model.PaymentTxnRef;
+import project.hotel_booking_system.repository.PaymentRepository;
+import project.hotel_booking_system.repository.PaymentTxnRefRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Maps the VNPay transaction references handed out with payment URLs to their payment.
+ * <p>
+ * Entries are bounded in number and expire once the customer can no longer be expected to
+ * come back from VNPay. Every reference is also saved to {@code payment_txn_refs}, so one that
+ * is not cached, because it expired or was issued by another instance, is resolved through the
+ * unique index on {@code txn_ref}. This holds for references of earlier payment URLs too,
+ * which {@code payments.vnp_txn_ref} no longer shows. Size, hits and misses are published as
+ * the {@code cache.*} meters tagged {@code cache=vnpay.txn-ref}.
+ */
+@Slf4j
+@Component
+public class VNPayTxnRefRegistry {
+
+    static final String CACHE_NAME = "vnpay.txn-ref";
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentTxnRefRepository txnRefRepository;
+    private final Cache<String, Long> paymentIds;
+
+    public VNPayTxnRefRegistry(PaymentRepository paymentRepository,
+                               PaymentTxnRefRepository txnRefRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${vnpay.txn-ref.cache-size:10000}") long cacheSize,
+                               @Value("${vnpay.txn-ref.ttl-minutes:60}") long ttlMinutes) {
+        this.paymentRepository = paymentRepository;
+        this.txnRefRepository = txnRefRepository;
+        this.paymentIds = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, paymentIds, CACHE_NAME);
+    }
+
+    public void register(String txnRef, Long paymentId) {
+        txnRefRepository.save(PaymentTxnRef.builder()
+                .payment(paymentRepository.getReferenceById(paymentId))
+                .txnRef(txnRef)
+                .issuedAt(LocalDateTime.now())
+                .build());
+        paymentIds.put(txnRef, paymentId);
+        log.debug("Added transaction mapping: {} -> {}", txnRef, paymentId);
+    }
+
+    public Long resolve(String txnRef) {
+        Long paymentId = paymentIds.get(txnRef, ref -> txnRefRepository.findPaymentIdByTxnRef(ref).orElse(null));
+        if (paymentId == null) {
+            throw new ResourceNotFoundException("Payment not found for transaction reference: " + txnRef);
+        }
+        return paymentId;
+    }
+
+    public void remove(String txnRef) {
+        paymentIds.invalidate(txnRef);
+    }
+}
@@ -17,6 +17,8 @@ public interface ReviewService {
 
     PaginationResponse<ReviewResponse> getReviewsByRoom(Long roomId, Pageable pageable);
 
+    PaginationResponse<ReviewResponse> getReviewsByRoom(Long roomId, String cursor, int size, boolean includeTotal);
+
     PaginationResponse<ReviewResponse> getReviewsByUser(Pageable pageable);
 
     ReviewSummaryResponse getRoomReviewSummary(Long roomId);
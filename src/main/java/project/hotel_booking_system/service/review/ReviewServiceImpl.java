@@ -19,13 +19,16 @@ import project.hotel_booking_system.exception.AppException;
 import project.hotel_booking_system.exception.ErrorCode;
 import project.hotel_booking_system.mapper.ReviewMapper;
 import project.hotel_booking_system.model.Review;
-import project.hotel_booking_system.model.Room;
 import project.hotel_booking_system.model.User;
 import project.hotel_booking_system.repository.BookingRepository;
 import project.hotel_booking_system.repository.ReviewRepository;
 import project.hotel_booking_system.repository.RoomRepository;
 import project.hotel_booking_system.repository.UserRepository;
+import project.hotel_booking_system.repository.projection.ReviewView;
 import project.hotel_booking_system.security.UserSecurity;
+import project.hotel_booking_system.service.common.PageCursor;
+import project.hotel_booking_system.service.room.RoomCatalogCache;
+import project.hotel_booking_system.service.room.RoomSnapshot;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -46,6 +49,7 @@ public class ReviewServiceImpl implements ReviewService {
     BookingRepository bookingRepository;
     ReviewMapper reviewMapper;
     UserSecurity userSecurity;
+    RoomCatalogCache roomCatalogCache;
 
     @Override
     @PreAuthorize("hasRole('CUSTOMER') and @userSecurity.isCurrentUser(#userId)")
@@ -55,8 +59,7 @@ public class ReviewServiceImpl implements ReviewService {
         User user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
 
-        Room room = roomRepository.findById(request.getRoomId())
-                .orElseThrow(() -> new AppException(ErrorCode.ROOM_NOT_FOUND));
+        roomCatalogCache.get(request.getRoomId());
 
         boolean hasCompletedBooking = bookingRepository.existsByUserIdAndRoomIdAndStatus(
                 request.getUserId(), request.getRoomId(), BookingStatus.COMPLETED);
@@ -71,7 +74,7 @@ public class ReviewServiceImpl implements ReviewService {
 
         Review review = Review.builder()
                 .user(user)
-                .room(room)
+                .room(roomRepository.getReferenceById(request.getRoomId()))
                 .rating(request.getRating())
                 .comment(request.getComment())
                 .createdAt(LocalDateTime.now())
@@ -117,7 +120,7 @@ public class ReviewServiceImpl implements ReviewService {
     @Override
     @Transactional(readOnly = true)
     public PaginationResponse<ReviewResponse> getReviewsByRoom(Long roomId, Pageable pageable) {
-        Page<Review> reviewPage = reviewRepository.findByRoomIdOrderByCreatedAtDesc(roomId, pageable);
+        Page<ReviewView> reviewPage = reviewRepository.findViewsByRoomId(roomId, pageable);
         List<ReviewResponse> reviewResponses = reviewPage.getContent()
                 .stream()
                 .map(reviewMapper::toResponse)
@@ -132,6 +135,20 @@ public class ReviewServiceImpl implements ReviewService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginationResponse<ReviewResponse> getReviewsByRoom(Long roomId, String cursor, int size, boolean includeTotal) {
+        PageCursor after = PageCursor.decode(cursor, true);
+        List<ReviewView> reviews = after == null
+                ? reviewRepository.findFirstViewsByRoomId(roomId, PageCursor.limit(size))
+                : reviewRepository.findViewsByRoomIdAfter(roomId, after.createdAt(), after.id(), PageCursor.limit(size));
+
+        return PageCursor.toPage(reviews, size,
+                review -> new PageCursor(review.getCreatedAt(), review.getId()),
+                page -> page.stream().map(reviewMapper::toResponse).toList(),
+                includeTotal ? reviewRepository.countByRoomId(roomId) : null);
+    }
+
     @Override
     @Transactional(readOnly = true)
     @PreAuthorize("hasRole('CUSTOMER') and @userSecurity.isCurrentUser(#userId)")
@@ -157,8 +174,7 @@ public class ReviewServiceImpl implements ReviewService {
     @Override
     @Transactional(readOnly = true)
     public ReviewSummaryResponse getRoomReviewSummary(Long roomId) {
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new AppException(ErrorCode.ROOM_NOT_FOUND));
+        RoomSnapshot room = roomCatalogCache.get(roomId);
 
         Double avgRating = reviewRepository.findAverageRatingByRoomId(roomId).orElse(0.0);
         Long totalReviews = reviewRepository.countByRoomId(roomId);
@@ -173,7 +189,7 @@ public class ReviewServiceImpl implements ReviewService {
 
         return ReviewSummaryResponse.builder()
                 .roomId(roomId)
-                .roomNumber(room.getRoomNumber())
+                .roomNumber(room.roomNumber())
                 .averageRating(Math.round(avgRating * 10.0) / 10.0)
                 .totalReviews(totalReviews)
                 .fiveStars(ratingMap.getOrDefault((byte) 5, 0L))
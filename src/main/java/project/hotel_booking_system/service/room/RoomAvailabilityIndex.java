@@ -0,0 +1,323 @@
+package project.hotel_booking_system.service.room;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import project.hotel_booking_system.enums.BookingStatus;
+import project.hotel_booking_system.model.Booking;
+import project.hotel_booking_system.repository.BookingRepository;
+import project.hotel_booking_system.repository.RoomBlockedDateRepository;
+import project.hotel_booking_system.repository.projection.BlockedNight;
+import project.hotel_booking_system.repository.projection.BookedStay;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory index of booked and blocked nights per room.
+ * <p>
+ * Each room keeps two bitmaps where bit {@code n} is the night of
+ * {@code floor + n} (epoch days). The index is loaded once the application is
+ * ready and kept up to date by the booking and blocking services; changes made
+ * inside a transaction are applied only after it commits. Windows starting
+ * before the floor date are not covered and callers must read the database.
+ * <p>
+ * The floor and the bitmaps are swapped together as one {@link Generation}. A new
+ * generation is loaded every night with the floor moved up, so the bitmaps only
+ * span the nights still of interest. Loading holds the lock every change takes,
+ * so a change committed while the tables are read waits and lands in the new
+ * generation.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RoomAvailabilityIndex {
+
+    BookingRepository bookingRepository;
+    RoomBlockedDateRepository blockedDateRepository;
+
+    ReentrantLock writeLock = new ReentrantLock();
+
+    @NonFinal
+    @Value("${availability.index.history-days:30}")
+    long historyDays;
+
+    @NonFinal
+    volatile Generation generation = new Generation(0, new ConcurrentHashMap<>());
+
+    @NonFinal
+    volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            long floor = LocalDate.now().minusDays(historyDays).toEpochDay();
+            Map<Long, RoomNights> fresh = new ConcurrentHashMap<>();
+
+            List<BookedStay> stays = bookingRepository.findActiveStaysEndingAfter(
+                    java.sql.Date.valueOf(LocalDate.ofEpochDay(floor)));
+            for (BookedStay stay : stays) {
+                fresh.computeIfAbsent(stay.getRoomId(), id -> new RoomNights())
+                        .putBooking(stay.getBookingId(),
+                                offset(toLocalDate(stay.getCheckInDate()), floor),
+                                offset(toLocalDate(stay.getCheckOutDate()), floor));
+            }
+
+            List<BlockedNight> blocked = blockedDateRepository.findBlockedNightsFrom(LocalDate.ofEpochDay(floor));
+            for (BlockedNight night : blocked) {
+                fresh.computeIfAbsent(night.getRoomId(), id -> new RoomNights())
+                        .block(offset(night.getBlockedDate(), floor));
+            }
+
+            generation = new Generation(floor, fresh);
+            loaded = true;
+            log.info("Room availability index loaded: {} rooms, {} bookings, {} blocked nights",
+                    fresh.size(), stays.size(), blocked.size());
+        } catch (Exception e) {
+            loaded = false;
+            log.error("Failed to load room availability index, falling back to database reads: {}", e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Reloads the index once the floor has fallen behind, dropping the nights before it.
+     */
+    @Scheduled(cron = "${availability.index.advance-cron:0 10 0 * * *}")
+    public void advanceFloor() {
+        if (LocalDate.now().minusDays(historyDays).toEpochDay() > generation.floorEpochDay()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Whether a window starting at {@code startDate} can be answered from memory.
+     */
+    public boolean covers(LocalDate startDate) {
+        return loaded && startDate.toEpochDay() >= generation.floorEpochDay();
+    }
+
+    /**
+     * Splits the dates of {@code [startDate, endDate]} into available, booked and blocked nights.
+     */
+    public Snapshot snapshot(Long roomId, LocalDate startDate, LocalDate endDate) {
+        Generation current = generation;
+        RoomNights nights = current.rooms().get(roomId);
+        List<LocalDate> available = new ArrayList<>();
+        List<LocalDate> booked = new ArrayList<>();
+        List<LocalDate> blocked = new ArrayList<>();
+
+        long floor = current.floorEpochDay();
+        for (long day = startDate.toEpochDay(); day <= endDate.toEpochDay(); day++) {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            int bit = (int) (day - floor);
+            boolean isBooked = nights != null && nights.isBooked(bit);
+            boolean isBlocked = nights != null && nights.isBlocked(bit);
+
+            if (isBooked) {
+                booked.add(date);
+            }
+            if (isBlocked) {
+                blocked.add(date);
+            }
+            if (!isBooked && !isBlocked) {
+                available.add(date);
+            }
+        }
+        return new Snapshot(available, booked, blocked);
+    }
+
+    /**
+     * Whether every night of {@code [checkIn, checkOut)} is neither booked nor blocked.
+     * Only valid when {@link #covers(LocalDate)} holds for {@code checkIn}.
+     */
+    public boolean isFree(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        Generation current = generation;
+        RoomNights nights = current.rooms().get(roomId);
+        if (nights == null) {
+            return true;
+        }
+        long floor = current.floorEpochDay();
+        return nights.isFree((int) (checkIn.toEpochDay() - floor), (int) (checkOut.toEpochDay() - floor));
+    }
+
+    /**
+     * Records the current state of a booking: nights are held while the booking is
+     * active and released once it is cancelled or marked as no-show.
+     */
+    public void onBookingChanged(Booking booking) {
+        Long bookingId = booking.getId();
+        Long roomId = booking.getRoom().getId();
+
+        if (!occupiesRoom(booking.getStatus())) {
+            afterCommit(() -> releaseBooking(roomId, bookingId));
+            return;
+        }
+
+        LocalDate checkIn = toLocalDate(booking.getCheckInDate());
+        LocalDate checkOut = toLocalDate(booking.getCheckOutDate());
+        afterCommit(() -> apply(roomId, nights -> {
+            long floor = generation.floorEpochDay();
+            nights.putBooking(bookingId, offset(checkIn, floor), offset(checkOut, floor));
+        }));
+    }
+
+    public void onBookingDeleted(Booking booking) {
+        onBookingDeleted(booking.getRoom().getId(), booking.getId());
+    }
+
+    public void onBookingDeleted(Long roomId, Long bookingId) {
+        afterCommit(() -> releaseBooking(roomId, bookingId));
+    }
+
+    public void onDatesBlocked(Long roomId, Collection<LocalDate> dates) {
+        List<LocalDate> copy = List.copyOf(dates);
+        afterCommit(() -> apply(roomId, nights -> {
+            long floor = generation.floorEpochDay();
+            copy.stream()
+                    .filter(date -> date.toEpochDay() >= floor)
+                    .forEach(date -> nights.block(offset(date, floor)));
+        }));
+    }
+
+    public void onDatesUnblocked(Long roomId, Collection<LocalDate> dates) {
+        List<LocalDate> copy = List.copyOf(dates);
+        afterCommit(() -> apply(roomId, nights -> {
+            long floor = generation.floorEpochDay();
+            copy.stream()
+                    .filter(date -> date.toEpochDay() >= floor)
+                    .forEach(date -> nights.unblock(offset(date, floor)));
+        }));
+    }
+
+    public static LocalDate toLocalDate(Date date) {
+        if (date instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static boolean occupiesRoom(BookingStatus status) {
+        return status != BookingStatus.CANCELLED && status != BookingStatus.NO_SHOW;
+    }
+
+    private static int offset(LocalDate date, long floor) {
+        return (int) Math.max(0, date.toEpochDay() - floor);
+    }
+
+    private void releaseBooking(Long roomId, Long bookingId) {
+        writeLock.lock();
+        try {
+            RoomNights nights = generation.rooms().get(roomId);
+            if (nights != null) {
+                nights.removeBooking(bookingId);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void apply(Long roomId, java.util.function.Consumer<RoomNights> change) {
+        writeLock.lock();
+        try {
+            change.accept(generation.rooms().computeIfAbsent(roomId, id -> new RoomNights()));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private record Generation(long floorEpochDay, Map<Long, RoomNights> rooms) {
+    }
+
+    public record Snapshot(List<LocalDate> availableDates,
+                           List<LocalDate> bookedDates,
+                           List<LocalDate> blockedDates) {
+    }
+
+    /**
+     * Booked and blocked nights of a single room. Booking ranges are kept next to the
+     * bitmap so releasing one booking does not clear nights still held by another.
+     */
+    static final class RoomNights {
+        private final BitSet booked = new BitSet();
+        private final BitSet blocked = new BitSet();
+        private final Map<Long, int[]> bookings = new HashMap<>();
+
+        synchronized void putBooking(Long bookingId, int from, int to) {
+            removeBooking(bookingId);
+            if (to <= from) {
+                return;
+            }
+            bookings.put(bookingId, new int[]{from, to});
+            booked.set(from, to);
+        }
+
+        synchronized void removeBooking(Long bookingId) {
+            int[] range = bookings.remove(bookingId);
+            if (range == null) {
+                return;
+            }
+            booked.clear(range[0], range[1]);
+            for (int[] other : bookings.values()) {
+                int from = Math.max(range[0], other[0]);
+                int to = Math.min(range[1], other[1]);
+                if (from < to) {
+                    booked.set(from, to);
+                }
+            }
+        }
+
+        synchronized void block(int night) {
+            blocked.set(night);
+        }
+
+        synchronized void unblock(int night) {
+            blocked.clear(night);
+        }
+
+        synchronized boolean isBooked(int night) {
+            return booked.get(night);
+        }
+
+        synchronized boolean isBlocked(int night) {
+            return blocked.get(night);
+        }
+
+        synchronized boolean isFree(int from, int to) {
+            if (to <= from) {
+                return true;
+            }
+            int nextBooked = booked.nextSetBit(from);
+            int nextBlocked = blocked.nextSetBit(from);
+            return (nextBooked < 0 || nextBooked >= to) && (nextBlocked < 0 || nextBlocked >= to);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package project.hotel_booking_system.service.room;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+import project.hotel_booking_system.repository.BookingRepository;
+import project.hotel_booking_system.repository.RoomBlockedDateRepository;
+import project.hotel_booking_system.repository.projection.BlockedNight;
+import project.hotel_booking_system.repository.projection.BookedStay;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Reads availability of several rooms from the database with one query for
+ * bookings and one for blocked dates, whatever the number of rooms.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RoomAvailabilityLoader {
+
+    BookingRepository bookingRepository;
+    RoomBlockedDateRepository blockedDateRepository;
+
+    /**
+     * Splits the dates of {@code [startDate, endDate]} into available, booked and blocked
+     * nights for every room in {@code roomIds}. Rooms without bookings or blocks are fully available.
+     */
+    public Map<Long, RoomAvailabilityIndex.Snapshot> loadAll(
+            Collection<Long> roomIds, LocalDate startDate, LocalDate endDate) {
+
+        if (roomIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Set<LocalDate>> bookedByRoom = new HashMap<>();
+        for (BookedStay stay : bookingRepository.findActiveStaysByRoomIdsAndDateRange(
+                roomIds, Date.valueOf(startDate), Date.valueOf(endDate))) {
+            LocalDate from = max(RoomAvailabilityIndex.toLocalDate(stay.getCheckInDate()), startDate);
+            LocalDate to = min(RoomAvailabilityIndex.toLocalDate(stay.getCheckOutDate()), endDate.plusDays(1));
+            if (from.isBefore(to)) {
+                Set<LocalDate> booked = bookedByRoom.computeIfAbsent(stay.getRoomId(), id -> new TreeSet<>());
+                from.datesUntil(to).forEach(booked::add);
+            }
+        }
+
+        Map<Long, List<LocalDate>> blockedByRoom = new HashMap<>();
+        for (BlockedNight night : blockedDateRepository.findBlockedNightsByRoomIdsAndDateRange(
+                roomIds, startDate, endDate)) {
+            blockedByRoom.computeIfAbsent(night.getRoomId(), id -> new ArrayList<>()).add(night.getBlockedDate());
+        }
+
+        Map<Long, RoomAvailabilityIndex.Snapshot> result = new HashMap<>();
+        for (Long roomId : roomIds) {
+            Set<LocalDate> booked = bookedByRoom.getOrDefault(roomId, Set.of());
+            List<LocalDate> blocked = blockedByRoom.getOrDefault(roomId, List.of());
+            Set<LocalDate> blockedSet = new HashSet<>(blocked);
+
+            List<LocalDate> available = startDate.datesUntil(endDate.plusDays(1))
+                    .filter(date -> !booked.contains(date) && !blockedSet.contains(date))
+                    .toList();
+
+            result.put(roomId, new RoomAvailabilityIndex.Snapshot(available, List.copyOf(booked), List.copyOf(blocked)));
+        }
+        return result;
+    }
+
+    public RoomAvailabilityIndex.Snapshot load(Long roomId, LocalDate startDate, LocalDate endDate) {
+        return loadAll(List.of(roomId), startDate, endDate).get(roomId);
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -1,6 +1,7 @@
 package project.hotel_booking_system.service.room;
 
 import org.springframework.data.domain.Pageable;
+import project.hotel_booking_system.dto.request.room_request.AvailabilityCheckRequest;
 import project.hotel_booking_system.dto.request.room_request.BlockDatesRequest;
 import project.hotel_booking_system.dto.response.*;
 import project.hotel_booking_system.model.RoomBlockedDate;
@@ -12,6 +13,10 @@ public interface RoomAvailabilityService {
 
     RoomAvailabilityResponse getRoomAvailability(Long roomId, LocalDate startDate, LocalDate endDate);
 
+    boolean isAvailable(Long roomId, LocalDate checkIn, LocalDate checkOut);
+
+    List<AvailabilityCheckResponse> checkAvailability(List<AvailabilityCheckRequest> checks);
+
     PaginationResponse<RoomAvailabilityPageResponse> getAllRoomsAvailability(
             LocalDate startDate, LocalDate endDate, Pageable pageable);
 
@@ -9,6 +9,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import project.hotel_booking_system.dto.request.room_request.AvailabilityCheckRequest;
 import project.hotel_booking_system.dto.request.room_request.BlockDatesRequest;
 import project.hotel_booking_system.dto.response.*;
 import project.hotel_booking_system.exception.AppException;
@@ -16,6 +17,9 @@ import project.hotel_booking_system.exception.ErrorCode;
 import project.hotel_booking_system.mapper.RoomAvailabilityMapper;
 import project.hotel_booking_system.model.*;
 import project.hotel_booking_system.repository.*;
+import project.hotel_booking_system.repository.projection.BlockedNight;
+import project.hotel_booking_system.repository.projection.BookedStay;
+import project.hotel_booking_system.repository.projection.CalendarStay;
 
 import java.sql.Date;
 import java.time.LocalDate;
@@ -35,50 +39,86 @@ public class RoomAvailabilityServiceImpl implements RoomAvailabilityService {
     RoomBlockedDateRepository blockedDateRepository;
     UserRepository userRepository;
     RoomAvailabilityMapper roomAvailabilityMapper;
+    RoomAvailabilityIndex availabilityIndex;
+    RoomAvailabilityLoader availabilityLoader;
+    RoomCalendarBuilder calendarBuilder;
+    RoomCatalogCache roomCatalogCache;
 
     @Override
     public RoomAvailabilityResponse getRoomAvailability(Long roomId, LocalDate startDate, LocalDate endDate) {
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new AppException(ErrorCode.ROOM_NOT_FOUND));
+        RoomSnapshot room = roomCatalogCache.get(roomId);
 
         if (startDate.isAfter(endDate)) {
             throw new AppException(ErrorCode.INVALID_DATE_RANGE);
         }
 
-        List<LocalDate> allDates = startDate.datesUntil(endDate.plusDays(1)).toList();
+        RoomAvailabilityIndex.Snapshot availability = resolveAvailability(roomId, startDate, endDate);
 
-        List<Booking> bookings = bookingRepository.findBookingsByRoomAndDateRange(
-                roomId, Date.valueOf(startDate), Date.valueOf(endDate));
+        return roomAvailabilityMapper.toResponse(room, availability.availableDates(),
+                availability.bookedDates(), availability.blockedDates());
+    }
 
-        List<LocalDate> bookedDates = bookings.stream()
-                .flatMap(booking -> {
-                    LocalDate checkIn = booking.getCheckInDate().toInstant()
-                            .atZone(java.time.ZoneId.systemDefault()).toLocalDate();
-                    LocalDate checkOut = booking.getCheckOutDate().toInstant()
-                            .atZone(java.time.ZoneId.systemDefault()).toLocalDate();
-                    return checkIn.datesUntil(checkOut);
-                })
-                .distinct()
-                .toList();
 
-        List<RoomBlockedDate> blockedDateEntities = blockedDateRepository
-                .findByRoomIdAndBlockedDateBetween(roomId, startDate, endDate);
+    @Override
+    public boolean isAvailable(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        if (!checkIn.isBefore(checkOut)) {
+            throw new AppException(ErrorCode.INVALID_DATE_RANGE);
+        }
 
-        List<LocalDate> blockedDates = blockedDateEntities.stream()
-                .map(RoomBlockedDate::getBlockedDate)
-                .toList();
+        if (availabilityIndex.covers(checkIn)) {
+            if (!roomCatalogCache.exists(roomId)) {
+                throw new AppException(ErrorCode.ROOM_NOT_FOUND);
+            }
+            return availabilityIndex.isFree(roomId, checkIn, checkOut);
+        }
 
-        List<LocalDate> unavailableDates = new ArrayList<>();
-        unavailableDates.addAll(bookedDates);
-        unavailableDates.addAll(blockedDates);
+        return roomRepository.isFreeBetween(roomId, Date.valueOf(checkIn), Date.valueOf(checkOut),
+                        checkIn, checkOut.minusDays(1))
+                .orElseThrow(() -> new AppException(ErrorCode.ROOM_NOT_FOUND));
+    }
 
-        List<LocalDate> availableDates = allDates.stream()
-                .filter(date -> !unavailableDates.contains(date))
-                .toList();
+    @Override
+    public List<AvailabilityCheckResponse> checkAvailability(List<AvailabilityCheckRequest> checks) {
+        for (AvailabilityCheckRequest check : checks) {
+            if (!check.getCheckIn().isBefore(check.getCheckOut())) {
+                throw new AppException(ErrorCode.INVALID_DATE_RANGE);
+            }
+        }
 
-        return roomAvailabilityMapper.toResponse(room, availableDates, bookedDates, blockedDates);
-    }
+        Set<Long> roomIds = new HashSet<>();
+        checks.forEach(check -> roomIds.add(check.getRoomId()));
+        if (roomRepository.findExistingIds(roomIds).size() != roomIds.size()) {
+            throw new AppException(ErrorCode.ROOM_NOT_FOUND);
+        }
+
+        boolean indexed = checks.stream().allMatch(check -> availabilityIndex.covers(check.getCheckIn()));
+        if (indexed) {
+            return checks.stream()
+                    .map(check -> toCheckResponse(check,
+                            availabilityIndex.isFree(check.getRoomId(), check.getCheckIn(), check.getCheckOut())))
+                    .toList();
+        }
 
+        LocalDate from = checks.stream().map(AvailabilityCheckRequest::getCheckIn)
+                .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate lastNight = checks.stream().map(AvailabilityCheckRequest::getCheckOut)
+                .max(Comparator.naturalOrder()).orElseThrow().minusDays(1);
+
+        Map<Long, List<BookedStay>> staysByRoom = new HashMap<>();
+        bookingRepository.findActiveStaysByRoomIdsAndDateRange(roomIds, Date.valueOf(from), Date.valueOf(lastNight))
+                .forEach(stay -> staysByRoom.computeIfAbsent(stay.getRoomId(), id -> new ArrayList<>()).add(stay));
+
+        Map<Long, List<LocalDate>> blockedByRoom = new HashMap<>();
+        blockedDateRepository.findBlockedNightsByRoomIdsAndDateRange(roomIds, from, lastNight)
+                .forEach(night -> blockedByRoom.computeIfAbsent(night.getRoomId(), id -> new ArrayList<>())
+                        .add(night.getBlockedDate()));
+
+        return checks.stream()
+                .map(check -> toCheckResponse(check, isFree(check,
+                        staysByRoom.getOrDefault(check.getRoomId(), List.of()),
+                        blockedByRoom.getOrDefault(check.getRoomId(), List.of()))))
+                .toList();
+    }
 
     @Override
     public PaginationResponse<RoomAvailabilityPageResponse> getAllRoomsAvailability(
@@ -89,42 +129,16 @@ public class RoomAvailabilityServiceImpl implements RoomAvailabilityService {
         }
 
         Page<Room> roomsPage = roomRepository.findAllAvailableRooms(pageable);
+        Map<Long, RoomAvailabilityIndex.Snapshot> availabilityByRoom =
+                resolveAvailability(roomsPage.getContent(), startDate, endDate);
 
         List<RoomAvailabilityPageResponse> content = roomsPage.getContent().stream()
                 .map(room -> {
-                    List<LocalDate> allDates = startDate.datesUntil(endDate.plusDays(1)).toList();
-
-                    List<Booking> bookings = bookingRepository.findBookingsByRoomAndDateRange(
-                            room.getId(), Date.valueOf(startDate), Date.valueOf(endDate));
-
-                    List<LocalDate> bookedDates = bookings.stream()
-                            .flatMap(booking -> {
-                                LocalDate checkIn = booking.getCheckInDate().toInstant()
-                                        .atZone(java.time.ZoneId.systemDefault()).toLocalDate();
-                                LocalDate checkOut = booking.getCheckOutDate().toInstant()
-                                        .atZone(java.time.ZoneId.systemDefault()).toLocalDate();
-                                return checkIn.datesUntil(checkOut);
-                            })
-                            .distinct()
-                            .toList();
-
-                    List<RoomBlockedDate> blockedDateEntities = blockedDateRepository
-                            .findByRoomIdAndBlockedDateBetween(room.getId(), startDate, endDate);
-
-                    List<LocalDate> blockedDates = blockedDateEntities.stream()
-                            .map(RoomBlockedDate::getBlockedDate)
-                            .toList();
-
-                    List<LocalDate> unavailableDates = new ArrayList<>();
-                    unavailableDates.addAll(bookedDates);
-                    unavailableDates.addAll(blockedDates);
-
-                    List<LocalDate> availableDates = allDates.stream()
-                            .filter(date -> !unavailableDates.contains(date))
-                            .toList();
+                    RoomAvailabilityIndex.Snapshot availability = availabilityByRoom.get(room.getId());
 
                     return roomAvailabilityMapper.toPageResponse(room, startDate, endDate,
-                            availableDates, bookedDates, blockedDates);
+                            availability.availableDates(), availability.bookedDates(),
+                            availability.blockedDates());
                 })
                 .toList();
 
@@ -155,25 +169,19 @@ public class RoomAvailabilityServiceImpl implements RoomAvailabilityService {
         List<LocalDate> paginatedDates = allDates.subList(start, end);
 
         List<Room> rooms = roomRepository.findAllAvailableRooms();
-        List<Booking> bookings = bookingRepository.findBookingsByDateRange(
-                Date.valueOf(paginatedDates.get(0)),
-                Date.valueOf(paginatedDates.get(paginatedDates.size() - 1)));
-        List<RoomBlockedDate> blockedDates = blockedDateRepository
-                .findByBlockedDateBetween(paginatedDates.get(0),
-                        paginatedDates.get(paginatedDates.size() - 1));
-
-        List<CalendarDayResponse> content = paginatedDates.stream()
-                .map(date -> CalendarDayResponse.builder()
-                        .date(date)
-                        .rooms(getRoomCalendarInfoForDate(rooms, bookings, blockedDates, date))
-                        .build())
-                .toList();
+        LocalDate firstDate = paginatedDates.get(0);
+        LocalDate lastDate = paginatedDates.get(paginatedDates.size() - 1);
+        List<CalendarStay> stays = bookingRepository.findCalendarStaysByDateRange(
+                Date.valueOf(firstDate), Date.valueOf(lastDate));
+        List<BlockedNight> blockedNights = blockedDateRepository.findBlockedNightsBetween(firstDate, lastDate);
+
+        List<CalendarDayResponse> content = calendarBuilder.build(rooms, stays, blockedNights, paginatedDates);
 
         return PaginationResponse.<CalendarDayResponse>builder()
                 .content(content)
                 .page(pageable.getPageNumber())
                 .pageSize(pageable.getPageSize())
-                .totalElements(allDates.size())
+                .totalElements((long) allDates.size())
                 .totalPages((int) Math.ceil((double) allDates.size() / pageable.getPageSize()))
                 .last(end >= allDates.size())
                 .build();
@@ -183,8 +191,7 @@ public class RoomAvailabilityServiceImpl implements RoomAvailabilityService {
     public PaginationResponse<RoomBlockedDate> getBlockedDates(
             Long roomId, LocalDate startDate, LocalDate endDate, Pageable pageable) {
 
-        roomRepository.findById(roomId)
-                .orElseThrow(() -> new AppException(ErrorCode.ROOM_NOT_FOUND));
+        roomCatalogCache.get(roomId);
 
         Page<RoomBlockedDate> blockedDatesPage = blockedDateRepository
                 .findByRoomIdAndBlockedDateBetweenOrderByBlockedDate(
@@ -200,45 +207,46 @@ public class RoomAvailabilityServiceImpl implements RoomAvailabilityService {
                 .build();
     }
 
-    private List<RoomCalendarInfo> getRoomCalendarInfoForDate(
-            List<Room> rooms, List<Booking> bookings,
-            List<RoomBlockedDate> blockedDates, LocalDate date) {
+    private boolean isFree(AvailabilityCheckRequest check, List<BookedStay> stays, List<LocalDate> blockedDates) {
+        for (BookedStay stay : stays) {
+            if (RoomAvailabilityIndex.toLocalDate(stay.getCheckInDate()).isBefore(check.getCheckOut())
+                    && RoomAvailabilityIndex.toLocalDate(stay.getCheckOutDate()).isAfter(check.getCheckIn())) {
+                return false;
+            }
+        }
+        for (LocalDate date : blockedDates) {
+            if (!date.isBefore(check.getCheckIn()) && date.isBefore(check.getCheckOut())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private AvailabilityCheckResponse toCheckResponse(AvailabilityCheckRequest check, boolean available) {
+        return AvailabilityCheckResponse.builder()
+                .roomId(check.getRoomId())
+                .checkIn(check.getCheckIn())
+                .checkOut(check.getCheckOut())
+                .available(available)
+                .build();
+    }
+
+    private Map<Long, RoomAvailabilityIndex.Snapshot> resolveAvailability(
+            List<Room> rooms, LocalDate startDate, LocalDate endDate) {
+        List<Long> roomIds = rooms.stream().map(Room::getId).toList();
+        if (!availabilityIndex.covers(startDate)) {
+            return availabilityLoader.loadAll(roomIds, startDate, endDate);
+        }
+        Map<Long, RoomAvailabilityIndex.Snapshot> result = new HashMap<>();
+        roomIds.forEach(roomId -> result.put(roomId, availabilityIndex.snapshot(roomId, startDate, endDate)));
+        return result;
+    }
 
-        return rooms.stream()
-                .map(room -> {
-                    Optional<Booking> booking = bookings.stream()
-                            .filter(b -> b.getRoom().getId().equals(room.getId()))
-                            .filter(b -> {
-                                LocalDate checkIn = b.getCheckInDate().toInstant()
-                                        .atZone(java.time.ZoneId.systemDefault()).toLocalDate();
-                                LocalDate checkOut = b.getCheckOutDate().toInstant()
-                                        .atZone(java.time.ZoneId.systemDefault()).toLocalDate();
-                                return !date.isBefore(checkIn) && date.isBefore(checkOut);
-                            })
-                            .findFirst();
-
-                    boolean isBlocked = blockedDates.stream()
-                            .anyMatch(bd -> bd.getRoom().getId().equals(room.getId())
-                                    && bd.getBlockedDate().equals(date));
-
-                    String status;
-                    String bookingInfo;
-
-                    if (booking.isPresent()) {
-                        status = "BOOKED";
-                        bookingInfo = "Booking #" + booking.get().getId() +
-                                " - " + booking.get().getUser().getFullname();
-                    } else if (isBlocked) {
-                        status = "BLOCKED";
-                        bookingInfo = "Maintenance/Blocked";
-                    } else {
-                        status = "AVAILABLE";
-                        bookingInfo = "";
-                    }
-
-                    return roomAvailabilityMapper.toCalendarInfo(room, status, bookingInfo);
-                })
-                .toList();
+    private RoomAvailabilityIndex.Snapshot resolveAvailability(Long roomId, LocalDate startDate, LocalDate endDate) {
+        if (availabilityIndex.covers(startDate)) {
+            return availabilityIndex.snapshot(roomId, startDate, endDate);
+        }
+        return availabilityLoader.load(roomId, startDate, endDate);
     }
 
     //Block and unblock dates for a room
@@ -247,8 +255,8 @@ public class RoomAvailabilityServiceImpl implements RoomAvailabilityService {
     @Override
     public void blockDates(Long roomId, BlockDatesRequest request) {
         // Validate room exists
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new AppException(ErrorCode.ROOM_NOT_FOUND));
+        roomCatalogCache.get(roomId);
+        Room room = roomRepository.getReferenceById(roomId);
 
 
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -291,6 +299,7 @@ public class RoomAvailabilityServiceImpl implements RoomAvailabilityService {
                 .toList();
 
         blockedDateRepository.saveAll(blockedDates);
+        availabilityIndex.onDatesBlocked(roomId, request.getBlockDates());
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -298,9 +307,9 @@ public class RoomAvailabilityServiceImpl implements RoomAvailabilityService {
     @Override
     public void unblockDates(Long roomId, List<LocalDate> dates) {
         // Validate room exists
-        roomRepository.findById(roomId)
-                .orElseThrow(() -> new AppException(ErrorCode.ROOM_NOT_FOUND));
+        roomCatalogCache.get(roomId);
 
         blockedDateRepository.deleteByRoomIdAndBlockedDateIn(roomId, dates);
+        availabilityIndex.onDatesUnblocked(roomId, dates);
     }
 }
\ No newline at end of file
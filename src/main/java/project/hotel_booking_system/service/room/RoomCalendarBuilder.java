@@ -0,0 +1,121 @@
+package project.hotel_booking_system.service.room;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+import project.hotel_booking_system.dto.response.CalendarDayResponse;
+import project.hotel_booking_system.dto.response.RoomCalendarInfo;
+import project.hotel_booking_system.mapper.RoomAvailabilityMapper;
+import project.hotel_booking_system.model.Room;
+import project.hotel_booking_system.repository.projection.BlockedNight;
+import project.hotel_booking_system.repository.projection.CalendarStay;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Builds the calendar grid of a date window.
+ * <p>
+ * Bookings and blocked nights are grouped and sorted per room once, then each room is
+ * swept over the window a single time, so the cost is O(rooms x days + bookings).
+ * A night covered by several bookings shows the one with the earliest check-in.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RoomCalendarBuilder {
+
+    static final String AVAILABLE = "AVAILABLE";
+    static final String BOOKED = "BOOKED";
+    static final String BLOCKED = "BLOCKED";
+
+    private static final Comparator<Stay> BY_CHECK_IN =
+            Comparator.comparing(Stay::checkIn).thenComparing(Stay::bookingId);
+
+    RoomAvailabilityMapper roomAvailabilityMapper;
+
+    /**
+     * @param dates consecutive dates of the window, in ascending order
+     */
+    public List<CalendarDayResponse> build(List<Room> rooms, List<? extends CalendarStay> stays,
+                                           List<? extends BlockedNight> blockedNights, List<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<Stay>> staysByRoom = new HashMap<>();
+        for (CalendarStay stay : stays) {
+            staysByRoom.computeIfAbsent(stay.getRoomId(), id -> new ArrayList<>()).add(new Stay(
+                    stay.getBookingId(),
+                    RoomAvailabilityIndex.toLocalDate(stay.getCheckInDate()),
+                    RoomAvailabilityIndex.toLocalDate(stay.getCheckOutDate()),
+                    stay.getGuestName()));
+        }
+        staysByRoom.values().forEach(list -> list.sort(BY_CHECK_IN));
+
+        Map<Long, List<LocalDate>> blockedByRoom = new HashMap<>();
+        for (BlockedNight night : blockedNights) {
+            blockedByRoom.computeIfAbsent(night.getRoomId(), id -> new ArrayList<>()).add(night.getBlockedDate());
+        }
+        blockedByRoom.values().forEach(Collections::sort);
+
+        List<List<RoomCalendarInfo>> cellsByDay = new ArrayList<>(dates.size());
+        for (int i = 0; i < dates.size(); i++) {
+            cellsByDay.add(new ArrayList<>(rooms.size()));
+        }
+
+        for (Room room : rooms) {
+            sweep(room,
+                    staysByRoom.getOrDefault(room.getId(), List.of()),
+                    blockedByRoom.getOrDefault(room.getId(), List.of()),
+                    dates, cellsByDay);
+        }
+
+        List<CalendarDayResponse> days = new ArrayList<>(dates.size());
+        for (int i = 0; i < dates.size(); i++) {
+            days.add(CalendarDayResponse.builder()
+                    .date(dates.get(i))
+                    .rooms(cellsByDay.get(i))
+                    .build());
+        }
+        return days;
+    }
+
+    private void sweep(Room room, List<Stay> stays, List<LocalDate> blocked,
+                       List<LocalDate> dates, List<List<RoomCalendarInfo>> cellsByDay) {
+        PriorityQueue<Stay> active = new PriorityQueue<>(BY_CHECK_IN);
+        int nextStay = 0;
+        int nextBlocked = 0;
+
+        for (int i = 0; i < dates.size(); i++) {
+            LocalDate date = dates.get(i);
+
+            while (nextStay < stays.size() && !stays.get(nextStay).checkIn().isAfter(date)) {
+                active.add(stays.get(nextStay++));
+            }
+            while (!active.isEmpty() && !active.peek().checkOut().isAfter(date)) {
+                active.poll();
+            }
+            while (nextBlocked < blocked.size() && blocked.get(nextBlocked).isBefore(date)) {
+                nextBlocked++;
+            }
+            boolean isBlocked = nextBlocked < blocked.size() && blocked.get(nextBlocked).equals(date);
+
+            RoomCalendarInfo cell;
+            if (!active.isEmpty()) {
+                Stay stay = active.peek();
+                cell = roomAvailabilityMapper.toCalendarInfo(room, BOOKED,
+                        "Booking #" + stay.bookingId() + " - " + stay.guestName());
+            } else if (isBlocked) {
+                cell = roomAvailabilityMapper.toCalendarInfo(room, BLOCKED, "Maintenance/Blocked");
+            } else {
+                cell = roomAvailabilityMapper.toCalendarInfo(room, AVAILABLE, "");
+            }
+            cellsByDay.get(i).add(cell);
+        }
+    }
+
+    private record Stay(Long bookingId, LocalDate checkIn, LocalDate checkOut, String guestName) {
+    }
+}
@@ -0,0 +1,73 @@
+package project.hotel_booking_system.service.room;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import project.hotel_booking_system.exception.AppException;
+import project.hotel_booking_system.exception.ErrorCode;
+import project.hotel_booking_system.repository.RoomRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache of room rows for the paths that only read a room's own columns.
+ * <p>
+ * Unknown ids are not cached, so a room shows up as soon as it is created. Writers evict the
+ * room right away and again after their transaction commits, so a concurrent reader cannot put
+ * the old row back in between. Entries also expire after a while in case of writes by another
+ * instance. Hits, misses and evictions are published as the {@code cache.*} meters tagged
+ * {@code cache=room.catalog}.
+ */
+@Component
+public class RoomCatalogCache {
+
+    static final String CACHE_NAME = "room.catalog";
+
+    private final RoomRepository roomRepository;
+    private final Cache<Long, RoomSnapshot> rooms;
+
+    public RoomCatalogCache(RoomRepository roomRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${room.catalog.cache-size:1000}") long cacheSize,
+                            @Value("${room.catalog.ttl-minutes:30}") long ttlMinutes) {
+        this.roomRepository = roomRepository;
+        this.rooms = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rooms, CACHE_NAME);
+    }
+
+    public Optional<RoomSnapshot> find(Long roomId) {
+        return Optional.ofNullable(rooms.get(roomId, id -> roomRepository.findById(id)
+                .map(RoomSnapshot::of)
+                .orElse(null)));
+    }
+
+    public RoomSnapshot get(Long roomId) {
+        return find(roomId).orElseThrow(() -> new AppException(ErrorCode.ROOM_NOT_FOUND));
+    }
+
+    public boolean exists(Long roomId) {
+        return find(roomId).isPresent();
+    }
+
+    public void evict(Long roomId) {
+        rooms.invalidate(roomId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rooms.invalidate(roomId);
+                }
+            });
+        }
+    }
+}
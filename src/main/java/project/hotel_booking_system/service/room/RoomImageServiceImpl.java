@@ -31,6 +31,7 @@ public class RoomImageServiceImpl implements RoomImageService {
     RoomImageRepository roomImageRepository;
     RoomImageMapper roomImageMapper;
     FileStorageService fileStorageService;
+    RoomThumbnailResolver roomThumbnailResolver;
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
@@ -50,6 +51,7 @@ public class RoomImageServiceImpl implements RoomImageService {
                     .build();
 
             roomImageRepository.save(roomImage);
+            roomThumbnailResolver.evict(roomId);
             return roomImageMapper.toImageResponse(roomImage);
 
     }
@@ -81,7 +83,9 @@ public class RoomImageServiceImpl implements RoomImageService {
         image.setImageUrl(newImagePath);
         image.setCreatedAt(LocalDateTime.now());
 
-        return roomImageMapper.toImageResponse(roomImageRepository.save(image));
+        RoomImage saved = roomImageRepository.save(image);
+        roomThumbnailResolver.evict(room.getId());
+        return roomImageMapper.toImageResponse(saved);
     }
 
     @Override
@@ -94,7 +98,9 @@ public class RoomImageServiceImpl implements RoomImageService {
                 .orElseThrow(() -> new AppException(ErrorCode.IMAGE_NOT_FOUND));
         image.setImageType(type);
 
-        return roomImageMapper.toImageResponse(roomImageRepository.save(image));
+        RoomImage saved = roomImageRepository.save(image);
+        roomThumbnailResolver.evict(room.getId());
+        return roomImageMapper.toImageResponse(saved);
     }
 
     @Override
@@ -109,6 +115,7 @@ public class RoomImageServiceImpl implements RoomImageService {
 
         fileStorageService.deleteFile(image.getImageUrl());
         roomImageRepository.delete(image);
+        roomThumbnailResolver.evict(room.getId());
 
     }
 }
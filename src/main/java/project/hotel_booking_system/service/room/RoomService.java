@@ -14,6 +14,8 @@ public interface RoomService {
 
     PaginationResponse<RoomResponse> getAllRoom(Pageable pageable);
 
+    PaginationResponse<RoomResponse> getAllRoom(String cursor, int size, boolean includeTotal);
+
     RoomResponse createRoom(RoomCreationRequest roomCreationRequest);
 
     RoomResponse updateRoom(Long id, RoomUpdateRequest roomUpdateRequest);
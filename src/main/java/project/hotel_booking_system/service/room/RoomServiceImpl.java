@@ -1,10 +1,12 @@
 package project.hotel_booking_system.service.room;
 
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -20,7 +22,6 @@ import project.hotel_booking_system.dto.request.room_request.RoomUpdateRequest;
 import project.hotel_booking_system.dto.response.PaginationResponse;
 import project.hotel_booking_system.dto.response.RoomImageResponse;
 import project.hotel_booking_system.dto.response.RoomResponse;
-import project.hotel_booking_system.enums.ImageType;
 import project.hotel_booking_system.enums.RoomStatus;
 import project.hotel_booking_system.exception.AppException;
 import project.hotel_booking_system.exception.ErrorCode;
@@ -29,6 +30,8 @@ import project.hotel_booking_system.mapper.RoomMapper;
 import project.hotel_booking_system.model.Room;
 import project.hotel_booking_system.repository.RoomImageRepository;
 import project.hotel_booking_system.repository.RoomRepository;
+import project.hotel_booking_system.repository.specification.RoomSpecifications;
+import project.hotel_booking_system.service.common.PageCursor;
 
 @Service
 @RequiredArgsConstructor
@@ -39,14 +42,14 @@ public class RoomServiceImpl implements RoomService {
     RoomMapper roomMapper;
     RoomImageMapper roomImageMapper;
     RoomImageRepository roomImageRepository;
+    RoomThumbnailResolver roomThumbnailResolver;
+    RoomCatalogCache roomCatalogCache;
 
     @Override
     public RoomResponse getRoomByRoomNumber(Long num) {
-        Room room =roomRepository.findById(num).orElseThrow(
-                () ->  new AppException(ErrorCode.ROOM_NOT_FOUND)
-        );
+        RoomSnapshot room = roomCatalogCache.get(num);
 
-        List<RoomImageResponse> images = roomImageRepository.findByRoom_Id(room.getId())
+        List<RoomImageResponse> images = roomImageRepository.findByRoom_Id(room.id())
                 .stream()
                 .map(roomImageMapper::toImageResponse)
                 .toList();
@@ -59,16 +62,7 @@ public class RoomServiceImpl implements RoomService {
     public PaginationResponse<RoomResponse> getAllRoom(Pageable pageable) {
         Page<Room> rooms = roomRepository.findAll(pageable);
 
-        List<RoomResponse> roomResponses = rooms.getContent()
-                .stream()
-                .map(room -> {
-                    List<RoomImageResponse> thumbnailImages = roomImageRepository.findByRoom_IdAndImageType(room.getId(), ImageType.THUMBNAIL)
-                            .stream()
-                            .map(roomImageMapper::toImageResponse)
-                            .toList();
-                    return roomMapper.toRoomResponse(room, thumbnailImages);
-                })
-                .toList();
+        List<RoomResponse> roomResponses = toRoomResponses(rooms.getContent());
 
         return PaginationResponse.<RoomResponse>builder()
                 .content(roomResponses)
@@ -80,6 +74,18 @@ public class RoomServiceImpl implements RoomService {
                 .build();
     }
 
+    @Override
+    public PaginationResponse<RoomResponse> getAllRoom(String cursor, int size, boolean includeTotal) {
+        PageCursor after = PageCursor.decode(cursor, false);
+        List<Room> rooms = roomRepository.findByIdGreaterThanOrderByIdAsc(
+                after == null ? 0L : after.id(), PageCursor.limit(size));
+
+        return PageCursor.toPage(rooms, size,
+                room -> new PageCursor(null, room.getId()),
+                this::toRoomResponses,
+                includeTotal ? roomRepository.count() : null);
+    }
+
     @Override
     @PreAuthorize("hasRole('ADMIN')")
     public RoomResponse createRoom(RoomCreationRequest roomCreationRequest) {
@@ -97,6 +103,7 @@ public class RoomServiceImpl implements RoomService {
         Room room = roomMapper.toRoom(roomCreationRequest);
         room.setCreateAt(LocalDateTime.now());
         roomRepository.save(room);
+        roomCatalogCache.evict(room.getId());
         return roomMapper.toRoomResponse(room);
     }
 
@@ -114,6 +121,7 @@ public class RoomServiceImpl implements RoomService {
         roomMapper.updateRoom(room, roomUpdateRequest);
 
         roomRepository.save(room);
+        roomCatalogCache.evict(room.getId());
         return roomMapper.toRoomResponse(room);
     }
 
@@ -124,11 +132,15 @@ public class RoomServiceImpl implements RoomService {
                 () -> new AppException(ErrorCode.ROOM_NOT_FOUND)
         );
         roomRepository.delete(room);
+        roomThumbnailResolver.evict(room.getId());
+        roomCatalogCache.evict(room.getId());
     }
     
     @Override
     public PaginationResponse<RoomResponse> searchAvailableRooms(RoomSearchRequest searchRequest, Pageable pageable) {
 
+        LocalDate firstNight = null;
+        LocalDate lastNight = null;
         if (searchRequest.getCheckInDate() != null && searchRequest.getCheckOutDate() != null) {
             Date now = new Date();
             if (searchRequest.getCheckInDate().before(now)) {
@@ -137,60 +149,22 @@ public class RoomServiceImpl implements RoomService {
             if (searchRequest.getCheckOutDate().before(searchRequest.getCheckInDate())) {
                 throw new AppException(ErrorCode.INVALID_DATE_RANGE);
             }
+            firstNight = RoomAvailabilityIndex.toLocalDate(searchRequest.getCheckInDate());
+            LocalDate checkOut = RoomAvailabilityIndex.toLocalDate(searchRequest.getCheckOutDate());
+            lastNight = checkOut.isAfter(firstNight) ? checkOut.minusDays(1) : firstNight;
         }
 
-        Page<Room> rooms;
-        if (searchRequest.getCheckInDate() != null && searchRequest.getCheckOutDate() != null) {
-            // If dates are provided, use the date-based search
-            rooms = roomRepository.searchAvailableRooms(
-                    searchRequest.getCheckInDate(),
-                    searchRequest.getCheckOutDate(),
-                    searchRequest.getRoomType(),
-                    searchRequest.getMinPrice(),
-                    searchRequest.getMaxPrice(),
-                    RoomStatus.AVAILABLE,
-                    pageable
-            );
-        } else if (searchRequest.getRoomType() != null && searchRequest.getMinPrice() != null && searchRequest.getMaxPrice() != null) {
-            // If only room type and price range are provided
-            rooms = roomRepository.findByRoomTypeAndPriceBetweenAndRoomStatus(
-                    searchRequest.getRoomType(),
-                    searchRequest.getMinPrice(),
-                    searchRequest.getMaxPrice(),
-                    RoomStatus.AVAILABLE,
-                    pageable
-            );
-        } else if (searchRequest.getRoomType() != null) {
-            // If only room type is provided
-            rooms = roomRepository.findByRoomTypeAndRoomStatus(
-                    searchRequest.getRoomType(),
-                    RoomStatus.AVAILABLE,
-                    pageable
-            );
-        } else if (searchRequest.getMinPrice() != null && searchRequest.getMaxPrice() != null) {
-            // If only price range is provided
-            rooms = roomRepository.findByPriceBetweenAndRoomStatus(
-                    searchRequest.getMinPrice(),
-                    searchRequest.getMaxPrice(),
-                    RoomStatus.AVAILABLE,
-                    pageable
-            );
-        } else {
-            // If no specific criteria, return all available rooms
-            rooms = roomRepository.findAll(pageable);
-        }
+        // Only the criteria that were given end up in the query
+        Page<Room> rooms = roomRepository.findAll(RoomSpecifications.search(
+                RoomStatus.AVAILABLE,
+                searchRequest.getRoomType(),
+                searchRequest.getMinPrice(),
+                searchRequest.getMaxPrice(),
+                firstNight,
+                lastNight), pageable);
         
         // Map the results to DTOs with thumbnail images
-        List<RoomResponse> roomResponses = rooms.getContent()
-                .stream()
-                .map(room -> {
-                    List<RoomImageResponse> thumbnailImages = roomImageRepository.findByRoom_IdAndImageType(room.getId(), ImageType.THUMBNAIL)
-                            .stream()
-                            .map(roomImageMapper::toImageResponse)
-                            .toList();
-                    return roomMapper.toRoomResponse(room, thumbnailImages);
-                })
-                .toList();
+        List<RoomResponse> roomResponses = toRoomResponses(rooms.getContent());
 
         return PaginationResponse.<RoomResponse>builder()
                 .content(roomResponses)
@@ -201,4 +175,12 @@ public class RoomServiceImpl implements RoomService {
                 .last(rooms.isLast())
                 .build();
     }
+
+    private List<RoomResponse> toRoomResponses(List<Room> rooms) {
+        Map<Long, List<RoomImageResponse>> thumbnails =
+                roomThumbnailResolver.resolve(rooms.stream().map(Room::getId).toList());
+        return rooms.stream()
+                .map(room -> roomMapper.toRoomResponse(room, thumbnails.get(room.getId())))
+                .toList();
+    }
 }
@@ -0,0 +1,27 @@
+package project.hotel_booking_system.service.room;
+
+import project.hotel_booking_system.enums.RoomStatus;
+import project.hotel_booking_system.enums.RoomType;
+import project.hotel_booking_system.model.Room;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the columns of a {@link Room}, safe to share between requests.
+ */
+public record RoomSnapshot(
+        Long id,
+        String roomNumber,
+        RoomType roomType,
+        BigDecimal price,
+        RoomStatus roomStatus,
+        String description,
+        LocalDateTime createAt
+) {
+
+    public static RoomSnapshot of(Room room) {
+        return new RoomSnapshot(room.getId(), room.getRoomNumber(), room.getRoomType(), room.getPrice(),
+                room.getRoomStatus(), room.getDescription(), room.getCreateAt());
+    }
+}
@@ -0,0 +1,68 @@
+package project.hotel_booking_system.service.room;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import project.hotel_booking_system.dto.response.RoomImageResponse;
+import project.hotel_booking_system.enums.ImageType;
+import project.hotel_booking_system.mapper.RoomImageMapper;
+import project.hotel_booking_system.repository.RoomImageRepository;
+import project.hotel_booking_system.repository.projection.RoomThumbnail;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Thumbnails of the rooms on a listing page. Rooms missing from the cache are loaded together
+ * with one IN query; rooms without thumbnails are cached as empty lists. Entries are evicted
+ * when a room's images change and expire after a while in case of writes by another instance.
+ */
+@Component
+public class RoomThumbnailResolver {
+
+    private final RoomImageRepository roomImageRepository;
+    private final RoomImageMapper roomImageMapper;
+    private final Cache<Long, List<RoomImageResponse>> thumbnails;
+
+    public RoomThumbnailResolver(RoomImageRepository roomImageRepository,
+                                 RoomImageMapper roomImageMapper,
+                                 @Value("${room.thumbnails.cache-size:2000}") long cacheSize,
+                                 @Value("${room.thumbnails.ttl-minutes:10}") long ttlMinutes) {
+        this.roomImageRepository = roomImageRepository;
+        this.roomImageMapper = roomImageMapper;
+        this.thumbnails = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    /**
+     * @return thumbnails by room id, with an entry for every requested room
+     */
+    public Map<Long, List<RoomImageResponse>> resolve(Collection<Long> roomIds) {
+        if (roomIds.isEmpty()) {
+            return Map.of();
+        }
+        return thumbnails.getAll(roomIds, this::load);
+    }
+
+    public void evict(Long roomId) {
+        thumbnails.invalidate(roomId);
+    }
+
+    private Map<Long, List<RoomImageResponse>> load(Set<? extends Long> roomIds) {
+        Map<Long, List<RoomImageResponse>> byRoom = new HashMap<>();
+        for (RoomThumbnail thumbnail : roomImageRepository.findByRoomIdsAndImageType(
+                new ArrayList<>(roomIds), ImageType.THUMBNAIL)) {
+            byRoom.computeIfAbsent(thumbnail.getRoomId(), id -> new ArrayList<>())
+                    .add(roomImageMapper.toImageResponse(thumbnail));
+        }
+
+        Map<Long, List<RoomImageResponse>> loaded = new HashMap<>();
+        for (Long roomId : roomIds) {
+            loaded.put(roomId, List.copyOf(byRoom.getOrDefault(roomId, List.of())));
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,113 @@
+package project.hotel_booking_system.configuration;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import project.hotel_booking_system.service.authentication.TokenRevocationStore;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerJwtDecoderTest {
+
+    private static final String SIGNER_KEY =
+            "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    @Mock
+    private TokenRevocationStore tokenRevocationStore;
+
+    private CustomerJwtDecoder jwtDecoder;
+
+    @BeforeEach
+    void setUp() {
+        jwtDecoder = new CustomerJwtDecoder(tokenRevocationStore, SIGNER_KEY, 100);
+    }
+
+    @Test
+    void decode_ValidToken_ReturnsClaims() throws Exception {
+        // Given
+        String token = token("jti-1", Instant.now().plus(1, ChronoUnit.HOURS), SIGNER_KEY);
+
+        // When
+        Jwt jwt = jwtDecoder.decode(token);
+
+        // Then
+        assertEquals("guest", jwt.getSubject());
+        assertEquals("jti-1", jwt.getId());
+        assertEquals("ROLE_CUSTOMER", jwt.getClaimAsString("role"));
+    }
+
+    @Test
+    void decode_SameTokenTwice_ReturnsCachedJwt() throws Exception {
+        // Given
+        String token = token("jti-1", Instant.now().plus(1, ChronoUnit.HOURS), SIGNER_KEY);
+
+        // When
+        Jwt first = jwtDecoder.decode(token);
+        Jwt second = jwtDecoder.decode(token);
+
+        // Then
+        assertSame(first, second);
+        verify(tokenRevocationStore, times(2)).isRevoked("jti-1");
+    }
+
+    @Test
+    void decode_RevokedAfterCaching_ThrowsJwtException() throws Exception {
+        // Given
+        String token = token("jti-1", Instant.now().plus(1, ChronoUnit.HOURS), SIGNER_KEY);
+        jwtDecoder.decode(token);
+        when(tokenRevocationStore.isRevoked("jti-1")).thenReturn(true);
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtDecoder.decode(token));
+    }
+
+    @Test
+    void decode_ExpiredToken_ThrowsJwtException() throws Exception {
+        // Given
+        String token = token("jti-1", Instant.now().minus(1, ChronoUnit.SECONDS), SIGNER_KEY);
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtDecoder.decode(token));
+        verifyNoInteractions(tokenRevocationStore);
+    }
+
+    @Test
+    void decode_WrongSignature_ThrowsJwtException() throws Exception {
+        // Given
+        String token = token("jti-1", Instant.now().plus(1, ChronoUnit.HOURS),
+                "fedcba9876543210fedcba9876543210fedcba9876543210fedcba9876543210");
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtDecoder.decode(token));
+        verifyNoInteractions(tokenRevocationStore);
+    }
+
+    private String token(String jti, Instant expiresAt, String key) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("guest")
+                .issuer("hotel-booking-system")
+                .issueTime(new Date())
+                .expirationTime(Date.from(expiresAt))
+                .jwtID(jti)
+                .claim("role", "ROLE_CUSTOMER")
+                .build();
+        SignedJWT signedJWT = new SignedJWT(new JWSHeader(JWSAlgorithm.HS512), claims);
+        signedJWT.sign(new MACSigner(key.getBytes()));
+        return signedJWT.serialize();
+    }
+}
@@ -0,0 +1,274 @@
+package project.hotel_booking_system.controller;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import project.hotel_booking_system.config.SqlStatementRecorder;
+import project.hotel_booking_system.enums.*;
+import project.hotel_booking_system.model.*;
+import project.hotel_booking_system.repository.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Runs the real controllers against H2 in MySQL mode and fails when a request prepares more
+ * SQL statements than its budget, or prepares the same statement over and over (an N+1).
+ * <p>
+ * The data holds {@link #ROW_COUNT} of everything, so a statement issued per row shows up as
+ * a budget overrun. A report of every request, worst first, is written to
+ * {@code target/sql-statement-budget.txt}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:budget;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "project.hotel_booking_system.config.SqlStatementRecorder",
+        "jwt.signer-key=0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef",
+        "vnpay.tmnCode=TEST",
+        "vnpay.hashSecret=secret",
+        "vnpay.paymentUrl=http://localhost/pay",
+        "vnpay.returnUrl=http://localhost/return",
+        "vnpay.refundUrl=http://localhost/refund"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointStatementBudgetTest {
+
+    private static final int ROW_COUNT = 10;
+    // A statement prepared more often than this within one request is reported as an N+1
+    private static final int REPEAT_LIMIT = 2;
+    private static final Path REPORT = Path.of("target", "sql-statement-budget.txt");
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomImageRepository roomImageRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    private final List<Measurement> measurements = new ArrayList<>();
+    private User guest;
+    private Room room;
+    private Booking booking;
+
+    @BeforeAll
+    void seed() {
+        List<User> guests = new ArrayList<>();
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            guests.add(userRepository.save(User.builder()
+                    .username("guest" + i)
+                    .password("secret")
+                    .email("guest" + i + "@example.com")
+                    .fullname("Guest " + i)
+                    .phone("090000000" + i)
+                    .role(Role.CUSTOMER)
+                    .createAt(LocalDateTime.now())
+                    .isActive(true)
+                    .build()));
+            Room saved = roomRepository.save(Room.builder()
+                    .roomNumber(String.valueOf(101 + i))
+                    .roomType(RoomType.DOUBLE)
+                    .price(new BigDecimal("500000"))
+                    .roomStatus(RoomStatus.AVAILABLE)
+                    .description("Double room")
+                    .createAt(LocalDateTime.now())
+                    .build());
+            roomImageRepository.save(RoomImage.builder()
+                    .room(saved)
+                    .imageUrl("room-" + i + ".jpg")
+                    .imageType(ImageType.THUMBNAIL)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            rooms.add(saved);
+        }
+        guest = guests.get(0);
+        room = rooms.get(0);
+
+        for (int i = 0; i < ROW_COUNT; i++) {
+            Booking saved = bookingRepository.save(Booking.builder()
+                    .user(guest)
+                    .room(rooms.get(i))
+                    .checkInDate(Date.valueOf(DAY.plusDays(i)))
+                    .checkOutDate(Date.valueOf(DAY.plusDays(i + 1)))
+                    .status(BookingStatus.CONFIRMED)
+                    .totalPrice(new BigDecimal("500000.00"))
+                    .createdAt(DAY.atTime(8, i))
+                    .build());
+            if (booking == null) {
+                booking = saved;
+            }
+            reviewRepository.save(Review.builder()
+                    .user(guests.get(i))
+                    .room(room)
+                    .rating((byte) 5)
+                    .comment("Nice stay")
+                    .createdAt(DAY.atTime(12, i))
+                    .build());
+        }
+        for (int i = 0; i < ROW_COUNT; i++) {
+            paymentRepository.save(Payment.builder()
+                    .booking(booking)
+                    .amount(new BigDecimal("50000.00"))
+                    .paymentMethod(PaymentMethod.CASH)
+                    .status(PaymentStatus.COMPLETED)
+                    .paymentDate(DAY.atTime(9, i))
+                    .build());
+        }
+    }
+
+    @Test
+    void listRooms() throws Exception {
+        assertWithinBudget("GET /rooms", 3, get("/rooms"));
+    }
+
+    @Test
+    void listRoomsByCursor() throws Exception {
+        assertWithinBudget("GET /rooms?cursor", 1, get("/rooms").param("cursor", ""));
+    }
+
+    @Test
+    void getRoom() throws Exception {
+        assertWithinBudget("GET /rooms/{id}", 2, get("/rooms/{id}", room.getId()));
+    }
+
+    @Test
+    void listRoomsAvailability() throws Exception {
+        assertWithinBudget("GET /rooms/availability", 4, get("/rooms/availability")
+                .param("startDate", DAY.toString())
+                .param("endDate", DAY.plusDays(6).toString()));
+    }
+
+    @Test
+    void listReviewsOfRoom() throws Exception {
+        assertWithinBudget("GET /reviews/room/{id}", 2, get("/reviews/room/{id}", room.getId()));
+    }
+
+    @Test
+    void listReviewsOfRoomByCursor() throws Exception {
+        assertWithinBudget("GET /reviews/room/{id}?cursor", 1,
+                get("/reviews/room/{id}", room.getId()).param("cursor", ""));
+    }
+
+    @Test
+    void listMyBookings() throws Exception {
+        assertWithinBudget("GET /bookings/my", 3, get("/bookings/my").with(customer()));
+    }
+
+    @Test
+    void listBookingPayments() throws Exception {
+        assertWithinBudget("GET /payments/booking/{id}", 2,
+                get("/payments/booking/{id}", booking.getId()).with(customer()));
+    }
+
+    @Test
+    void listAllBookings() throws Exception {
+        assertWithinBudget("GET /admin/bookings", 1, get("/admin/bookings").with(admin()));
+    }
+
+    @Test
+    void listAllPayments() throws Exception {
+        assertWithinBudget("GET /admin/payments", 1, get("/admin/payments").with(admin()));
+    }
+
+    @AfterAll
+    void writeReport() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-34s %10s %7s  %s", "request", "statements", "budget", "most repeated"));
+        measurements.stream()
+                .sorted(Comparator.comparingInt(Measurement::count).reversed())
+                .forEach(m -> lines.add(String.format("%-34s %10d %7d  %dx %s",
+                        m.name(), m.count(), m.budget(), m.mostRepeated().getValue(), m.mostRepeated().getKey())));
+        Files.createDirectories(REPORT.getParent());
+        Files.write(REPORT, lines);
+    }
+
+    private void assertWithinBudget(String name, int budget, RequestBuilder request) throws Exception {
+        SqlStatementRecorder.start();
+        int status;
+        List<String> statements;
+        try {
+            status = mockMvc.perform(request).andReturn().getResponse().getStatus();
+        } finally {
+            statements = SqlStatementRecorder.stop();
+        }
+        Measurement measurement = new Measurement(name, budget, statements);
+        measurements.add(measurement);
+
+        assertEquals(200, status, name);
+        assertTrue(statements.size() <= budget,
+                () -> name + " prepared " + statements.size() + " statements, budget " + budget + ":\n"
+                        + String.join("\n", statements));
+        assertTrue(measurement.mostRepeated().getValue() <= REPEAT_LIMIT,
+                () -> name + " repeated a statement " + measurement.mostRepeated().getValue() + " times: "
+                        + measurement.mostRepeated().getKey());
+    }
+
+    private RequestPostProcessor customer() {
+        return jwt().jwt(token -> token.subject(guest.getUsername()).claim("userId", guest.getId()))
+                .authorities(new SimpleGrantedAuthority("ROLE_CUSTOMER"));
+    }
+
+    private RequestPostProcessor admin() {
+        return jwt().jwt(token -> token.subject("admin"))
+                .authorities(new SimpleGrantedAuthority("ROLE_ADMIN"));
+    }
+
+    private record Measurement(String name, int budget, List<String> statements) {
+
+        int count() {
+            return statements.size();
+        }
+
+        Map.Entry<String, Long> mostRepeated() {
+            return statements.stream()
+                    .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+                    .entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .orElse(Map.entry("-", 0L));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package project.hotel_booking_system.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import project.hotel_booking_system.configuration.CustomerJwtDecoder;
+import project.hotel_booking_system.enums.ExportFormat;
+import project.hotel_booking_system.service.common.ExportService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Streams an export through the embedded Tomcat for longer than its default async timeout of
+ * 30 seconds, which used to cut large exports off.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:export-timeout;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "jwt.signer-key=0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef",
+        "vnpay.tmnCode=TEST",
+        "vnpay.hashSecret=secret",
+        "vnpay.paymentUrl=http://localhost/pay",
+        "vnpay.returnUrl=http://localhost/return",
+        "vnpay.refundUrl=http://localhost/refund"
+})
+class ExportTimeoutTest {
+
+    private static final long STREAM_MILLIS = 32_000;
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private ExportService exportService;
+
+    @MockBean
+    private CustomerJwtDecoder jwtDecoder;
+
+    @Test
+    void exportPayments_StreamingLongerThanContainerTimeout_Completes() throws Exception {
+        // Given
+        when(jwtDecoder.decode("admin-token")).thenReturn(Jwt.withTokenValue("admin-token")
+                .header("alg", "HS512")
+                .subject("admin")
+                .claim("role", "ROLE_ADMIN")
+                .build());
+        StreamingResponseBody slowExport = out -> {
+            out.write("id\r\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            try {
+                Thread.sleep(STREAM_MILLIS);
+            } catch (InterruptedException e) {
+                // Cancelled by the async timeout, so the rest of the export is never written
+                Thread.currentThread().interrupt();
+                throw new IOException("Export cancelled", e);
+            }
+            out.write("1\r\n".getBytes(StandardCharsets.UTF_8));
+        };
+        when(exportService.exportPayments(any(), any(), any(), any(ExportFormat.class))).thenReturn(slowExport);
+
+        // When
+        HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder()
+                        .uri(URI.create("http://localhost:" + port
+                                + "/hotelbooking/admin/payments/export?startDate=2025-06-01&endDate=2025-06-30"))
+                        .header("Authorization", "Bearer admin-token")
+                        .timeout(Duration.ofSeconds(60))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertEquals("id\r\n1\r\n", response.body());
+    }
+}
@@ -10,7 +10,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import project.hotel_booking_system.dto.request.room_request.AvailabilityCheckRequest;
 import project.hotel_booking_system.dto.request.room_request.BlockDatesRequest;
+import project.hotel_booking_system.dto.request.room_request.QuickAvailabilityRequest;
 import project.hotel_booking_system.dto.response.*;
 import project.hotel_booking_system.model.RoomBlockedDate;
 import project.hotel_booking_system.service.room.RoomAvailabilityService;
@@ -326,16 +328,7 @@ class RoomAvailabilityControllerTest {
         LocalDate checkIn = startDate;
         LocalDate checkOut = startDate.plusDays(2);
 
-        RoomAvailabilityResponse availabilityResponse = RoomAvailabilityResponse.builder()
-                .roomId(1L)
-                .roomNumber("101")
-                .availableDates(List.of(checkIn, checkIn.plusDays(1))) // Both dates available
-                .bookedDates(List.of())
-                .blockedDates(List.of())
-                .build();
-
-        when(roomAvailabilityService.getRoomAvailability(1L, checkIn, checkOut.minusDays(1)))
-                .thenReturn(availabilityResponse);
+        when(roomAvailabilityService.isAvailable(1L, checkIn, checkOut)).thenReturn(true);
 
         // When & Then
         mockMvc.perform(get("/rooms/1/availability/quick")
@@ -357,16 +350,7 @@ class RoomAvailabilityControllerTest {
         LocalDate checkIn = startDate;
         LocalDate checkOut = startDate.plusDays(2);
 
-        RoomAvailabilityResponse availabilityResponse = RoomAvailabilityResponse.builder()
-                .roomId(1L)
-                .roomNumber("101")
-                .availableDates(List.of(checkIn)) // Only first date available
-                .bookedDates(List.of(checkIn.plusDays(1)))
-                .blockedDates(List.of())
-                .build();
-
-        when(roomAvailabilityService.getRoomAvailability(1L, checkIn, checkOut.minusDays(1)))
-                .thenReturn(availabilityResponse);
+        when(roomAvailabilityService.isAvailable(1L, checkIn, checkOut)).thenReturn(false);
 
         // When & Then
         mockMvc.perform(get("/rooms/1/availability/quick")
@@ -393,6 +377,51 @@ class RoomAvailabilityControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @WithMockUser
+    void quickAvailabilityCheckBatch_Success() throws Exception {
+        // Given
+        List<AvailabilityCheckRequest> checks = List.of(
+                AvailabilityCheckRequest.builder().roomId(1L).checkIn(startDate).checkOut(startDate.plusDays(2)).build(),
+                AvailabilityCheckRequest.builder().roomId(2L).checkIn(startDate).checkOut(endDate).build());
+        QuickAvailabilityRequest request = QuickAvailabilityRequest.builder().checks(checks).build();
+
+        when(roomAvailabilityService.checkAvailability(checks)).thenReturn(List.of(
+                AvailabilityCheckResponse.builder().roomId(1L).checkIn(startDate).checkOut(startDate.plusDays(2))
+                        .available(true).build(),
+                AvailabilityCheckResponse.builder().roomId(2L).checkIn(startDate).checkOut(endDate)
+                        .available(false).build()));
+
+        // When & Then
+        mockMvc.perform(post("/rooms/availability/quick")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(200))
+                .andExpect(jsonPath("$.message").value("Quick availability check completed"))
+                .andExpect(jsonPath("$.result.length()").value(2))
+                .andExpect(jsonPath("$.result[0].roomId").value(1))
+                .andExpect(jsonPath("$.result[0].available").value(true))
+                .andExpect(jsonPath("$.result[1].available").value(false));
+    }
+
+    @Test
+    @WithMockUser
+    void quickAvailabilityCheckBatch_EmptyChecks_BadRequest() throws Exception {
+        // Given
+        QuickAvailabilityRequest request = QuickAvailabilityRequest.builder().checks(List.of()).build();
+
+        // When & Then
+        mockMvc.perform(post("/rooms/availability/quick")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getAllEndpoints_WithoutAuthentication_Unauthorized() throws Exception {
         // Test GET endpoints without authentication
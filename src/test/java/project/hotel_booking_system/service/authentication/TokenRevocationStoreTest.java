@@ -0,0 +1,167 @@
+package project.hotel_booking_system.service.authentication;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import project.hotel_booking_system.model.InvalidatedToken;
+import project.hotel_booking_system.repository.InvalidatedTokenRepository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationStoreTest {
+
+    @Mock
+    private InvalidatedTokenRepository invalidatedTokenRepository;
+
+    private TokenRevocationStore revocationStore;
+
+    @BeforeEach
+    void setUp() {
+        revocationStore = new TokenRevocationStore(invalidatedTokenRepository, 1000, 0.001);
+    }
+
+    @Test
+    void isRevoked_UnknownToken_SkipsDatabase() {
+        // Given
+        when(invalidatedTokenRepository.findAllTokenHashes()).thenReturn(List.of(TokenRevocationStore.hash("old")));
+        revocationStore.load();
+
+        // When
+        boolean revoked = revocationStore.isRevoked("fresh");
+
+        // Then
+        assertFalse(revoked);
+        verify(invalidatedTokenRepository, never()).existsByTokenHash(any());
+    }
+
+    @Test
+    void isRevoked_LoadedToken_ConfirmedByDatabase() {
+        // Given
+        byte[] hash = TokenRevocationStore.hash("old");
+        when(invalidatedTokenRepository.findAllTokenHashes()).thenReturn(List.of(hash));
+        when(invalidatedTokenRepository.existsByTokenHash(hash)).thenReturn(true);
+        revocationStore.load();
+
+        // When & Then
+        assertTrue(revocationStore.isRevoked("old"));
+    }
+
+    @Test
+    void revoke_StoresSixteenByteHash() {
+        // Given
+        Date expiresAt = new Date();
+
+        // When
+        revocationStore.revoke("jti-1", expiresAt);
+
+        // Then
+        ArgumentCaptor<InvalidatedToken> captor = ArgumentCaptor.forClass(InvalidatedToken.class);
+        verify(invalidatedTokenRepository).save(captor.capture());
+        assertEquals(16, captor.getValue().getTokenHash().length);
+        assertArrayEquals(TokenRevocationStore.hash("jti-1"), captor.getValue().getTokenHash());
+        assertEquals(expiresAt, captor.getValue().getInvalidatedAt());
+    }
+
+    @Test
+    void purgeBefore_NewGenerationDropsPurgedTokens() {
+        // Given
+        revocationStore.revoke("expired", new Date(0));
+        Date threshold = new Date();
+        when(invalidatedTokenRepository.deleteByInvalidatedAtBefore(threshold)).thenReturn(1L);
+        when(invalidatedTokenRepository.findAllTokenHashes()).thenReturn(List.of());
+
+        // When
+        long deleted = revocationStore.purgeBefore(threshold);
+
+        // Then
+        assertEquals(1L, deleted);
+        assertFalse(revocationStore.isRevoked("expired"));
+        verify(invalidatedTokenRepository, never()).existsByTokenHash(any());
+    }
+
+    @Test
+    void revoke_CommittedAfterGenerationScan_IsInNewGeneration() {
+        // Given
+        byte[] hash = TokenRevocationStore.hash("late");
+        when(invalidatedTokenRepository.findAllTokenHashes()).thenReturn(List.of());
+        when(invalidatedTokenRepository.existsByTokenHash(hash)).thenReturn(true);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When: the revocation is saved but uncommitted while the new generation scans the table
+            revocationStore.revoke("late", new Date());
+            revocationStore.purgeBefore(new Date(0));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertTrue(revocationStore.isRevoked("late"));
+    }
+
+    @Test
+    void revoke_CommittedDuringGenerationScan_WaitsForNewGeneration() throws Exception {
+        // Given
+        byte[] hash = TokenRevocationStore.hash("late");
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch finishScan = new CountDownLatch(1);
+        when(invalidatedTokenRepository.findAllTokenHashes()).thenAnswer(invocation -> {
+            scanning.countDown();
+            finishScan.await();
+            return List.of();
+        });
+        when(invalidatedTokenRepository.existsByTokenHash(hash)).thenReturn(true);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Long> purge = executor.submit(() -> revocationStore.purgeBefore(new Date(0)));
+            assertTrue(scanning.await(5, TimeUnit.SECONDS));
+
+            // When: the revocation commits while the scan is running
+            Future<?> revoke = executor.submit(() -> revocationStore.revoke("late", new Date()));
+            assertThrows(TimeoutException.class, () -> revoke.get(200, TimeUnit.MILLISECONDS));
+            finishScan.countDown();
+            purge.get(5, TimeUnit.SECONDS);
+            revoke.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertTrue(revocationStore.isRevoked("late"));
+    }
+
+    @Test
+    void bloomFilter_FalsePositiveRateStaysNearTarget() {
+        // Given
+        RevocationBloomFilter filter = new RevocationBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(TokenRevocationStore.hash("revoked-" + i));
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(TokenRevocationStore.hash("valid-" + i))) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        for (int i = 0; i < 10_000; i += 997) {
+            assertTrue(filter.mightContain(TokenRevocationStore.hash("revoked-" + i)));
+        }
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+    }
+}
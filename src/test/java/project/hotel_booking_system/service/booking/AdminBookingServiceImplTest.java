@@ -19,6 +19,9 @@ import project.hotel_booking_system.model.Room;
 import project.hotel_booking_system.model.User;
 import project.hotel_booking_system.repository.BookingRepository;
 import project.hotel_booking_system.repository.RoomRepository;
+import project.hotel_booking_system.service.common.RevenueRollup;
+import project.hotel_booking_system.service.room.RoomAvailabilityIndex;
+import project.hotel_booking_system.service.room.RoomCatalogCache;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -41,6 +44,14 @@ class AdminBookingServiceImplTest {
     private RoomRepository roomRepository;
     @Mock
     private BookingMapper bookingMapper;
+    @Mock
+    private RoomAvailabilityIndex availabilityIndex;
+    @Mock
+    private RoomNightInventory roomNightInventory;
+    @Mock
+    private RoomCatalogCache roomCatalogCache;
+    @Mock
+    private RevenueRollup revenueRollup;
 
     @InjectMocks
     private AdminBookingServiceImpl adminBookingService;
@@ -141,6 +152,8 @@ class AdminBookingServiceImplTest {
 
         assertNotNull(result);
         assertEquals(testBookingResponse.getId(), result.getId());
+        verify(availabilityIndex).onBookingChanged(testBooking);
+        verify(roomNightInventory, never()).release(any());
     }
 
     @Test
@@ -181,6 +194,7 @@ class AdminBookingServiceImplTest {
 
         assertNotNull(result);
         assertEquals(testBookingResponse.getId(), result.getId());
+        verify(revenueRollup).onBookingCompleted(testBooking);
     }
 
     @Test
@@ -194,6 +208,8 @@ class AdminBookingServiceImplTest {
 
         assertNotNull(result);
         assertEquals(testBookingResponse.getId(), result.getId());
+        verify(roomNightInventory).release(testBooking);
+        verify(roomCatalogCache).evict(testRoom.getId());
     }
 
     @Test
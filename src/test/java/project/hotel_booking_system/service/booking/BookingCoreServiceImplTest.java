@@ -11,6 +11,7 @@ import project.hotel_booking_system.enums.BookingStatus;
 import project.hotel_booking_system.enums.PaymentStatus;
 import project.hotel_booking_system.enums.RoomStatus;
 import project.hotel_booking_system.exception.AppException;
+import project.hotel_booking_system.exception.ErrorCode;
 import project.hotel_booking_system.mapper.BookingMapper;
 import project.hotel_booking_system.model.Booking;
 import project.hotel_booking_system.model.Payment;
@@ -21,13 +22,13 @@ import project.hotel_booking_system.repository.RoomRepository;
 import project.hotel_booking_system.repository.UserRepository;
 
 import java.math.BigDecimal;
-import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +44,8 @@ class BookingCoreServiceImplTest {
     private PaymentRepository paymentRepository;
     @Mock
     private BookingMapper bookingMapper;
+    @Mock
+    private RoomNightInventory roomNightInventory;
 
     @InjectMocks
     private BookingCoreServiceImpl bookingCoreService;
@@ -115,14 +118,24 @@ class BookingCoreServiceImplTest {
     @Test
     void validateRoomAvailability_Success() {
         when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
-        when(bookingRepository.findOverlappingBookings(any(), any(), any()))
-            .thenReturn(Arrays.asList());
+        when(roomNightInventory.isBooked(eq(1L), any(), any())).thenReturn(false);
 
         assertDoesNotThrow(() ->
             bookingCoreService.validateRoomAvailability(1L, getFutureDate(1), getFutureDate(3))
         );
     }
 
+    @Test
+    void validateRoomAvailability_NightsAlreadySold() {
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
+        when(roomNightInventory.isBooked(eq(1L), any(), any())).thenReturn(true);
+
+        AppException exception = assertThrows(AppException.class, () ->
+            bookingCoreService.validateRoomAvailability(1L, getFutureDate(1), getFutureDate(3))
+        );
+        assertEquals(ErrorCode.ROOM_NOT_AVAILABLE, exception.getErrorCode());
+    }
+
     @Test
     void calculateTotalPrice_Success() {
         Date checkIn = getFutureDate(1);
@@ -135,11 +148,29 @@ class BookingCoreServiceImplTest {
 
     @Test
     void validateFullPayment_Success() {
-        when(paymentRepository.findByBookingId(1L)).thenReturn(Arrays.asList(testPayment));
+        testBooking.setPaidTotal(new BigDecimal("2000000"));
 
         assertDoesNotThrow(() -> bookingCoreService.validateFullPayment(testBooking));
     }
 
+    @Test
+    void validateFullPayment_PartlyPaid_ThrowsIncompletePayment() {
+        testBooking.setPaidTotal(new BigDecimal("600000"));
+
+        AppException exception = assertThrows(AppException.class,
+                () -> bookingCoreService.validateFullPayment(testBooking));
+        assertEquals(ErrorCode.INCOMPLETE_PAYMENT, exception.getErrorCode());
+    }
+
+    @Test
+    void validateFullPayment_NoPayment_ThrowsPaymentRequired() {
+        when(paymentRepository.existsByBookingId(1L)).thenReturn(false);
+
+        AppException exception = assertThrows(AppException.class,
+                () -> bookingCoreService.validateFullPayment(testBooking));
+        assertEquals(ErrorCode.PAYMENT_REQUIRED, exception.getErrorCode());
+    }
+
     @Test
     void validateStatusTransition_Success() {
         assertDoesNotThrow(() ->
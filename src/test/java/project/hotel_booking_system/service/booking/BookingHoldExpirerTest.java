@@ -0,0 +1,256 @@
+package project.hotel_booking_system.service.booking;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import project.hotel_booking_system.enums.*;
+import project.hotel_booking_system.model.*;
+import project.hotel_booking_system.repository.BookingRepository;
+import project.hotel_booking_system.repository.PaymentCallbackRepository;
+import project.hotel_booking_system.repository.PaymentLedgerRepository;
+import project.hotel_booking_system.repository.PaymentRepository;
+import project.hotel_booking_system.repository.RefundRepository;
+import project.hotel_booking_system.repository.RoomNightRepository;
+import project.hotel_booking_system.service.common.RevenueRollup;
+import project.hotel_booking_system.service.payment.PaymentHoldExpiryListener;
+import project.hotel_booking_system.service.payment.PaymentLedger;
+import project.hotel_booking_system.service.payment.RefundQueue;
+import project.hotel_booking_system.service.payment.VNPayGatewayService;
+import project.hotel_booking_system.service.room.RoomAvailabilityIndex;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({BookingHoldExpirer.class, BookingHoldPolicy.class, PaymentHoldExpiryListener.class, PaymentLedger.class,
+        RefundQueue.class, RoomNightInventory.class, RoomAvailabilityIndex.class})
+class BookingHoldExpirerTest {
+
+    @Autowired
+    private BookingHoldExpirer holdExpirer;
+
+    @Autowired
+    private RoomNightInventory roomNightInventory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private RoomNightRepository roomNightRepository;
+
+    @Autowired
+    private PaymentCallbackRepository paymentCallbackRepository;
+
+    @Autowired
+    private PaymentLedgerRepository paymentLedgerRepository;
+
+    @Autowired
+    private RefundRepository refundRepository;
+
+    @MockBean
+    private RevenueRollup revenueRollup;
+
+    @MockBean
+    private VNPayGatewayService vnPayGatewayService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User guest;
+    private LocalDateTime now;
+    private int roomSequence;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+        guest = entityManager.persist(User.builder()
+                .username("guest")
+                .password("secret")
+                .email("guest@example.com")
+                .fullname("Guest User")
+                .phone("0900000000")
+                .role(Role.CUSTOMER)
+                .createAt(now)
+                .isActive(true)
+                .build());
+    }
+
+    @Test
+    void expire_CancelsOnlyPendingBookingsPastTheirDeadline() {
+        // Given
+        Booking expired = hold(BookingStatus.PENDING, now.minusMinutes(90), now.minusMinutes(30));
+        Booking legacy = hold(BookingStatus.PENDING, now.minusMinutes(61), null);
+        Booking live = hold(BookingStatus.PENDING, now.minusMinutes(10), now.plusMinutes(50));
+        Booking paid = hold(BookingStatus.CONFIRMED, now.minusMinutes(90), now.minusMinutes(30));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        int cancelled = holdExpirer.expire(List.of(expired.getId(), legacy.getId(), live.getId(), paid.getId()));
+        entityManager.clear();
+
+        // Then
+        assertEquals(2, cancelled);
+        assertEquals(BookingStatus.CANCELLED, bookingRepository.findById(expired.getId()).orElseThrow().getStatus());
+        assertEquals(BookingStatus.CANCELLED, bookingRepository.findById(legacy.getId()).orElseThrow().getStatus());
+        assertEquals(BookingStatus.PENDING, bookingRepository.findById(live.getId()).orElseThrow().getStatus());
+        assertEquals(BookingStatus.CONFIRMED, bookingRepository.findById(paid.getId()).orElseThrow().getStatus());
+        assertEquals(PaymentStatus.CANCELLED, paymentOf(expired).getStatus());
+        assertEquals(PaymentStatus.CANCELLED, paymentOf(legacy).getStatus());
+        assertEquals(PaymentStatus.PENDING, paymentOf(live).getStatus());
+        assertEquals(4, paymentRepository.count());
+        assertEquals(2, roomNightRepository.count());
+    }
+
+    @Test
+    void expire_CompletedPaymentIsReversedAndRefunded() {
+        // Given
+        Booking expired = hold(BookingStatus.PENDING, now.minusMinutes(90), now.minusMinutes(30));
+        Payment payment = paymentOf(expired);
+        payment.setStatus(PaymentStatus.COMPLETED);
+        entityManager.persist(PaymentLedgerEntry.builder()
+                .booking(expired)
+                .payment(payment)
+                .amount(payment.getAmount())
+                .createdAt(now.minusMinutes(80))
+                .build());
+        entityManager.flush();
+        bookingRepository.setPaidTotal(expired.getId(), payment.getAmount());
+        entityManager.clear();
+
+        // When
+        holdExpirer.expire(List.of(expired.getId()));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertEquals(PaymentStatus.CANCELLED, paymentOf(expired).getStatus());
+        assertEquals(2, paymentLedgerRepository.count());
+        assertEquals(0, paymentLedgerRepository.sumByPaymentId(payment.getId()).signum());
+        assertEquals(0, bookingRepository.findPaidTotalById(expired.getId()).orElseThrow().signum());
+        List<Refund> refunds = refundRepository.findByPaymentId(payment.getId());
+        assertEquals(1, refunds.size());
+        assertEquals(RefundStatus.PENDING, refunds.get(0).getStatus());
+        assertEquals(0, payment.getAmount().compareTo(refunds.get(0).getRefundAmount()));
+    }
+
+    @Test
+    void expire_HoldWhosePaymentHasADeclinedCallback() {
+        // Given
+        Booking expired = hold(BookingStatus.PENDING, now.minusMinutes(90), now.minusMinutes(30));
+        Payment payment = paymentRepository.findByBookingId(expired.getId()).get(0);
+        entityManager.persist(PaymentCallback.builder()
+                .payment(payment)
+                .txnRef(payment.getId() + "_1700000000000")
+                .transactionNo("0")
+                .responseCode("24")
+                .receivedAt(now.minusMinutes(80))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        int cancelled = holdExpirer.expire(List.of(expired.getId()));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertEquals(1, cancelled);
+        assertEquals(BookingStatus.CANCELLED, bookingRepository.findById(expired.getId()).orElseThrow().getStatus());
+        assertEquals(PaymentStatus.CANCELLED, paymentOf(expired).getStatus());
+        assertEquals(1, paymentCallbackRepository.count());
+    }
+
+    @Test
+    void expire_StatementCountIndependentOfChunkSize() {
+        long small = countStatements(3);
+        long large = countStatements(30);
+
+        // lock, pending payments, completed payments, room nights and bookings
+        assertEquals(5, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void findExpired_ReturnsDueHoldsUpToLimit() {
+        // Given
+        Booking first = hold(BookingStatus.PENDING, now.minusMinutes(90), now.minusMinutes(30));
+        hold(BookingStatus.PENDING, now.minusMinutes(90), now.minusMinutes(20));
+        hold(BookingStatus.PENDING, now.minusMinutes(10), now.plusMinutes(50));
+        entityManager.flush();
+
+        // When & Then
+        assertEquals(List.of(first.getId()), holdExpirer.findExpired(1));
+        assertEquals(2, holdExpirer.findExpired(10).size());
+    }
+
+    private long countStatements(int holds) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < holds; i++) {
+            ids.add(hold(BookingStatus.PENDING, now.minusMinutes(90), now.minusMinutes(30)).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertEquals(holds, holdExpirer.expire(ids));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Payment paymentOf(Booking booking) {
+        return paymentRepository.findByBookingId(booking.getId()).get(0);
+    }
+
+    private Booking hold(BookingStatus status, LocalDateTime createdAt, LocalDateTime holdExpiresAt) {
+        Room room = entityManager.persist(Room.builder()
+                .roomNumber("R" + roomSequence++)
+                .roomType(RoomType.DOUBLE)
+                .price(new BigDecimal("500000"))
+                .roomStatus(RoomStatus.AVAILABLE)
+                .description("Double room")
+                .createAt(now)
+                .build());
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        Booking booking = entityManager.persist(Booking.builder()
+                .user(guest)
+                .room(room)
+                .checkInDate(Date.valueOf(checkIn))
+                .checkOutDate(Date.valueOf(checkIn.plusDays(1)))
+                .status(status)
+                .totalPrice(new BigDecimal("500000"))
+                .createdAt(createdAt)
+                .holdExpiresAt(holdExpiresAt)
+                .build());
+        entityManager.persist(Payment.builder()
+                .booking(booking)
+                .amount(booking.getTotalPrice())
+                .paymentMethod(PaymentMethod.VNPAY)
+                .status(PaymentStatus.PENDING)
+                .build());
+        roomNightInventory.reserve(booking);
+        return booking;
+    }
+}
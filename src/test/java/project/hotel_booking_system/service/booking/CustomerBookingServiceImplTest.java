@@ -3,6 +3,7 @@ package project.hotel_booking_system.service.booking;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -19,6 +20,7 @@ import project.hotel_booking_system.dto.response.PaginationResponse;
 import project.hotel_booking_system.enums.BookingStatus;
 import project.hotel_booking_system.enums.RoomStatus;
 import project.hotel_booking_system.exception.AppException;
+import project.hotel_booking_system.exception.ErrorCode;
 import project.hotel_booking_system.mapper.BookingMapper;
 import project.hotel_booking_system.model.Booking;
 import project.hotel_booking_system.model.Room;
@@ -26,15 +28,20 @@ import project.hotel_booking_system.model.User;
 import project.hotel_booking_system.repository.BookingRepository;
 import project.hotel_booking_system.repository.RoomRepository;
 import project.hotel_booking_system.repository.UserRepository;
+import project.hotel_booking_system.repository.projection.BookingView;
+import project.hotel_booking_system.service.room.RoomAvailabilityIndex;
+import project.hotel_booking_system.service.room.RoomCatalogCache;
 
 import java.math.BigDecimal;
-import java.util.Arrays;
+import java.time.LocalDateTime;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,6 +58,16 @@ class CustomerBookingServiceImplTest {
     @Mock
     private BookingMapper bookingMapper;
     @Mock
+    private RoomAvailabilityIndex availabilityIndex;
+    @Mock
+    private RoomNightInventory roomNightInventory;
+    @Mock
+    private BookingHoldPolicy holdPolicy;
+    @Mock
+    private BookingHoldScheduler holdScheduler;
+    @Mock
+    private RoomCatalogCache roomCatalogCache;
+    @Mock
     private Authentication authentication;
     @Mock
     private SecurityContext securityContext;
@@ -110,12 +127,37 @@ class CustomerBookingServiceImplTest {
         doNothing().when(bookingCoreService).validateRoomAvailability(any(), any(), any());
         when(bookingCoreService.calculateTotalPrice(any(), any(), any()))
                 .thenReturn(new BigDecimal("2000000"));
+        LocalDateTime holdExpiresAt = LocalDateTime.now().plusMinutes(60);
+        when(holdPolicy.expiresAt(any(LocalDateTime.class), isNull())).thenReturn(holdExpiresAt);
 
         BookingResponseDTO result = customerBookingService.createBooking(testBookingRequest);
 
         assertNotNull(result);
         assertEquals(testBookingResponse.getId(), result.getId());
         assertEquals(testBookingResponse.getStatus(), result.getStatus());
+        ArgumentCaptor<Booking> saved = ArgumentCaptor.forClass(Booking.class);
+        verify(bookingRepository).save(saved.capture());
+        assertEquals(holdExpiresAt, saved.getValue().getHoldExpiresAt());
+        verify(roomNightInventory).reserve(testBooking);
+        verify(holdScheduler).schedule(testBooking);
+        verify(availabilityIndex).onBookingChanged(testBooking);
+    }
+
+    @Test
+    void createBooking_NightsTakenConcurrently_ThrowsException() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
+        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        when(bookingCoreService.calculateTotalPrice(any(), any(), any()))
+                .thenReturn(new BigDecimal("2000000"));
+        doThrow(new AppException(ErrorCode.ROOM_NOT_AVAILABLE)).when(roomNightInventory).reserve(testBooking);
+
+        AppException exception = assertThrows(AppException.class,
+                () -> customerBookingService.createBooking(testBookingRequest));
+
+        assertEquals(ErrorCode.ROOM_NOT_AVAILABLE, exception.getErrorCode());
+        verify(holdScheduler, never()).schedule(any());
+        verify(availabilityIndex, never()).onBookingChanged(any());
     }
 
     @Test
@@ -136,11 +178,12 @@ class CustomerBookingServiceImplTest {
     void getMyBookings_Success() {
         setupSecurityContext();
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> bookingPage = new PageImpl<>(Arrays.asList(testBooking));
+        BookingView view = mock(BookingView.class);
+        Page<BookingView> bookingPage = new PageImpl<>(List.of(view));
 
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(bookingRepository.findByUser_Id(1L, pageable)).thenReturn(bookingPage);
-        when(bookingMapper.toDTO(testBooking)).thenReturn(testBookingResponse);
+        when(bookingRepository.findViewsByUserId(1L, pageable)).thenReturn(bookingPage);
+        when(bookingMapper.toDTO(view)).thenReturn(testBookingResponse);
 
         PaginationResponse<BookingResponseDTO> result = customerBookingService.getMyBookings(pageable);
 
@@ -164,6 +207,8 @@ class CustomerBookingServiceImplTest {
 
         assertNotNull(result);
         assertEquals(testBookingResponse.getId(), result.getId());
+        verify(roomNightInventory).release(testBooking);
+        verify(availabilityIndex).onBookingChanged(testBooking);
     }
 
     @Test
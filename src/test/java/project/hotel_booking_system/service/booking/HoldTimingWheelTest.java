@@ -0,0 +1,81 @@
+package project.hotel_booking_system.service.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoldTimingWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    private HoldTimingWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new HoldTimingWheel(1000, 60, START);
+    }
+
+    @Test
+    void add_DeadlineWithinCurrentTick_IsAlreadyDue() {
+        assertFalse(wheel.add(1L, START + 999));
+        assertTrue(wheel.add(2L, START + 1000));
+    }
+
+    @Test
+    void advanceTo_ExpiresHoldAtItsSecond() {
+        // Given
+        wheel.add(1L, START + 5_500);
+
+        // When & Then
+        assertTrue(wheel.advanceTo(START + 4_999).isEmpty());
+        assertEquals(List.of(1L), wheel.advanceTo(START + 5_000));
+        assertTrue(wheel.advanceTo(START + 10_000).isEmpty());
+    }
+
+    @Test
+    void advanceTo_CascadesHoldsFromCoarserLevels() {
+        // Given
+        long oneHour = 60 * 60 * 1000L;
+        wheel.add(1L, START + 90_000);
+        wheel.add(2L, START + oneHour + 2_000);
+        wheel.add(3L, START + 3 * oneHour);
+
+        // When & Then
+        long now = START;
+        List<Long> expired = new ArrayList<>();
+        while (now < START + oneHour) {
+            now += 1000;
+            expired.addAll(wheel.advanceTo(now));
+        }
+        assertEquals(List.of(1L), expired);
+
+        expired.clear();
+        for (int i = 0; i < 3; i++) {
+            now += 1000;
+            expired.addAll(wheel.advanceTo(now));
+        }
+        assertEquals(List.of(2L), expired);
+
+        assertEquals(List.of(3L), wheel.advanceTo(START + 3 * oneHour + 500));
+    }
+
+    @Test
+    void advanceTo_LongPause_ExpiresEverythingDue() {
+        // Given
+        wheel.add(1L, START + 30_000);
+        wheel.add(2L, START + 30 * 60_000);
+        wheel.add(3L, START + 5 * 60 * 60_000L);
+
+        // When
+        List<Long> expired = wheel.advanceTo(START + 2 * 60 * 60_000L);
+
+        // Then
+        assertEquals(2, expired.size());
+        assertTrue(expired.containsAll(List.of(1L, 2L)));
+        assertEquals(List.of(3L), wheel.advanceTo(START + 5 * 60 * 60_000L));
+    }
+}
@@ -0,0 +1,160 @@
+package project.hotel_booking_system.service.booking;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import project.hotel_booking_system.enums.BookingStatus;
+import project.hotel_booking_system.enums.Role;
+import project.hotel_booking_system.enums.RoomStatus;
+import project.hotel_booking_system.enums.RoomType;
+import project.hotel_booking_system.exception.AppException;
+import project.hotel_booking_system.exception.ErrorCode;
+import project.hotel_booking_system.model.*;
+import project.hotel_booking_system.repository.RoomNightRepository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(RoomNightInventory.class)
+class RoomNightInventoryTest {
+
+    @Autowired
+    private RoomNightInventory roomNightInventory;
+
+    @Autowired
+    private RoomNightRepository roomNightRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User guest;
+    private Room room;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+        guest = entityManager.persist(User.builder()
+                .username("guest")
+                .password("secret")
+                .email("guest@example.com")
+                .fullname("Guest User")
+                .phone("0900000000")
+                .role(Role.CUSTOMER)
+                .createAt(LocalDateTime.now())
+                .isActive(true)
+                .build());
+        room = entityManager.persist(Room.builder()
+                .roomNumber("101")
+                .roomType(RoomType.DOUBLE)
+                .price(new BigDecimal("500000"))
+                .roomStatus(RoomStatus.AVAILABLE)
+                .description("Double room")
+                .createAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Test
+    void reserve_InsertsOneRowPerNight() {
+        // Given
+        Booking booking = booking(today.plusDays(1), today.plusDays(4), BookingStatus.PENDING);
+
+        // When
+        roomNightInventory.reserve(booking);
+
+        // Then
+        assertEquals(3, roomNightRepository.count());
+        assertTrue(roomNightInventory.isBooked(room.getId(), today.plusDays(3), today.plusDays(5)));
+        assertFalse(roomNightInventory.isBooked(room.getId(), today.plusDays(4), today.plusDays(6)));
+    }
+
+    @Test
+    void reserve_OverlappingNight_ThrowsRoomNotAvailable() {
+        // Given
+        roomNightInventory.reserve(booking(today.plusDays(1), today.plusDays(4), BookingStatus.PENDING));
+        Booking second = booking(today.plusDays(3), today.plusDays(6), BookingStatus.PENDING);
+
+        // When & Then
+        AppException exception = assertThrows(AppException.class, () -> roomNightInventory.reserve(second));
+        assertEquals(ErrorCode.ROOM_NOT_AVAILABLE, exception.getErrorCode());
+    }
+
+    @Test
+    void release_FreesNightsForNextBooking() {
+        // Given
+        Booking first = booking(today.plusDays(1), today.plusDays(4), BookingStatus.PENDING);
+        roomNightInventory.reserve(first);
+        entityManager.clear();
+
+        // When
+        roomNightInventory.release(first);
+
+        // Then
+        assertDoesNotThrow(() -> roomNightInventory.reserve(
+                booking(today.plusDays(2), today.plusDays(3), BookingStatus.PENDING)));
+        assertEquals(1, roomNightRepository.count());
+    }
+
+    @Test
+    void release_DeletesAllNightsInOneStatement() {
+        // Given
+        Booking month = booking(today.plusDays(1), today.plusDays(31), BookingStatus.CONFIRMED);
+        roomNightInventory.reserve(month);
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        roomNightInventory.release(month);
+
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, roomNightRepository.count());
+    }
+
+    @Test
+    void backfill_AddsRemainingNightsOfActiveBookingsOnce() {
+        // Given
+        booking(today.minusDays(1), today.plusDays(2), BookingStatus.CHECKED_IN);
+        booking(today.plusDays(5), today.plusDays(7), BookingStatus.CANCELLED);
+        entityManager.flush();
+
+        // When
+        roomNightInventory.backfill();
+        roomNightInventory.backfill();
+
+        // Then
+        assertEquals(2, roomNightRepository.count());
+        assertTrue(roomNightInventory.isBooked(room.getId(), today, today.plusDays(1)));
+        assertFalse(roomNightInventory.isBooked(room.getId(), today.plusDays(5), today.plusDays(7)));
+    }
+
+    private Booking booking(LocalDate checkIn, LocalDate checkOut, BookingStatus status) {
+        return entityManager.persist(Booking.builder()
+                .user(guest)
+                .room(room)
+                .checkInDate(Date.valueOf(checkIn))
+                .checkOutDate(Date.valueOf(checkOut))
+                .status(status)
+                .totalPrice(new BigDecimal("1500000"))
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
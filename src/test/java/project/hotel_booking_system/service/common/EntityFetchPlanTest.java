@@ -0,0 +1,153 @@
+package project.hotel_booking_system.service.common;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import project.hotel_booking_system.enums.*;
+import project.hotel_booking_system.model.*;
+import project.hotel_booking_system.repository.BookingRepository;
+import project.hotel_booking_system.repository.PaymentRepository;
+import project.hotel_booking_system.repository.ReviewRepository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that associations stay unloaded by default and that the repository methods declaring
+ * a fetch plan load it in the same statement.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class EntityFetchPlanTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 1);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Booking booking;
+    private Payment payment;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User guest = entityManager.persist(User.builder()
+                .username("guest")
+                .password("secret")
+                .email("guest@example.com")
+                .fullname("Guest User")
+                .phone("0900000000")
+                .role(Role.CUSTOMER)
+                .createAt(LocalDateTime.now())
+                .isActive(true)
+                .build());
+        Room room = entityManager.persist(Room.builder()
+                .roomNumber("101")
+                .roomType(RoomType.DOUBLE)
+                .price(new BigDecimal("500000"))
+                .roomStatus(RoomStatus.AVAILABLE)
+                .description("Double room")
+                .createAt(LocalDateTime.now())
+                .build());
+        booking = entityManager.persist(Booking.builder()
+                .user(guest)
+                .room(room)
+                .checkInDate(Date.valueOf(DAY))
+                .checkOutDate(Date.valueOf(DAY.plusDays(2)))
+                .status(BookingStatus.CONFIRMED)
+                .totalPrice(new BigDecimal("1000000.00"))
+                .createdAt(DAY.atTime(8, 0))
+                .build());
+        payment = entityManager.persist(Payment.builder()
+                .booking(booking)
+                .amount(new BigDecimal("1000000.00"))
+                .paymentMethod(PaymentMethod.CASH)
+                .status(PaymentStatus.COMPLETED)
+                .paymentDate(DAY.atTime(9, 0))
+                .build());
+        entityManager.persist(Review.builder()
+                .user(guest)
+                .room(room)
+                .rating((byte) 5)
+                .createdAt(DAY.atTime(12, 0))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void associations_AreNotLoadedWithoutAFetchPlan() {
+        // When
+        List<Payment> payments = paymentRepository.findByBookingId(booking.getId());
+
+        // Then
+        assertEquals(1, payments.size());
+        assertFalse(Hibernate.isInitialized(payments.get(0).getBooking()));
+        assertEquals(booking.getId(), payments.get(0).getBooking().getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void bookingFindById_LoadsRoomAndUserInOneStatement() {
+        // When
+        Booking found = bookingRepository.findById(booking.getId()).orElseThrow();
+
+        // Then
+        assertTrue(Hibernate.isInitialized(found.getRoom()));
+        assertTrue(Hibernate.isInitialized(found.getUser()));
+        assertEquals("101", found.getRoom().getRoomNumber());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void paymentFindById_LoadsBookingWithRoomAndUserInOneStatement() {
+        // When
+        Payment found = paymentRepository.findById(payment.getId()).orElseThrow();
+
+        // Then
+        assertTrue(Hibernate.isInitialized(found.getBooking()));
+        assertEquals("Guest User", found.getBooking().getUser().getFullname());
+        assertEquals("101", found.getBooking().getRoom().getRoomNumber());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void reviewFindAll_LoadsRoomAndUserWithThePage() {
+        // When
+        Review found = reviewRepository.findAll(PageRequest.of(0, 10)).getContent().get(0);
+
+        // Then
+        assertEquals("Guest User", found.getUser().getFullname());
+        assertEquals("101", found.getRoom().getRoomNumber());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,176 @@
+package project.hotel_booking_system.service.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import project.hotel_booking_system.enums.*;
+import project.hotel_booking_system.exception.AppException;
+import project.hotel_booking_system.exception.ErrorCode;
+import project.hotel_booking_system.model.*;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+class ExportServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 1);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExportServiceImpl exportService;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // H2 rejects the negative MySQL streaming fetch size
+        exportService = new ExportServiceImpl(dataSource, meterRegistry, 100);
+
+        User guest = entityManager.persist(User.builder()
+                .username("guest")
+                .password("secret")
+                .email("guest@example.com")
+                .fullname("Nguyen, \"Bao\" An")
+                .phone("0900000000")
+                .role(Role.CUSTOMER)
+                .createAt(LocalDateTime.now())
+                .isActive(true)
+                .build());
+        Room room = entityManager.persist(Room.builder()
+                .roomNumber("101")
+                .roomType(RoomType.DOUBLE)
+                .price(new BigDecimal("500000"))
+                .roomStatus(RoomStatus.AVAILABLE)
+                .description("Double room")
+                .createAt(LocalDateTime.now())
+                .build());
+        booking = entityManager.persist(Booking.builder()
+                .user(guest)
+                .room(room)
+                .checkInDate(Date.valueOf(DAY))
+                .checkOutDate(Date.valueOf(DAY.plusDays(2)))
+                .status(BookingStatus.COMPLETED)
+                .totalPrice(new BigDecimal("1000000.00"))
+                .createdAt(DAY.atTime(8, 0))
+                .build());
+        payment("300000.00", PaymentStatus.COMPLETED, DAY.atTime(9, 30));
+        payment("700000.00", PaymentStatus.COMPLETED, DAY.atTime(23, 59, 59));
+        payment("500000.00", PaymentStatus.FAILED, DAY.atTime(10, 0));
+        payment("900000.00", PaymentStatus.COMPLETED, DAY.plusDays(1).atStartOfDay());
+        entityManager.flush();
+    }
+
+    @Test
+    void exportPayments_Csv_WritesHeaderAndEscapedRowsInRange() throws Exception {
+        // When
+        String csv = run(exportService.exportPayments(DAY, DAY, PaymentStatus.COMPLETED, ExportFormat.CSV));
+
+        // Then
+        String[] lines = csv.split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,bookingId,roomNumber,userName,amount,paymentDate,paymentMethod,status,transactionId", lines[0]);
+        assertTrue(lines[1].contains(",101,\"Nguyen, \"\"Bao\"\" An\",300000.00,2025-06-01T09:30,CASH,COMPLETED,"),
+                lines[1]);
+        assertTrue(lines[2].contains(",700000.00,2025-06-01T23:59:59,"), lines[2]);
+    }
+
+    @Test
+    void exportPayments_Csv_NeutralisesFormulaCells() throws Exception {
+        // Given
+        booking.getUser().setFullname("=HYPERLINK(\"http://evil.example\",\"Click\")");
+        entityManager.flush();
+
+        // When
+        String csv = run(exportService.exportPayments(DAY, DAY, PaymentStatus.COMPLETED, ExportFormat.CSV));
+        String ndjson = run(exportService.exportPayments(DAY, DAY, PaymentStatus.COMPLETED, ExportFormat.NDJSON));
+
+        // Then
+        assertTrue(csv.contains(",\"'=HYPERLINK(\"\"http://evil.example\"\",\"\"Click\"\")\",300000.00,"), csv);
+        assertTrue(ndjson.contains("\"userName\":\"=HYPERLINK("), ndjson);
+    }
+
+    @Test
+    void exportPayments_Ndjson_WritesOneObjectPerLine() throws Exception {
+        // When
+        String ndjson = run(exportService.exportPayments(DAY, DAY.plusDays(1), null, ExportFormat.NDJSON));
+
+        // Then
+        String[] lines = ndjson.split("\n");
+        assertEquals(4, lines.length);
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(booking.getId().longValue(), first.get("bookingId").asLong());
+        assertEquals("Nguyen, \"Bao\" An", first.get("userName").asText());
+        assertEquals(0, new BigDecimal("300000.00").compareTo(first.get("amount").decimalValue()));
+        assertTrue(first.get("transactionId").isNull());
+        assertEquals("FAILED", objectMapper.readTree(lines[2]).get("status").asText());
+    }
+
+    @Test
+    void exportBookings_FiltersByCreationDateAndStatus() throws Exception {
+        // When
+        String completed = run(exportService.exportBookings(DAY, DAY, BookingStatus.COMPLETED, ExportFormat.CSV));
+        String cancelled = run(exportService.exportBookings(DAY, DAY, BookingStatus.CANCELLED, ExportFormat.CSV));
+
+        // Then
+        String[] lines = completed.split("\r\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].endsWith(",101,2025-06-01T00:00,2025-06-03T00:00,COMPLETED,1000000.00,0.00,2025-06-01T08:00"),
+                lines[1]);
+        assertEquals(1, cancelled.split("\r\n").length);
+    }
+
+    @Test
+    void export_RecordsRunsAndRows() throws Exception {
+        // When
+        run(exportService.exportPayments(DAY, DAY, null, ExportFormat.NDJSON));
+
+        // Then
+        assertEquals(1, meterRegistry.get(ExportServiceImpl.RUNS_METER)
+                .tags("type", "payments", "format", "ndjson", "outcome", "success").timer().count());
+        assertEquals(3.0, meterRegistry.get(ExportServiceImpl.ROWS_METER).tag("type", "payments").counter().count());
+        assertEquals(0, meterRegistry.get(ExportServiceImpl.ACTIVE_METER).longTaskTimer().activeTasks());
+    }
+
+    @Test
+    void export_StartAfterEnd_ThrowsBeforeStreaming() {
+        AppException exception = assertThrows(AppException.class,
+                () -> exportService.exportBookings(DAY, DAY.minusDays(1), null, ExportFormat.CSV));
+        assertEquals(ErrorCode.INVALID_DATE_RANGE, exception.getErrorCode());
+    }
+
+    private String run(StreamingResponseBody body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private void payment(String amount, PaymentStatus status, LocalDateTime paymentDate) {
+        entityManager.persist(Payment.builder()
+                .booking(booking)
+                .amount(new BigDecimal(amount))
+                .paymentMethod(PaymentMethod.CASH)
+                .status(status)
+                .paymentDate(paymentDate)
+                .build());
+    }
+}
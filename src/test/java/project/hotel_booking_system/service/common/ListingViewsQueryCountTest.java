@@ -0,0 +1,163 @@
+package project.hotel_booking_system.service.common;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import project.hotel_booking_system.enums.*;
+import project.hotel_booking_system.model.*;
+import project.hotel_booking_system.repository.BookingRepository;
+import project.hotel_booking_system.repository.PaymentRepository;
+import project.hotel_booking_system.repository.ReviewRepository;
+import project.hotel_booking_system.repository.projection.BookingView;
+import project.hotel_booking_system.repository.projection.PaymentView;
+import project.hotel_booking_system.repository.projection.ReviewView;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the booking, review and payment listings read their columns in one joined
+ * statement, without loading users, rooms or bookings into the persistence context.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ListingViewsQueryCountTest {
+
+    private static final int BOOKING_COUNT = 5;
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 1);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User guest;
+    private Room room;
+    private Booking firstBooking;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        guest = entityManager.persist(User.builder()
+                .username("guest")
+                .password("secret")
+                .email("guest@example.com")
+                .fullname("Guest User")
+                .phone("0900000000")
+                .role(Role.CUSTOMER)
+                .createAt(LocalDateTime.now())
+                .isActive(true)
+                .build());
+        room = entityManager.persist(Room.builder()
+                .roomNumber("101")
+                .roomType(RoomType.DOUBLE)
+                .price(new BigDecimal("500000"))
+                .roomStatus(RoomStatus.AVAILABLE)
+                .description("Double room")
+                .createAt(LocalDateTime.now())
+                .build());
+        for (int i = 0; i < BOOKING_COUNT; i++) {
+            Booking booking = entityManager.persist(Booking.builder()
+                    .user(guest)
+                    .room(room)
+                    .checkInDate(Date.valueOf(DAY.plusDays(i * 3L)))
+                    .checkOutDate(Date.valueOf(DAY.plusDays(i * 3L + 2)))
+                    .status(BookingStatus.CONFIRMED)
+                    .totalPrice(new BigDecimal("1000000.00"))
+                    .createdAt(DAY.atTime(8, i))
+                    .build());
+            entityManager.persist(Payment.builder()
+                    .booking(booking)
+                    .amount(new BigDecimal("1000000.00"))
+                    .paymentMethod(PaymentMethod.CASH)
+                    .status(PaymentStatus.COMPLETED)
+                    .paymentDate(DAY.atTime(9, i))
+                    .build());
+            if (firstBooking == null) {
+                firstBooking = booking;
+            }
+        }
+        entityManager.persist(Review.builder()
+                .user(guest)
+                .room(room)
+                .rating((byte) 4)
+                .comment("Quiet room")
+                .createdAt(DAY.atTime(12, 0))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findViewsByUserId_ReadsBookingsInOneStatement() {
+        // When
+        Page<BookingView> page = bookingRepository.findViewsByUserId(guest.getId(), PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(BOOKING_COUNT, page.getContent().size());
+        BookingView newest = page.getContent().get(0);
+        assertEquals("Guest User", newest.getUserName());
+        assertEquals("101", newest.getRoomNumber());
+        assertEquals(DAY.atTime(8, BOOKING_COUNT - 1), newest.getCreatedAt());
+        assertEquals(BookingStatus.CONFIRMED, newest.getStatus());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findViewsByRoomId_ReadsReviewsInOneStatement() {
+        // When
+        Page<ReviewView> page = reviewRepository.findViewsByRoomId(room.getId(), PageRequest.of(0, 10));
+
+        // Then
+        ReviewView review = page.getContent().get(0);
+        assertEquals(guest.getId(), review.getUserId());
+        assertEquals("Guest User", review.getUserFullname());
+        assertEquals("101", review.getRoomNumber());
+        assertEquals((byte) 4, review.getRating());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findViewsByBookingId_ReadsPaymentsInOneStatement() {
+        // When
+        Page<PaymentView> page = paymentRepository.findViewsByBookingId(firstBooking.getId(), PageRequest.of(0, 10));
+
+        // Then
+        PaymentView payment = page.getContent().get(0);
+        assertEquals(firstBooking.getId(), payment.getBookingId());
+        assertEquals("101", payment.getRoomNumber());
+        assertEquals("Guest User", payment.getUserName());
+        assertEquals(0, new BigDecimal("1000000.00").compareTo(payment.getAmount()));
+        assertEquals(PaymentMethod.CASH, payment.getPaymentMethod());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -0,0 +1,136 @@
+package project.hotel_booking_system.service.common;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import project.hotel_booking_system.dto.response.PaginationResponse;
+import project.hotel_booking_system.enums.Role;
+import project.hotel_booking_system.enums.RoomStatus;
+import project.hotel_booking_system.enums.RoomType;
+import project.hotel_booking_system.exception.AppException;
+import project.hotel_booking_system.exception.ErrorCode;
+import project.hotel_booking_system.model.Review;
+import project.hotel_booking_system.model.Room;
+import project.hotel_booking_system.model.User;
+import project.hotel_booking_system.repository.ReviewRepository;
+import project.hotel_booking_system.repository.projection.ReviewView;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+class PageCursorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Room room;
+    private final List<Long> newestFirst = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        room = entityManager.persist(Room.builder()
+                .roomNumber("101")
+                .roomType(RoomType.DOUBLE)
+                .price(new BigDecimal("500000"))
+                .roomStatus(RoomStatus.AVAILABLE)
+                .description("Double room")
+                .createAt(NOW)
+                .build());
+        // Five reviews over three timestamps, so pages split rows of the same createdAt
+        LocalDateTime[] createdAt = {NOW.minusHours(2), NOW.minusHours(1), NOW.minusHours(1), NOW, NOW};
+        for (int i = 0; i < createdAt.length; i++) {
+            User user = entityManager.persist(User.builder()
+                    .username("guest" + i)
+                    .password("secret")
+                    .email("guest" + i + "@example.com")
+                    .fullname("Guest " + i)
+                    .phone("090000000" + i)
+                    .role(Role.CUSTOMER)
+                    .createAt(NOW)
+                    .isActive(true)
+                    .build());
+            Review review = entityManager.persist(Review.builder()
+                    .user(user)
+                    .room(room)
+                    .rating((byte) 5)
+                    .createdAt(createdAt[i])
+                    .build());
+            newestFirst.add(0, review.getId());
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void toPage_WalksEveryRowOnceAcrossEqualSortKeys() {
+        // Given
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+
+        // When
+        do {
+            PaginationResponse<Long> page = page(cursor, 2, false);
+            seen.addAll(page.getContent());
+            assertNull(page.getTotalElements());
+            cursor = page.getNextCursor();
+            assertEquals(cursor == null, page.isLast());
+            pages++;
+        } while (cursor != null);
+
+        // Then
+        assertEquals(newestFirst, seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void toPage_CountsTotalOnlyWhenAsked() {
+        // When
+        PaginationResponse<Long> page = page(null, 5, true);
+
+        // Then
+        assertEquals(5L, page.getTotalElements());
+        assertEquals(1, page.getTotalPages());
+        assertTrue(page.isLast());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void decode_RoundTripsAndRejectsForeignCursors() {
+        // Given
+        PageCursor keyed = new PageCursor(NOW, 42L);
+        PageCursor byId = new PageCursor(null, 7L);
+
+        // Then
+        assertEquals(keyed, PageCursor.decode(keyed.encode(), true));
+        assertEquals(byId, PageCursor.decode(byId.encode(), false));
+        assertNull(PageCursor.decode(null, true));
+        assertEquals(ErrorCode.INVALID_CURSOR,
+                assertThrows(AppException.class, () -> PageCursor.decode(byId.encode(), true)).getErrorCode());
+        assertEquals(ErrorCode.INVALID_CURSOR,
+                assertThrows(AppException.class, () -> PageCursor.decode("not a cursor!", false)).getErrorCode());
+    }
+
+    private PaginationResponse<Long> page(String cursor, int size, boolean includeTotal) {
+        PageCursor after = PageCursor.decode(cursor, true);
+        List<ReviewView> reviews = after == null
+                ? reviewRepository.findFirstViewsByRoomId(room.getId(), PageCursor.limit(size))
+                : reviewRepository.findViewsByRoomIdAfter(room.getId(), after.createdAt(), after.id(),
+                        PageCursor.limit(size));
+        return PageCursor.toPage(reviews, size,
+                review -> new PageCursor(review.getCreatedAt(), review.getId()),
+                page -> page.stream().map(ReviewView::getId).toList(),
+                includeTotal ? reviewRepository.countByRoomId(room.getId()) : null);
+    }
+}
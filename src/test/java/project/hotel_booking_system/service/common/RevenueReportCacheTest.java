@@ -0,0 +1,116 @@
+package project.hotel_booking_system.service.common;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.hotel_booking_system.dto.response.RevenueReportDTO;
+import project.hotel_booking_system.enums.ReportPeriod;
+import project.hotel_booking_system.model.RevenueReportSnapshot;
+import project.hotel_booking_system.repository.RevenueReportSnapshotRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevenueReportCacheTest {
+
+    private static final LocalDate JANUARY = LocalDate.of(2024, 1, 1);
+
+    @Mock
+    private RevenueReportSnapshotRepository snapshotRepository;
+
+    private RevenueReportCache cache;
+    private RevenueReportDTO january;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RevenueReportCache(snapshotRepository);
+        january = RevenueReportCache.toReport(JANUARY, new BigDecimal("300000"), 2);
+    }
+
+    @Test
+    void store_ClosedMonth_IsPersistedAndServedFromMemory() {
+        // When
+        cache.store(ReportPeriod.MONTHLY, JANUARY, january, cache.epoch());
+        Map<LocalDate, RevenueReportDTO> found = cache.find(ReportPeriod.MONTHLY, List.of(JANUARY));
+
+        // Then
+        assertSame(january, found.get(JANUARY));
+        assertEquals(0, new BigDecimal("150000.00").compareTo(january.getAverageRevenue()));
+        verify(snapshotRepository).save(any(RevenueReportSnapshot.class));
+        verify(snapshotRepository, never()).findByPeriodAndBucketStartIn(any(), anyCollection());
+    }
+
+    @Test
+    void find_AfterRestart_LoadsPersistedRows() {
+        // Given
+        when(snapshotRepository.findByPeriodAndBucketStartIn(ReportPeriod.YEARLY, List.of(JANUARY)))
+                .thenReturn(List.of(RevenueReportSnapshot.builder()
+                        .period(ReportPeriod.YEARLY)
+                        .bucketStart(JANUARY)
+                        .totalRevenue(new BigDecimal("900000"))
+                        .bookingsCount(3)
+                        .computedAt(LocalDateTime.now())
+                        .build()));
+
+        // When
+        cache.find(ReportPeriod.YEARLY, List.of(JANUARY));
+        RevenueReportDTO found = cache.find(ReportPeriod.YEARLY, List.of(JANUARY)).get(JANUARY);
+
+        // Then
+        assertEquals(0, new BigDecimal("900000").compareTo(found.getTotalRevenue()));
+        assertEquals(3, found.getBookingsCount());
+        verify(snapshotRepository, times(1)).findByPeriodAndBucketStartIn(any(), anyCollection());
+    }
+
+    @Test
+    void invalidate_LatePayment_DropsItsMonthAndYear() {
+        // Given
+        cache.store(ReportPeriod.MONTHLY, JANUARY, january, cache.epoch());
+
+        // When
+        cache.invalidate(LocalDate.of(2024, 1, 20), LocalDate.of(2024, 1, 20));
+
+        // Then
+        verify(snapshotRepository).deleteByPeriodAndBucketStartIn(ReportPeriod.MONTHLY, List.of(JANUARY));
+        verify(snapshotRepository).deleteByPeriodAndBucketStartIn(ReportPeriod.YEARLY, List.of(JANUARY));
+        assertTrue(cache.find(ReportPeriod.MONTHLY, List.of(JANUARY)).isEmpty());
+    }
+
+    @Test
+    void store_ComputedBeforeInvalidation_IsDiscarded() {
+        // Given
+        long epoch = cache.epoch();
+        cache.invalidate(JANUARY, JANUARY);
+
+        // When
+        cache.store(ReportPeriod.MONTHLY, JANUARY, january, epoch);
+
+        // Then
+        verify(snapshotRepository, never()).save(any());
+    }
+
+    @Test
+    void openPeriods_AreNeitherCachedNorInvalidated() {
+        // Given
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+
+        // When
+        cache.store(ReportPeriod.MONTHLY, thisMonth, january, cache.epoch());
+        cache.store(ReportPeriod.DAILY, JANUARY, january, cache.epoch());
+        cache.invalidate(LocalDate.now(), LocalDate.now());
+
+        // Then
+        verifyNoInteractions(snapshotRepository);
+    }
+}
@@ -0,0 +1,238 @@
+package project.hotel_booking_system.service.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import project.hotel_booking_system.dto.response.RevenueReportDTO;
+import project.hotel_booking_system.enums.*;
+import project.hotel_booking_system.model.*;
+import project.hotel_booking_system.repository.RevenueDailyRepository;
+import project.hotel_booking_system.repository.RevenueReportSnapshotRepository;
+import project.hotel_booking_system.service.payment.PaymentLedger;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against H2 in MySQL mode, as the rollup is updated with an upsert.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.url=jdbc:h2:mem:revenue;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({RevenueRollup.class, RevenueReportServiceImpl.class, RevenueReportCache.class, PaymentLedger.class,
+        SimpleMeterRegistry.class})
+class RevenueRollupTest {
+
+    private static final LocalDate DAY = LocalDate.now().minusDays(3);
+
+    @Autowired
+    private RevenueRollup revenueRollup;
+
+    @Autowired
+    private RevenueReportServiceImpl revenueReportService;
+
+    @Autowired
+    private PaymentLedger paymentLedger;
+
+    @Autowired
+    private RevenueDailyRepository revenueDailyRepository;
+
+    @Autowired
+    private RevenueReportSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User guest;
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        guest = entityManager.persist(User.builder()
+                .username("guest")
+                .password("secret")
+                .email("guest@example.com")
+                .fullname("Guest User")
+                .phone("0900000000")
+                .role(Role.CUSTOMER)
+                .createAt(LocalDateTime.now())
+                .isActive(true)
+                .build());
+        room = entityManager.persist(Room.builder()
+                .roomNumber("101")
+                .roomType(RoomType.DOUBLE)
+                .price(new BigDecimal("500000"))
+                .roomStatus(RoomStatus.AVAILABLE)
+                .description("Double room")
+                .createAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Test
+    void onBookingCompleted_AddsCompletedPaymentsToTheirDay() {
+        // Given
+        Booking booking = booking(BookingStatus.CHECKED_IN);
+        payment(booking, "300000", PaymentMethod.VNPAY, PaymentStatus.COMPLETED, DAY.atTime(9, 0));
+        payment(booking, "700000", PaymentMethod.CASH, PaymentStatus.COMPLETED, DAY.atTime(23, 59));
+        payment(booking, "500000", PaymentMethod.CASH, PaymentStatus.FAILED, DAY.atTime(10, 0));
+
+        // When
+        booking.setStatus(BookingStatus.COMPLETED);
+        revenueRollup.onBookingCompleted(booking);
+
+        // Then
+        List<RevenueReportDTO> report = revenueReportService.getDailyRevenueReport(DAY, DAY);
+        assertEquals(1, report.size());
+        assertEquals(DAY, report.get(0).getDate());
+        assertEquals(0, new BigDecimal("1000000").compareTo(report.get(0).getTotalRevenue()));
+        assertEquals(2, report.get(0).getBookingsCount());
+        assertEquals(0, new BigDecimal("500000").compareTo(report.get(0).getAverageRevenue()));
+        assertEquals(2, revenueDailyRepository.count());
+        assertTrue(revenueRollup.check().isEmpty());
+    }
+
+    @Test
+    void paymentChangedAfterCompletion_MovesItsDayByTheDifference() {
+        // Given
+        Booking booking = booking(BookingStatus.COMPLETED);
+        Payment kept = payment(booking, "400000", PaymentMethod.CASH, PaymentStatus.PENDING, DAY.atTime(12, 0));
+        Payment refunded = payment(booking, "600000", PaymentMethod.CASH, PaymentStatus.COMPLETED, DAY.atTime(13, 0));
+        paymentLedger.sync(refunded);
+
+        // When
+        kept.setStatus(PaymentStatus.COMPLETED);
+        paymentLedger.sync(kept);
+        refunded.setStatus(PaymentStatus.REFUNDED);
+        paymentLedger.sync(refunded);
+
+        // Then
+        List<RevenueReportDTO> report = revenueReportService.getDailyRevenueReport(DAY, DAY);
+        assertEquals(0, new BigDecimal("400000").compareTo(report.get(0).getTotalRevenue()));
+        assertEquals(1, report.get(0).getBookingsCount());
+        assertTrue(revenueRollup.check().isEmpty());
+    }
+
+    @Test
+    void backfill_LoadsHistoryOnceForMonthlyAndYearlyReports() {
+        // Given
+        Booking booking = booking(BookingStatus.COMPLETED);
+        payment(booking, "100000", PaymentMethod.CASH, PaymentStatus.COMPLETED, LocalDateTime.of(2024, 1, 5, 10, 0));
+        payment(booking, "200000", PaymentMethod.VNPAY, PaymentStatus.COMPLETED, LocalDateTime.of(2024, 1, 20, 10, 0));
+        payment(booking, "300000", PaymentMethod.CASH, PaymentStatus.COMPLETED, LocalDateTime.of(2024, 3, 1, 10, 0));
+        payment(booking(BookingStatus.CHECKED_IN), "900000", PaymentMethod.CASH, PaymentStatus.COMPLETED,
+                LocalDateTime.of(2024, 3, 2, 10, 0));
+        entityManager.flush();
+
+        // When
+        revenueRollup.backfill();
+        revenueRollup.backfill();
+
+        // Then
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 12, 31);
+        List<RevenueReportDTO> monthly = revenueReportService.getMonthlyRevenueReport(start, end);
+        assertEquals(2, monthly.size());
+        assertEquals(LocalDate.of(2024, 1, 1), monthly.get(0).getDate());
+        assertEquals(0, new BigDecimal("300000").compareTo(monthly.get(0).getTotalRevenue()));
+        assertEquals(2, monthly.get(0).getBookingsCount());
+        assertEquals(LocalDate.of(2024, 3, 1), monthly.get(1).getDate());
+        assertEquals(0, new BigDecimal("300000").compareTo(monthly.get(1).getTotalRevenue()));
+
+        List<RevenueReportDTO> yearly = revenueReportService.getYearlyRevenueReport(start, end);
+        assertEquals(1, yearly.size());
+        assertEquals(0, new BigDecimal("600000").compareTo(yearly.get(0).getTotalRevenue()));
+        assertEquals(3, yearly.get(0).getBookingsCount());
+        assertEquals(3, revenueDailyRepository.count());
+    }
+
+    @Test
+    void monthlyReport_ClosedMonthsAreReadFromCache() {
+        // Given, in a year no other test reports on, as the cache outlives each test's rollback
+        Booking booking = booking(BookingStatus.COMPLETED);
+        payment(booking, "100000", PaymentMethod.CASH, PaymentStatus.COMPLETED, LocalDateTime.of(2023, 1, 5, 10, 0));
+        payment(booking, "300000", PaymentMethod.CASH, PaymentStatus.COMPLETED, LocalDateTime.of(2023, 3, 1, 10, 0));
+        entityManager.flush();
+        revenueRollup.backfill();
+        LocalDate start = LocalDate.of(2023, 1, 1);
+        LocalDate end = LocalDate.of(2023, 3, 31);
+        revenueReportService.getMonthlyRevenueReport(start, end);
+
+        // When
+        revenueDailyRepository.add(LocalDate.of(2023, 3, 2), PaymentMethod.CASH.name(), RoomType.DOUBLE.name(),
+                new BigDecimal("50000"), 1);
+        List<RevenueReportDTO> monthly = revenueReportService.getMonthlyRevenueReport(start, end);
+
+        // Then
+        assertEquals(3, snapshotRepository.count());
+        assertEquals(2, monthly.size());
+        assertEquals(0, new BigDecimal("300000").compareTo(monthly.get(1).getTotalRevenue()));
+        // A range cutting the month is summed from the rollup
+        List<RevenueReportDTO> partial = revenueReportService.getMonthlyRevenueReport(start, LocalDate.of(2023, 3, 15));
+        assertEquals(0, new BigDecimal("350000").compareTo(partial.get(1).getTotalRevenue()));
+    }
+
+    @Test
+    void check_RebuildsDaysThatDisagreeWithPayments() {
+        // Given
+        Booking booking = booking(BookingStatus.COMPLETED);
+        payment(booking, "250000", PaymentMethod.CASH, PaymentStatus.COMPLETED, DAY.atTime(8, 0));
+        entityManager.flush();
+        revenueRollup.backfill();
+        revenueDailyRepository.add(DAY, PaymentMethod.CASH.name(), RoomType.DOUBLE.name(), new BigDecimal("50000"), 1);
+        revenueDailyRepository.add(DAY.minusDays(1), PaymentMethod.VNPAY.name(), RoomType.SUITE.name(),
+                new BigDecimal("80000"), 1);
+
+        // When
+        List<LocalDate> drifted = revenueRollup.check();
+
+        // Then
+        assertEquals(List.of(DAY.minusDays(1), DAY), drifted);
+        assertTrue(revenueRollup.check().isEmpty());
+        List<RevenueReportDTO> report = revenueReportService.getDailyRevenueReport(DAY.minusDays(1), DAY);
+        assertEquals(1, report.size());
+        assertEquals(0, new BigDecimal("250000").compareTo(report.get(0).getTotalRevenue()));
+        assertEquals(2.0, meterRegistry.get(RevenueRollup.MISMATCH_METER).counter().count());
+    }
+
+    private Booking booking(BookingStatus status) {
+        return entityManager.persist(Booking.builder()
+                .user(guest)
+                .room(room)
+                .checkInDate(Date.valueOf(DAY.minusDays(2)))
+                .checkOutDate(Date.valueOf(DAY))
+                .status(status)
+                .totalPrice(new BigDecimal("1000000"))
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private Payment payment(Booking booking, String amount, PaymentMethod method, PaymentStatus status,
+                            LocalDateTime paymentDate) {
+        return entityManager.persist(Payment.builder()
+                .booking(booking)
+                .amount(new BigDecimal(amount))
+                .paymentMethod(method)
+                .status(status)
+                .paymentDate(paymentDate)
+                .build());
+    }
+}
@@ -22,6 +22,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -46,6 +47,7 @@ import project.hotel_booking_system.model.Room;
 import project.hotel_booking_system.model.User;
 import project.hotel_booking_system.repository.BookingRepository;
 import project.hotel_booking_system.repository.PaymentRepository;
+import project.hotel_booking_system.repository.projection.PaymentView;
 import project.hotel_booking_system.service.payment.PaymentServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -168,10 +170,10 @@ class PaymentServiceImplTest {
     void shouldGetBookingPaymentsWithPagination() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        List<Payment> payments = Collections.singletonList(testPayment);
-        Page<Payment> paymentPage = new PageImpl<>(payments, pageable, payments.size());
+        List<PaymentView> payments = Collections.singletonList(mock(PaymentView.class));
+        Page<PaymentView> paymentPage = new PageImpl<>(payments, pageable, payments.size());
 
-        when(paymentRepository.findByBookingId(anyLong(), any(Pageable.class))).thenReturn(paymentPage);
+        when(paymentRepository.findViewsByBookingId(anyLong(), any(Pageable.class))).thenReturn(paymentPage);
 
         // When
         PaginationResponse<PaymentResponseDTO> result = paymentService.getBookingPayments(1L, pageable);
@@ -0,0 +1,137 @@
+package project.hotel_booking_system.service.payment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import project.hotel_booking_system.enums.*;
+import project.hotel_booking_system.model.*;
+import project.hotel_booking_system.repository.BookingRepository;
+import project.hotel_booking_system.repository.PaymentRepository;
+import project.hotel_booking_system.repository.RefundRepository;
+import project.hotel_booking_system.service.common.RevenueRollup;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@Import({BookingStatusManagerImpl.class, PaymentLedger.class, RefundQueue.class})
+class BookingStatusManagerImplTest {
+
+    @Autowired
+    private BookingStatusManager bookingStatusManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private RefundRepository refundRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private RevenueRollup revenueRollup;
+
+    @MockBean
+    private VNPayGatewayService vnPayGatewayService;
+
+    private Booking booking;
+    private Long paymentId;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User guest = entityManager.persist(User.builder()
+                .username("guest")
+                .password("secret")
+                .email("guest@example.com")
+                .fullname("Guest User")
+                .phone("0900000000")
+                .role(Role.CUSTOMER)
+                .createAt(now)
+                .isActive(true)
+                .build());
+        Room room = entityManager.persist(Room.builder()
+                .roomNumber("101")
+                .roomType(RoomType.DOUBLE)
+                .price(new BigDecimal("500000"))
+                .roomStatus(RoomStatus.AVAILABLE)
+                .description("Double room")
+                .createAt(now)
+                .build());
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        booking = entityManager.persist(Booking.builder()
+                .user(guest)
+                .room(room)
+                .checkInDate(Date.valueOf(checkIn))
+                .checkOutDate(Date.valueOf(checkIn.plusDays(1)))
+                .status(BookingStatus.PENDING)
+                .totalPrice(new BigDecimal("500000"))
+                .createdAt(now.minusMinutes(30))
+                .holdExpiresAt(now.plusMinutes(30))
+                .build());
+        paymentId = entityManager.persist(Payment.builder()
+                .booking(booking)
+                .amount(booking.getTotalPrice())
+                .paymentMethod(PaymentMethod.VNPAY)
+                .status(PaymentStatus.PENDING)
+                .build()).getId();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void updateBookingStatusAfterPayment_PendingBooking_IsConfirmed() {
+        // Given
+        Payment payment = completedPayment();
+
+        // When
+        bookingStatusManager.updateBookingStatusAfterPayment(payment);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertEquals(BookingStatus.CONFIRMED, bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+        assertTrue(refundRepository.findByPaymentId(paymentId).isEmpty());
+    }
+
+    @Test
+    void updateBookingStatusAfterPayment_HoldCancelledSinceRead_RefundsInsteadOfConfirming() {
+        // Given: the callback read the booking as PENDING, then the expirer cancelled it
+        Payment payment = completedPayment();
+        assertEquals(BookingStatus.PENDING, payment.getBooking().getStatus());
+        bookingRepository.cancelAllByIdIn(List.of(booking.getId()));
+
+        // When
+        bookingStatusManager.updateBookingStatusAfterPayment(payment);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertEquals(BookingStatus.CANCELLED, bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+        assertEquals(PaymentStatus.CANCELLED, paymentRepository.findById(paymentId).orElseThrow().getStatus());
+        assertEquals(0, bookingRepository.findPaidTotalById(booking.getId()).orElseThrow().signum());
+        List<Refund> refunds = refundRepository.findByPaymentId(paymentId);
+        assertEquals(1, refunds.size());
+        assertEquals(RefundStatus.PENDING, refunds.get(0).getStatus());
+    }
+
+    private Payment completedPayment() {
+        Payment payment = paymentRepository.findById(paymentId).orElseThrow();
+        payment.setStatus(PaymentStatus.COMPLETED);
+        payment.setPaymentDate(LocalDateTime.now());
+        return payment;
+    }
+}
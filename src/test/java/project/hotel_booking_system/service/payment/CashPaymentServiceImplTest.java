@@ -45,6 +45,9 @@ class CashPaymentServiceImplTest {
     @Mock
     private PaymentMapper paymentMapper;
 
+    @Mock
+    private PaymentLedger paymentLedger;
+
     @InjectMocks
     private CashPaymentServiceImpl cashPaymentService;
 
@@ -0,0 +1,148 @@
+package project.hotel_booking_system.service.payment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import project.hotel_booking_system.enums.*;
+import project.hotel_booking_system.model.*;
+import project.hotel_booking_system.repository.BookingRepository;
+import project.hotel_booking_system.repository.PaymentLedgerRepository;
+import project.hotel_booking_system.service.common.RevenueRollup;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@Import(PaymentLedger.class)
+class PaymentLedgerTest {
+
+    @Autowired
+    private PaymentLedger paymentLedger;
+
+    @Autowired
+    private PaymentLedgerRepository paymentLedgerRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private RevenueRollup revenueRollup;
+
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        User guest = entityManager.persist(User.builder()
+                .username("guest")
+                .password("secret")
+                .email("guest@example.com")
+                .fullname("Guest User")
+                .phone("0900000000")
+                .role(Role.CUSTOMER)
+                .createAt(LocalDateTime.now())
+                .isActive(true)
+                .build());
+        Room room = entityManager.persist(Room.builder()
+                .roomNumber("101")
+                .roomType(RoomType.DOUBLE)
+                .price(new BigDecimal("500000"))
+                .roomStatus(RoomStatus.AVAILABLE)
+                .description("Double room")
+                .createAt(LocalDateTime.now())
+                .build());
+        booking = entityManager.persist(Booking.builder()
+                .user(guest)
+                .room(room)
+                .checkInDate(Date.valueOf(LocalDate.now().plusDays(1)))
+                .checkOutDate(Date.valueOf(LocalDate.now().plusDays(3)))
+                .status(BookingStatus.CHECKED_IN)
+                .totalPrice(new BigDecimal("1000000"))
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Test
+    void sync_CompletedPayment_AddsEntryAndPaidTotalOnce() {
+        // Given
+        Payment payment = payment(new BigDecimal("300000"), PaymentStatus.COMPLETED);
+
+        // When
+        paymentLedger.sync(payment);
+        paymentLedger.sync(payment);
+
+        // Then
+        assertEquals(1, paymentLedgerRepository.count());
+        assertEquals(0, new BigDecimal("300000").compareTo(booking.getPaidTotal()));
+        assertEquals(0, new BigDecimal("700000").compareTo(booking.getBalance()));
+        assertEquals(0, new BigDecimal("300000").compareTo(storedPaidTotal()));
+    }
+
+    @Test
+    void sync_PaymentNoLongerCompleted_AppendsReversal() {
+        // Given
+        Payment payment = payment(new BigDecimal("300000"), PaymentStatus.COMPLETED);
+        paymentLedger.sync(payment);
+
+        // When
+        payment.setStatus(PaymentStatus.PENDING);
+        payment.setAmount(new BigDecimal("1000000"));
+        paymentLedger.sync(payment);
+
+        // Then
+        assertEquals(2, paymentLedgerRepository.count());
+        assertEquals(0, BigDecimal.ZERO.compareTo(storedPaidTotal()));
+    }
+
+    @Test
+    void sync_PendingPayment_AddsNothing() {
+        // When
+        paymentLedger.sync(payment(new BigDecimal("300000"), PaymentStatus.PENDING));
+
+        // Then
+        assertEquals(0, paymentLedgerRepository.count());
+        assertEquals(0, BigDecimal.ZERO.compareTo(storedPaidTotal()));
+    }
+
+    @Test
+    void backfill_LedgersCompletedPaymentsOnceAndRecomputesTotals() {
+        // Given
+        payment(new BigDecimal("300000"), PaymentStatus.COMPLETED);
+        payment(new BigDecimal("700000"), PaymentStatus.COMPLETED);
+        payment(new BigDecimal("500000"), PaymentStatus.FAILED);
+        entityManager.flush();
+
+        // When
+        paymentLedger.backfill();
+        paymentLedger.backfill();
+
+        // Then
+        assertEquals(2, paymentLedgerRepository.count());
+        assertEquals(0, new BigDecimal("1000000").compareTo(storedPaidTotal()));
+    }
+
+    private Payment payment(BigDecimal amount, PaymentStatus status) {
+        return entityManager.persist(Payment.builder()
+                .booking(booking)
+                .amount(amount)
+                .paymentMethod(PaymentMethod.CASH)
+                .status(status)
+                .paymentDate(LocalDateTime.now())
+                .build());
+    }
+
+    private BigDecimal storedPaidTotal() {
+        entityManager.flush();
+        return bookingRepository.findPaidTotalById(booking.getId()).orElseThrow();
+    }
+}
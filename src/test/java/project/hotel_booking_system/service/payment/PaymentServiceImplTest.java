@@ -20,16 +20,20 @@ import project.hotel_booking_system.dto.response.PaginationResponse;
 import project.hotel_booking_system.dto.response.PaymentResponseDTO;
 import project.hotel_booking_system.enums.PaymentMethod;
 import project.hotel_booking_system.enums.PaymentStatus;
+import project.hotel_booking_system.exception.AppException;
+import project.hotel_booking_system.exception.ErrorCode;
 import project.hotel_booking_system.exception.ResourceNotFoundException;
 import project.hotel_booking_system.mapper.PaymentMapper;
 import project.hotel_booking_system.model.Booking;
 import project.hotel_booking_system.model.Payment;
 import project.hotel_booking_system.repository.BookingRepository;
 import project.hotel_booking_system.repository.PaymentRepository;
+import project.hotel_booking_system.repository.projection.PaymentView;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -60,6 +64,12 @@ class PaymentServiceImplTest {
     @Mock
     private PaymentMapper paymentMapper;
 
+    @Mock
+    private PaymentLedger paymentLedger;
+
+    @Mock
+    private VNPayCallbackLog vnPayCallbackLog;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -222,15 +232,71 @@ class PaymentServiceImplTest {
         verify(vnPayGatewayService).generatePaymentUrl(any(), any(), eq(clientIp));
     }
 
+    @Test
+    void handleVnPayCallback_FirstCallback_UpdatesPaymentAndRecordsIt() {
+        // Arrange
+        String callback = "vnp_ResponseCode=00&vnp_TxnRef=1_1700000000000&vnp_TransactionNo=14226112" +
+                "&vnp_PayDate=20250601100000&vnp_SecureHash=abc";
+        Map<String, String> params = Map.of("vnp_ResponseCode", "00", "vnp_TxnRef", "1_1700000000000",
+                "vnp_TransactionNo", "14226112", "vnp_PayDate", "20250601100000", "vnp_SecureHash", "abc");
+        when(vnPayGatewayService.parseCallback(callback)).thenReturn(params);
+        when(vnPayGatewayService.verifyCallback(params)).thenReturn(true);
+        when(vnPayGatewayService.extractPaymentId("1_1700000000000")).thenReturn(1L);
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(testPayment));
+        when(paymentRepository.save(testPayment)).thenReturn(testPayment);
+        when(paymentMapper.toDTO(testPayment)).thenReturn(testPaymentResponse);
+
+        // Act
+        PaymentResponseDTO result = paymentService.handleVnPayCallback(callback);
+
+        // Assert
+        assertEquals(testPaymentResponse, result);
+        assertEquals(PaymentStatus.COMPLETED, testPayment.getStatus());
+        verify(bookingStatusManager).updateBookingStatusAfterPayment(testPayment);
+        verify(vnPayCallbackLog).record(testPayment, "1_1700000000000", "14226112", "00", testPaymentResponse);
+    }
+
+    @Test
+    void handleVnPayCallback_RepeatedCallback_ReturnsPreviousResponseWithoutUpdating() {
+        // Arrange
+        Map<String, String> params = Map.of("vnp_ResponseCode", "00", "vnp_TxnRef", "1_1700000000000",
+                "vnp_TransactionNo", "14226112", "vnp_SecureHash", "abc");
+        when(vnPayGatewayService.parseCallback("query")).thenReturn(params);
+        when(vnPayGatewayService.verifyCallback(params)).thenReturn(true);
+        when(vnPayCallbackLog.find("1_1700000000000", "14226112")).thenReturn(testPaymentResponse);
+
+        // Act
+        PaymentResponseDTO result = paymentService.handleVnPayCallback("query");
+
+        // Assert
+        assertEquals(testPaymentResponse, result);
+        verifyNoInteractions(paymentRepository, bookingStatusManager);
+        verify(vnPayCallbackLog, never()).record(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void handleVnPayCallback_InvalidSignature_ThrowsException() {
+        // Arrange
+        Map<String, String> params = Map.of("vnp_ResponseCode", "00", "vnp_TxnRef", "1_1700000000000",
+                "vnp_SecureHash", "forged");
+        when(vnPayGatewayService.parseCallback("query")).thenReturn(params);
+        when(vnPayGatewayService.verifyCallback(params)).thenReturn(false);
+
+        // Act & Assert
+        AppException exception = assertThrows(AppException.class, () -> paymentService.handleVnPayCallback("query"));
+        assertEquals(ErrorCode.INVALID_PAYMENT_SIGNATURE, exception.getErrorCode());
+        verifyNoInteractions(paymentRepository, vnPayCallbackLog);
+    }
+
     @Test
     void getBookingPayments_Success() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        List<Payment> payments = Arrays.asList(testPayment);
-        Page<Payment> paymentsPage = new PageImpl<>(payments, pageable, payments.size());
+        List<PaymentView> payments = List.of(mock(PaymentView.class));
+        Page<PaymentView> paymentsPage = new PageImpl<>(payments, pageable, payments.size());
 
-        when(paymentRepository.findByBookingId(1L, pageable)).thenReturn(paymentsPage);
-        when(paymentMapper.toDTO(any(Payment.class))).thenReturn(testPaymentResponse);
+        when(paymentRepository.findViewsByBookingId(1L, pageable)).thenReturn(paymentsPage);
+        when(paymentMapper.toDTO(any(PaymentView.class))).thenReturn(testPaymentResponse);
 
         // Act
         PaginationResponse<PaymentResponseDTO> result = paymentService.getBookingPayments(1L, pageable);
@@ -242,7 +308,7 @@ class PaymentServiceImplTest {
         assertEquals(0, result.getPage());
         assertEquals(10, result.getPageSize());
         assertEquals(1, result.getTotalElements());
-        verify(paymentRepository).findByBookingId(1L, pageable);
-        verify(paymentMapper).toDTO(any(Payment.class));
+        verify(paymentRepository).findViewsByBookingId(1L, pageable);
+        verify(paymentMapper).toDTO(any(PaymentView.class));
     }
 }
@@ -0,0 +1,253 @@
+package project.hotel_booking_system.service.payment;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.hotel_booking_system.dto.response.VNPayRefundResponse;
+import project.hotel_booking_system.enums.RefundStatus;
+import project.hotel_booking_system.model.Refund;
+import project.hotel_booking_system.repository.RefundRepository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefundQueueTest {
+
+    @Mock
+    private RefundRepository refundRepository;
+
+    @Mock
+    private VNPayGatewayService vnPayGatewayService;
+
+    private RefundQueue refundQueue;
+
+    @BeforeEach
+    void setUp() {
+        refundQueue = new RefundQueue(refundRepository, vnPayGatewayService, 2, 3, 30, 600, 30, 120);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refundQueue.shutdown();
+    }
+
+    @Test
+    void process_Success_CompletesRefund() {
+        // Given
+        claimed(refund(1));
+        when(vnPayGatewayService.submitRefund(any())).thenReturn(VNPayRefundResponse.builder().success(true).build());
+
+        // When
+        refundQueue.process(10L);
+
+        // Then
+        Refund saved = saved();
+        assertEquals(RefundStatus.COMPLETED, saved.getStatus());
+        assertNotNull(saved.getVnpayRefundId());
+        assertNotNull(saved.getProcessedAt());
+        assertNull(saved.getNextAttemptAt());
+    }
+
+    @Test
+    void process_TransportFailure_SchedulesRetryWithBackoff() {
+        // Given
+        claimed(refund(2));
+        when(vnPayGatewayService.submitRefund(any())).thenReturn(retryableFailure());
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        refundQueue.process(10L);
+
+        // Then
+        Refund saved = saved();
+        assertEquals(RefundStatus.PENDING, saved.getStatus());
+        assertEquals("API call exception: timeout", saved.getLastError());
+        // second attempt waits between 30 and 60 seconds
+        assertFalse(saved.getNextAttemptAt().isBefore(before.plusSeconds(30)));
+        assertFalse(saved.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(60)));
+    }
+
+    @Test
+    void process_LastAttemptFails_MovesToDeadLetter() {
+        // Given
+        claimed(refund(3));
+        when(vnPayGatewayService.submitRefund(any())).thenReturn(retryableFailure());
+
+        // When
+        refundQueue.process(10L);
+
+        // Then
+        Refund saved = saved();
+        assertEquals(RefundStatus.DEAD_LETTER, saved.getStatus());
+        assertNull(saved.getNextAttemptAt());
+    }
+
+    @Test
+    void process_RejectedByVnpay_FailsWithoutRetry() {
+        // Given
+        claimed(refund(1));
+        when(vnPayGatewayService.submitRefund(any())).thenReturn(VNPayRefundResponse.builder()
+                .success(false)
+                .responseCode("02")
+                .message("Refund failed: 02")
+                .build());
+
+        // When
+        refundQueue.process(10L);
+
+        // Then
+        Refund saved = saved();
+        assertEquals(RefundStatus.FAILED, saved.getStatus());
+        assertNull(saved.getNextAttemptAt());
+    }
+
+    @Test
+    void process_OutcomeUnknown_MovesToDeadLetterWithoutRetry() {
+        // Given
+        claimed(refund(1));
+        when(vnPayGatewayService.submitRefund(any())).thenReturn(VNPayRefundResponse.builder()
+                .success(false)
+                .outcomeUnknown(true)
+                .message("No answer from VNPay: Read timed out")
+                .build());
+
+        // When
+        refundQueue.process(10L);
+
+        // Then
+        Refund saved = saved();
+        assertEquals(RefundStatus.DEAD_LETTER, saved.getStatus());
+        assertEquals("No answer from VNPay: Read timed out", saved.getLastError());
+        assertNull(saved.getNextAttemptAt());
+    }
+
+    @Test
+    void process_FirstAttempt_FixesRequestIdOnce() {
+        // Given
+        Refund refund = refund(1);
+        claimed(refund);
+        when(vnPayGatewayService.submitRefund(any())).thenReturn(retryableFailure());
+
+        // When
+        refundQueue.process(10L);
+
+        // Then
+        ArgumentCaptor<String> requestId = ArgumentCaptor.forClass(String.class);
+        verify(refundRepository).assignRequestId(eq(10L), requestId.capture());
+        assertTrue(requestId.getValue().startsWith("REF_10_"));
+        assertEquals(requestId.getValue(), saved().getVnpRequestId());
+    }
+
+    @Test
+    void process_Retry_KeepsRequestId() {
+        // Given
+        Refund refund = refund(2);
+        refund.setVnpRequestId("REF_10_1700000000000");
+        claimed(refund);
+        when(vnPayGatewayService.submitRefund(any())).thenReturn(retryableFailure());
+
+        // When
+        refundQueue.process(10L);
+
+        // Then
+        verify(refundRepository, never()).assignRequestId(any(), any());
+        assertEquals("REF_10_1700000000000", saved().getVnpRequestId());
+    }
+
+    @Test
+    void process_AlreadyClaimed_DoesNotCallVnpay() {
+        // Given
+        when(refundRepository.claim(eq(10L), eq(RefundStatus.PENDING), eq(RefundStatus.PROCESSING), any()))
+                .thenReturn(0);
+
+        // When
+        refundQueue.process(10L);
+
+        // Then
+        verifyNoInteractions(vnPayGatewayService);
+        verify(refundRepository, never()).save(any());
+    }
+
+    @Test
+    void backoff_DoublesPerAttemptUpToCap() {
+        for (int i = 0; i < 50; i++) {
+            assertBetween(15, 30, refundQueue.backoff(1));
+            assertBetween(60, 120, refundQueue.backoff(3));
+            assertBetween(300, 600, refundQueue.backoff(30));
+        }
+    }
+
+    @Test
+    void recover_RequeuesInterruptedRefunds() {
+        // When
+        refundQueue.recover();
+
+        // Then
+        verify(refundRepository).updateStatus(RefundStatus.PROCESSING, RefundStatus.PENDING);
+        verify(refundRepository).findDueIds(eq(RefundStatus.PENDING), any(), any());
+    }
+
+    @Test
+    void pollDue_RequeuesRefundsStuckInProcessing() {
+        // Given
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        refundQueue.pollDue();
+
+        // Then
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(refundRepository).updateStatusUpdatedBefore(eq(RefundStatus.PROCESSING), eq(RefundStatus.PENDING),
+                cutoff.capture());
+        // read timeout plus margin
+        assertFalse(cutoff.getValue().isBefore(before.minusSeconds(150)));
+        assertFalse(cutoff.getValue().isAfter(LocalDateTime.now().minusSeconds(150)));
+        verify(refundRepository).findDueIds(eq(RefundStatus.PENDING), any(), any());
+    }
+
+    private void assertBetween(long minSeconds, long maxSeconds, Duration delay) {
+        assertTrue(delay.toMillis() >= minSeconds * 1000 && delay.toMillis() <= maxSeconds * 1000,
+                "delay " + delay);
+    }
+
+    private void claimed(Refund refund) {
+        when(refundRepository.claim(eq(10L), eq(RefundStatus.PENDING), eq(RefundStatus.PROCESSING), any()))
+                .thenReturn(1);
+        when(refundRepository.findForSubmission(10L)).thenReturn(Optional.of(refund));
+    }
+
+    private Refund saved() {
+        ArgumentCaptor<Refund> captor = ArgumentCaptor.forClass(Refund.class);
+        verify(refundRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private Refund refund(int attempts) {
+        return Refund.builder()
+                .id(10L)
+                .refundAmount(new BigDecimal("500000"))
+                .status(RefundStatus.PROCESSING)
+                .attempts(attempts)
+                .build();
+    }
+
+    private VNPayRefundResponse retryableFailure() {
+        return VNPayRefundResponse.builder()
+                .success(false)
+                .retryable(true)
+                .message("API call exception: timeout")
+                .build();
+    }
+}
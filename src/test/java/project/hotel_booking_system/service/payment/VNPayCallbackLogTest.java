@@ -0,0 +1,102 @@
+package project.hotel_booking_system.service.payment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.hotel_booking_system.dto.response.PaymentResponseDTO;
+import project.hotel_booking_system.mapper.PaymentMapper;
+import project.hotel_booking_system.model.Payment;
+import project.hotel_booking_system.model.PaymentCallback;
+import project.hotel_booking_system.repository.PaymentCallbackRepository;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VNPayCallbackLogTest {
+
+    @Mock
+    private PaymentCallbackRepository paymentCallbackRepository;
+
+    @Mock
+    private PaymentMapper paymentMapper;
+
+    private MeterRegistry meterRegistry;
+    private VNPayCallbackLog callbackLog;
+    private Payment payment;
+    private PaymentResponseDTO response;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        callbackLog = new VNPayCallbackLog(paymentCallbackRepository, paymentMapper, meterRegistry, 100, 60);
+        payment = Payment.builder().id(1L).build();
+        response = new PaymentResponseDTO();
+        response.setId(1L);
+    }
+
+    @Test
+    void find_RecordedCallback_AnswersFromMemory() {
+        // Given
+        callbackLog.record(payment, "1_1700000000000", "14226112", "00", response);
+
+        // When
+        PaymentResponseDTO result = callbackLog.find("1_1700000000000", "14226112");
+
+        // Then
+        assertSame(response, result);
+        verify(paymentCallbackRepository, never()).findPaymentByTxnRefAndTransactionNo(anyString(), anyString());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "vnpay.callback").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void record_SavesCallbackKeyedByTxnRefAndTransactionNo() {
+        // When
+        callbackLog.record(payment, "1_1700000000000", null, "24", response);
+
+        // Then
+        ArgumentCaptor<PaymentCallback> captor = ArgumentCaptor.forClass(PaymentCallback.class);
+        verify(paymentCallbackRepository).save(captor.capture());
+        assertEquals(payment, captor.getValue().getPayment());
+        assertEquals("1_1700000000000", captor.getValue().getTxnRef());
+        assertEquals("", captor.getValue().getTransactionNo());
+        assertEquals("24", captor.getValue().getResponseCode());
+        assertNotNull(captor.getValue().getReceivedAt());
+    }
+
+    @Test
+    void find_CallbackAppliedElsewhere_LoadsOnceFromDatabase() {
+        // Given
+        when(paymentCallbackRepository.findPaymentByTxnRefAndTransactionNo("1_1700000000000", "14226112"))
+                .thenReturn(Optional.of(payment));
+        when(paymentMapper.toDTO(payment)).thenReturn(response);
+
+        // When
+        PaymentResponseDTO first = callbackLog.find("1_1700000000000", "14226112");
+        PaymentResponseDTO second = callbackLog.find("1_1700000000000", "14226112");
+
+        // Then
+        assertSame(response, first);
+        assertSame(response, second);
+        verify(paymentCallbackRepository, times(1)).findPaymentByTxnRefAndTransactionNo(anyString(), anyString());
+    }
+
+    @Test
+    void find_NewCallback_ReturnsNull() {
+        // Given
+        when(paymentCallbackRepository.findPaymentByTxnRefAndTransactionNo("2_1700000000000", "555"))
+                .thenReturn(Optional.empty());
+
+        // When & Then
+        assertNull(callbackLog.find("2_1700000000000", "555"));
+    }
+}
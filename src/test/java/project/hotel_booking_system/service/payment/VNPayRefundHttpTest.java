@@ -0,0 +1,247 @@
+package project.hotel_booking_system.service.payment;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.RestTemplate;
+import project.hotel_booking_system.configuration.RestTemplateConfig;
+import project.hotel_booking_system.configuration.VnPayConfig;
+import project.hotel_booking_system.dto.response.VNPayRefundResponse;
+import project.hotel_booking_system.enums.PaymentMethod;
+import project.hotel_booking_system.enums.RefundStatus;
+import project.hotel_booking_system.mapper.RefundMapper;
+import project.hotel_booking_system.model.Booking;
+import project.hotel_booking_system.model.Payment;
+import project.hotel_booking_system.model.Refund;
+import project.hotel_booking_system.model.User;
+import project.hotel_booking_system.repository.PaymentRepository;
+import project.hotel_booking_system.repository.RefundRepository;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sends refunds through the pooled gateway client to a local stub of the VNPay refund API.
+ */
+class VNPayRefundHttpTest {
+
+    private static final String SUCCESS_BODY = "{\"vnp_ResponseCode\":\"00\",\"vnp_Message\":\"Confirm Success\"," +
+            "\"vnp_TransactionNo\":\"14226112\"}";
+    private static final Pattern REQUEST_ID = Pattern.compile("\"vnp_RequestId\":\"([^\"]+)\"");
+
+    private HttpServer server;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private volatile long latencyMillis;
+    private volatile int status = 200;
+    private final List<String> requestIds = new CopyOnWriteArrayList<>();
+
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/refund", this::handle);
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        connectionManager.close();
+        server.stop(0);
+    }
+
+    @Test
+    void submitRefund_ReusesPooledConnection() {
+        // Given
+        VNPayGatewayServiceImpl gateway = gateway(1, 10);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertTrue(gateway.submitRefund(refund()).isSuccess());
+        }
+
+        // Then
+        assertEquals(1, clientPorts.size());
+        assertEquals(1.0, meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("httpclient", "vnpay").tag("state", "available").gauge().value());
+    }
+
+    @Test
+    void submitRefund_ServerError_IsRetryable() {
+        // Given
+        status = 503;
+        VNPayGatewayServiceImpl gateway = gateway(1, 10);
+
+        // When
+        VNPayRefundResponse response = gateway.submitRefund(refund());
+
+        // Then
+        assertFalse(response.isSuccess());
+        assertTrue(response.isRetryable());
+    }
+
+    @Test
+    void submitRefund_ClientError_IsNotRetryable() {
+        // Given
+        status = 400;
+        VNPayGatewayServiceImpl gateway = gateway(1, 10);
+
+        // When
+        VNPayRefundResponse response = gateway.submitRefund(refund());
+
+        // Then
+        assertFalse(response.isSuccess());
+        assertFalse(response.isRetryable());
+        assertFalse(response.isOutcomeUnknown());
+    }
+
+    @Test
+    void submitRefund_SlowServer_TimesOutWithUnknownOutcome() {
+        // Given
+        latencyMillis = 3000;
+        VNPayGatewayServiceImpl gateway = gateway(1, 10);
+
+        // When
+        long start = System.nanoTime();
+        VNPayRefundResponse response = gateway.submitRefund(refund());
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertFalse(response.isSuccess());
+        assertFalse(response.isRetryable());
+        assertTrue(response.isOutcomeUnknown());
+        assertTrue(elapsedMillis < 2500, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void submitRefund_ConnectionRefused_IsRetryable() {
+        // Given
+        VNPayGatewayServiceImpl gateway = gateway(1, 10);
+        server.stop(0);
+
+        // When
+        VNPayRefundResponse response = gateway.submitRefund(refund());
+
+        // Then
+        assertFalse(response.isSuccess());
+        assertTrue(response.isRetryable());
+    }
+
+    @Test
+    void submitRefund_EveryAttemptSendsTheSameRequestId() {
+        // Given
+        VNPayGatewayServiceImpl gateway = gateway(1, 10);
+        Refund refund = refund();
+        refund.setVnpRequestId("REF_7_1700000000000");
+
+        // When
+        gateway.submitRefund(refund);
+        gateway.submitRefund(refund);
+
+        // Then
+        assertEquals(List.of("REF_7_1700000000000", "REF_7_1700000000000"), requestIds);
+    }
+
+    @Test
+    void submitRefund_BulkheadFull_FailsFast() throws Exception {
+        // Given
+        latencyMillis = 800;
+        VNPayGatewayServiceImpl gateway = gateway(1, 50);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            Future<VNPayRefundResponse> first = callers.submit(() -> gateway.submitRefund(refund()));
+            Thread.sleep(200);
+            Future<VNPayRefundResponse> second = callers.submit(() -> gateway.submitRefund(refund()));
+
+            // Then
+            VNPayRefundResponse rejected = second.get(1, TimeUnit.SECONDS);
+            assertFalse(rejected.isSuccess());
+            assertTrue(rejected.isRetryable());
+            assertEquals("VNPay gateway busy", rejected.getMessage());
+            assertTrue(first.get(5, TimeUnit.SECONDS).isSuccess());
+            assertEquals(1.0, meterRegistry.get("vnpay.bulkhead.rejected").counter().count());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        Matcher requestId = REQUEST_ID.matcher(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        if (requestId.find()) {
+            requestIds.add(requestId.group(1));
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = (status == 200 ? SUCCESS_BODY : "{}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private VNPayGatewayServiceImpl gateway(int maxConcurrentCalls, long maxWaitMillis) {
+        // one second read timeout
+        RestTemplateConfig config = new RestTemplateConfig();
+        connectionManager = config.gatewayConnectionManager(meterRegistry, 5, 5, 2, 1);
+        httpClient = config.gatewayHttpClient(connectionManager, 2, 1, 30);
+        RestTemplate restTemplate = config.restTemplate(new RestTemplateBuilder(), httpClient);
+
+        VnPayConfig vnPayConfig = mock(VnPayConfig.class);
+        when(vnPayConfig.getVersion()).thenReturn("2.1.0");
+        when(vnPayConfig.getTmnCode()).thenReturn("TESTCODE");
+        when(vnPayConfig.getRefundUrl()).thenReturn("http://127.0.0.1:" + server.getAddress().getPort() + "/refund");
+
+        return new VNPayGatewayServiceImpl(vnPayConfig, mock(RefundRepository.class), mock(PaymentRepository.class),
+                mock(RefundMapper.class), restTemplate, mock(VNPayTxnRefRegistry.class),
+                new VNPaySigner("test-secret"), new VNPayBulkhead(meterRegistry, maxConcurrentCalls, maxWaitMillis));
+    }
+
+    private Refund refund() {
+        User user = User.builder().id(1L).fullname("Guest User").build();
+        Booking booking = Booking.builder().id(3L).user(user).build();
+        Payment payment = Payment.builder()
+                .id(5L)
+                .paymentMethod(PaymentMethod.VNPAY)
+                .vnpTxnRef("5_1700000000000")
+                .transactionId("14226112")
+                .paymentDate(LocalDateTime.of(2025, 6, 1, 10, 0))
+                .amount(new BigDecimal("1000000"))
+                .build();
+        return Refund.builder()
+                .id(7L)
+                .payment(payment)
+                .booking(booking)
+                .refundAmount(new BigDecimal("500000"))
+                .status(RefundStatus.PROCESSING)
+                .build();
+    }
+}
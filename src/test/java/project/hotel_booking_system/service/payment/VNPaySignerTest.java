@@ -0,0 +1,126 @@
+package project.hotel_booking_system.service.payment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VNPaySignerTest {
+
+    private static final String SECRET = "TESTSECRETKEY0123456789";
+
+    private VNPaySigner signer;
+
+    @BeforeEach
+    void setUp() {
+        signer = new VNPaySigner(SECRET);
+    }
+
+    @Test
+    void signedQuery_MatchesLegacyImplementation() {
+        // Given
+        Map<String, String> params = paymentParams();
+
+        // When
+        String signed = signer.signedQuery(params);
+
+        // Then
+        assertEquals(LegacyVNPaySigning.signedQuery(SECRET, params), signed);
+    }
+
+    @Test
+    void canonicalQuery_SkipsSecureHashAndEmptyValues() {
+        // Given
+        Map<String, String> params = new HashMap<>();
+        params.put("vnp_TxnRef", "1_1700000000000");
+        params.put("vnp_BankCode", "");
+        params.put("vnp_SecureHash", "abc");
+        params.put("vnp_Amount", "10000000");
+
+        // When
+        String query = signer.canonicalQuery(params);
+
+        // Then
+        assertEquals("vnp_Amount=10000000&vnp_TxnRef=1_1700000000000", query);
+    }
+
+    @Test
+    void canonicalQuery_EncodesLikeUrlEncoder() {
+        // Given
+        Map<String, String> params = Map.of(
+                "vnp_OrderInfo", "Thanh toán đơn #12 & 50% cọc",
+                "vnp_ReturnUrl", "https://example.com/payments/vnpay-callback?x=1 2");
+
+        // When
+        String query = signer.canonicalQuery(params);
+
+        // Then
+        assertEquals(LegacyVNPaySigning.buildQueryString(params), query);
+    }
+
+    @Test
+    void sign_MatchesLegacyHmac() {
+        String data = "REF_1_1700000000000|2.1.0|refund|TMNCODE|03|1_1700000000000|10000000";
+
+        assertEquals(LegacyVNPaySigning.hmacSHA512(SECRET, data), signer.sign(data));
+    }
+
+    @Test
+    void verify_AcceptsOwnSignatureOnly() {
+        // Given
+        Map<String, String> params = paymentParams();
+        String hash = signer.sign(signer.canonicalQuery(params));
+
+        // When & Then
+        assertTrue(signer.verify(params, hash));
+        assertTrue(signer.verify(params, hash.toUpperCase()));
+        params.put("vnp_Amount", "1");
+        assertFalse(signer.verify(params, hash));
+        assertFalse(signer.verify(params, null));
+    }
+
+    @Test
+    void sign_ConcurrentCallers_GetConsistentResults() throws Exception {
+        // Given
+        Map<String, String> params = paymentParams();
+        String expected = signer.signedQuery(params);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            results.add(executor.submit(() -> signer.signedQuery(params)));
+        }
+
+        // Then
+        for (Future<String> result : results) {
+            assertEquals(expected, result.get());
+        }
+        executor.shutdown();
+    }
+
+    static Map<String, String> paymentParams() {
+        Map<String, String> params = new HashMap<>();
+        params.put("vnp_Version", "2.1.0");
+        params.put("vnp_Command", "pay");
+        params.put("vnp_TmnCode", "TMNCODE1");
+        params.put("vnp_Amount", "150000000");
+        params.put("vnp_CurrCode", "VND");
+        params.put("vnp_OrderType", "billpayment");
+        params.put("vnp_TxnRef", "42_1700000000000");
+        params.put("vnp_OrderInfo", "Payment for booking with ID: 42");
+        params.put("vnp_Locale", "vn");
+        params.put("vnp_ReturnUrl", "http://localhost:8080/hotelbooking/payments/vnpay-callback");
+        params.put("vnp_CreateDate", "20250615103000");
+        params.put("vnp_IpAddr", "127.0.0.1");
+        return params;
+    }
+}
@@ -0,0 +1,115 @@
+package project.hotel_booking_system.service.payment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.hotel_booking_system.exception.ResourceNotFoundException;
+import project.hotel_booking_system.model.Payment;
+import project.hotel_booking_system.model.PaymentTxnRef;
+import project.hotel_booking_system.repository.PaymentRepository;
+import project.hotel_booking_system.repository.PaymentTxnRefRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VNPayTxnRefRegistryTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentTxnRefRepository txnRefRepository;
+
+    private MeterRegistry meterRegistry;
+    private VNPayTxnRefRegistry txnRefRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        txnRefRegistry = new VNPayTxnRefRegistry(paymentRepository, txnRefRepository, meterRegistry, 100, 60);
+    }
+
+    @Test
+    void resolve_RegisteredRef_SkipsDatabase() {
+        // Given
+        when(paymentRepository.getReferenceById(42L)).thenReturn(Payment.builder().id(42L).build());
+        txnRefRegistry.register("42_1700000000000", 42L);
+
+        // When
+        Long paymentId = txnRefRegistry.resolve("42_1700000000000");
+
+        // Then
+        assertEquals(42L, paymentId);
+        verify(txnRefRepository, never()).findPaymentIdByTxnRef(anyString());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "vnpay.txn-ref").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.size").tag("cache", "vnpay.txn-ref").gauge().value());
+    }
+
+    @Test
+    void resolve_UnknownRef_LooksUpPaymentByTxnRef() {
+        // Given
+        when(txnRefRepository.findPaymentIdByTxnRef("7_1700000000000")).thenReturn(Optional.of(7L));
+
+        // When
+        Long first = txnRefRegistry.resolve("7_1700000000000");
+        Long second = txnRefRegistry.resolve("7_1700000000000");
+
+        // Then
+        assertEquals(7L, first);
+        assertEquals(7L, second);
+        verify(txnRefRepository, times(1)).findPaymentIdByTxnRef("7_1700000000000");
+    }
+
+    @Test
+    void register_SavesEveryIssuedRef() {
+        // Given
+        Payment payment = Payment.builder().id(7L).build();
+        when(paymentRepository.getReferenceById(7L)).thenReturn(payment);
+
+        // When
+        txnRefRegistry.register("7_1700000000000", 7L);
+        txnRefRegistry.register("7_1700000060000", 7L);
+
+        // Then
+        ArgumentCaptor<PaymentTxnRef> saved = ArgumentCaptor.forClass(PaymentTxnRef.class);
+        verify(txnRefRepository, times(2)).save(saved.capture());
+        assertEquals(List.of("7_1700000000000", "7_1700000060000"),
+                saved.getAllValues().stream().map(PaymentTxnRef::getTxnRef).toList());
+        assertSame(payment, saved.getValue().getPayment());
+    }
+
+    @Test
+    void resolve_UnknownRef_ThrowsResourceNotFound() {
+        // Given
+        when(txnRefRepository.findPaymentIdByTxnRef("99_1700000000000")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> txnRefRegistry.resolve("99_1700000000000"));
+    }
+
+    @Test
+    void remove_NextResolveGoesToDatabase() {
+        // Given
+        when(paymentRepository.getReferenceById(42L)).thenReturn(Payment.builder().id(42L).build());
+        txnRefRegistry.register("42_1700000000000", 42L);
+        when(txnRefRepository.findPaymentIdByTxnRef("42_1700000000000")).thenReturn(Optional.of(42L));
+
+        // When
+        txnRefRegistry.remove("42_1700000000000");
+        txnRefRegistry.resolve("42_1700000000000");
+
+        // Then
+        verify(txnRefRepository).findPaymentIdByTxnRef("42_1700000000000");
+    }
+}
@@ -26,7 +26,10 @@ import project.hotel_booking_system.repository.BookingRepository;
 import project.hotel_booking_system.repository.ReviewRepository;
 import project.hotel_booking_system.repository.RoomRepository;
 import project.hotel_booking_system.repository.UserRepository;
+import project.hotel_booking_system.repository.projection.ReviewView;
 import project.hotel_booking_system.security.UserSecurity;
+import project.hotel_booking_system.service.room.RoomCatalogCache;
+import project.hotel_booking_system.service.room.RoomSnapshot;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -34,6 +37,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -59,6 +63,9 @@ public class ReviewServiceImplTest {
     @Mock
     private UserSecurity userSecurity;
 
+    @Mock
+    private RoomCatalogCache roomCatalogCache;
+
     @InjectMocks
     private ReviewServiceImpl reviewService;
 
@@ -112,10 +119,11 @@ public class ReviewServiceImplTest {
     void createReview_Success() {
         // Given
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
+        when(roomCatalogCache.get(1L)).thenReturn(RoomSnapshot.of(testRoom));
         when(bookingRepository.existsByUserIdAndRoomIdAndStatus(1L, 1L, BookingStatus.COMPLETED))
                 .thenReturn(true);
         when(reviewRepository.existsByUserIdAndRoomId(1L, 1L)).thenReturn(false);
+        when(roomRepository.getReferenceById(1L)).thenReturn(testRoom);
         when(reviewRepository.save(any(Review.class))).thenReturn(testReview);
         when(reviewMapper.toResponse(testReview)).thenReturn(reviewResponse);
 
@@ -147,7 +155,7 @@ public class ReviewServiceImplTest {
     void createReview_RoomNotFound() {
         // Given
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(roomRepository.findById(1L)).thenReturn(Optional.empty());
+        when(roomCatalogCache.get(1L)).thenThrow(new AppException(ErrorCode.ROOM_NOT_FOUND));
 
         // When & Then
         AppException exception = assertThrows(AppException.class,
@@ -160,7 +168,7 @@ public class ReviewServiceImplTest {
     void createReview_NoCompletedBooking() {
         // Given
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
+        when(roomCatalogCache.get(1L)).thenReturn(RoomSnapshot.of(testRoom));
         when(bookingRepository.existsByUserIdAndRoomIdAndStatus(1L, 1L, BookingStatus.COMPLETED))
                 .thenReturn(false);
 
@@ -175,7 +183,7 @@ public class ReviewServiceImplTest {
     void createReview_ReviewAlreadyExists() {
         // Given
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
+        when(roomCatalogCache.get(1L)).thenReturn(RoomSnapshot.of(testRoom));
         when(bookingRepository.existsByUserIdAndRoomIdAndStatus(1L, 1L, BookingStatus.COMPLETED))
                 .thenReturn(true);
         when(reviewRepository.existsByUserIdAndRoomId(1L, 1L)).thenReturn(true);
@@ -270,11 +278,12 @@ public class ReviewServiceImplTest {
     void getReviewsByRoom_Success() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Review> reviewPage = new PageImpl<>(List.of(testReview), pageable, 1);
+        ReviewView view = mock(ReviewView.class);
+        Page<ReviewView> reviewPage = new PageImpl<>(List.of(view), pageable, 1);
 
-        when(reviewRepository.findByRoomIdOrderByCreatedAtDesc(1L, pageable))
+        when(reviewRepository.findViewsByRoomId(1L, pageable))
                 .thenReturn(reviewPage);
-        when(reviewMapper.toResponse(testReview)).thenReturn(reviewResponse);
+        when(reviewMapper.toResponse(view)).thenReturn(reviewResponse);
 
         // When
         PaginationResponse<ReviewResponse> result = reviewService.getReviewsByRoom(1L, pageable);
@@ -314,7 +323,7 @@ public class ReviewServiceImplTest {
     @DisplayName("Should get room review summary successfully")
     void getRoomReviewSummary_Success() {
         // Given
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
+        when(roomCatalogCache.get(1L)).thenReturn(RoomSnapshot.of(testRoom));
         when(reviewRepository.findAverageRatingByRoomId(1L)).thenReturn(Optional.of(4.5));
         when(reviewRepository.countByRoomId(1L)).thenReturn(10L);
 
@@ -346,7 +355,7 @@ public class ReviewServiceImplTest {
     @DisplayName("Should throw exception when getting summary for non-existent room")
     void getRoomReviewSummary_RoomNotFound() {
         // Given
-        when(roomRepository.findById(1L)).thenReturn(Optional.empty());
+        when(roomCatalogCache.get(1L)).thenThrow(new AppException(ErrorCode.ROOM_NOT_FOUND));
 
         // When & Then
         AppException exception = assertThrows(AppException.class,
@@ -358,7 +367,7 @@ public class ReviewServiceImplTest {
     @DisplayName("Should get room review summary with default values when no reviews exist")
     void getRoomReviewSummary_NoReviews() {
         // Given
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
+        when(roomCatalogCache.get(1L)).thenReturn(RoomSnapshot.of(testRoom));
         when(reviewRepository.findAverageRatingByRoomId(1L)).thenReturn(Optional.empty());
         when(reviewRepository.countByRoomId(1L)).thenReturn(0L);
         when(reviewRepository.findRatingDistributionByRoomId(1L)).thenReturn(List.of());
@@ -458,9 +467,9 @@ public class ReviewServiceImplTest {
     void getReviewsByRoom_EmptyList() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Review> emptyPage = new PageImpl<>(List.of(), pageable, 0);
+        Page<ReviewView> emptyPage = new PageImpl<>(List.of(), pageable, 0);
 
-        when(reviewRepository.findByRoomIdOrderByCreatedAtDesc(1L, pageable))
+        when(reviewRepository.findViewsByRoomId(1L, pageable))
                 .thenReturn(emptyPage);
 
         // When
@@ -496,7 +505,7 @@ public class ReviewServiceImplTest {
     @DisplayName("Should round average rating correctly")
     void getRoomReviewSummary_RoundingTest() {
         // Given
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
+        when(roomCatalogCache.get(1L)).thenReturn(RoomSnapshot.of(testRoom));
         when(reviewRepository.findAverageRatingByRoomId(1L)).thenReturn(Optional.of(4.567));
         when(reviewRepository.countByRoomId(1L)).thenReturn(3L);
         when(reviewRepository.findRatingDistributionByRoomId(1L)).thenReturn(List.of());
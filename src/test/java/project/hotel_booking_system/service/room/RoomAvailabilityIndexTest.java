@@ -0,0 +1,264 @@
+package project.hotel_booking_system.service.room;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import project.hotel_booking_system.enums.BookingStatus;
+import project.hotel_booking_system.model.Booking;
+import project.hotel_booking_system.model.Room;
+import project.hotel_booking_system.repository.BookingRepository;
+import project.hotel_booking_system.repository.RoomBlockedDateRepository;
+import project.hotel_booking_system.repository.projection.BlockedNight;
+import project.hotel_booking_system.repository.projection.BookedStay;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomAvailabilityIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomBlockedDateRepository blockedDateRepository;
+
+    private RoomAvailabilityIndex index;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        index = new RoomAvailabilityIndex(bookingRepository, blockedDateRepository);
+        ReflectionTestUtils.setField(index, "historyDays", 30L);
+        today = LocalDate.now();
+    }
+
+    @Test
+    void rebuild_LoadsBookingsAndBlockedNights() {
+        // Given
+        when(bookingRepository.findActiveStaysEndingAfter(any(Date.class)))
+                .thenReturn(List.of(stay(1L, 1L, today.plusDays(1), today.plusDays(3))));
+        when(blockedDateRepository.findBlockedNightsFrom(any(LocalDate.class)))
+                .thenReturn(List.of(blocked(1L, today.plusDays(4))));
+
+        // When
+        index.rebuild();
+        RoomAvailabilityIndex.Snapshot snapshot = index.snapshot(1L, today, today.plusDays(4));
+
+        // Then
+        assertTrue(index.covers(today));
+        assertEquals(List.of(today, today.plusDays(3)), snapshot.availableDates());
+        assertEquals(List.of(today.plusDays(1), today.plusDays(2)), snapshot.bookedDates());
+        assertEquals(List.of(today.plusDays(4)), snapshot.blockedDates());
+    }
+
+    @Test
+    void covers_BeforeFloorOrNotLoaded_ReturnsFalse() {
+        assertFalse(index.covers(today));
+
+        // Given
+        when(bookingRepository.findActiveStaysEndingAfter(any(Date.class))).thenReturn(List.of());
+        when(blockedDateRepository.findBlockedNightsFrom(any(LocalDate.class))).thenReturn(List.of());
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertTrue(index.covers(today.minusDays(30)));
+        assertFalse(index.covers(today.minusDays(31)));
+    }
+
+    @Test
+    void rebuild_QueryFails_StaysUnloaded() {
+        // Given
+        when(bookingRepository.findActiveStaysEndingAfter(any(Date.class)))
+                .thenThrow(new RuntimeException("connection refused"));
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertFalse(index.covers(today));
+    }
+
+    @Test
+    void advanceFloor_FloorBehind_ReloadsFromNewFloor() {
+        // Given
+        when(bookingRepository.findActiveStaysEndingAfter(any(Date.class)))
+                .thenReturn(List.of(stay(1L, 1L, today.plusDays(1), today.plusDays(3))));
+        when(blockedDateRepository.findBlockedNightsFrom(any(LocalDate.class))).thenReturn(List.of());
+        index.rebuild();
+
+        // When
+        index.advanceFloor();
+        ReflectionTestUtils.setField(index, "historyDays", 10L);
+        index.advanceFloor();
+
+        // Then
+        verify(bookingRepository, times(2)).findActiveStaysEndingAfter(any(Date.class));
+        verify(bookingRepository).findActiveStaysEndingAfter(java.sql.Date.valueOf(today.minusDays(10)));
+        assertTrue(index.covers(today.minusDays(10)));
+        assertFalse(index.covers(today.minusDays(11)));
+        assertEquals(List.of(today.plusDays(1), today.plusDays(2)),
+                index.snapshot(1L, today, today.plusDays(4)).bookedDates());
+    }
+
+    @Test
+    void onBookingChanged_DuringRebuild_IsInNewGeneration() throws Exception {
+        // Given
+        loadEmpty();
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        when(bookingRepository.findActiveStaysEndingAfter(any(Date.class))).thenAnswer(invocation -> {
+            reading.countDown();
+            proceed.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        Thread rebuild = new Thread(index::rebuild);
+        rebuild.start();
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+        // When
+        Thread update = new Thread(() -> index.onBookingChanged(
+                booking(1L, 1L, today.plusDays(1), today.plusDays(3), BookingStatus.CONFIRMED)));
+        update.start();
+        while (update.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        proceed.countDown();
+        rebuild.join(5000);
+        update.join(5000);
+
+        // Then
+        assertFalse(index.isFree(1L, today.plusDays(1), today.plusDays(3)));
+    }
+
+    @Test
+    void isFree_TreatsCheckOutNightAsFree() {
+        // Given
+        loadEmpty();
+        index.onBookingChanged(booking(1L, 1L, today.plusDays(2), today.plusDays(5), BookingStatus.CONFIRMED));
+
+        // Then
+        assertTrue(index.isFree(1L, today, today.plusDays(2)));
+        assertTrue(index.isFree(1L, today.plusDays(5), today.plusDays(7)));
+        assertFalse(index.isFree(1L, today.plusDays(4), today.plusDays(6)));
+        assertTrue(index.isFree(2L, today.plusDays(2), today.plusDays(5)));
+    }
+
+    @Test
+    void onBookingChanged_Cancelled_KeepsOverlappingBookingNights() {
+        // Given
+        loadEmpty();
+        index.onBookingChanged(booking(1L, 1L, today.plusDays(1), today.plusDays(4), BookingStatus.CONFIRMED));
+        index.onBookingChanged(booking(2L, 1L, today.plusDays(3), today.plusDays(6), BookingStatus.PENDING));
+
+        // When
+        index.onBookingChanged(booking(1L, 1L, today.plusDays(1), today.plusDays(4), BookingStatus.CANCELLED));
+
+        // Then
+        assertTrue(index.isFree(1L, today.plusDays(1), today.plusDays(3)));
+        assertFalse(index.isFree(1L, today.plusDays(3), today.plusDays(4)));
+        assertEquals(List.of(today.plusDays(3), today.plusDays(4), today.plusDays(5)),
+                index.snapshot(1L, today, today.plusDays(6)).bookedDates());
+    }
+
+    @Test
+    void onBookingDeleted_ReleasesNights() {
+        // Given
+        loadEmpty();
+        Booking booking = booking(1L, 1L, today.plusDays(1), today.plusDays(3), BookingStatus.PENDING);
+        index.onBookingChanged(booking);
+
+        // When
+        index.onBookingDeleted(booking);
+
+        // Then
+        assertTrue(index.isFree(1L, today.plusDays(1), today.plusDays(3)));
+    }
+
+    @Test
+    void onDatesBlockedAndUnblocked_UpdatesBlockedNights() {
+        // Given
+        loadEmpty();
+        List<LocalDate> dates = List.of(today.plusDays(1), today.plusDays(2));
+
+        // When
+        index.onDatesBlocked(1L, dates);
+
+        // Then
+        assertEquals(dates, index.snapshot(1L, today, today.plusDays(3)).blockedDates());
+        assertFalse(index.isFree(1L, today, today.plusDays(2)));
+
+        // When
+        index.onDatesUnblocked(1L, List.of(today.plusDays(1)));
+
+        // Then
+        assertEquals(List.of(today.plusDays(2)), index.snapshot(1L, today, today.plusDays(3)).blockedDates());
+        assertTrue(index.isFree(1L, today, today.plusDays(2)));
+    }
+
+    private void loadEmpty() {
+        when(bookingRepository.findActiveStaysEndingAfter(any(Date.class))).thenReturn(List.of());
+        when(blockedDateRepository.findBlockedNightsFrom(any(LocalDate.class))).thenReturn(List.of());
+        index.rebuild();
+    }
+
+    private Booking booking(Long id, Long roomId, LocalDate checkIn, LocalDate checkOut, BookingStatus status) {
+        return Booking.builder()
+                .id(id)
+                .room(Room.builder().id(roomId).build())
+                .checkInDate(java.sql.Date.valueOf(checkIn))
+                .checkOutDate(java.sql.Date.valueOf(checkOut))
+                .status(status)
+                .build();
+    }
+
+    private BookedStay stay(Long bookingId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return new BookedStay() {
+            @Override
+            public Long getBookingId() {
+                return bookingId;
+            }
+
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public Date getCheckInDate() {
+                return java.sql.Date.valueOf(checkIn);
+            }
+
+            @Override
+            public Date getCheckOutDate() {
+                return java.sql.Date.valueOf(checkOut);
+            }
+        };
+    }
+
+    private BlockedNight blocked(Long roomId, LocalDate date) {
+        return new BlockedNight() {
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public LocalDate getBlockedDate() {
+                return date;
+            }
+        };
+    }
+}
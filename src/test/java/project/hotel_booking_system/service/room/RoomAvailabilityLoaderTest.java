@@ -0,0 +1,147 @@
+package project.hotel_booking_system.service.room;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.hotel_booking_system.repository.BookingRepository;
+import project.hotel_booking_system.repository.RoomBlockedDateRepository;
+import project.hotel_booking_system.repository.projection.BlockedNight;
+import project.hotel_booking_system.repository.projection.BookedStay;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomAvailabilityLoaderTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomBlockedDateRepository blockedDateRepository;
+
+    @InjectMocks
+    private RoomAvailabilityLoader availabilityLoader;
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @BeforeEach
+    void setUp() {
+        startDate = LocalDate.of(2025, 6, 15);
+        endDate = LocalDate.of(2025, 6, 20);
+    }
+
+    @Test
+    void loadAll_GroupsBookingsAndBlockedDatesByRoom() {
+        // Given
+        List<Long> roomIds = List.of(1L, 2L, 3L);
+        when(bookingRepository.findActiveStaysByRoomIdsAndDateRange(eq(roomIds), any(Date.class), any(Date.class)))
+                .thenReturn(List.of(
+                        stay(1L, LocalDate.of(2025, 6, 13), LocalDate.of(2025, 6, 17)),
+                        stay(2L, LocalDate.of(2025, 6, 19), LocalDate.of(2025, 6, 25))));
+        when(blockedDateRepository.findBlockedNightsByRoomIdsAndDateRange(roomIds, startDate, endDate))
+                .thenReturn(List.of(blocked(1L, LocalDate.of(2025, 6, 18))));
+
+        // When
+        Map<Long, RoomAvailabilityIndex.Snapshot> result = availabilityLoader.loadAll(roomIds, startDate, endDate);
+
+        // Then
+        assertEquals(3, result.size());
+
+        RoomAvailabilityIndex.Snapshot first = result.get(1L);
+        assertEquals(List.of(LocalDate.of(2025, 6, 15), LocalDate.of(2025, 6, 16)), first.bookedDates());
+        assertEquals(List.of(LocalDate.of(2025, 6, 18)), first.blockedDates());
+        assertEquals(List.of(LocalDate.of(2025, 6, 17), LocalDate.of(2025, 6, 19), LocalDate.of(2025, 6, 20)),
+                first.availableDates());
+
+        RoomAvailabilityIndex.Snapshot second = result.get(2L);
+        assertEquals(List.of(LocalDate.of(2025, 6, 19), LocalDate.of(2025, 6, 20)), second.bookedDates());
+        assertTrue(second.blockedDates().isEmpty());
+
+        RoomAvailabilityIndex.Snapshot third = result.get(3L);
+        assertEquals(6, third.availableDates().size());
+        assertTrue(third.bookedDates().isEmpty());
+
+        verify(bookingRepository, times(1))
+                .findActiveStaysByRoomIdsAndDateRange(eq(roomIds), any(Date.class), any(Date.class));
+        verify(blockedDateRepository, times(1)).findBlockedNightsByRoomIdsAndDateRange(roomIds, startDate, endDate);
+    }
+
+    @Test
+    void loadAll_OverlappingBookings_CountsNightOnce() {
+        // Given
+        when(bookingRepository.findActiveStaysByRoomIdsAndDateRange(eq(List.of(1L)), any(Date.class), any(Date.class)))
+                .thenReturn(List.of(
+                        stay(1L, LocalDate.of(2025, 6, 15), LocalDate.of(2025, 6, 17)),
+                        stay(1L, LocalDate.of(2025, 6, 16), LocalDate.of(2025, 6, 18))));
+        when(blockedDateRepository.findBlockedNightsByRoomIdsAndDateRange(List.of(1L), startDate, endDate))
+                .thenReturn(List.of());
+
+        // When
+        RoomAvailabilityIndex.Snapshot result = availabilityLoader.load(1L, startDate, endDate);
+
+        // Then
+        assertEquals(List.of(LocalDate.of(2025, 6, 15), LocalDate.of(2025, 6, 16), LocalDate.of(2025, 6, 17)),
+                result.bookedDates());
+        assertEquals(3, result.availableDates().size());
+    }
+
+    @Test
+    void loadAll_NoRooms_SkipsQueries() {
+        // When
+        Map<Long, RoomAvailabilityIndex.Snapshot> result = availabilityLoader.loadAll(List.of(), startDate, endDate);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(bookingRepository, blockedDateRepository);
+    }
+
+    private BookedStay stay(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return new BookedStay() {
+            @Override
+            public Long getBookingId() {
+                return null;
+            }
+
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public Date getCheckInDate() {
+                return java.sql.Date.valueOf(checkIn);
+            }
+
+            @Override
+            public Date getCheckOutDate() {
+                return java.sql.Date.valueOf(checkOut);
+            }
+        };
+    }
+
+    private BlockedNight blocked(Long roomId, LocalDate date) {
+        return new BlockedNight() {
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public LocalDate getBlockedDate() {
+                return date;
+            }
+        };
+    }
+}
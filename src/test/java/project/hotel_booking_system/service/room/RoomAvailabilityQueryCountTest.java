@@ -0,0 +1,169 @@
+package project.hotel_booking_system.service.room;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import project.hotel_booking_system.dto.response.CalendarDayResponse;
+import project.hotel_booking_system.dto.response.PaginationResponse;
+import project.hotel_booking_system.dto.response.RoomAvailabilityPageResponse;
+import project.hotel_booking_system.enums.BookingStatus;
+import project.hotel_booking_system.enums.Role;
+import project.hotel_booking_system.enums.RoomStatus;
+import project.hotel_booking_system.enums.RoomType;
+import project.hotel_booking_system.mapper.RoomAvailabilityMapperImpl;
+import project.hotel_booking_system.model.Booking;
+import project.hotel_booking_system.model.Room;
+import project.hotel_booking_system.model.RoomBlockedDate;
+import project.hotel_booking_system.model.User;
+import project.hotel_booking_system.repository.RoomRepository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the availability listing and the calendar view issue a fixed number of
+ * statements whatever the number of rooms shown. The window lies before the index floor so
+ * availability is read from the database.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({RoomAvailabilityServiceImpl.class, RoomAvailabilityLoader.class, RoomAvailabilityIndex.class,
+        RoomCalendarBuilder.class, RoomCatalogCache.class, RoomAvailabilityMapperImpl.class,
+        SimpleMeterRegistry.class})
+class RoomAvailabilityQueryCountTest {
+
+    private static final int ROOM_COUNT = 30;
+
+    @Autowired
+    private RoomAvailabilityServiceImpl roomAvailabilityService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final LocalDate startDate = LocalDate.of(2020, 3, 1);
+    private final LocalDate endDate = LocalDate.of(2020, 3, 31);
+
+    private Long firstBookingId;
+
+    @BeforeEach
+    void setUp() {
+        User guest = entityManager.persist(User.builder()
+                .username("guest")
+                .password("secret")
+                .email("guest@example.com")
+                .fullname("Guest User")
+                .phone("0900000000")
+                .role(Role.CUSTOMER)
+                .createAt(LocalDateTime.now())
+                .isActive(true)
+                .build());
+
+        for (int i = 0; i < ROOM_COUNT; i++) {
+            Room room = entityManager.persist(Room.builder()
+                    .roomNumber(String.format("R%03d", i))
+                    .roomType(RoomType.SINGLE)
+                    .price(new BigDecimal("500000"))
+                    .roomStatus(RoomStatus.AVAILABLE)
+                    .description("Room " + i)
+                    .createAt(LocalDateTime.now())
+                    .build());
+
+            Booking booking = entityManager.persist(Booking.builder()
+                    .user(guest)
+                    .room(room)
+                    .checkInDate(Date.valueOf(startDate.plusDays(i % 10)))
+                    .checkOutDate(Date.valueOf(startDate.plusDays(i % 10 + 3)))
+                    .status(BookingStatus.CONFIRMED)
+                    .totalPrice(new BigDecimal("1500000"))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            if (firstBookingId == null) {
+                firstBookingId = booking.getId();
+            }
+
+            entityManager.persist(RoomBlockedDate.builder()
+                    .room(room)
+                    .blockedDate(endDate.minusDays(i % 5))
+                    .reason("Maintenance")
+                    .createdAt(LocalDateTime.now())
+                    .createdBy(guest.getId())
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getAllRoomsAvailability_StatementCountIndependentOfPageSize() {
+        long smallPage = countStatements(5);
+        long largePage = countStatements(20);
+
+        // page query, count query, bookings and blocked dates
+        assertEquals(4, smallPage);
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    void getCalendarViewPaginated_DoesNotLoadGuestsPerCell() {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PaginationResponse<CalendarDayResponse> result =
+                roomAvailabilityService.getCalendarViewPaginated(2020, 3, PageRequest.of(0, 15));
+
+        // rooms, stays with guest names and blocked nights
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(15, result.getContent().size());
+        assertEquals(ROOM_COUNT, result.getContent().get(0).getRooms().size());
+        assertEquals("Booking #" + firstBookingId + " - Guest User",
+                result.getContent().get(0).getRooms().get(0).getBookingInfo());
+    }
+
+    @Test
+    void isAvailable_AnswersWithSingleStatement() {
+        Long roomId = roomRepository.findByRoomNumber("R000").orElseThrow().getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // R000 is booked 1-4 March and blocked on 31 March
+        assertFalse(roomAvailabilityService.isAvailable(roomId, startDate.plusDays(2), startDate.plusDays(5)));
+        assertTrue(roomAvailabilityService.isAvailable(roomId, startDate.plusDays(3), startDate.plusDays(6)));
+        assertFalse(roomAvailabilityService.isAvailable(roomId, endDate.minusDays(1), endDate.plusDays(1)));
+        assertTrue(roomAvailabilityService.isAvailable(roomId, endDate.minusDays(1), endDate));
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    private long countStatements(int pageSize) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PaginationResponse<RoomAvailabilityPageResponse> result =
+                roomAvailabilityService.getAllRoomsAvailability(startDate, endDate, PageRequest.of(0, pageSize));
+
+        assertEquals(pageSize, result.getContent().size());
+        assertEquals(3, result.getContent().get(0).getTotalBookedDays());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import project.hotel_booking_system.dto.request.room_request.AvailabilityCheckRequest;
 import project.hotel_booking_system.dto.request.room_request.BlockDatesRequest;
 import project.hotel_booking_system.dto.response.*;
 import project.hotel_booking_system.exception.AppException;
@@ -20,6 +21,8 @@ import project.hotel_booking_system.exception.ErrorCode;
 import project.hotel_booking_system.mapper.RoomAvailabilityMapper;
 import project.hotel_booking_system.model.*;
 import project.hotel_booking_system.repository.*;
+import project.hotel_booking_system.repository.projection.BlockedNight;
+import project.hotel_booking_system.repository.projection.BookedStay;
 
 import java.sql.Date;
 import java.time.LocalDate;
@@ -48,6 +51,18 @@ class RoomAvailabilityServiceImplTest {
     @Mock
     private RoomAvailabilityMapper mapper;
 
+    @Mock
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private RoomAvailabilityLoader availabilityLoader;
+
+    @Mock
+    private RoomCalendarBuilder calendarBuilder;
+
+    @Mock
+    private RoomCatalogCache roomCatalogCache;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -58,6 +73,7 @@ class RoomAvailabilityServiceImplTest {
     private RoomAvailabilityServiceImpl roomAvailabilityService;
 
     private Room room;
+    private RoomSnapshot roomSnapshot;
     private User user;
     private Booking booking;
     private RoomBlockedDate blockedDate;
@@ -73,6 +89,7 @@ class RoomAvailabilityServiceImplTest {
                 .id(1L)
                 .roomNumber("101")
                 .build();
+        roomSnapshot = RoomSnapshot.of(room);
 
         user = User.builder()
                 .id(1L)
@@ -101,17 +118,15 @@ class RoomAvailabilityServiceImplTest {
     @Test
     void getRoomAvailability_ValidInput_Success() {
         // Given
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
-        when(bookingRepository.findBookingsByRoomAndDateRange(eq(1L), any(Date.class), any(Date.class)))
-                .thenReturn(List.of(booking));
-        when(blockedDateRepository.findByRoomIdAndBlockedDateBetween(eq(1L), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(List.of(blockedDate));
+        when(roomCatalogCache.get(1L)).thenReturn(roomSnapshot);
+        when(availabilityLoader.load(1L, startDate, endDate)).thenReturn(new RoomAvailabilityIndex.Snapshot(
+                List.of(endDate), startDate.datesUntil(endDate).toList(), List.of(startDate)));
 
         RoomAvailabilityResponse expectedResponse = RoomAvailabilityResponse.builder()
                 .roomId(1L)
                 .roomNumber("101")
                 .build();
-        when(mapper.toResponse(eq(room), anyList(), anyList(), anyList()))
+        when(mapper.toResponse(eq(roomSnapshot), anyList(), anyList(), anyList()))
                 .thenReturn(expectedResponse);
 
         // When
@@ -121,15 +136,37 @@ class RoomAvailabilityServiceImplTest {
         assertNotNull(result);
         assertEquals(1L, result.getRoomId());
         assertEquals("101", result.getRoomNumber());
-        verify(roomRepository).findById(1L);
-        verify(bookingRepository).findBookingsByRoomAndDateRange(eq(1L), any(Date.class), any(Date.class));
-        verify(blockedDateRepository).findByRoomIdAndBlockedDateBetween(eq(1L), any(LocalDate.class), any(LocalDate.class));
+        verify(roomCatalogCache).get(1L);
+        verify(availabilityLoader).load(1L, startDate, endDate);
+    }
+
+    @Test
+    void getRoomAvailability_IndexCoversWindow_SkipsDatabase() {
+        // Given
+        when(roomCatalogCache.get(1L)).thenReturn(roomSnapshot);
+        when(availabilityIndex.covers(startDate)).thenReturn(true);
+        when(availabilityIndex.snapshot(1L, startDate, endDate)).thenReturn(new RoomAvailabilityIndex.Snapshot(
+                List.of(endDate), List.of(startDate.plusDays(1)), List.of(startDate)));
+
+        RoomAvailabilityResponse expectedResponse = RoomAvailabilityResponse.builder()
+                .roomId(1L)
+                .roomNumber("101")
+                .build();
+        when(mapper.toResponse(roomSnapshot, List.of(endDate), List.of(startDate.plusDays(1)), List.of(startDate)))
+                .thenReturn(expectedResponse);
+
+        // When
+        RoomAvailabilityResponse result = roomAvailabilityService.getRoomAvailability(1L, startDate, endDate);
+
+        // Then
+        assertEquals(expectedResponse, result);
+        verifyNoInteractions(availabilityLoader);
     }
 
     @Test
     void getRoomAvailability_RoomNotFound_ThrowsException() {
         // Given
-        when(roomRepository.findById(1L)).thenReturn(Optional.empty());
+        when(roomCatalogCache.get(1L)).thenThrow(new AppException(ErrorCode.ROOM_NOT_FOUND));
 
         // When & Then
         AppException exception = assertThrows(AppException.class,
@@ -140,7 +177,7 @@ class RoomAvailabilityServiceImplTest {
     @Test
     void getRoomAvailability_InvalidDateRange_ThrowsException() {
         // Given
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+        when(roomCatalogCache.get(1L)).thenReturn(roomSnapshot);
         LocalDate invalidEndDate = startDate.minusDays(1);
 
         // When & Then
@@ -149,6 +186,114 @@ class RoomAvailabilityServiceImplTest {
         assertEquals(ErrorCode.INVALID_DATE_RANGE, exception.getErrorCode());
     }
 
+    @Test
+    void isAvailable_IndexCoversRange_UsesIndex() {
+        // Given
+        when(availabilityIndex.covers(startDate)).thenReturn(true);
+        when(roomCatalogCache.exists(1L)).thenReturn(true);
+        when(availabilityIndex.isFree(1L, startDate, endDate)).thenReturn(true);
+
+        // When
+        boolean result = roomAvailabilityService.isAvailable(1L, startDate, endDate);
+
+        // Then
+        assertTrue(result);
+        verify(roomRepository, never()).isFreeBetween(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void isAvailable_NotIndexed_UsesExistsQuery() {
+        // Given
+        when(roomRepository.isFreeBetween(1L, Date.valueOf(startDate), Date.valueOf(endDate),
+                startDate, endDate.minusDays(1))).thenReturn(Optional.of(false));
+
+        // When
+        boolean result = roomAvailabilityService.isAvailable(1L, startDate, endDate);
+
+        // Then
+        assertFalse(result);
+        verifyNoInteractions(bookingRepository, blockedDateRepository);
+    }
+
+    @Test
+    void isAvailable_RoomNotFound_ThrowsException() {
+        // Given
+        when(roomRepository.isFreeBetween(eq(1L), any(), any(), any(), any())).thenReturn(Optional.empty());
+
+        // When & Then
+        AppException exception = assertThrows(AppException.class,
+                () -> roomAvailabilityService.isAvailable(1L, startDate, endDate));
+        assertEquals(ErrorCode.ROOM_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    void isAvailable_CheckOutNotAfterCheckIn_ThrowsException() {
+        // When & Then
+        AppException exception = assertThrows(AppException.class,
+                () -> roomAvailabilityService.isAvailable(1L, startDate, startDate));
+        assertEquals(ErrorCode.INVALID_DATE_RANGE, exception.getErrorCode());
+        verifyNoInteractions(roomRepository);
+    }
+
+    @Test
+    void checkAvailability_NotIndexed_LoadsAllRoomsAtOnce() {
+        // Given
+        List<AvailabilityCheckRequest> checks = List.of(
+                check(1L, startDate, startDate.plusDays(2)),
+                check(1L, startDate.plusDays(3), endDate),
+                check(2L, startDate, endDate));
+        BookedStay stay = mock(BookedStay.class);
+        when(stay.getRoomId()).thenReturn(1L);
+        when(stay.getCheckInDate()).thenReturn(Date.valueOf(startDate.plusDays(1)));
+        when(stay.getCheckOutDate()).thenReturn(Date.valueOf(startDate.plusDays(3)));
+        BlockedNight night = mock(BlockedNight.class);
+        when(night.getRoomId()).thenReturn(2L);
+        when(night.getBlockedDate()).thenReturn(endDate.minusDays(1));
+
+        when(roomRepository.findExistingIds(Set.of(1L, 2L))).thenReturn(Set.of(1L, 2L));
+        when(bookingRepository.findActiveStaysByRoomIdsAndDateRange(
+                Set.of(1L, 2L), Date.valueOf(startDate), Date.valueOf(endDate.minusDays(1))))
+                .thenReturn(List.of(stay));
+        when(blockedDateRepository.findBlockedNightsByRoomIdsAndDateRange(
+                Set.of(1L, 2L), startDate, endDate.minusDays(1)))
+                .thenReturn(List.of(night));
+
+        // When
+        List<AvailabilityCheckResponse> result = roomAvailabilityService.checkAvailability(checks);
+
+        // Then
+        assertEquals(List.of(false, true, false), result.stream().map(AvailabilityCheckResponse::isAvailable).toList());
+        assertEquals(2L, result.get(2).getRoomId());
+    }
+
+    @Test
+    void checkAvailability_Indexed_SkipsBookingQueries() {
+        // Given
+        List<AvailabilityCheckRequest> checks = List.of(check(1L, startDate, endDate));
+        when(roomRepository.findExistingIds(Set.of(1L))).thenReturn(Set.of(1L));
+        when(availabilityIndex.covers(startDate)).thenReturn(true);
+        when(availabilityIndex.isFree(1L, startDate, endDate)).thenReturn(true);
+
+        // When
+        List<AvailabilityCheckResponse> result = roomAvailabilityService.checkAvailability(checks);
+
+        // Then
+        assertTrue(result.get(0).isAvailable());
+        verifyNoInteractions(bookingRepository, blockedDateRepository);
+    }
+
+    @Test
+    void checkAvailability_UnknownRoom_ThrowsException() {
+        // Given
+        List<AvailabilityCheckRequest> checks = List.of(check(1L, startDate, endDate), check(9L, startDate, endDate));
+        when(roomRepository.findExistingIds(Set.of(1L, 9L))).thenReturn(Set.of(1L));
+
+        // When & Then
+        AppException exception = assertThrows(AppException.class,
+                () -> roomAvailabilityService.checkAvailability(checks));
+        assertEquals(ErrorCode.ROOM_NOT_FOUND, exception.getErrorCode());
+    }
+
     @Test
     void getAllRoomsAvailability_ValidInput_Success() {
         // Given
@@ -156,10 +301,8 @@ class RoomAvailabilityServiceImplTest {
         Page<Room> roomsPage = new PageImpl<>(List.of(room));
 
         when(roomRepository.findAllAvailableRooms(pageable)).thenReturn(roomsPage);
-        when(bookingRepository.findBookingsByRoomAndDateRange(eq(1L), any(Date.class), any(Date.class)))
-                .thenReturn(List.of());
-        when(blockedDateRepository.findByRoomIdAndBlockedDateBetween(eq(1L), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(List.of());
+        when(availabilityLoader.loadAll(List.of(1L), startDate, endDate)).thenReturn(Map.of(1L,
+                new RoomAvailabilityIndex.Snapshot(startDate.datesUntil(endDate.plusDays(1)).toList(), List.of(), List.of())));
 
         RoomAvailabilityPageResponse pageResponse = RoomAvailabilityPageResponse.builder()
                 .roomId(1L)
@@ -178,6 +321,8 @@ class RoomAvailabilityServiceImplTest {
         assertEquals(0, result.getPage());
         assertEquals(10, result.getPageSize());
         verify(roomRepository).findAllAvailableRooms(pageable);
+        verify(availabilityLoader).loadAll(List.of(1L), startDate, endDate);
+        verifyNoInteractions(bookingRepository, blockedDateRepository);
     }
 
     @Test
@@ -196,21 +341,19 @@ class RoomAvailabilityServiceImplTest {
     void getCalendarViewPaginated_ValidInput_Success() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
+        List<LocalDate> expectedDates = LocalDate.of(2025, 6, 1).datesUntil(LocalDate.of(2025, 6, 11)).toList();
 
         when(roomRepository.findAllAvailableRooms()).thenReturn(List.of(room));
-        when(bookingRepository.findBookingsByDateRange(any(Date.class), any(Date.class)))
+        when(bookingRepository.findCalendarStaysByDateRange(
+                Date.valueOf(LocalDate.of(2025, 6, 1)), Date.valueOf(LocalDate.of(2025, 6, 10))))
                 .thenReturn(List.of());
-        when(blockedDateRepository.findByBlockedDateBetween(any(LocalDate.class), any(LocalDate.class)))
+        when(blockedDateRepository.findBlockedNightsBetween(LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 10)))
                 .thenReturn(List.of());
 
-        RoomCalendarInfo calendarInfo = RoomCalendarInfo.builder()
-                .roomId(1L)
-                .roomNumber("101")
-                .status("AVAILABLE")
-                .bookingInfo("")
-                .build();
-        when(mapper.toCalendarInfo(eq(room), eq("AVAILABLE"), eq("")))
-                .thenReturn(calendarInfo);
+        List<CalendarDayResponse> days = expectedDates.stream()
+                .map(date -> CalendarDayResponse.builder().date(date).rooms(List.of()).build())
+                .toList();
+        when(calendarBuilder.build(List.of(room), List.of(), List.of(), expectedDates)).thenReturn(days);
 
         // When
         PaginationResponse<CalendarDayResponse> result =
@@ -218,9 +361,12 @@ class RoomAvailabilityServiceImplTest {
 
         // Then
         assertNotNull(result);
-        assertFalse(result.getContent().isEmpty());
+        assertEquals(days, result.getContent());
+        assertEquals(30, result.getTotalElements());
+        assertEquals(3, result.getTotalPages());
+        assertFalse(result.isLast());
         verify(roomRepository).findAllAvailableRooms();
-        verify(bookingRepository).findBookingsByDateRange(any(Date.class), any(Date.class));
+        verify(bookingRepository).findCalendarStaysByDateRange(any(Date.class), any(Date.class));
     }
 
     @Test
@@ -229,7 +375,7 @@ class RoomAvailabilityServiceImplTest {
         Pageable pageable = PageRequest.of(0, 10);
         Page<RoomBlockedDate> blockedDatesPage = new PageImpl<>(List.of(blockedDate));
 
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+        when(roomCatalogCache.get(1L)).thenReturn(roomSnapshot);
         when(blockedDateRepository.findByRoomIdAndBlockedDateBetweenOrderByBlockedDate(
                 eq(1L), eq(startDate), eq(endDate), eq(pageable)))
                 .thenReturn(blockedDatesPage);
@@ -242,7 +388,7 @@ class RoomAvailabilityServiceImplTest {
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
         assertEquals(blockedDate, result.getContent().get(0));
-        verify(roomRepository).findById(1L);
+        verify(roomCatalogCache).get(1L);
         verify(blockedDateRepository).findByRoomIdAndBlockedDateBetweenOrderByBlockedDate(
                 eq(1L), eq(startDate), eq(endDate), eq(pageable));
     }
@@ -251,7 +397,7 @@ class RoomAvailabilityServiceImplTest {
     void getBlockedDates_RoomNotFound_ThrowsException() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        when(roomRepository.findById(1L)).thenReturn(Optional.empty());
+        when(roomCatalogCache.get(1L)).thenThrow(new AppException(ErrorCode.ROOM_NOT_FOUND));
 
         // When & Then
         AppException exception = assertThrows(AppException.class,
@@ -269,7 +415,8 @@ class RoomAvailabilityServiceImplTest {
                 .reason("Maintenance")
                 .build();
 
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+        when(roomCatalogCache.get(1L)).thenReturn(roomSnapshot);
+        when(roomRepository.getReferenceById(1L)).thenReturn(room);
         when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
         when(bookingRepository.findBookingsByRoomAndDateRange(eq(1L), any(Date.class), any(Date.class)))
                 .thenReturn(List.of());
@@ -278,10 +425,11 @@ class RoomAvailabilityServiceImplTest {
         roomAvailabilityService.blockDates(1L, request);
 
         // Then
-        verify(roomRepository).findById(1L);
+        verify(roomCatalogCache).get(1L);
         verify(userRepository).findByUsername("admin");
         verify(blockedDateRepository).deleteByRoomIdAndBlockedDateIn(1L, datesToBlock);
         verify(blockedDateRepository).saveAll(anyList());
+        verify(availabilityIndex).onDatesBlocked(1L, datesToBlock);
     }
 
 
@@ -293,7 +441,7 @@ class RoomAvailabilityServiceImplTest {
                 .reason("Maintenance")
                 .build();
 
-        when(roomRepository.findById(1L)).thenReturn(Optional.empty());
+        when(roomCatalogCache.get(1L)).thenThrow(new AppException(ErrorCode.ROOM_NOT_FOUND));
 
         // When & Then
         AppException exception = assertThrows(AppException.class,
@@ -311,7 +459,7 @@ class RoomAvailabilityServiceImplTest {
                 .reason("Maintenance")
                 .build();
 
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+        when(roomCatalogCache.get(1L)).thenReturn(roomSnapshot);
         when(userRepository.findByUsername("admin")).thenReturn(Optional.empty());
 
         // When & Then
@@ -329,7 +477,7 @@ class RoomAvailabilityServiceImplTest {
                 .reason("Maintenance")
                 .build();
 
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+        when(roomCatalogCache.get(1L)).thenReturn(roomSnapshot);
         when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
 
         // When & Then
@@ -348,7 +496,7 @@ class RoomAvailabilityServiceImplTest {
                 .reason("Maintenance")
                 .build();
 
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+        when(roomCatalogCache.get(1L)).thenReturn(roomSnapshot);
         when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
         when(bookingRepository.findBookingsByRoomAndDateRange(eq(1L), any(Date.class), any(Date.class)))
                 .thenReturn(List.of(booking));
@@ -363,21 +511,22 @@ class RoomAvailabilityServiceImplTest {
     void unblockDates_ValidInput_Success() {
         // Given
         List<LocalDate> datesToUnblock = List.of(startDate, endDate);
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+        when(roomCatalogCache.get(1L)).thenReturn(roomSnapshot);
 
         // When
         roomAvailabilityService.unblockDates(1L, datesToUnblock);
 
         // Then
-        verify(roomRepository).findById(1L);
+        verify(roomCatalogCache).get(1L);
         verify(blockedDateRepository).deleteByRoomIdAndBlockedDateIn(1L, datesToUnblock);
+        verify(availabilityIndex).onDatesUnblocked(1L, datesToUnblock);
     }
 
     @Test
     void unblockDates_RoomNotFound_ThrowsException() {
         // Given
         List<LocalDate> datesToUnblock = List.of(startDate, endDate);
-        when(roomRepository.findById(1L)).thenReturn(Optional.empty());
+        when(roomCatalogCache.get(1L)).thenThrow(new AppException(ErrorCode.ROOM_NOT_FOUND));
 
         // When & Then
         AppException exception = assertThrows(AppException.class,
@@ -385,6 +534,14 @@ class RoomAvailabilityServiceImplTest {
         assertEquals(ErrorCode.ROOM_NOT_FOUND, exception.getErrorCode());
     }
 
+    private AvailabilityCheckRequest check(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return AvailabilityCheckRequest.builder()
+                .roomId(roomId)
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .build();
+    }
+
     private void setupSecurityContext() {
         SecurityContextHolder.setContext(securityContext);
         when(securityContext.getAuthentication()).thenReturn(authentication);
@@ -0,0 +1,138 @@
+package project.hotel_booking_system.service.room;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import project.hotel_booking_system.dto.response.CalendarDayResponse;
+import project.hotel_booking_system.dto.response.RoomCalendarInfo;
+import project.hotel_booking_system.enums.RoomType;
+import project.hotel_booking_system.mapper.RoomAvailabilityMapperImpl;
+import project.hotel_booking_system.model.Room;
+import project.hotel_booking_system.repository.projection.BlockedNight;
+import project.hotel_booking_system.repository.projection.CalendarStay;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomCalendarBuilderTest {
+
+    private RoomCalendarBuilder calendarBuilder;
+    private Room room101;
+    private Room room102;
+    private List<LocalDate> dates;
+
+    @BeforeEach
+    void setUp() {
+        calendarBuilder = new RoomCalendarBuilder(new RoomAvailabilityMapperImpl());
+        room101 = Room.builder().id(1L).roomNumber("101").roomType(RoomType.SINGLE).build();
+        room102 = Room.builder().id(2L).roomNumber("102").roomType(RoomType.SUITE).build();
+        dates = LocalDate.of(2025, 6, 1).datesUntil(LocalDate.of(2025, 6, 6)).toList();
+    }
+
+    @Test
+    void build_MarksBookedBlockedAndAvailableCells() {
+        // Given
+        List<CalendarStay> stays = List.of(stay(7L, 1L, LocalDate.of(2025, 5, 30), LocalDate.of(2025, 6, 3), "Alice"));
+        List<BlockedNight> blocked = List.of(blocked(1L, LocalDate.of(2025, 6, 4)), blocked(2L, LocalDate.of(2025, 6, 1)));
+
+        // When
+        List<CalendarDayResponse> result = calendarBuilder.build(List.of(room101, room102), stays, blocked, dates);
+
+        // Then
+        assertEquals(5, result.size());
+        assertEquals(dates, result.stream().map(CalendarDayResponse::getDate).toList());
+        assertEquals(List.of("BOOKED", "BOOKED", "AVAILABLE", "BLOCKED", "AVAILABLE"), statuses(result, 0));
+        assertEquals(List.of("BLOCKED", "AVAILABLE", "AVAILABLE", "AVAILABLE", "AVAILABLE"), statuses(result, 1));
+
+        RoomCalendarInfo booked = result.get(0).getRooms().get(0);
+        assertEquals(1L, booked.getRoomId());
+        assertEquals("101", booked.getRoomNumber());
+        assertEquals("SINGLE", booked.getRoomType());
+        assertEquals("Booking #7 - Alice", booked.getBookingInfo());
+        assertEquals("Maintenance/Blocked", result.get(3).getRooms().get(0).getBookingInfo());
+        assertEquals("", result.get(2).getRooms().get(0).getBookingInfo());
+    }
+
+    @Test
+    void build_BookingTakesPrecedenceOverBlock() {
+        // Given
+        List<CalendarStay> stays = List.of(stay(1L, 1L, LocalDate.of(2025, 6, 2), LocalDate.of(2025, 6, 3), "Bob"));
+        List<BlockedNight> blocked = List.of(blocked(1L, LocalDate.of(2025, 6, 2)));
+
+        // When
+        List<CalendarDayResponse> result = calendarBuilder.build(List.of(room101), stays, blocked, dates);
+
+        // Then
+        assertEquals(List.of("AVAILABLE", "BOOKED", "AVAILABLE", "AVAILABLE", "AVAILABLE"), statuses(result, 0));
+    }
+
+    @Test
+    void build_OverlappingBookings_ShowsEarliestCheckIn() {
+        // Given
+        List<CalendarStay> stays = List.of(
+                stay(9L, 1L, LocalDate.of(2025, 6, 3), LocalDate.of(2025, 6, 6), "Late"),
+                stay(3L, 1L, LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 4), "Early"));
+
+        // When
+        List<CalendarDayResponse> result = calendarBuilder.build(List.of(room101), stays, List.of(), dates);
+
+        // Then
+        assertEquals(List.of("Booking #3 - Early", "Booking #3 - Early", "Booking #3 - Early",
+                        "Booking #9 - Late", "Booking #9 - Late"),
+                result.stream().map(day -> day.getRooms().get(0).getBookingInfo()).toList());
+    }
+
+    @Test
+    void build_NoDates_ReturnsEmpty() {
+        assertTrue(calendarBuilder.build(List.of(room101), List.of(), List.of(), List.of()).isEmpty());
+    }
+
+    private List<String> statuses(List<CalendarDayResponse> days, int roomIndex) {
+        return days.stream().map(day -> day.getRooms().get(roomIndex).getStatus()).toList();
+    }
+
+    private CalendarStay stay(Long bookingId, Long roomId, LocalDate checkIn, LocalDate checkOut, String guestName) {
+        return new CalendarStay() {
+            @Override
+            public String getGuestName() {
+                return guestName;
+            }
+
+            @Override
+            public Long getBookingId() {
+                return bookingId;
+            }
+
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public Date getCheckInDate() {
+                return java.sql.Date.valueOf(checkIn);
+            }
+
+            @Override
+            public Date getCheckOutDate() {
+                return java.sql.Date.valueOf(checkOut);
+            }
+        };
+    }
+
+    private BlockedNight blocked(Long roomId, LocalDate date) {
+        return new BlockedNight() {
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public LocalDate getBlockedDate() {
+                return date;
+            }
+        };
+    }
+}
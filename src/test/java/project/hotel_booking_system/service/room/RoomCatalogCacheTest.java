@@ -0,0 +1,110 @@
+package project.hotel_booking_system.service.room;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.hotel_booking_system.enums.RoomStatus;
+import project.hotel_booking_system.enums.RoomType;
+import project.hotel_booking_system.exception.AppException;
+import project.hotel_booking_system.exception.ErrorCode;
+import project.hotel_booking_system.model.Room;
+import project.hotel_booking_system.repository.RoomRepository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomCatalogCacheTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    private MeterRegistry meterRegistry;
+    private RoomCatalogCache catalogCache;
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        catalogCache = new RoomCatalogCache(roomRepository, meterRegistry, 100, 10);
+        room = Room.builder()
+                .id(1L)
+                .roomNumber("101")
+                .roomType(RoomType.DOUBLE)
+                .price(new BigDecimal("500000"))
+                .roomStatus(RoomStatus.AVAILABLE)
+                .description("Double room")
+                .build();
+    }
+
+    @Test
+    void get_SecondRead_ServedFromCache() {
+        // Given
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+
+        // When
+        RoomSnapshot first = catalogCache.get(1L);
+        RoomSnapshot second = catalogCache.get(1L);
+
+        // Then
+        assertSame(first, second);
+        assertEquals("101", second.roomNumber());
+        assertEquals(RoomStatus.AVAILABLE, second.roomStatus());
+        verify(roomRepository, times(1)).findById(1L);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "room.catalog").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "room.catalog").tag("result", "miss")
+                .functionCounter().count());
+        assertNotNull(meterRegistry.find("cache.evictions").tag("cache", "room.catalog").functionCounter());
+    }
+
+    @Test
+    void get_SnapshotNotAffectedByLaterEntityChanges() {
+        // Given
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+        RoomSnapshot snapshot = catalogCache.get(1L);
+
+        // When
+        room.setRoomStatus(RoomStatus.MAINTENANCE);
+
+        // Then
+        assertEquals(RoomStatus.AVAILABLE, catalogCache.get(1L).roomStatus());
+        assertEquals(RoomStatus.AVAILABLE, snapshot.roomStatus());
+    }
+
+    @Test
+    void get_UnknownRoom_ThrowsAndIsNotCached() {
+        // Given
+        when(roomRepository.findById(1L)).thenReturn(Optional.empty(), Optional.of(room));
+
+        // When
+        AppException exception = assertThrows(AppException.class, () -> catalogCache.get(1L));
+
+        // Then
+        assertEquals(ErrorCode.ROOM_NOT_FOUND, exception.getErrorCode());
+        assertTrue(catalogCache.exists(1L));
+        verify(roomRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void evict_NextReadReloadsRoom() {
+        // Given
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+        catalogCache.get(1L);
+        room.setRoomStatus(RoomStatus.MAINTENANCE);
+
+        // When
+        catalogCache.evict(1L);
+
+        // Then
+        assertEquals(RoomStatus.MAINTENANCE, catalogCache.get(1L).roomStatus());
+        verify(roomRepository, times(2)).findById(1L);
+    }
+}
@@ -0,0 +1,88 @@
+package project.hotel_booking_system.service.room;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import project.hotel_booking_system.enums.RoomStatus;
+import project.hotel_booking_system.enums.RoomType;
+import project.hotel_booking_system.model.Room;
+import project.hotel_booking_system.model.RoomNight;
+import project.hotel_booking_system.model.RoomNightId;
+import project.hotel_booking_system.repository.RoomRepository;
+import project.hotel_booking_system.repository.specification.RoomSpecifications;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+class RoomSearchSpecificationsTest {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final LocalDate night = LocalDate.of(2030, 5, 10);
+
+    @BeforeEach
+    void setUp() {
+        room("101", RoomType.SINGLE, "300000", RoomStatus.AVAILABLE);
+        Room sold = room("102", RoomType.DOUBLE, "500000", RoomStatus.AVAILABLE);
+        room("103", RoomType.DOUBLE, "700000", RoomStatus.AVAILABLE);
+        room("104", RoomType.DOUBLE, "500000", RoomStatus.MAINTENANCE);
+        entityManager.persist(RoomNight.builder()
+                .id(new RoomNightId(sold.getId(), night.plusDays(1)))
+                .bookingId(1L)
+                .build());
+        entityManager.flush();
+    }
+
+    @Test
+    void search_NoCriteria_ReturnsAllRoomsWithStatus() {
+        assertEquals(List.of("101", "102", "103"),
+                search(null, null, null, null, null));
+    }
+
+    @Test
+    void search_TypeAndPrice_AppliesOnlyGivenBounds() {
+        assertEquals(List.of("102", "103"), search(RoomType.DOUBLE, null, null, null, null));
+        assertEquals(List.of("101", "102"), search(null, null, new BigDecimal("500000"), null, null));
+        assertEquals(List.of("103"), search(RoomType.DOUBLE, new BigDecimal("600000"), null, null, null));
+    }
+
+    @Test
+    void search_Dates_ExcludesRoomsWithASoldNight() {
+        assertEquals(List.of("101", "103"), search(null, null, null, night, night.plusDays(2)));
+        // Checking out on the morning of the sold night does not clash
+        assertEquals(List.of("101", "102", "103"), search(null, null, null, night, night));
+    }
+
+    private List<String> search(RoomType type, BigDecimal minPrice, BigDecimal maxPrice,
+                                LocalDate firstNight, LocalDate lastNight) {
+        return roomRepository.findAll(
+                        RoomSpecifications.search(RoomStatus.AVAILABLE, type, minPrice, maxPrice, firstNight, lastNight),
+                        PageRequest.of(0, 10, Sort.by("roomNumber")))
+                .map(Room::getRoomNumber)
+                .getContent();
+    }
+
+    private Room room(String number, RoomType type, String price, RoomStatus status) {
+        return entityManager.persist(Room.builder()
+                .roomNumber(number)
+                .roomType(type)
+                .price(new BigDecimal(price))
+                .roomStatus(status)
+                .description("Room " + number)
+                .createAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,119 @@
+package project.hotel_booking_system.service.room;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.hotel_booking_system.dto.response.RoomImageResponse;
+import project.hotel_booking_system.enums.ImageType;
+import project.hotel_booking_system.mapper.RoomImageMapperImpl;
+import project.hotel_booking_system.repository.RoomImageRepository;
+import project.hotel_booking_system.repository.projection.RoomThumbnail;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomThumbnailResolverTest {
+
+    @Mock
+    private RoomImageRepository roomImageRepository;
+
+    private RoomThumbnailResolver thumbnailResolver;
+
+    @BeforeEach
+    void setUp() {
+        thumbnailResolver = new RoomThumbnailResolver(roomImageRepository, new RoomImageMapperImpl(), 100, 10);
+    }
+
+    @Test
+    void resolve_LoadsAllRoomsWithOneQuery() {
+        // Given
+        when(roomImageRepository.findByRoomIdsAndImageType(anyCollection(), eq(ImageType.THUMBNAIL)))
+                .thenReturn(List.of(
+                        thumbnail(1L, 10L, "a.jpg"),
+                        thumbnail(1L, 11L, "b.jpg"),
+                        thumbnail(2L, 20L, "c.jpg")));
+
+        // When
+        Map<Long, List<RoomImageResponse>> result = thumbnailResolver.resolve(List.of(1L, 2L, 3L));
+
+        // Then
+        assertEquals(List.of(10L, 11L), result.get(1L).stream().map(RoomImageResponse::getId).toList());
+        assertEquals("/hotelbooking/uploads/c.jpg", result.get(2L).get(0).getFullImageUrl());
+        assertTrue(result.get(3L).isEmpty());
+        verify(roomImageRepository, times(1)).findByRoomIdsAndImageType(anyCollection(), any());
+    }
+
+    @Test
+    void resolve_CachedRooms_LoadsOnlyMissingOnes() {
+        // Given
+        when(roomImageRepository.findByRoomIdsAndImageType(anyCollection(), eq(ImageType.THUMBNAIL)))
+                .thenReturn(List.of());
+        thumbnailResolver.resolve(List.of(1L, 2L));
+
+        // When
+        thumbnailResolver.resolve(List.of(1L, 2L));
+        thumbnailResolver.resolve(List.of(2L, 3L));
+
+        // Then
+        verify(roomImageRepository, times(2)).findByRoomIdsAndImageType(anyCollection(), any());
+        verify(roomImageRepository).findByRoomIdsAndImageType(argThat(ids -> sameIds(ids, 3L)), any());
+    }
+
+    @Test
+    void evict_ReloadsRoomOnNextResolve() {
+        // Given
+        when(roomImageRepository.findByRoomIdsAndImageType(anyCollection(), eq(ImageType.THUMBNAIL)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(thumbnail(1L, 10L, "new.jpg")));
+        assertTrue(thumbnailResolver.resolve(List.of(1L)).get(1L).isEmpty());
+
+        // When
+        thumbnailResolver.evict(1L);
+
+        // Then
+        assertEquals("/hotelbooking/uploads/new.jpg",
+                thumbnailResolver.resolve(List.of(1L)).get(1L).get(0).getFullImageUrl());
+    }
+
+    @Test
+    void resolve_NoRooms_SkipsQuery() {
+        assertTrue(thumbnailResolver.resolve(List.of()).isEmpty());
+        verifyNoInteractions(roomImageRepository);
+    }
+
+    private boolean sameIds(Collection<Long> ids, Long... expected) {
+        return ids.size() == expected.length && ids.containsAll(List.of(expected));
+    }
+
+    private RoomThumbnail thumbnail(Long roomId, Long id, String url) {
+        return new RoomThumbnail() {
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getImageUrl() {
+                return url;
+            }
+
+            @Override
+            public ImageType getImageType() {
+                return ImageType.THUMBNAIL;
+            }
+        };
+    }
+}